@@ -0,0 +1,23 @@
+package com.example.ticketbooking.config;
+
+import com.example.ticketbooking.security.AdminAuditInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class AuditConfig implements WebMvcConfigurer {
+
+    private final AdminAuditInterceptor adminAuditInterceptor;
+
+    public AuditConfig(AdminAuditInterceptor adminAuditInterceptor) {
+        this.adminAuditInterceptor = adminAuditInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        // Admin changes go to the audit log
+        registry.addInterceptor(adminAuditInterceptor).addPathPatterns("/api/admin/**");
+    }
+}
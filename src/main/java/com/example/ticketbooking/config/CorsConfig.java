@@ -32,12 +32,16 @@ public class CorsConfig {
                                 "Accept",
                                 "Origin",
                                 "Access-Control-Request-Method",
-                                "Access-Control-Request-Headers"));
+                                "Access-Control-Request-Headers",
+                                "X-Queue-Ticket",
+                                "Idempotency-Key"));
 
                 configuration.setExposedHeaders(Arrays.asList(
                                 "Access-Control-Allow-Origin",
                                 "Access-Control-Allow-Credentials",
-                                "Authorization"));
+                                "Authorization",
+                                "Idempotent-Replayed",
+                                "X-Next-Cursor"));
 
                 configuration.setAllowCredentials(true);
                 configuration.setMaxAge(1800L);
@@ -4,25 +4,27 @@ import com.example.ticketbooking.dto.EventDTO;
 import com.example.ticketbooking.dto.LeagueDTO;
 import com.example.ticketbooking.repository.EventRepository;
 import com.example.ticketbooking.repository.LeagueRepository;
-import com.example.ticketbooking.service.EventService;
+import com.example.ticketbooking.service.EventImportService;
 import com.example.ticketbooking.service.LeagueService;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 public class DataInitializer implements CommandLineRunner {
 
-        private final EventService eventService;
+        private final EventImportService eventImportService;
         private final EventRepository eventRepository;
         private final LeagueService leagueService;
         private final LeagueRepository leagueRepository;
 
-        public DataInitializer(EventService eventService, EventRepository eventRepository,
+        public DataInitializer(EventImportService eventImportService, EventRepository eventRepository,
                         LeagueService leagueService, LeagueRepository leagueRepository) {
-                this.eventService = eventService;
+                this.eventImportService = eventImportService;
                 this.eventRepository = eventRepository;
                 this.leagueService = leagueService;
                 this.leagueRepository = leagueRepository;
@@ -140,6 +142,9 @@ public class DataInitializer implements CommandLineRunner {
         }
 
         private void createFootballEvents() {
+                // Written in one batch through the bulk import
+                List<EventDTO> events = new ArrayList<>();
+
                 // Get league IDs
                 Long premierLeagueId = leagueRepository.findByName("Premier League").map(l -> l.getId()).orElse(1L);
                 Long laLigaId = leagueRepository.findByName("La Liga").map(l -> l.getId()).orElse(2L);
@@ -163,7 +168,7 @@ public class DataInitializer implements CommandLineRunner {
                                 new BigDecimal("1500000.00"),
                                 "https://upload.wikimedia.org/wikipedia/commons/c/cf/2009-3-14_ManUtd_vs_LFC_Ronaldo_Tackling.JPG",
                                 premierLeagueId);
-                eventService.createEvent(event1);
+                events.add(event1);
 
                 EventDTO event2 = new EventDTO(
                                 null,
@@ -179,7 +184,7 @@ public class DataInitializer implements CommandLineRunner {
                                 new BigDecimal("1200000.00"),
                                 "https://upload.wikimedia.org/wikipedia/commons/4/4b/Chelsea_vs._Arsenal%2C_29_May_2019_13.jpg",
                                 premierLeagueId);
-                eventService.createEvent(event2);
+                events.add(event2);
 
                 EventDTO event3 = new EventDTO(
                                 null,
@@ -195,7 +200,7 @@ public class DataInitializer implements CommandLineRunner {
                                 new BigDecimal("1100000.00"),
                                 "https://upload.wikimedia.org/wikipedia/commons/8/8e/Free_Kick_Discussion_%2836593751686%29.jpg",
                                 premierLeagueId);
-                eventService.createEvent(event3);
+                events.add(event3);
 
                 EventDTO event4 = new EventDTO(
                                 null,
@@ -211,7 +216,7 @@ public class DataInitializer implements CommandLineRunner {
                                 new BigDecimal("2500000.00"),
                                 "https://img.okezone.com/content/2020/12/08/261/2323551/senang-bisa-saksikan-pertarungan-messi-vs-ronaldo-bonucci-mereka-alien-QAcg70oLzn.jpg",
                                 laLigaId);
-                eventService.createEvent(event4);
+                events.add(event4);
 
                 EventDTO event5 = new EventDTO(
                                 null,
@@ -226,7 +231,7 @@ public class DataInitializer implements CommandLineRunner {
                                 new BigDecimal("950000.00"),
                                 "https://english.ahram.org.eg/Media/News/2023/12/23/41_2023-638389580607985899-798.jpg",
                                 laLigaId);
-                eventService.createEvent(event5);
+                events.add(event5);
 
                 // Bundesliga Matches
                 EventDTO event6 = new EventDTO(
@@ -243,7 +248,7 @@ public class DataInitializer implements CommandLineRunner {
                                 new BigDecimal("1800000.00"),
                                 "https://assets-bundesliga-com.translate.goog/contender/2025/3/1920-1080-max.jpg?fit=1140,https://www-bundesliga-com.translate.goog/en/bundesliga/news/1140?_x_tr_sl%3Den&_x_tr_sl=en&_x_tr_tl=id&_x_tr_hl=id&_x_tr_pto=imgs",
                                 bundesligaId);
-                eventService.createEvent(event6);
+                events.add(event6);
 
                 EventDTO event7 = new EventDTO(
                                 null,
@@ -258,7 +263,7 @@ public class DataInitializer implements CommandLineRunner {
                                 new BigDecimal("850000.00"),
                                 "https://assets.bundesliga.com/contender/2025/0/SMCS_Team-H2H_RBLB04_16-9.jpg?crop=285px,0px,1350px,1080px&fit=540,540",
                                 bundesligaId);
-                eventService.createEvent(event7);
+                events.add(event7);
 
                 // Serie A Matches
                 EventDTO event8 = new EventDTO(
@@ -274,7 +279,7 @@ public class DataInitializer implements CommandLineRunner {
                                 new BigDecimal("1650000.00"),
                                 "https://asset-2.tstatic.net/bangka/foto/bank/images/2024021-ac-Milan-vs-Inter-Milan.jpg",
                                 serieAId);
-                eventService.createEvent(event8);
+                events.add(event8);
 
                 EventDTO event9 = new EventDTO(
                                 null,
@@ -290,7 +295,7 @@ public class DataInitializer implements CommandLineRunner {
                                 new BigDecimal("1350000.00"),
                                 "https://asset-2.tstatic.net/medan/foto/bank/originals/Napoli-vs-juventus-link.jpg",
                                 serieAId);
-                eventService.createEvent(event9);
+                events.add(event9);
 
                 // Ligue 1 Matches
                 EventDTO event10 = new EventDTO(
@@ -306,7 +311,7 @@ public class DataInitializer implements CommandLineRunner {
                                 new BigDecimal("1950000.00"),
                                 "https://wp.clutchpoints.com/wp-content/uploads/2023/02/Ligue-1-Odds-Marseille-vs.-PSG-prediction-pick-how-to-watch.jpg?w=1200",
                                 ligue1Id);
-                eventService.createEvent(event10);
+                events.add(event10);
 
                 EventDTO event11 = new EventDTO(
                                 null,
@@ -321,7 +326,7 @@ public class DataInitializer implements CommandLineRunner {
                                 new BigDecimal("1050000.00"),
                                 "https://www.thesun.co.uk/wp-content/uploads/2017/10/sport-preview-lyon.jpg?w=620",
                                 ligue1Id);
-                eventService.createEvent(event11);
+                events.add(event11);
                 // Champions League Matches
                 EventDTO event12 = new EventDTO(
                                 null,
@@ -337,7 +342,9 @@ public class DataInitializer implements CommandLineRunner {
                                 new BigDecimal("3500000.00"),
                                 "https://img2.beritasatu.com/cache/beritasatu/480x310-2/2023/05/1683603654-910x580.webp",
                                 championsLeagueId);
-                eventService.createEvent(event12);
+                events.add(event12);
+
+                eventImportService.importEvents(events);
 
                 System.out.println("FootballTix events created successfully! All major leagues covered.");
         }
@@ -58,9 +58,11 @@ public class SecurityConfig {
                         .requestMatchers(new AntPathRequestMatcher("/api/payments/notification")).permitAll()
                         .requestMatchers(new AntPathRequestMatcher("/api/payments/client-key")).permitAll()
                         .requestMatchers(new AntPathRequestMatcher("/api/payments/sync-status/**")).permitAll()
+                        .requestMatchers(new AntPathRequestMatcher("/api/payments/token/**")).authenticated()
                         .requestMatchers(new AntPathRequestMatcher("/api/events/**")).permitAll()
                         .requestMatchers(new AntPathRequestMatcher("/api/leagues/**")).permitAll()
                         .requestMatchers(new AntPathRequestMatcher("/api/about/**")).permitAll()
+                        .requestMatchers(new AntPathRequestMatcher("/api/queue/**")).permitAll()
                         .requestMatchers(new AntPathRequestMatcher("/api/cashier/dashboard/**")).hasRole("CASHIER")
                         .requestMatchers(new AntPathRequestMatcher("/api/wishlist/**")).authenticated()
                         .requestMatchers(new AntPathRequestMatcher("/api/admin/**")).hasRole("ADMIN")
@@ -1,7 +1,6 @@
 package com.example.ticketbooking.controller;
 
-import com.example.ticketbooking.service.EventService;
-import com.example.ticketbooking.service.LeagueService;
+import com.example.ticketbooking.service.CatalogStatistics;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,8 +18,7 @@ public class AboutController {
 
     private static final Logger logger = LoggerFactory.getLogger(AboutController.class);
 
-    private final EventService eventService;
-    private final LeagueService leagueService;
+    private final CatalogStatistics catalogStatistics;
 
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getCompanyStats() {
@@ -28,9 +26,9 @@ public class AboutController {
             Map<String, Object> stats = new HashMap<>();
 
             // Get basic statistics
-            stats.put("totalEvents", eventService.getAllEvents().size());
-            stats.put("totalLeagues", leagueService.getAllLeagues().size());
-            stats.put("activeLeagues", leagueService.getActiveLeagues().size());
+            stats.put("totalEvents", catalogStatistics.getTotalEvents());
+            stats.put("totalLeagues", catalogStatistics.getTotalLeagues());
+            stats.put("activeLeagues", catalogStatistics.getActiveLeagues());
 
             // Company information
             Map<String, Object> companyInfo = new HashMap<>();
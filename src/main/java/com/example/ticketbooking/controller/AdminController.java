@@ -2,13 +2,27 @@ package com.example.ticketbooking.controller;
 
 import com.example.ticketbooking.dto.AdminProfileDTO;
 import com.example.ticketbooking.dto.AdminUpdateDTO;
+import com.example.ticketbooking.dto.AuditLogDTO;
+import com.example.ticketbooking.dto.CursorPage;
+import com.example.ticketbooking.dto.PageCursor;
+import com.example.ticketbooking.dto.SeatSectionRequest;
+import com.example.ticketbooking.entity.AuditLog;
 import com.example.ticketbooking.entity.User;
 import com.example.ticketbooking.entity.Booking;
 import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.AuditLogRepository;
 import com.example.ticketbooking.repository.UserRepository;
-import com.example.ticketbooking.repository.BookingRepository;
 import com.example.ticketbooking.repository.EventRepository;
+import com.example.ticketbooking.security.ConcurrencyLimitFilter;
+import com.example.ticketbooking.service.AdmissionQueueService;
+import com.example.ticketbooking.service.AuditLogService;
+import com.example.ticketbooking.service.AvailabilityBroadcaster;
+import com.example.ticketbooking.service.BookingLedger;
+import com.example.ticketbooking.service.CatalogStatistics;
+import com.example.ticketbooking.service.SeatMapService;
+import com.example.ticketbooking.service.SnapTokenService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -19,7 +33,9 @@ import org.springframework.web.bind.annotation.*;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -28,8 +44,16 @@ import java.util.Map;
 public class AdminController {
 
     private final UserRepository userRepository;
-    private final BookingRepository bookingRepository;
     private final EventRepository eventRepository;
+    private final AdmissionQueueService admissionQueueService;
+    private final SnapTokenService snapTokenService;
+    private final SeatMapService seatMapService;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
+    private final AvailabilityBroadcaster availabilityBroadcaster;
+    private final CatalogStatistics catalogStatistics;
+    private final BookingLedger bookingLedger;
+    private final AuditLogRepository auditLogRepository;
+    private final AuditLogService auditLogService;
 
     //Get admin profile
     @GetMapping("/profile")
@@ -139,24 +163,19 @@ public class AdminController {
             stats.put("adminUsers", userRepository.countByRole("ADMIN"));
 
             //Event statistics
-            stats.put("totalEvents", eventRepository.count());
-            stats.put("activeEvents", eventRepository.countByStatus(Event.EventStatus.ACTIVE));
-            stats.put("upcomingEvents", eventRepository.countByEventDateAfter(LocalDateTime.now()));
+            stats.put("totalEvents", catalogStatistics.getTotalEvents());
+            stats.put("activeEvents", catalogStatistics.getEventCount(Event.EventStatus.ACTIVE));
+            stats.put("upcomingEvents", catalogStatistics.getUpcomingEvents());
 
             //Booking statistics
-            stats.put("totalBookings", bookingRepository.count());
-            stats.put("confirmedBookings", bookingRepository.countByStatus(Booking.BookingStatus.CONFIRMED));
-            stats.put("pendingBookings", bookingRepository.countByStatus(Booking.BookingStatus.PENDING));
-            stats.put("completedBookings", bookingRepository.countByStatus(Booking.BookingStatus.COMPLETED));
-            stats.put("cancelledBookings", bookingRepository.countByStatus(Booking.BookingStatus.CANCELLED));
-
-            //Revenue calculation (simplified)
-            Double totalRevenue = bookingRepository.findAll().stream()
-                    .filter(booking -> booking.getStatus() == Booking.BookingStatus.CONFIRMED ||
-                            booking.getStatus() == Booking.BookingStatus.COMPLETED)
-                    .mapToDouble(booking -> booking.getTotalAmount().doubleValue())
-                    .sum();
-            stats.put("totalRevenue", totalRevenue);
+            stats.put("totalBookings", bookingLedger.getTotalBookings());
+            stats.put("confirmedBookings", bookingLedger.getBookings(Booking.BookingStatus.CONFIRMED));
+            stats.put("pendingBookings", bookingLedger.getBookings(Booking.BookingStatus.PENDING));
+            stats.put("completedBookings", bookingLedger.getBookings(Booking.BookingStatus.COMPLETED));
+            stats.put("cancelledBookings", bookingLedger.getBookings(Booking.BookingStatus.CANCELLED));
+
+            //Revenue (confirmed and completed bookings)
+            stats.put("totalRevenue", bookingLedger.getRevenue().doubleValue());
 
             //System status
             stats.put("systemStatus", "Online");
@@ -203,40 +222,33 @@ public class AdminController {
         }
     }
 
-    //Get audit logs 
+    //Audit logs, newest first, optionally within [from, to) and filtered by user, IP or event type; the next
+    //page's cursor is in the X-Next-Cursor header
     @GetMapping("/audit-logs")
     @Transactional(readOnly = true)
-    public ResponseEntity<?> getAuditLogs() {
+    public ResponseEntity<?> getAuditLogs(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String user,
+            @RequestParam(required = false) String ip,
+            @RequestParam(required = false) String type) {
         try {
-            List<Map<String, Object>> logs = List.of(
-                    Map.of(
-                            "id", 1L,
-                            "timestamp", LocalDateTime.now().minusHours(1),
-                            "level", "INFO",
-                            "message", "Admin login successful",
-                            "user", "admin",
-                            "ip", "192.168.1.100"),
-                    Map.of(
-                            "id", 2L,
-                            "timestamp", LocalDateTime.now().minusHours(2),
-                            "level", "WARNING",
-                            "message", "High memory usage detected",
-                            "user", "system",
-                            "ip", "system"),
-                    Map.of(
-                            "id", 3L,
-                            "timestamp", LocalDateTime.now().minusHours(3),
-                            "level", "ERROR",
-                            "message", "Failed login attempt",
-                            "user", "unknown",
-                            "ip", "192.168.1.101"));
-
-            return ResponseEntity.ok(logs);
-        } catch (Exception e) {
+            int pageSize = PageCursor.limit(limit);
+            List<AuditLogDTO> logs = auditLogRepository.findPage(cursor == null ? null : PageCursor.decode(cursor),
+                    pageSize, from, to, user, ip, type == null ? null : auditEventType(type));
+            return CursorPage.of(logs, pageSize, AuditLogRepository::cursorOf, Function.identity()).toResponse();
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    //Audit log buffer and writer
+    @GetMapping("/audit-logs/stats")
+    public ResponseEntity<?> getAuditLogStats() {
+        return ResponseEntity.ok(auditLogService.getStats());
+    }
+
     //System management endpoints
     @PostMapping("/system/maintenance")
     public ResponseEntity<?> toggleMaintenanceMode(@RequestBody Map<String, Boolean> request) {
@@ -251,6 +263,65 @@ public class AdminController {
         }
     }
 
+    //Waiting room management
+    @GetMapping("/queue")
+    public ResponseEntity<?> getWaitingRooms() {
+        return ResponseEntity.ok(admissionQueueService.getQueues());
+    }
+
+    @PutMapping("/queue/{eventId}")
+    public ResponseEntity<?> configureWaitingRoom(@PathVariable Long eventId, @RequestBody Map<String, Object> request) {
+        try {
+            if (!eventRepository.existsById(eventId)) {
+                return ResponseEntity.notFound().build();
+            }
+            boolean enabled = !Boolean.FALSE.equals(request.get("enabled"));
+            int releasePerSecond = request.get("releasePerSecond") instanceof Number rate ? rate.intValue() : 50;
+            admissionQueueService.configure(eventId, enabled, releasePerSecond);
+            return ResponseEntity.ok(admissionQueueService.getQueues().get(eventId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    //Seat map management
+    @GetMapping("/events/{eventId}/seat-map")
+    public ResponseEntity<?> getSeatMap(@PathVariable Long eventId) {
+        try {
+            return ResponseEntity.ok(seatMapService.getSummary(eventId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PutMapping("/events/{eventId}/seat-map")
+    public ResponseEntity<?> configureSeatMap(@PathVariable Long eventId,
+            @RequestBody List<SeatSectionRequest> sections) {
+        try {
+            return ResponseEntity.ok(seatMapService.configure(eventId, sections));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    //Snap token outbox backlog
+    @GetMapping("/payments/outbox")
+    public ResponseEntity<?> getPaymentOutbox() {
+        return ResponseEntity.ok(snapTokenService.getStats());
+    }
+
+    //Adaptive concurrency limits and load shedding per route group
+    @GetMapping("/load-shedding")
+    public ResponseEntity<?> getLoadShedding() {
+        return ResponseEntity.ok(concurrencyLimitFilter.getMetrics());
+    }
+
+    //Open seat-availability streams
+    @GetMapping("/availability-stream")
+    public ResponseEntity<?> getAvailabilityStream() {
+        return ResponseEntity.ok(availabilityBroadcaster.getStats());
+    }
+
     @PostMapping("/security/force-logout-all")
     public ResponseEntity<?> forceLogoutAll() {
         try {
@@ -291,25 +362,29 @@ public class AdminController {
 
         //System statistics
         dto.setTotalUsers(userRepository.count());
-        dto.setActiveEvents(eventRepository.countByStatus(Event.EventStatus.ACTIVE));
-        dto.setTotalRevenue(bookingRepository.findAll().stream()
-                .filter(booking -> booking.getStatus() == Booking.BookingStatus.CONFIRMED ||
-                        booking.getStatus() == Booking.BookingStatus.COMPLETED)
-                .mapToDouble(booking -> booking.getTotalAmount().doubleValue())
-                .sum());
+        dto.setActiveEvents(catalogStatistics.getEventCount(Event.EventStatus.ACTIVE));
+        dto.setTotalRevenue(bookingLedger.getRevenue().doubleValue());
         dto.setSystemStatus("Online");
-        dto.setTotalBookings(bookingRepository.count());
-        dto.setPendingBookings(bookingRepository.countByStatus(Booking.BookingStatus.PENDING));
-        dto.setCompletedBookings(bookingRepository.countByStatus(Booking.BookingStatus.COMPLETED));
-        dto.setCancelledBookings(bookingRepository.countByStatus(Booking.BookingStatus.CANCELLED));
+        dto.setTotalBookings(bookingLedger.getTotalBookings());
+        dto.setPendingBookings(bookingLedger.getBookings(Booking.BookingStatus.PENDING));
+        dto.setCompletedBookings(bookingLedger.getBookings(Booking.BookingStatus.COMPLETED));
+        dto.setCancelledBookings(bookingLedger.getBookings(Booking.BookingStatus.CANCELLED));
 
         // Admin activity 
         dto.setActionsPerformed(150L);
         dto.setUsersManaged(userRepository.count());
-        dto.setEventsManaged(eventRepository.count());
+        dto.setEventsManaged(catalogStatistics.getTotalEvents());
         dto.setSystemLogins(25L);
         dto.setLastAction(LocalDateTime.now().minusMinutes(30));
         dto.setLastActionType("Profile Update");
         return dto;
     }
+
+    private static AuditLog.EventType auditEventType(String type) {
+        try {
+            return AuditLog.EventType.valueOf(type.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown audit event type: " + type);
+        }
+    }
 }
@@ -1,22 +1,29 @@
 package com.example.ticketbooking.controller;
 
+import com.example.ticketbooking.dto.CursorPage;
+import com.example.ticketbooking.dto.PageCursor;
 import com.example.ticketbooking.dto.UserDTO;
 import com.example.ticketbooking.entity.User;
 import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.BookingRollup;
 import com.example.ticketbooking.repository.UserRepository;
 import com.example.ticketbooking.repository.BookingRepository;
 import com.example.ticketbooking.dto.BookingAdminDTO;
 import com.example.ticketbooking.exception.ResourceNotFoundException;
+import com.example.ticketbooking.service.BookingLedger;
+import com.example.ticketbooking.service.BookingRollupService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.ArrayList;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
@@ -27,12 +34,23 @@ public class AdminDashboardController {
 
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final BookingLedger bookingLedger;
+    private final BookingRollupService bookingRollupService;
 
     // User Analytics & Management
+    // Pages in id order; the next page's cursor is in the X-Next-Cursor header
     @GetMapping("/users")
     @Transactional(readOnly = true)
-    public List<UserDTO> getAllUsers() {
-        return userRepository.findAll().stream().map(this::convertToUserDto).collect(Collectors.toList());
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_LIMIT) int limit) {
+        try {
+            int pageSize = PageCursor.limit(limit);
+            List<User> users = userRepository.findPage(cursor == null ? null : PageCursor.decode(cursor), pageSize);
+            return CursorPage.of(users, pageSize, user -> new PageCursor("", user.getId()), this::convertToUserDto)
+                    .toResponse();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/admins")
@@ -70,52 +88,71 @@ public class AdminDashboardController {
     public ResponseEntity<?> deleteUser(@PathVariable Long id) {
         if (!userRepository.existsById(id))
             return ResponseEntity.notFound().build();
+        // The user's bookings go with them
+        bookingRepository.findByUser_Id(id).forEach(bookingLedger::deleted);
         userRepository.deleteById(id);
         return ResponseEntity.ok().build();
     }
 
     // Booking Analytics & Management
+    // Newest first, optionally filtered by status, event or user; the next page's cursor is in the
+    // X-Next-Cursor header
     @GetMapping("/bookings")
     @Transactional(readOnly = true)
-    public java.util.List<BookingAdminDTO> getAllBookings() {
-        java.util.List<Booking> bookings = bookingRepository.findAll();
-        java.util.List<BookingAdminDTO> dtos = new ArrayList<>();
-        for (Booking booking : bookings) {
-            if (booking.getUser() == null || booking.getEvent() == null)
-                continue;
-            BookingAdminDTO dto = new BookingAdminDTO();
-            dto.id = booking.getId();
-            dto.bookingReference = booking.getBookingReference();
-            dto.userId = booking.getUser().getId();
-            dto.username = booking.getUser().getUsername();
-            dto.eventId = booking.getEvent().getId();
-            dto.eventTitle = booking.getEvent().getTitle();
-            dto.numberOfTickets = booking.getNumberOfTickets();
-            dto.totalAmount = booking.getTotalAmount();
-            dto.status = booking.getStatus() != null ? booking.getStatus().name() : null;
-            dto.bookingDate = booking.getBookingDate();
-            dtos.add(dto);
+    public ResponseEntity<?> getAllBookings(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long eventId,
+            @RequestParam(required = false) Long userId) {
+        try {
+            int pageSize = PageCursor.limit(limit);
+            List<BookingAdminDTO> bookings = bookingRepository.findAdminPage(
+                    cursor == null ? null : PageCursor.decode(cursor), pageSize,
+                    status == null ? null : Booking.BookingStatus.valueOf(status.toUpperCase()), eventId, userId);
+            return CursorPage.of(bookings, pageSize, BookingRepository::cursorOf, Function.identity())
+                    .toResponse();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
-        return dtos;
     }
 
     @GetMapping("/bookings/stats")
     @Transactional(readOnly = true)
     public Map<String, Object> getBookingStats() {
         Map<String, Object> stats = new HashMap<>();
-        stats.put("total", bookingRepository.count());
-        stats.put("confirmed", bookingRepository.countByStatus(Booking.BookingStatus.CONFIRMED));
-        stats.put("cancelled", bookingRepository.countByStatus(Booking.BookingStatus.CANCELLED));
-        stats.put("completed", bookingRepository.countByStatus(Booking.BookingStatus.COMPLETED));
+        stats.put("total", bookingLedger.getTotalBookings());
+        stats.put("confirmed", bookingLedger.getBookings(Booking.BookingStatus.CONFIRMED));
+        stats.put("cancelled", bookingLedger.getBookings(Booking.BookingStatus.CANCELLED));
+        stats.put("completed", bookingLedger.getBookings(Booking.BookingStatus.COMPLETED));
         return stats;
     }
 
+    // Sales analytics from the rollups: totals per minute, hour or day bucket in [from, to),
+    // optionally for one event or league, plus the top events and leagues in the range
+    @GetMapping("/analytics/sales")
+    public ResponseEntity<?> getSalesAnalytics(@RequestParam(defaultValue = "HOUR") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long eventId,
+            @RequestParam(required = false) Long leagueId) {
+        try {
+            BookingRollup.Granularity bucket = BookingRollup.Granularity.valueOf(granularity.toUpperCase());
+            LocalDateTime end = to != null ? to : BookingRollupService.defaultEnd(bucket, LocalDateTime.now());
+            LocalDateTime start = from != null ? from : BookingRollupService.defaultStart(bucket, end);
+            return ResponseEntity.ok(bookingRollupService.query(bucket, start, end, eventId, leagueId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/bookings/{id}")
     @Transactional
     public ResponseEntity<?> deleteBooking(@PathVariable Long id) {
-        if (!bookingRepository.existsById(id))
+        Booking booking = bookingRepository.findById(id).orElse(null);
+        if (booking == null)
             return ResponseEntity.notFound().build();
-        bookingRepository.deleteById(id);
+        bookingRepository.delete(booking);
+        bookingLedger.deleted(booking);
         return ResponseEntity.ok().build();
     }
 
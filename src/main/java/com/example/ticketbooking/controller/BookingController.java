@@ -2,7 +2,10 @@ package com.example.ticketbooking.controller;
 
 import com.example.ticketbooking.dto.BookingRequestDTO;
 import com.example.ticketbooking.dto.BookingResponseDTO;
+import com.example.ticketbooking.dto.CartCheckoutRequestDTO;
+import com.example.ticketbooking.dto.CartCheckoutResponseDTO;
 import com.example.ticketbooking.entity.User;
+import com.example.ticketbooking.service.AdmissionQueueService;
 import com.example.ticketbooking.service.BookingService;
 import com.example.ticketbooking.service.UserService;
 
@@ -17,8 +20,11 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @RestController
@@ -33,25 +39,85 @@ public class BookingController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AdmissionQueueService admissionQueueService;
+
     @PostMapping
     public ResponseEntity<?> createBooking(@Valid @RequestBody BookingRequestDTO bookingRequestDTO,
             BindingResult result,
-            @RequestParam Long userId) {
+            @RequestParam Long userId,
+            @RequestHeader(value = "X-Queue-Ticket", required = false) String queueTicket) {
         if (result.hasErrors()) {
             String errorMessage = result.getFieldErrors().stream()
                     .map(error -> error.getField() + ": " + error.getDefaultMessage())
                     .collect(Collectors.joining(", "));
             return ResponseEntity.badRequest().body(errorMessage);
         }
+        Long eventId = bookingRequestDTO.getEventId();
+        if (!admissionQueueService.tryAdmit(eventId, queueTicket)) {
+            return ResponseEntity.status(403).body(Map.of(
+                    "error", "Waiting room active",
+                    "message", "Join the queue at /api/queue/" + eventId + "/join and retry once admitted"));
+        }
         try {
             BookingResponseDTO response = bookingService.createBooking(bookingRequestDTO, userId);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
+            admissionQueueService.restore(eventId, queueTicket);
             logger.error("Error creating booking: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Failed to create booking: " + e.getMessage());
         }
     }
 
+    /**
+     * Books several events with one Midtrans payment. Events behind a waiting
+     * room need their own queue ticket; send them comma-separated in
+     * X-Queue-Ticket.
+     */
+    @PostMapping("/checkout")
+    public ResponseEntity<?> checkout(@Valid @RequestBody CartCheckoutRequestDTO cartRequestDTO,
+            BindingResult result,
+            @RequestParam Long userId,
+            @RequestHeader(value = "X-Queue-Ticket", required = false) String queueTickets) {
+        if (result.hasErrors()) {
+            String errorMessage = result.getFieldErrors().stream()
+                    .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                    .collect(Collectors.joining(", "));
+            return ResponseEntity.badRequest().body(errorMessage);
+        }
+        List<String> tickets = queueTickets == null ? List.of()
+                : Arrays.stream(queueTickets.split(",")).map(String::trim).filter(t -> !t.isEmpty()).toList();
+        Map<Long, String> admitted = new LinkedHashMap<>();
+        for (Long eventId : cartRequestDTO.getItems().stream().map(BookingRequestDTO::getEventId)
+                .collect(Collectors.toCollection(TreeSet::new))) {
+            String ticket = admit(eventId, tickets);
+            if (ticket == null) {
+                admitted.forEach(admissionQueueService::restore);
+                return ResponseEntity.status(403).body(Map.of(
+                        "error", "Waiting room active",
+                        "message", "Join the queue at /api/queue/" + eventId + "/join and retry once admitted"));
+            }
+            admitted.put(eventId, ticket);
+        }
+        try {
+            CartCheckoutResponseDTO response = bookingService.checkout(cartRequestDTO, userId);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            admitted.forEach(admissionQueueService::restore);
+            logger.error("Error checking out cart: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Failed to check out cart: " + e.getMessage());
+        }
+    }
+
+    // Returns the ticket that admitted the event ("" if it has no waiting room), or null
+    private String admit(Long eventId, List<String> tickets) {
+        if (!admissionQueueService.isEnabled(eventId)) {
+            return "";
+        }
+        return tickets.stream().filter(ticket -> admissionQueueService.tryAdmit(eventId, ticket)).findFirst()
+                .orElse(null);
+    }
+
     @PostMapping("/{bookingId}/cancel")
     public ResponseEntity<?> cancelBooking(@PathVariable Long bookingId, @RequestParam Long userId) {
         try {
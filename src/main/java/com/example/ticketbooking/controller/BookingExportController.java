@@ -0,0 +1,75 @@
+package com.example.ticketbooking.controller;
+
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.service.BookingExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Booking export for finance.
+ *
+ * {@code GET /api/admin/bookings/export?format=csv&from=2025-08-01T00:00&to=2025-09-01T00:00&status=CONFIRMED&eventId=7}
+ * downloads the matching bookings in booking date order, as CSV or (with
+ * {@code format=jsonl}) gzip-compressed JSON lines. Every filter is
+ * optional; from is inclusive, to exclusive. Rows are streamed to the
+ * response as they are read, so any number of them can be exported.
+ */
+@RestController
+@RequestMapping("/api/admin/bookings")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class BookingExportController {
+
+    private final BookingExportService bookingExportService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping("/export")
+    public void exportBookings(@RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long eventId,
+            HttpServletResponse response) throws IOException {
+        BookingExportService.Format exportFormat;
+        BookingExportService.Filter filter;
+        try {
+            exportFormat = switch (format.toLowerCase()) {
+                case "csv" -> BookingExportService.Format.CSV;
+                case "jsonl", "ndjson" -> BookingExportService.Format.JSONL_GZIP;
+                default -> throw new IllegalArgumentException("format must be csv or jsonl");
+            };
+            if (from != null && to != null && !from.isBefore(to)) {
+                throw new IllegalArgumentException("from must be before to");
+            }
+            filter = new BookingExportService.Filter(from, to,
+                    status == null ? null : Booking.BookingStatus.valueOf(status.toUpperCase()), eventId);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.setContentType("application/json");
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getOutputStream(), Map.of("error", e.getMessage()));
+            return;
+        }
+
+        if (exportFormat == BookingExportService.Format.CSV) {
+            response.setContentType("text/csv");
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings.csv\"");
+        } else {
+            response.setContentType("application/gzip");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings.jsonl.gz\"");
+        }
+        bookingExportService.export(filter, exportFormat, response.getOutputStream());
+        response.flushBuffer();
+    }
+}
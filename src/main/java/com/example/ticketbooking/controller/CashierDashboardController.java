@@ -1,17 +1,22 @@
 package com.example.ticketbooking.controller;
 
 import com.example.ticketbooking.dto.BookingDTO;
+import com.example.ticketbooking.dto.CursorPage;
+import com.example.ticketbooking.dto.PageCursor;
 import com.example.ticketbooking.entity.Booking;
 import com.example.ticketbooking.repository.BookingRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/cashier/dashboard")
@@ -21,20 +26,24 @@ public class CashierDashboardController {
 
     private final BookingRepository bookingRepository;
 
+    // Newest first, optionally of one status; the next page's cursor is in the X-Next-Cursor header
     @GetMapping("/bookings")
-    public List<BookingDTO> getAllBookings() {
+    public ResponseEntity<?> getAllBookings(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String status) {
         try {
-            System.out.println("CashierDashboardController: Getting all bookings");
-            List<Booking> bookings = bookingRepository.findAll();
-            System.out.println("CashierDashboardController: Found " + bookings.size() + " bookings");
-            List<BookingDTO> result = bookings.stream().map(this::convertToDto).collect(Collectors.toList());
-            System.out.println("CashierDashboardController: Converted to " + result.size() + " DTOs");
-            return result;
+            int pageSize = PageCursor.limit(limit);
+            List<BookingDTO> bookings = bookingRepository.findRowPage(
+                    cursor == null ? null : PageCursor.decode(cursor), pageSize,
+                    status == null ? null : Booking.BookingStatus.valueOf(status.toUpperCase()));
+            return CursorPage.of(bookings, pageSize, BookingRepository::cursorOf, Function.identity()).toResponse();
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
         } catch (Exception ex) {
             System.err.println("CashierDashboardController: Error getting bookings: " + ex.getMessage());
             ex.printStackTrace();
             // Avoid leaking exceptions as 400 responses; return empty list for robustness
-            return java.util.Collections.emptyList();
+            return ResponseEntity.ok(java.util.Collections.emptyList());
         }
     }
 
@@ -46,9 +55,7 @@ public class CashierDashboardController {
     @GetMapping("/bookings/{bookingReference}")
     public BookingDTO getBookingByReference(@PathVariable String bookingReference) {
         try {
-            return bookingRepository.findByBookingReference(bookingReference)
-                    .map(this::convertToDto)
-                    .orElse(null);
+            return bookingRepository.findRowByBookingReference(bookingReference).orElse(null);
         } catch (Exception ex) {
             return null;
         }
@@ -58,26 +65,9 @@ public class CashierDashboardController {
     public List<BookingDTO> getBookingsByStatus(@PathVariable String status) {
         try {
             Booking.BookingStatus bookingStatus = Booking.BookingStatus.valueOf(status.toUpperCase());
-            List<Booking> bookings = bookingRepository.findByStatus(bookingStatus);
-            return bookings.stream().map(this::convertToDto).collect(Collectors.toList());
+            return bookingRepository.findRowsByStatus(bookingStatus);
         } catch (Exception ex) {
             return java.util.Collections.emptyList();
         }
     }
-
-    private BookingDTO convertToDto(Booking booking) {
-        BookingDTO dto = new BookingDTO();
-        dto.setId(booking.getId());
-        dto.setBookingReference(booking.getBookingReference());
-        if (booking.getEvent() != null) {
-            dto.setEventTitle(booking.getEvent().getTitle());
-        }
-        dto.setNumberOfTickets(booking.getNumberOfTickets());
-        dto.setTotalAmount(booking.getTotalAmount());
-        if (booking.getStatus() != null) {
-            dto.setStatus(booking.getStatus().name());
-        }
-        dto.setBookingDate(booking.getBookingDate());
-        return dto;
-    }
 }
\ No newline at end of file
@@ -1,47 +1,77 @@
 package com.example.ticketbooking.controller;
 
 import com.example.ticketbooking.dto.EventDTO;
+import com.example.ticketbooking.dto.PageCursor;
+import com.example.ticketbooking.service.AvailabilityBroadcaster;
+import com.example.ticketbooking.service.CatalogCache;
 import com.example.ticketbooking.service.EventService;
+import com.example.ticketbooking.service.SeatInventoryService;
+import com.example.ticketbooking.service.SeatMapService;
+import com.example.ticketbooking.service.SuggestionService;
+import com.example.ticketbooking.service.SuggestionTrie;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/events")
 @RequiredArgsConstructor
 @CrossOrigin(origins = "*")
 public class EventController {
+    // Listing endpoints return one page; size is capped at 500 by the service
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
     private final EventService eventService;
+    private final SeatMapService seatMapService;
+    private final CatalogCache catalogCache;
+    private final AvailabilityBroadcaster availabilityBroadcaster;
+    private final SeatInventoryService seatInventoryService;
+    private final SuggestionService suggestionService;
 
+    // Pages in id order; the next page's cursor is in the X-Next-Cursor header
     @GetMapping
-    public ResponseEntity<List<EventDTO>> getAllEvents() {
-        List<EventDTO> events = eventService.getAllEvents();
-        return ResponseEntity.ok(events);
+    public ResponseEntity<?> getAllEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_LIMIT) int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            return catalogCache.respond("events:" + cursor + ":" + PageCursor.limit(limit), ifNoneMatch,
+                    () -> eventService.getAllEvents(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/upcoming")
-    public ResponseEntity<List<EventDTO>> getUpcomingEvents() {
-        List<EventDTO> events = eventService.getUpcomingEvents();
-        return ResponseEntity.ok(events);
+    public ResponseEntity<byte[]> getUpcomingEvents(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return catalogCache.respond("upcoming:" + page + ":" + size, ifNoneMatch,
+                () -> eventService.getUpcomingEvents(page, size));
     }
 
     @GetMapping("/featured")
-    public ResponseEntity<List<EventDTO>> getFeaturedEvents() {
-        List<EventDTO> events = eventService.getUpcomingEvents();
-        // Return first 3 events as featured
-        List<EventDTO> featuredEvents = events.stream()
-                .limit(3)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(featuredEvents);
+    public ResponseEntity<byte[]> getFeaturedEvents(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // First 3 upcoming events are featured
+        return catalogCache.respond("featured", ifNoneMatch, () -> eventService.getUpcomingEvents(0, 3));
     }
 
     @GetMapping("/league/{league}")
-    public ResponseEntity<List<EventDTO>> getEventsByLeague(@PathVariable String league) {
-        List<EventDTO> events = eventService.getEventsByLeague(league);
+    public ResponseEntity<List<EventDTO>> getEventsByLeague(@PathVariable String league,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        List<EventDTO> events = eventService.getEventsByLeague(league, page, size);
         return ResponseEntity.ok(events);
     }
 
@@ -49,11 +79,43 @@ public class EventController {
     public ResponseEntity<List<EventDTO>> searchEvents(
             @RequestParam(required = false) String query,
             @RequestParam(required = false) String venue,
-            @RequestParam(required = false) String date) {
-        List<EventDTO> events = eventService.searchEvents(query, venue, date);
+            @RequestParam(required = false) String date,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        List<EventDTO> events = eventService.searchEvents(query, venue, date, page, size);
         return ResponseEntity.ok(events);
     }
 
+    // Typeahead for the search box: teams, venues, leagues and events, best first
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionTrie.Suggestion>> suggest(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "" + SuggestionService.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(suggestionService.suggest(q, limit));
+    }
+
+    /**
+     * Server-Sent Events stream of seat availability for the given events (or
+     * all events): the current counts first, then coalesced changes as
+     * "availability" messages of [{eventId, availableSeats}].
+     */
+    @GetMapping("/availability/stream")
+    public ResponseEntity<?> streamAvailability(@RequestParam(required = false) Set<Long> eventIds) {
+        Set<Long> watched = eventIds == null ? Set.of() : eventIds;
+        if (watched.size() > AvailabilityBroadcaster.MAX_WATCHED_EVENTS) {
+            return ResponseEntity.badRequest().body(Map.of("error",
+                    "At most " + AvailabilityBroadcaster.MAX_WATCHED_EVENTS + " events per stream"));
+        }
+        SseEmitter emitter = availabilityBroadcaster.subscribe(watched,
+                seatInventoryService.getAvailableSeats(watched));
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(Map.of("error", "Too many open availability streams"));
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
     @GetMapping("/leagues")
     public ResponseEntity<Map<String, Object>> getAvailableLeagues() {
         Map<String, Object> leagues = Map.of(
@@ -76,21 +138,23 @@ public class EventController {
         }
     }
 
+    /**
+     * Run-length encoded seat availability for the seat picker (see SeatMap#snapshot).
+     */
+    @GetMapping("/{id}/seat-map")
+    public ResponseEntity<byte[]> getSeatMap(@PathVariable Long id) {
+        if (!seatMapService.hasSeatMap(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .cacheControl(CacheControl.noCache())
+                .body(seatMapService.snapshot(id));
+    }
+
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getEventStats() {
-        List<EventDTO> allEvents = eventService.getAllEvents();
-        List<EventDTO> upcomingEvents = eventService.getUpcomingEvents();
-
-        Map<String, Object> stats = Map.of(
-                "totalEvents", allEvents.size(),
-                "upcomingEvents", upcomingEvents.size(),
-                "totalSeats", allEvents.stream().mapToInt(EventDTO::totalSeats).sum(),
-                "averagePrice", allEvents.stream()
-                        .mapToDouble(e -> e.price().doubleValue())
-                        .average()
-                        .orElse(0.0));
-
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(eventService.getCatalogStats());
     }
 
     @PostMapping
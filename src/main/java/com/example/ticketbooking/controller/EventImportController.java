@@ -0,0 +1,97 @@
+package com.example.ticketbooking.controller;
+
+import com.example.ticketbooking.service.EventImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bulk event import for admins.
+ *
+ * POST the file as the raw request body, e.g.
+ * {@code curl --data-binary @fixtures.csv -H 'Content-Type: text/csv' .../api/admin/events/import}
+ * (or {@code application/x-ndjson} for JSON lines). The response is JSON
+ * lines written as the import runs: an "error" line per rejected row, a
+ * "progress" line per batch written and a final "done" line with totals.
+ */
+@RestController
+@RequestMapping("/api/admin/events")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class EventImportController {
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final EventImportService eventImportService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(value = "/import", consumes = { "text/csv", NDJSON, "application/jsonl" })
+    public void importEvents(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean csv = request.getContentType().toLowerCase().startsWith("text/csv");
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding()) : StandardCharsets.UTF_8;
+
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        PrintWriter out = response.getWriter();
+        EventImportService.Listener listener = new EventImportService.Listener() {
+            @Override
+            public void rowFailed(long line, String error) {
+                Map<String, Object> message = new LinkedHashMap<>();
+                message.put("type", "error");
+                message.put("line", line);
+                message.put("error", error);
+                write(out, message);
+            }
+
+            @Override
+            public void batchWritten(EventImportService.Summary progress) {
+                write(out, summary("progress", progress));
+                out.flush();
+            }
+        };
+
+        try (Reader input = new InputStreamReader(request.getInputStream(), charset)) {
+            EventImportService.Summary result = csv
+                    ? eventImportService.importCsv(input, listener)
+                    : eventImportService.importJsonLines(input, listener);
+            write(out, summary("done", result));
+        } catch (IllegalArgumentException e) {
+            if (!response.isCommitted()) {
+                response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            }
+            write(out, Map.of("type", "failed", "error", e.getMessage()));
+        }
+        out.flush();
+    }
+
+    private static Map<String, Object> summary(String type, EventImportService.Summary summary) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("type", type);
+        message.put("rows", summary.rows());
+        message.put("imported", summary.imported());
+        message.put("failed", summary.failed());
+        message.put("elapsedMs", summary.elapsedMs());
+        return message;
+    }
+
+    private void write(PrintWriter out, Map<String, Object> message) {
+        try {
+            out.write(objectMapper.writeValueAsString(message));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        out.write('\n');
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.ticketbooking.controller;
 
 import com.example.ticketbooking.dto.LeagueDTO;
+import com.example.ticketbooking.service.CatalogCache;
 import com.example.ticketbooking.service.LeagueService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,12 +23,13 @@ public class LeagueController {
     private static final Logger logger = LoggerFactory.getLogger(LeagueController.class);
 
     private final LeagueService leagueService;
+    private final CatalogCache catalogCache;
 
     @GetMapping
-    public ResponseEntity<List<LeagueDTO>> getAllLeagues() {
+    public ResponseEntity<byte[]> getAllLeagues(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<LeagueDTO> leagues = leagueService.getAllLeagues();
-            return ResponseEntity.ok(leagues);
+            return catalogCache.respond("leagues", ifNoneMatch, leagueService::getAllLeagues);
         } catch (Exception e) {
             logger.error("Error fetching all leagues: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
@@ -34,10 +37,10 @@ public class LeagueController {
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<LeagueDTO>> getActiveLeagues() {
+    public ResponseEntity<byte[]> getActiveLeagues(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<LeagueDTO> leagues = leagueService.getActiveLeagues();
-            return ResponseEntity.ok(leagues);
+            return catalogCache.respond("leagues:active", ifNoneMatch, leagueService::getActiveLeagues);
         } catch (Exception e) {
             logger.error("Error fetching active leagues: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
@@ -1,8 +1,13 @@
 package com.example.ticketbooking.controller;
 
 import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.User;
 import com.example.ticketbooking.repository.BookingRepository;
 import com.example.ticketbooking.service.MidtransService;
+import com.example.ticketbooking.service.PaymentStatusService;
+import com.example.ticketbooking.service.SeatHoldService;
+import com.example.ticketbooking.service.SnapTokenService;
+import com.example.ticketbooking.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,8 +16,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.json.JSONObject;
 
-import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -28,6 +33,18 @@ public class PaymentController {
     @Autowired
     private MidtransService midtransService;
 
+    @Autowired
+    private PaymentStatusService paymentStatusService;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private SnapTokenService snapTokenService;
+
+    @Autowired
+    private UserService userService;
+
     @Value("${midtrans.server-key}")
     private String serverKey;
 
@@ -40,6 +57,20 @@ public class PaymentController {
         return ResponseEntity.ok(Collections.singletonMap("clientKey", midtransService.getClientKey()));
     }
 
+    /**
+     * Poll for the Snap token of a new booking. Tokens are created
+     * asynchronously, so status is PENDING until the gateway answered.
+     */
+    @GetMapping("/token/{bookingReference}")
+    public ResponseEntity<?> getSnapToken(@PathVariable String bookingReference) {
+        try {
+            User user = userService.getCurrentUser();
+            return ResponseEntity.ok(snapTokenService.getTokenStatus(bookingReference, user.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Handle Midtrans webhook/notification callback.
      * This endpoint is called by Midtrans servers when a payment status changes.
@@ -55,55 +86,25 @@ public class PaymentController {
             logger.info("Midtrans notification received - orderId: {}, status: {}, fraud: {}, payment: {}",
                     orderId, transactionStatus, fraudStatus, paymentType);
 
-            // Find the booking by reference
-            Optional<Booking> bookingOpt = bookingRepository.findByBookingReference(orderId);
-            if (bookingOpt.isEmpty()) {
-                logger.warn("Booking not found for orderId: {}", orderId);
-                return ResponseEntity.ok(Collections.singletonMap("status", "booking_not_found"));
+            PaymentStatusService.Outcome outcome = switch (transactionStatus != null ? transactionStatus : "") {
+                case "capture" -> "accept".equals(fraudStatus) ? PaymentStatusService.Outcome.PAID
+                        : PaymentStatusService.Outcome.FAILED;
+                case "settlement" -> PaymentStatusService.Outcome.PAID;
+                case "pending" -> PaymentStatusService.Outcome.PENDING;
+                case "deny", "cancel", "expire" -> PaymentStatusService.Outcome.FAILED;
+                default -> null;
+            };
+            if (outcome == null) {
+                logger.warn("Unknown transaction status: {}", transactionStatus);
+                return ResponseEntity.ok(Collections.singletonMap("status", "ok"));
             }
 
-            Booking booking = bookingOpt.get();
-
-            // Update booking based on transaction status
-            switch (transactionStatus) {
-                case "capture":
-                    if ("accept".equals(fraudStatus)) {
-                        booking.setStatus(Booking.BookingStatus.CONFIRMED);
-                        booking.setPaymentDate(LocalDateTime.now());
-                        booking.setPaymentType(paymentType);
-                        logger.info("Booking {} CONFIRMED (captured)", orderId);
-                    } else {
-                        booking.setStatus(Booking.BookingStatus.CANCELLED);
-                        logger.warn("Booking {} CANCELLED (fraud detected)", orderId);
-                    }
-                    break;
-                case "settlement":
-                    booking.setStatus(Booking.BookingStatus.CONFIRMED);
-                    booking.setPaymentDate(LocalDateTime.now());
-                    booking.setPaymentType(paymentType);
-                    logger.info("Booking {} CONFIRMED (settled)", orderId);
-                    break;
-                case "pending":
-                    booking.setStatus(Booking.BookingStatus.PENDING);
-                    booking.setPaymentType(paymentType);
-                    logger.info("Booking {} PENDING", orderId);
-                    break;
-                case "deny":
-                case "cancel":
-                case "expire":
-                    booking.setStatus(Booking.BookingStatus.CANCELLED);
-                    logger.info("Booking {} CANCELLED ({})", orderId, transactionStatus);
-                    // Restore available seats
-                    if (booking.getEvent() != null) {
-                        booking.getEvent().setAvailableSeats(
-                                booking.getEvent().getAvailableSeats() + booking.getNumberOfTickets());
-                    }
-                    break;
-                default:
-                    logger.warn("Unknown transaction status: {}", transactionStatus);
+            // The booking with this reference, or every booking of a cart checkout
+            List<Booking> bookings = applyOutcome(orderId, outcome, paymentType);
+            if (bookings.isEmpty()) {
+                logger.warn("Booking not found for orderId: {}", orderId);
+                return ResponseEntity.ok(Collections.singletonMap("status", "booking_not_found"));
             }
-
-            bookingRepository.save(booking);
             return ResponseEntity.ok(Collections.singletonMap("status", "ok"));
 
         } catch (Exception e) {
@@ -138,12 +139,11 @@ public class PaymentController {
     @PostMapping("/sync-status/{orderId}")
     public ResponseEntity<?> syncStatus(@PathVariable String orderId) {
         try {
-            Optional<Booking> bookingOpt = bookingRepository.findByBookingReference(orderId);
-            if (bookingOpt.isEmpty()) {
+            List<Booking> bookings = findBookingsForOrder(orderId);
+            if (bookings.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
 
-            Booking booking = bookingOpt.get();
             JSONObject midtransStatus = midtransService.checkTransactionStatus(orderId);
 
             String transactionStatus = midtransStatus.optString("transaction_status", "capture");
@@ -151,43 +151,56 @@ public class PaymentController {
 
             logger.info("Syncing Midtrans status for order {}: transaction_status={}", orderId, transactionStatus);
 
-            // Update booking based on transaction status
             // For local development and seamless demo, if it's settlement or capture, or
             // even pending (since they finished popup), we'll confirm it.
-            if ("capture".equals(transactionStatus) || "settlement".equals(transactionStatus)
-                    || "pending".equals(transactionStatus)) {
-                booking.setStatus(Booking.BookingStatus.CONFIRMED);
-                booking.setPaymentDate(LocalDateTime.now());
-                booking.setPaymentType(paymentType);
-                logger.info("Booking {} confirmed via sync-status", orderId);
-            } else if ("deny".equals(transactionStatus) || "cancel".equals(transactionStatus)
-                    || "expire".equals(transactionStatus)) {
-                if (booking.getStatus() != Booking.BookingStatus.CANCELLED) {
-                    booking.setStatus(Booking.BookingStatus.CANCELLED);
-                    if (booking.getEvent() != null) {
-                        booking.getEvent().setAvailableSeats(
-                                booking.getEvent().getAvailableSeats() + booking.getNumberOfTickets());
-                    }
-                }
+            PaymentStatusService.Outcome outcome = switch (transactionStatus) {
+                case "capture", "settlement" -> PaymentStatusService.Outcome.PAID;
+                case "pending" -> PaymentStatusService.Outcome.ASSUMED_PAID;
+                case "deny", "cancel", "expire" -> PaymentStatusService.Outcome.FAILED;
+                default -> null;
+            };
+            if (outcome != null) {
+                bookings = applyOutcome(orderId, outcome, paymentType);
             }
-
-            bookingRepository.save(booking);
-            return ResponseEntity.ok(Collections.singletonMap("status", booking.getStatus().toString()));
+            return ResponseEntity.ok(Collections.singletonMap("status", bookings.get(0).getStatus().toString()));
 
         } catch (Exception e) {
             logger.error("Error syncing Midtrans status: {}", e.getMessage());
             // Fallback for seamless demo: if Midtrans Core API throws 404 due to delay,
             // confirm it anyway if frontend says success
-            Optional<Booking> bookingOpt = bookingRepository.findByBookingReference(orderId);
-            if (bookingOpt.isPresent()) {
-                Booking booking = bookingOpt.get();
-                booking.setStatus(Booking.BookingStatus.CONFIRMED);
-                booking.setPaymentDate(LocalDateTime.now());
-                booking.setPaymentType("midtrans_fallback");
-                bookingRepository.save(booking);
+            List<Booking> bookings = applyOutcome(orderId, PaymentStatusService.Outcome.ASSUMED_PAID,
+                    "midtrans_fallback");
+            if (!bookings.isEmpty()) {
                 return ResponseEntity.ok(Collections.singletonMap("status", "CONFIRMED_FALLBACK"));
             }
             return ResponseEntity.status(500).body(Collections.singletonMap("error", e.getMessage()));
         }
     }
+
+    /**
+     * Applies a gateway result to the order's bookings in one locked
+     * transaction, then stops the hold timers of those that are settled
+     * either way.
+     */
+    private List<Booking> applyOutcome(String orderId, PaymentStatusService.Outcome outcome, String paymentType) {
+        List<Booking> bookings = paymentStatusService.apply(orderId, outcome, paymentType);
+        for (Booking booking : bookings) {
+            if (booking.getStatus() != Booking.BookingStatus.PENDING) {
+                seatHoldService.releaseHold(booking.getId());
+            }
+        }
+        return bookings;
+    }
+
+    /**
+     * Midtrans order ids are booking references, or payment references for a
+     * cart checkout that covers several bookings.
+     */
+    private List<Booking> findBookingsForOrder(String orderId) {
+        Optional<Booking> booking = bookingRepository.findByBookingReference(orderId);
+        if (booking.isPresent()) {
+            return List.of(booking.get());
+        }
+        return bookingRepository.findByPaymentReferenceOrderByIdAsc(orderId);
+    }
 }
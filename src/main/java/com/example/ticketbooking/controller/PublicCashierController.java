@@ -1,15 +1,19 @@
 package com.example.ticketbooking.controller;
 
 import com.example.ticketbooking.dto.BookingDTO;
-import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.dto.CursorPage;
+import com.example.ticketbooking.dto.PageCursor;
 import com.example.ticketbooking.repository.BookingRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/public/cashier")
@@ -18,19 +22,22 @@ public class PublicCashierController {
 
     private final BookingRepository bookingRepository;
 
+    // Newest first; the next page's cursor is in the X-Next-Cursor header
     @GetMapping("/bookings")
-    public List<BookingDTO> getAllBookings() {
+    public ResponseEntity<?> getAllBookings(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_LIMIT) int limit) {
         try {
-            System.out.println("PublicCashierController: Getting all bookings");
-            List<Booking> bookings = bookingRepository.findAll();
-            System.out.println("PublicCashierController: Found " + bookings.size() + " bookings");
-            List<BookingDTO> result = bookings.stream().map(this::convertToDto).collect(Collectors.toList());
-            System.out.println("PublicCashierController: Converted to " + result.size() + " DTOs");
-            return result;
+            int pageSize = PageCursor.limit(limit);
+            List<BookingDTO> bookings = bookingRepository.findRowPage(
+                    cursor == null ? null : PageCursor.decode(cursor), pageSize, null);
+            return CursorPage.of(bookings, pageSize, BookingRepository::cursorOf, Function.identity()).toResponse();
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
         } catch (Exception ex) {
             System.err.println("PublicCashierController: Error getting bookings: " + ex.getMessage());
             ex.printStackTrace();
-            return java.util.Collections.emptyList();
+            // Avoid leaking exceptions as 400 responses; return empty list for robustness
+            return ResponseEntity.ok(java.util.Collections.emptyList());
         }
     }
 
@@ -38,20 +45,4 @@ public class PublicCashierController {
     public String testEndpoint() {
         return "Public cashier endpoint is working!";
     }
-
-    private BookingDTO convertToDto(Booking booking) {
-        BookingDTO dto = new BookingDTO();
-        dto.setId(booking.getId());
-        dto.setBookingReference(booking.getBookingReference());
-        if (booking.getEvent() != null) {
-            dto.setEventTitle(booking.getEvent().getTitle());
-        }
-        dto.setNumberOfTickets(booking.getNumberOfTickets());
-        dto.setTotalAmount(booking.getTotalAmount());
-        if (booking.getStatus() != null) {
-            dto.setStatus(booking.getStatus().name());
-        }
-        dto.setBookingDate(booking.getBookingDate());
-        return dto;
-    }
 }
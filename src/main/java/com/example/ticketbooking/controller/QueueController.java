@@ -0,0 +1,34 @@
+package com.example.ticketbooking.controller;
+
+import com.example.ticketbooking.service.AdmissionQueueService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Public waiting-room endpoints. Served entirely from memory so that fans
+ * polling their position during an on-sale never reach the database.
+ */
+@RestController
+@RequestMapping("/api/queue")
+@RequiredArgsConstructor
+public class QueueController {
+
+    private final AdmissionQueueService admissionQueueService;
+
+    @PostMapping("/{eventId}/join")
+    public ResponseEntity<Map<String, Object>> joinQueue(@PathVariable Long eventId) {
+        return ResponseEntity.ok(admissionQueueService.join(eventId));
+    }
+
+    @GetMapping("/{eventId}/position")
+    public ResponseEntity<?> getPosition(@PathVariable Long eventId, @RequestParam String ticket) {
+        try {
+            return ResponseEntity.ok(admissionQueueService.position(eventId, ticket));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.example.ticketbooking.controller;
 
 import com.example.ticketbooking.dto.BookingDTO;
-import com.example.ticketbooking.entity.Booking;
 import com.example.ticketbooking.entity.User;
 import com.example.ticketbooking.repository.BookingRepository;
 import com.example.ticketbooking.service.UserService;
@@ -12,7 +11,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/user/dashboard")
@@ -26,23 +24,6 @@ public class UserDashboardController {
     @GetMapping("/bookings")
     public List<BookingDTO> getUserBookings() {
         User currentUser = userService.getCurrentUser();
-        List<Booking> bookings = bookingRepository.findByUser(currentUser);
-        return bookings.stream().map(this::convertToDto).collect(Collectors.toList());
-    }
-
-    private BookingDTO convertToDto(Booking booking) {
-        BookingDTO dto = new BookingDTO();
-        dto.setId(booking.getId());
-        dto.setBookingReference(booking.getBookingReference());
-        if (booking.getEvent() != null) {
-            dto.setEventTitle(booking.getEvent().getTitle());
-        }
-        dto.setNumberOfTickets(booking.getNumberOfTickets());
-        dto.setTotalAmount(booking.getTotalAmount());
-        if (booking.getStatus() != null) {
-            dto.setStatus(booking.getStatus().name());
-        }
-        dto.setBookingDate(booking.getBookingDate());
-        return dto;
+        return bookingRepository.findRowsByUserId(currentUser.getId());
     }
 }
\ No newline at end of file
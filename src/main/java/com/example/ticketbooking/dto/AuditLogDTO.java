@@ -0,0 +1,30 @@
+package com.example.ticketbooking.dto;
+
+import com.example.ticketbooking.entity.AuditLog;
+
+import java.time.LocalDateTime;
+
+public class AuditLogDTO {
+    public Long id;
+    public LocalDateTime timestamp;
+    public String level;
+    public String eventType;
+    public String message;
+    public String user;
+    public String ip;
+
+    public AuditLogDTO() {
+    }
+
+    // Constructor expression target for AuditLogRepository.ROW
+    public AuditLogDTO(Long id, LocalDateTime timestamp, String level, AuditLog.EventType eventType,
+            String message, String user, String ip) {
+        this.id = id;
+        this.timestamp = timestamp;
+        this.level = level;
+        this.eventType = eventType != null ? eventType.name() : null;
+        this.message = message;
+        this.user = user;
+        this.ip = ip;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.ticketbooking.dto;
 
+import com.example.ticketbooking.entity.Booking;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -14,4 +16,23 @@ public class BookingAdminDTO {
     public BigDecimal totalAmount;
     public String status;
     public LocalDateTime bookingDate;
-}
\ No newline at end of file
+
+    public BookingAdminDTO() {
+    }
+
+    // Constructor expression target for BookingRepository.ADMIN_ROW
+    public BookingAdminDTO(Long id, String bookingReference, Long userId, String username, Long eventId,
+            String eventTitle, Integer numberOfTickets, BigDecimal totalAmount, Booking.BookingStatus status,
+            LocalDateTime bookingDate) {
+        this.id = id;
+        this.bookingReference = bookingReference;
+        this.userId = userId;
+        this.username = username;
+        this.eventId = eventId;
+        this.eventTitle = eventTitle;
+        this.numberOfTickets = numberOfTickets;
+        this.totalAmount = totalAmount;
+        this.status = status != null ? status.name() : null;
+        this.bookingDate = bookingDate;
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.ticketbooking.dto;
 
+import com.example.ticketbooking.entity.Booking;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class BookingDTO {
     private Long id;
     private String bookingReference;
@@ -13,4 +16,16 @@ public class BookingDTO {
     private BigDecimal totalAmount;
     private String status;
     private LocalDateTime bookingDate;
-}
\ No newline at end of file
+
+    // Constructor expression target for BookingRepository.ROW
+    public BookingDTO(Long id, String bookingReference, String eventTitle, Integer numberOfTickets,
+            BigDecimal totalAmount, Booking.BookingStatus status, LocalDateTime bookingDate) {
+        this.id = id;
+        this.bookingReference = bookingReference;
+        this.eventTitle = eventTitle;
+        this.numberOfTickets = numberOfTickets;
+        this.totalAmount = totalAmount;
+        this.status = status != null ? status.name() : null;
+        this.bookingDate = bookingDate;
+    }
+}
@@ -13,6 +13,9 @@ public class BookingRequestDTO {
     @Max(value = 10, message = "Number of tickets cannot exceed 10")
     private Integer numberOfTickets;
 
+    // Optional: preferred section on seat-mapped events
+    private Long sectionId;
+
     public Long getEventId() {
         return eventId;
     }
@@ -28,4 +31,12 @@ public class BookingRequestDTO {
     public void setNumberOfTickets(Integer numberOfTickets) {
         this.numberOfTickets = numberOfTickets;
     }
+
+    public Long getSectionId() {
+        return sectionId;
+    }
+
+    public void setSectionId(Long sectionId) {
+        this.sectionId = sectionId;
+    }
 }
@@ -104,4 +104,24 @@ public class BookingResponseDTO {
     public void setImageUrl(String imageUrl) {
         this.imageUrl = imageUrl;
     }
-}
\ No newline at end of file
+
+    private String seats;
+
+    public String getSeats() {
+        return seats;
+    }
+
+    public void setSeats(String seats) {
+        this.seats = seats;
+    }
+
+    private String paymentReference;
+
+    public String getPaymentReference() {
+        return paymentReference;
+    }
+
+    public void setPaymentReference(String paymentReference) {
+        this.paymentReference = paymentReference;
+    }
+}
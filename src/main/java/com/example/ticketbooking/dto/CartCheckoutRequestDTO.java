@@ -0,0 +1,23 @@
+package com.example.ticketbooking.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class CartCheckoutRequestDTO {
+    // One entry per event; each item is validated like a single booking request
+    @NotEmpty(message = "Cart is empty")
+    @Size(max = 10, message = "Cart cannot contain more than 10 events")
+    @Valid
+    private List<BookingRequestDTO> items;
+
+    public List<BookingRequestDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BookingRequestDTO> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.ticketbooking.dto;
+
+import java.util.List;
+
+public class CartCheckoutResponseDTO {
+    private String paymentReference;
+    private Double totalAmount;
+    private String status;
+    private List<BookingResponseDTO> bookings;
+
+    public String getPaymentReference() {
+        return paymentReference;
+    }
+
+    public void setPaymentReference(String paymentReference) {
+        this.paymentReference = paymentReference;
+    }
+
+    public Double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(Double totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public List<BookingResponseDTO> getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(List<BookingResponseDTO> bookings) {
+        this.bookings = bookings;
+    }
+}
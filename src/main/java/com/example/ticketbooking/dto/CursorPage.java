@@ -0,0 +1,36 @@
+package com.example.ticketbooking.dto;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list and the cursor of the next page, if
+ * there is one. The items are sent as the JSON array the list endpoints
+ * always returned; the cursor travels in the X-Next-Cursor header.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Builds a page from up to {@code limit + 1} rows: the extra row only
+     * tells that another page exists.
+     */
+    public static <R, T> CursorPage<T> of(List<R> rows, int limit, Function<R, PageCursor> cursorOf,
+            Function<R, T> mapper) {
+        boolean more = rows.size() > limit;
+        List<R> page = more ? rows.subList(0, limit) : rows;
+        String next = more ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(page.stream().map(mapper).toList(), next);
+    }
+
+    public ResponseEntity<List<T>> toResponse() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.ticketbooking.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a page, for keyset pagination.
+ *
+ * A list sorted by (sortKey, id) continues with a predicate such as
+ * {@code sortKey > :key OR (sortKey = :key AND id > :id)}, which the
+ * database answers from an index on (sort_key, id) however deep the page.
+ * Clients get the cursor as an opaque base64url token and send it back
+ * unchanged.
+ */
+public record PageCursor(String sortKey, long id) {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 500;
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = (sortKey == null ? "" : sortKey) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code token} is not a cursor
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new PageCursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            // Also covers bad base64 and NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Page size within 1..{@link #MAX_LIMIT}.
+     */
+    public static int limit(int requested) {
+        return Math.max(1, Math.min(requested, MAX_LIMIT));
+    }
+}
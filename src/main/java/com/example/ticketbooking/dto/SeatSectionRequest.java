@@ -0,0 +1,8 @@
+package com.example.ticketbooking.dto;
+
+public record SeatSectionRequest(
+                String stand,
+                String code,
+                Integer rows,
+                Integer seatsPerRow) {
+}
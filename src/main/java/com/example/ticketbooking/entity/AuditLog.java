@@ -0,0 +1,70 @@
+package com.example.ticketbooking.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One security or admin event. The table is append-only: rows are written
+ * in batches by {@link com.example.ticketbooking.service.AuditLogService}
+ * and never updated.
+ */
+@Entity
+@Table(name = "audit_log", indexes = {
+    @Index(name = "idx_audit_log_occurred_at", columnList = "occurred_at, id"),
+    @Index(name = "idx_audit_log_username", columnList = "username, occurred_at"),
+    @Index(name = "idx_audit_log_ip_address", columnList = "ip_address, occurred_at"),
+    @Index(name = "idx_audit_log_event_type", columnList = "event_type, occurred_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLog {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", length = 40, nullable = false)
+    private EventType eventType;
+
+    // INFO, WARNING or ERROR
+    @Column(name = "level", length = 10, nullable = false)
+    private String level;
+
+    @Column(name = "username", length = 100)
+    private String username;
+
+    @Column(name = "ip_address", length = 64)
+    private String ipAddress;
+
+    @Column(name = "message", length = 500)
+    private String message;
+
+    public enum EventType {
+        LOGIN_SUCCESS("INFO"),
+        LOGIN_FAILURE("WARNING"),
+        REGISTRATION_SUCCESS("INFO"),
+        REGISTRATION_FAILURE("WARNING"),
+        UNAUTHORIZED_ACCESS("WARNING"),
+        RATE_LIMIT_EXCEEDED("WARNING"),
+        SUSPICIOUS_ACTIVITY("ERROR"),
+        ADMIN_ACTION("INFO");
+
+        private final String level;
+
+        EventType(String level) {
+            this.level = level;
+        }
+
+        public String getLevel() {
+            return level;
+        }
+    }
+}
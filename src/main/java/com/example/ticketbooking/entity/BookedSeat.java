@@ -0,0 +1,44 @@
+package com.example.ticketbooking.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One seat held by an active seat-mapped booking. The in-memory seat map
+ * decides which seats to hand out; the unique key makes the database reject
+ * a second booking for the same seat even if two seat maps ever disagree.
+ */
+@Entity
+@Table(name = "booked_seats", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_booked_seats_seat",
+            columnNames = { "event_id", "section_id", "seat_row", "seat_number" })
+}, indexes = {
+    @Index(name = "idx_booked_seats_booking", columnList = "booking_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookedSeat {
+    // Sequence ids let the seats of a booking go out as one JDBC batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booked_seats_seq")
+    @SequenceGenerator(name = "booked_seats_seq", sequenceName = "booked_seats_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "section_id", nullable = false)
+    private Long sectionId;
+
+    @Column(name = "seat_row", nullable = false)
+    private Integer seatRow;
+
+    @Column(name = "seat_number", nullable = false)
+    private Integer seatNumber;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+}
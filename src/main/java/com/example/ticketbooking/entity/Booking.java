@@ -9,14 +9,19 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_payment_reference", columnList = "payment_reference"),
+    @Index(name = "idx_bookings_booking_date", columnList = "booking_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class Booking {
+    // Sequence ids (fetched 50 at a time) let Hibernate batch booking inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "booking_reference", unique = true, nullable = false)
@@ -53,6 +58,22 @@ public class Booking {
     @Column(name = "snap_token")
     private String snapToken;
 
+    // Seats are released if the booking is still PENDING after this time
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+
+    // Adjacent seats on the event's seat map, "sectionId:row:firstSeat:count"
+    @Column(name = "seat_assignment")
+    private String seatAssignment;
+
+    // Midtrans order id shared by all bookings of one cart checkout; null for single bookings
+    @Column(name = "payment_reference")
+    private String paymentReference;
+
+    // Paid after the hold expired and the seats could not be taken again
+    @Column(name = "refund_required")
+    private Boolean refundRequired;
+
     public enum BookingStatus {
         PENDING, CONFIRMED, CANCELLED, COMPLETED
     }
@@ -0,0 +1,65 @@
+package com.example.ticketbooking.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Booking and revenue totals for one event in one time bucket. Bookings
+ * count in the bucket they were made in; later status changes (payment
+ * settled, cancelled) correct that same bucket.
+ */
+@Entity
+@Table(name = "booking_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_booking_rollups_event_bucket", columnNames = { "granularity", "event_id", "bucket_start" })
+}, indexes = {
+    @Index(name = "idx_booking_rollups_bucket", columnList = "granularity, bucket_start"),
+    @Index(name = "idx_booking_rollups_league_bucket", columnList = "granularity, league_id, bucket_start")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", length = 10, nullable = false)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    // No foreign keys: history outlives deleted events and moved leagues
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "league_id")
+    private Long leagueId;
+
+    // Bookings made in the bucket
+    @Column(name = "bookings", nullable = false)
+    private Long bookings;
+
+    // Tickets and revenue of those bookings that are paid (CONFIRMED or COMPLETED)
+    @Column(name = "tickets_sold", nullable = false)
+    private Long ticketsSold;
+
+    @Column(name = "revenue", nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(name = "cancelled", nullable = false)
+    private Long cancelled;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum Granularity {
+        MINUTE, HOUR, DAY
+    }
+}
@@ -9,7 +9,11 @@ import java.math.BigDecimal;
 import java.util.List;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+    // Listing queries filter on the leading columns and read rows in index order
+    @Index(name = "idx_events_status_event_date", columnList = "status, event_date, id"),
+    @Index(name = "idx_events_league_event_date", columnList = "league_id, event_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,10 +34,11 @@ public class Event {
     @Column(name = "event_date", nullable = false)
     private LocalDateTime eventDate;
 
-    @Column(name = "total_seats", nullable = false)
+    // Seat counts are only changed by SeatInventoryService's guarded UPDATEs, never by saving the entity
+    @Column(name = "total_seats", nullable = false, updatable = false)
     private Integer totalSeats;
 
-    @Column(name = "available_seats", nullable = false)
+    @Column(name = "available_seats", nullable = false, updatable = false)
     private Integer availableSeats;
 
     @Column(nullable = false)
@@ -42,7 +47,9 @@ public class Event {
     @Column(name = "image_url")
     private String imageUrl;
 
+    // Likewise only moved by guarded UPDATEs (EventLifecycleService, EventService.updateEvent)
     @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
     private EventStatus status = EventStatus.ACTIVE;
 
     @Column(name = "created_at")
@@ -56,7 +63,8 @@ public class Event {
     @com.fasterxml.jackson.annotation.JsonIgnore
     private List<Booking> bookings;
 
+    // ACTIVE (on sale) -> LIVE at kickoff -> COMPLETED at full time, see EventLifecycleService
     public enum EventStatus {
-        ACTIVE, CANCELLED, COMPLETED
+        ACTIVE, LIVE, CANCELLED, COMPLETED
     }
 }
@@ -0,0 +1,57 @@
+package com.example.ticketbooking.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Pending Midtrans Snap token request, written in the same transaction as
+ * the booking so the token work survives a crash between commit and the
+ * gateway call.
+ */
+@Entity
+@Table(name = "payment_outbox", indexes = {
+    @Index(name = "idx_payment_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "booking_id", unique = true, nullable = false)
+    private Long bookingId;
+
+    @Column(name = "order_id", nullable = false)
+    private String orderId;
+
+    @Enumerated(EnumType.STRING)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(name = "attempts")
+    private Integer attempts = 0;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt = LocalDateTime.now();
+
+    // A PROCESSING row goes back to PENDING only once this has passed
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    public enum OutboxStatus {
+        PENDING, PROCESSING, DONE, FAILED
+    }
+}
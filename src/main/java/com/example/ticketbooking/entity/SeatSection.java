@@ -0,0 +1,45 @@
+package com.example.ticketbooking.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Layout of one section of an event's seat map. Which seats are taken is not
+ * stored here; it is rebuilt from the bookings' seat assignments.
+ */
+@Entity
+@Table(name = "seat_sections", indexes = {
+    @Index(name = "idx_seat_sections_event", columnList = "event_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatSection {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    @JsonIgnore
+    private Event event;
+
+    @Column(nullable = false)
+    private String stand;
+
+    @Column(nullable = false)
+    private String code;
+
+    @Column(name = "row_count", nullable = false)
+    private Integer rowCount;
+
+    @Column(name = "seats_per_row", nullable = false)
+    private Integer seatsPerRow;
+
+    // Lower sections are offered first by best-available
+    @Column(name = "display_order", nullable = false)
+    private Integer displayOrder;
+}
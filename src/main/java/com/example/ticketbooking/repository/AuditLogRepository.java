@@ -0,0 +1,58 @@
+package com.example.ticketbooking.repository;
+
+import com.example.ticketbooking.dto.AuditLogDTO;
+import com.example.ticketbooking.dto.PageCursor;
+import com.example.ticketbooking.entity.AuditLog;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+@Repository
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+
+    LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    String ROW = "SELECT new com.example.ticketbooking.dto.AuditLogDTO(a.id, a.occurredAt, a.level, a.eventType, "
+            + "a.message, a.username, a.ipAddress) FROM AuditLog a ";
+
+    // Newest first, continuing below (occurredAt, id) within [from, to); each filter has an index led by its column
+    @Query(ROW + "WHERE (a.occurredAt < :occurredAt OR (a.occurredAt = :occurredAt AND a.id < :id)) "
+            + "AND a.occurredAt >= :from AND a.occurredAt < :to "
+            + "AND (:username IS NULL OR a.username = :username) AND (:ipAddress IS NULL OR a.ipAddress = :ipAddress) "
+            + "AND (:eventType IS NULL OR a.eventType = :eventType) ORDER BY a.occurredAt DESC, a.id DESC")
+    List<AuditLogDTO> findRowsBefore(@Param("occurredAt") LocalDateTime occurredAt, @Param("id") Long id,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, @Param("username") String username,
+            @Param("ipAddress") String ipAddress, @Param("eventType") AuditLog.EventType eventType,
+            Pageable pageable);
+
+    /**
+     * Up to {@code limit + 1} rows after {@code cursor} (null for the first
+     * page), newest first; null bounds and filters match everything.
+     */
+    default List<AuditLogDTO> findPage(PageCursor cursor, int limit, LocalDateTime from, LocalDateTime to,
+            String username, String ipAddress, AuditLog.EventType eventType) {
+        LocalDateTime occurredAt = LATEST;
+        if (cursor != null) {
+            try {
+                occurredAt = LocalDateTime.parse(cursor.sortKey());
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+        return findRowsBefore(occurredAt, cursor == null ? Long.MAX_VALUE : cursor.id(),
+                from != null ? from : EARLIEST, to != null ? to : LATEST, username, ipAddress, eventType,
+                PageRequest.of(0, limit + 1));
+    }
+
+    static PageCursor cursorOf(AuditLogDTO row) {
+        return new PageCursor(row.timestamp.toString(), row.id);
+    }
+}
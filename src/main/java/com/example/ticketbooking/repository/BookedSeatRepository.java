@@ -0,0 +1,21 @@
+package com.example.ticketbooking.repository;
+
+import com.example.ticketbooking.entity.BookedSeat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface BookedSeatRepository extends JpaRepository<BookedSeat, Long> {
+    @Modifying
+    @Query("DELETE FROM BookedSeat s WHERE s.bookingId IN :bookingIds")
+    int deleteByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Modifying
+    @Query("DELETE FROM BookedSeat s WHERE s.eventId = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+}
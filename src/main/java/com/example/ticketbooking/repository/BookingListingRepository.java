@@ -0,0 +1,27 @@
+package com.example.ticketbooking.repository;
+
+import com.example.ticketbooking.dto.BookingAdminDTO;
+import com.example.ticketbooking.dto.BookingDTO;
+import com.example.ticketbooking.dto.PageCursor;
+import com.example.ticketbooking.entity.Booking;
+
+import java.util.List;
+
+/**
+ * Keyset-paged booking listings with optional filters, newest first.
+ */
+public interface BookingListingRepository {
+
+    /**
+     * Up to {@code limit + 1} admin rows after {@code cursor} (null for the
+     * first page), newest first; null filters match everything.
+     */
+    List<BookingAdminDTO> findAdminPage(PageCursor cursor, int limit, Booking.BookingStatus status, Long eventId,
+            Long userId);
+
+    /**
+     * Up to {@code limit + 1} rows after {@code cursor} (null for the first
+     * page), newest first; a null status matches everything.
+     */
+    List<BookingDTO> findRowPage(PageCursor cursor, int limit, Booking.BookingStatus status);
+}
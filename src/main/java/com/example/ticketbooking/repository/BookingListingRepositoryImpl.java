@@ -0,0 +1,79 @@
+package com.example.ticketbooking.repository;
+
+import com.example.ticketbooking.dto.BookingAdminDTO;
+import com.example.ticketbooking.dto.BookingDTO;
+import com.example.ticketbooking.dto.PageCursor;
+import com.example.ticketbooking.entity.Booking;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds each listing query from only the filters given. A catch-all
+ * {@code (:x IS NULL OR b.x = :x)} predicate is planned once for every
+ * combination, so the database cannot use the index of the filter that is
+ * actually set; here the statement only names the columns it filters on.
+ */
+class BookingListingRepositoryImpl implements BookingListingRepository {
+
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingAdminDTO> findAdminPage(PageCursor cursor, int limit, Booking.BookingStatus status,
+            Long eventId, Long userId) {
+        Map<String, Object> filters = new LinkedHashMap<>();
+        StringBuilder jpql = new StringBuilder(BookingRepository.ADMIN_ROW).append("WHERE ")
+                .append(BookingRepository.BEFORE);
+        filter(jpql, filters, "b.status", "status", status);
+        filter(jpql, filters, "b.event.id", "eventId", eventId);
+        filter(jpql, filters, "b.user.id", "userId", userId);
+        return page(jpql, filters, cursor, limit, BookingAdminDTO.class);
+    }
+
+    @Override
+    public List<BookingDTO> findRowPage(PageCursor cursor, int limit, Booking.BookingStatus status) {
+        Map<String, Object> filters = new LinkedHashMap<>();
+        StringBuilder jpql = new StringBuilder(BookingRepository.ROW).append("WHERE ")
+                .append(BookingRepository.BEFORE);
+        filter(jpql, filters, "b.status", "status", status);
+        return page(jpql, filters, cursor, limit, BookingDTO.class);
+    }
+
+    private <T> List<T> page(StringBuilder jpql, Map<String, Object> filters, PageCursor cursor, int limit,
+            Class<T> type) {
+        TypedQuery<T> query = entityManager.createQuery(jpql.append(BookingRepository.NEWEST_FIRST).toString(), type)
+                .setParameter("bookingDate", cursorDate(cursor))
+                .setParameter("id", cursor == null ? Long.MAX_VALUE : cursor.id())
+                .setMaxResults(limit + 1);
+        filters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    private static void filter(StringBuilder jpql, Map<String, Object> filters, String path, String name,
+            Object value) {
+        if (value != null) {
+            jpql.append("AND ").append(path).append(" = :").append(name).append(' ');
+            filters.put(name, value);
+        }
+    }
+
+    private static LocalDateTime cursorDate(PageCursor cursor) {
+        if (cursor == null) {
+            return LATEST;
+        }
+        try {
+            return LocalDateTime.parse(cursor.sortKey());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -1,24 +1,151 @@
 package com.example.ticketbooking.repository;
 
+import com.example.ticketbooking.dto.BookingAdminDTO;
+import com.example.ticketbooking.dto.BookingDTO;
+import com.example.ticketbooking.dto.PageCursor;
 import com.example.ticketbooking.entity.Booking;
 import com.example.ticketbooking.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingListingRepository {
     List<Booking> findByUser(User user);
 
     List<Booking> findByUser_Id(Long userId);
 
+    @EntityGraph(attributePaths = "event")
+    List<Booking> findWithEventByUser_Id(Long userId);
+
     List<Booking> findByEvent_Id(Long eventId);
 
     Optional<Booking> findByBookingReference(String bookingReference);
 
+    List<Booking> findByPaymentReferenceOrderByIdAsc(String paymentReference);
+
     List<Booking> findByStatus(Booking.BookingStatus status);
 
     long countByStatus(Booking.BookingStatus status);
-}
\ No newline at end of file
+
+    // Listing queries project straight into DTOs: one SELECT with its joins, no entities to lazy-load from
+    String ADMIN_ROW = "SELECT new com.example.ticketbooking.dto.BookingAdminDTO(b.id, b.bookingReference, u.id, "
+            + "u.username, e.id, e.title, b.numberOfTickets, b.totalAmount, b.status, b.bookingDate) "
+            + "FROM Booking b LEFT JOIN b.user u LEFT JOIN b.event e ";
+    String ROW = "SELECT new com.example.ticketbooking.dto.BookingDTO(b.id, b.bookingReference, e.title, "
+            + "b.numberOfTickets, b.totalAmount, b.status, b.bookingDate) FROM Booking b LEFT JOIN b.event e ";
+    // Newest first, continuing below (bookingDate, id); served by idx_bookings_booking_date
+    String BEFORE = "(b.bookingDate < :bookingDate OR (b.bookingDate = :bookingDate AND b.id < :id)) ";
+    String NEWEST_FIRST = "ORDER BY b.bookingDate DESC, b.id DESC";
+
+    @Query(ROW + "WHERE b.user.id = :userId " + NEWEST_FIRST)
+    List<BookingDTO> findRowsByUserId(@Param("userId") Long userId);
+
+    @Query(ROW + "WHERE b.status = :status " + NEWEST_FIRST)
+    List<BookingDTO> findRowsByStatus(@Param("status") Booking.BookingStatus status);
+
+    @Query(ROW + "WHERE b.bookingReference = :bookingReference")
+    Optional<BookingDTO> findRowByBookingReference(@Param("bookingReference") String bookingReference);
+
+    static PageCursor cursorOf(BookingAdminDTO row) {
+        return new PageCursor(row.bookingDate.toString(), row.id);
+    }
+
+    static PageCursor cursorOf(BookingDTO row) {
+        return new PageCursor(row.getBookingDate().toString(), row.getId());
+    }
+
+    @Query("SELECT b.status, COUNT(b), COALESCE(SUM(b.totalAmount), 0) FROM Booking b GROUP BY b.status")
+    List<Object[]> countAndSumByStatus();
+
+    @Query("SELECT COUNT(b), COALESCE(SUM(b.totalAmount), 0) FROM Booking b "
+            + "WHERE b.event.id IN :eventIds AND b.status = :status")
+    List<Object[]> countAndSumByEventIdsAndStatus(@Param("eventIds") Collection<Long> eventIds,
+            @Param("status") Booking.BookingStatus status);
+
+    // What the analytics rollups need per booking, in id order after afterId
+    @Query("SELECT b.id, b.event.id, b.bookingDate, b.status, b.numberOfTickets, b.totalAmount FROM Booking b "
+            + "WHERE b.id > :afterId ORDER BY b.id")
+    List<Object[]> findRollupFactsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    long countByEvent_IdAndStatusNot(Long eventId, Booking.BookingStatus status);
+
+    @Query("SELECT b.event.id, SUM(b.numberOfTickets) FROM Booking b WHERE b.status <> :excluded "
+            + "GROUP BY b.event.id")
+    List<Object[]> sumTicketsByEvent(@Param("excluded") Booking.BookingStatus excluded);
+
+    @Query("SELECT b.event.id, b.seatAssignment FROM Booking b "
+            + "WHERE b.seatAssignment IS NOT NULL AND b.status <> :excluded")
+    List<Object[]> findSeatAssignments(@Param("excluded") Booking.BookingStatus excluded);
+
+    @Query("SELECT b.event.id FROM Booking b WHERE b.id = :id")
+    Optional<Long> findEventIdById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT b FROM Booking b WHERE b.bookingReference = :orderId OR b.paymentReference = :orderId "
+            + "ORDER BY b.id")
+    List<Booking> findByOrderId(@Param("orderId") String orderId);
+
+    // Every booking paid for by a Midtrans order (one booking, or a whole cart), locked in id order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.bookingReference = :orderId OR b.paymentReference = :orderId "
+            + "ORDER BY b.id")
+    List<Booking> findByOrderIdForUpdate(@Param("orderId") String orderId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids AND b.status = :status")
+    List<Booking> findByIdInAndStatusForUpdate(@Param("ids") Collection<Long> ids,
+            @Param("status") Booking.BookingStatus status);
+
+    /**
+     * Confirms the bookings of a paid order that are still PENDING. Clears
+     * the persistence context, so loaded copies of them go stale.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = com.example.ticketbooking.entity.Booking.BookingStatus.CONFIRMED, "
+            + "b.paymentDate = :paidAt, b.paymentType = :paymentType "
+            + "WHERE b.id IN :ids AND b.status = com.example.ticketbooking.entity.Booking.BookingStatus.PENDING")
+    int confirmPending(@Param("ids") Collection<Long> ids, @Param("paidAt") LocalDateTime paidAt,
+            @Param("paymentType") String paymentType);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :to WHERE b.id IN :ids AND b.status = :from")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids, @Param("from") Booking.BookingStatus from,
+            @Param("to") Booking.BookingStatus to);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :to WHERE b.event.id IN :eventIds AND b.status = :from")
+    int updateStatusByEventIds(@Param("eventIds") Collection<Long> eventIds,
+            @Param("from") Booking.BookingStatus from, @Param("to") Booking.BookingStatus to);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user JOIN FETCH b.event WHERE b.id = :id")
+    Optional<Booking> findWithUserAndEventById(@Param("id") Long id);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user JOIN FETCH b.event "
+            + "WHERE b.paymentReference = :paymentReference ORDER BY b.id")
+    List<Booking> findWithUserAndEventByPaymentReference(@Param("paymentReference") String paymentReference);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.snapToken = :snapToken WHERE b.id = :id")
+    int updateSnapToken(@Param("id") Long id, @Param("snapToken") String snapToken);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.snapToken = :snapToken "
+            + "WHERE b.paymentReference = :paymentReference AND b.status = :status")
+    int updateSnapTokenByPaymentReference(@Param("paymentReference") String paymentReference,
+            @Param("snapToken") String snapToken, @Param("status") Booking.BookingStatus status);
+}
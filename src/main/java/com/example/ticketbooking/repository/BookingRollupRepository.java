@@ -0,0 +1,39 @@
+package com.example.ticketbooking.repository;
+
+import com.example.ticketbooking.entity.BookingRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BookingRollupRepository extends JpaRepository<BookingRollup, Long> {
+    String TOTALS = "SUM(r.bookings), SUM(r.ticketsSold), SUM(r.revenue), SUM(r.cancelled) FROM BookingRollup r "
+            + "WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to "
+            + "AND (:eventId IS NULL OR r.eventId = :eventId) AND (:leagueId IS NULL OR r.leagueId = :leagueId) ";
+
+    @Query("SELECT r.bucketStart, " + TOTALS + "GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<Object[]> sumByBucket(@Param("granularity") BookingRollup.Granularity granularity,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, @Param("eventId") Long eventId,
+            @Param("leagueId") Long leagueId);
+
+    @Query("SELECT r.eventId, " + TOTALS + "GROUP BY r.eventId ORDER BY SUM(r.revenue) DESC, r.eventId")
+    List<Object[]> sumByEvent(@Param("granularity") BookingRollup.Granularity granularity,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, @Param("eventId") Long eventId,
+            @Param("leagueId") Long leagueId, Pageable pageable);
+
+    @Query("SELECT r.leagueId, " + TOTALS + "GROUP BY r.leagueId ORDER BY SUM(r.revenue) DESC, r.leagueId")
+    List<Object[]> sumByLeague(@Param("granularity") BookingRollup.Granularity granularity,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, @Param("eventId") Long eventId,
+            @Param("leagueId") Long leagueId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM BookingRollup r WHERE r.granularity = :granularity AND r.bucketStart < :before")
+    int deleteOlderThan(@Param("granularity") BookingRollup.Granularity granularity,
+            @Param("before") LocalDateTime before);
+}
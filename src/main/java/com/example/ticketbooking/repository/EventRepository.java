@@ -1,21 +1,102 @@
 package com.example.ticketbooking.repository;
 
+import com.example.ticketbooking.dto.EventDTO;
 import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.entity.League;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
+    // Listing queries project straight into EventDTO instead of loading entities
+    String SUMMARY = "SELECT new com.example.ticketbooking.dto.EventDTO(e.id, e.title, e.description, e.venue, "
+            + "e.eventDate, e.totalSeats, e.price, e.imageUrl, e.league.id) FROM Event e ";
+
     List<Event> findByStatus(Event.EventStatus status);
 
     @Query("SELECT e FROM Event e WHERE e.eventDate > :currentDate AND e.status = :status")
     List<Event> findUpcomingEvents(LocalDateTime currentDate, Event.EventStatus status);
 
+    // Events leave ACTIVE at kickoff (EventLifecycleService), so the status alone selects upcoming events.
+    // status is constant here; ordering by it too lets the index return rows already sorted
+    @Query(SUMMARY + "WHERE e.status = :status ORDER BY e.status, e.eventDate, e.id")
+    List<EventDTO> findSummariesByStatus(@Param("status") Event.EventStatus status, Pageable pageable);
+
+    @Query(SUMMARY + "WHERE e.league.id = :leagueId ORDER BY e.league.id, e.eventDate, e.id")
+    List<EventDTO> findSummariesByLeagueId(@Param("leagueId") Long leagueId, Pageable pageable);
+
+    @Query(SUMMARY + "WHERE (LOWER(e.title) LIKE :query ESCAPE '\\' "
+            + "OR LOWER(e.description) LIKE :query ESCAPE '\\') "
+            + "AND LOWER(e.venue) LIKE :venue ESCAPE '\\' AND e.eventDate >= :from AND e.eventDate < :to "
+            + "ORDER BY e.eventDate, e.id")
+    List<EventDTO> searchSummaries(@Param("query") String query, @Param("venue") String venue,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable pageable);
+
+    @Query(SUMMARY + "WHERE e.id IN :ids")
+    List<EventDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset scan over the whole catalog: GET /api/events pages, search index rebuild
+    @Query(SUMMARY + "WHERE e.id > :afterId ORDER BY e.id")
+    List<EventDTO> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Keyset scan over the upcoming catalog: suggestion rebuild
+    @Query(SUMMARY + "WHERE e.status = :status AND e.eventDate > :from AND e.id > :afterId ORDER BY e.id")
+    List<EventDTO> findUpcomingSummariesAfter(@Param("status") Event.EventStatus status,
+            @Param("from") LocalDateTime from, @Param("afterId") Long afterId, Pageable pageable);
+
+    // Lifecycle: events in a status that started at or before a time, oldest first
+    @Query("SELECT e.id FROM Event e WHERE e.status = :status AND e.eventDate <= :before "
+            + "ORDER BY e.status, e.eventDate, e.id")
+    List<Long> findIdsStartedBefore(@Param("status") Event.EventStatus status,
+            @Param("before") LocalDateTime before, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findByIdForUpdate(@Param("id") Long id);
+
+    // The columns the entity does not write: status, total and available seats
+    @Query("SELECT e.status, e.totalSeats, e.availableSeats FROM Event e WHERE e.id = :id")
+    List<Object[]> findStateById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.status = :to WHERE e.id IN :ids AND e.status = :from")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids, @Param("from") Event.EventStatus from,
+            @Param("to") Event.EventStatus to);
+
+    @Query("SELECT e.id, e.title, e.venue FROM Event e WHERE e.league IS NULL AND e.id > :afterId ORDER BY e.id")
+    List<Object[]> findUnassigned(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.league = :league WHERE e.id IN :ids AND e.league IS NULL")
+    int assignLeague(@Param("league") League league, @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT e.id, e.league.id FROM Event e WHERE e.id IN :ids")
+    List<Object[]> findLeagueIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT e.id, e.title FROM Event e WHERE e.id IN :ids")
+    List<Object[]> findTitles(@Param("ids") Collection<Long> ids);
+
+    // Catalog statistics: loaded once, then kept current by the writers
+    @Query("SELECT e.status, e.league.id, COUNT(e), COALESCE(SUM(e.totalSeats), 0), COALESCE(SUM(e.price), 0) "
+            + "FROM Event e GROUP BY e.status, e.league.id")
+    List<Object[]> countByStatusAndLeague();
+
+    @Query("SELECT e.eventDate, e.league.id, COUNT(e) FROM Event e WHERE e.status = :status AND e.eventDate > :from "
+            + "GROUP BY e.eventDate, e.league.id")
+    List<Object[]> countUpcomingByDateAndLeague(@Param("status") Event.EventStatus status,
+            @Param("from") LocalDateTime from);
+
     List<Event> findByVenueContainingIgnoreCase(String venue);
 
     List<Event> findByTitleContainingIgnoreCase(String title);
@@ -25,4 +106,26 @@ public interface EventRepository extends JpaRepository<Event, Long> {
 
     @Query("SELECT COUNT(e) FROM Event e WHERE e.eventDate > :date")
     Long countByEventDateAfter(@Param("date") LocalDateTime date);
-}
\ No newline at end of file
+
+    // Seats left for sale: none once the event has left ACTIVE
+    @Query("SELECT CASE WHEN e.status = com.example.ticketbooking.entity.Event.EventStatus.ACTIVE "
+            + "THEN e.availableSeats ELSE 0 END FROM Event e WHERE e.id = :eventId")
+    Optional<Integer> findAvailableSeats(@Param("eventId") Long eventId);
+
+    // Guarded decrement: succeeds (returns 1) only while enough seats remain
+    @Modifying
+    @Query("UPDATE Event e SET e.availableSeats = e.availableSeats - :seats " +
+            "WHERE e.id = :eventId AND e.availableSeats >= :seats")
+    int reserveSeats(@Param("eventId") Long eventId, @Param("seats") int seats);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.availableSeats = e.availableSeats + :seats " +
+            "WHERE e.id = :eventId AND e.availableSeats + :seats <= e.totalSeats")
+    int releaseSeats(@Param("eventId") Long eventId, @Param("seats") int seats);
+
+    // total + delta >= sold, with sold = total - available
+    @Modifying
+    @Query("UPDATE Event e SET e.totalSeats = e.totalSeats + :delta, e.availableSeats = e.availableSeats + :delta " +
+            "WHERE e.id = :eventId AND e.availableSeats + :delta >= 0")
+    int resizeSeats(@Param("eventId") Long eventId, @Param("delta") int delta);
+}
@@ -13,6 +13,8 @@ public interface LeagueRepository extends JpaRepository<League, Long> {
 
     List<League> findByStatus(League.LeagueStatus status);
 
+    long countByStatus(League.LeagueStatus status);
+
     List<League> findByCountry(String country);
 
     Optional<League> findByName(String name);
@@ -0,0 +1,59 @@
+package com.example.ticketbooking.repository;
+
+import com.example.ticketbooking.entity.PaymentOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutbox, Long> {
+    Optional<PaymentOutbox> findByOrderId(String orderId);
+
+    long countByStatus(PaymentOutbox.OutboxStatus status);
+
+    @Query("SELECT o.id FROM PaymentOutbox o WHERE o.status = :status AND o.nextAttemptAt <= :now ORDER BY o.id")
+    List<Long> findDueIds(@Param("status") PaymentOutbox.OutboxStatus status, @Param("now") LocalDateTime now,
+            Pageable pageable);
+
+    /**
+     * Claims a row for one worker until {@code leaseUntil}; returns 0 if
+     * another worker got there first. The new attempt number identifies the
+     * claim.
+     */
+    @Modifying
+    @Query("UPDATE PaymentOutbox o SET o.status = com.example.ticketbooking.entity.PaymentOutbox.OutboxStatus.PROCESSING, "
+            + "o.attempts = o.attempts + 1, o.updatedAt = :now, o.leaseExpiresAt = :leaseUntil "
+            + "WHERE o.id = :id AND o.status = com.example.ticketbooking.entity.PaymentOutbox.OutboxStatus.PENDING")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Puts rows back whose lease ran out without an answer (e.g. the node was
+     * restarted mid-call). Rows still within their lease are left alone.
+     */
+    @Modifying
+    @Query("UPDATE PaymentOutbox o SET o.status = com.example.ticketbooking.entity.PaymentOutbox.OutboxStatus.PENDING, "
+            + "o.nextAttemptAt = :now "
+            + "WHERE o.status = com.example.ticketbooking.entity.PaymentOutbox.OutboxStatus.PROCESSING "
+            + "AND o.leaseExpiresAt < :now")
+    int resetStale(@Param("now") LocalDateTime now);
+
+    /**
+     * Records the result of one attempt. Returns 0 if that attempt's lease
+     * was reset and a later attempt owns the row now.
+     */
+    @Modifying
+    @Query("UPDATE PaymentOutbox o SET o.status = :status, o.lastError = :error, o.nextAttemptAt = :nextAttemptAt, "
+            + "o.updatedAt = :now "
+            + "WHERE o.id = :id AND o.attempts = :attempt "
+            + "AND o.status = com.example.ticketbooking.entity.PaymentOutbox.OutboxStatus.PROCESSING")
+    int finish(@Param("id") Long id, @Param("attempt") int attempt,
+            @Param("status") PaymentOutbox.OutboxStatus status, @Param("error") String error,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,22 @@
+package com.example.ticketbooking.repository;
+
+import com.example.ticketbooking.entity.SeatSection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SeatSectionRepository extends JpaRepository<SeatSection, Long> {
+    List<SeatSection> findByEvent_IdOrderByDisplayOrderAsc(Long eventId);
+
+    @Query("SELECT s FROM SeatSection s ORDER BY s.event.id, s.displayOrder")
+    List<SeatSection> findAllOrdered();
+
+    @Modifying
+    @Query("DELETE FROM SeatSection s WHERE s.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+}
@@ -1,6 +1,9 @@
 package com.example.ticketbooking.repository;
 
+import com.example.ticketbooking.dto.PageCursor;
 import com.example.ticketbooking.entity.User;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,6 +21,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.role = :role")
     List<User> findByRole(@Param("role") String role);
 
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Up to {@code limit + 1} users after {@code cursor} (null for the first
+     * page), in id order.
+     */
+    default List<User> findPage(PageCursor cursor, int limit) {
+        return findByIdGreaterThanOrderByIdAsc(cursor == null ? 0L : cursor.id(), PageRequest.of(0, limit + 1));
+    }
+
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role")
     Long countByRole(@Param("role") String role);
 
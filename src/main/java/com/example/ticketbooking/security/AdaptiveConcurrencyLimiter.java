@@ -0,0 +1,159 @@
+package com.example.ticketbooking.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that follows latency, in the style of Netflix's
+ * gradient limiter.
+ *
+ * Latencies are averaged per sample window and compared against a
+ * slow-moving long-term average. While a window stays within
+ * {@code TOLERANCE} of it, the limit grows by about sqrt(limit) / 5 per
+ * window. Once requests start queueing and latency climbs, the gradient
+ * longRtt / shortRtt drops below one and the limit shrinks by up to 10% per
+ * window. Windows with server errors back off by 10% as well.
+ * Windows that never used half the limit are ignored, so an idle service
+ * does not inflate its limit. Admission itself is a single CAS on the
+ * in-flight counter.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    // The long-term average follows roughly the last LONG_WINDOWS windows
+    private static final int LONG_WINDOWS = 600;
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double DROP_BACKOFF = 0.9;
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile int limit;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private double longRttNanos;
+    private double shortRttNanos;
+    private long windowStart;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, long windowMs) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min-limit <= max-limit");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+        this.windowStart = System.nanoTime();
+    }
+
+    /**
+     * Takes a slot, or returns false straight away when the limit is reached.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives the slot back and feeds the request's latency into the limit.
+     * {@code failed} marks overload symptoms such as 5xx responses.
+     */
+    public void release(long startNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        long now = System.nanoTime();
+        if (failed) {
+            dropped.increment();
+        }
+        sample(now, now - startNanos, inFlightBefore, failed);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("group", name);
+        metrics.put("limit", limit);
+        metrics.put("inFlight", inFlight.get());
+        metrics.put("accepted", accepted.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("failed", dropped.sum());
+        synchronized (this) {
+            metrics.put("shortRttMs", Math.round(shortRttNanos / 10_000.0) / 100.0);
+            metrics.put("longRttMs", Math.round(longRttNanos / 10_000.0) / 100.0);
+        }
+        return metrics;
+    }
+
+    synchronized void sample(long nowNanos, long rttNanos, int inFlightAtRelease, boolean failed) {
+        windowRttSum += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtRelease);
+        windowDropped |= failed;
+        if (nowNanos - windowStart < windowNanos || windowSamples < MIN_WINDOW_SAMPLES) {
+            return;
+        }
+        updateLimit((double) windowRttSum / windowSamples, windowMaxInFlight, windowDropped);
+        windowStart = nowNanos;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+    }
+
+    private void updateLimit(double rtt, int maxInFlight, boolean failed) {
+        shortRttNanos = rtt;
+        if (longRttNanos == 0) {
+            longRttNanos = rtt;
+        } else {
+            longRttNanos += (rtt - longRttNanos) / LONG_WINDOWS;
+            // Latency fell well below the long-term average; catch up faster
+            if (longRttNanos > 2 * rtt) {
+                longRttNanos *= 0.95;
+            }
+        }
+
+        if (failed) {
+            estimatedLimit *= DROP_BACKOFF;
+        } else if (maxInFlight < estimatedLimit / 2) {
+            return;
+        } else {
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / rtt));
+            double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            estimatedLimit = estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING;
+        }
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+        limit = (int) estimatedLimit;
+    }
+}
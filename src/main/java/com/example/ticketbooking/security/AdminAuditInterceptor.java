@@ -0,0 +1,71 @@
+package com.example.ticketbooking.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Set;
+
+/**
+ * Audits every admin request that changes something (POST, PUT, PATCH,
+ * DELETE under /api/admin), once the response status is known. Reads are
+ * not audited.
+ *
+ * The client address is the remote address of the connection. Forwarding
+ * headers can be set by anyone, so X-Forwarded-For is only read when the
+ * connection comes from one of {@code app.audit.trusted-proxies}, and then
+ * the address recorded is the last hop that is not itself a trusted proxy.
+ */
+@Component
+public class AdminAuditInterceptor implements HandlerInterceptor {
+
+    private static final Set<String> MUTATIONS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final SecurityAuditService securityAuditService;
+    private final Set<String> trustedProxies;
+
+    public AdminAuditInterceptor(SecurityAuditService securityAuditService,
+            @Value("${app.audit.trusted-proxies:}") Set<String> trustedProxies) {
+        this.securityAuditService = securityAuditService;
+        this.trustedProxies = trustedProxies;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler, @Nullable Exception ex) {
+        if (!MUTATIONS.contains(request.getMethod())) {
+            return;
+        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        int status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+        securityAuditService.logAdminAction(auth != null ? auth.getName() : null, getClientIpAddress(request),
+                request.getMethod() + " " + request.getRequestURI() + " -> " + status);
+    }
+
+    String getClientIpAddress(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (!trustedProxies.contains(address) || xForwardedFor == null) {
+            return address;
+        }
+        // Each proxy appends the address it received the request from; walk back past our own proxies
+        String[] hops = xForwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty() || "unknown".equalsIgnoreCase(hop)) {
+                break;
+            }
+            address = hop;
+            if (!trustedProxies.contains(hop)) {
+                break;
+            }
+        }
+        return address;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.ticketbooking.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Load shedding for the booking, payment and auth APIs.
+ *
+ * Each route group has its own {@link AdaptiveConcurrencyLimiter}, so a
+ * login storm cannot starve checkouts and vice versa. A request over its
+ * group's limit gets an immediate 503 with Retry-After instead of queueing on
+ * a Tomcat thread. The filter runs first in the chain, before security and
+ * JWT parsing, so shed requests cost next to nothing. The payment gateway's
+ * webhook is exempt, so a busy payments group never drops a settlement.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    // Path prefix -> route group
+    private static final Map<String, String> ROUTE_GROUPS = Map.of(
+            "/api/bookings", "bookings",
+            "/api/payments", "payments",
+            "/api/auth", "auth");
+
+    // Never shed: Midtrans webhooks settle payments and are only retried with a delay
+    private static final Set<String> EXEMPT_PATHS = Set.of("/api/payments/notification");
+
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new LinkedHashMap<>();
+
+    public ConcurrencyLimitFilter(
+            @Value("${app.limiter.enabled:true}") boolean enabled,
+            @Value("${app.limiter.initial-limit:20}") int initialLimit,
+            @Value("${app.limiter.min-limit:4}") int minLimit,
+            @Value("${app.limiter.max-limit:200}") int maxLimit,
+            @Value("${app.limiter.window-ms:250}") long windowMs,
+            @Value("${app.limiter.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+        for (String group : List.of("bookings", "payments", "auth")) {
+            limiters.put(group, new AdaptiveConcurrencyLimiter(group, initialLimit, minLimit, maxLimit, windowMs));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || "OPTIONS".equals(request.getMethod()) || routeGroup(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @org.springframework.lang.NonNull HttpServletRequest request,
+            @org.springframework.lang.NonNull HttpServletResponse response,
+            @org.springframework.lang.NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        AdaptiveConcurrencyLimiter limiter = limiters.get(routeGroup(request.getRequestURI()));
+        if (!limiter.tryAcquire()) {
+            logger.debug("Shedding {} {} (limit {})", request.getMethod(), request.getRequestURI(),
+                    limiter.getLimit());
+            response.setContentType("application/json");
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+            response.getWriter().write(
+                    "{\"error\":\"Server busy\",\"message\":\"Too many requests in progress. Please retry shortly.\"}");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            limiter.release(start, failed);
+        }
+    }
+
+    /**
+     * Limits, in-flight requests and rejections per route group.
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        limiters.forEach((group, limiter) -> metrics.put(group, limiter.getMetrics()));
+        return metrics;
+    }
+
+    static String routeGroup(String path) {
+        if (path == null || EXEMPT_PATHS.contains(path)) {
+            return null;
+        }
+        for (Map.Entry<String, String> route : ROUTE_GROUPS.entrySet()) {
+            String prefix = route.getKey();
+            if (path.equals(prefix) || path.startsWith(prefix + "/")) {
+                return route.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.ticketbooking.security;
+
+import com.example.ticketbooking.service.IdempotencyService;
+import com.example.ticketbooking.service.IdempotencyService.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Honours the Idempotency-Key header on POST /api/bookings,
+ * POST /api/bookings/checkout and POST /api/payments/sync-status/{orderId}.
+ *
+ * Keys are scoped to the caller and the endpoint. A replay with the same body
+ * gets the stored response (marked with Idempotent-Replayed: true) without
+ * running the controller again; a concurrent duplicate waits for the first
+ * execution and receives its response. Reusing a key with a different body is
+ * rejected with 422. Only 2xx responses are remembered, so retries after an
+ * error (including a 403 from the waiting room) run normally.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyService idempotencyService;
+
+    @Value("${app.idempotency.wait-seconds:30}")
+    private long waitSeconds;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService) {
+        this.idempotencyService = idempotencyService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return !(path.equals("/api/bookings") || path.equals("/api/bookings/checkout")
+                || path.startsWith("/api/payments/sync-status/"));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @org.springframework.lang.NonNull HttpServletRequest request,
+            @org.springframework.lang.NonNull HttpServletResponse response,
+            @org.springframework.lang.NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String idempotencyKey = request.getHeader(HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, 400, "Invalid Idempotency-Key");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String key = scope(request) + "|" + request.getRequestURI() + "|" + idempotencyKey;
+        String fingerprint = fingerprint(request.getQueryString(), cachedRequest.body);
+
+        StoredResponse stored = idempotencyService.find(key);
+        if (stored == null) {
+            CompletableFuture<StoredResponse> running = idempotencyService.begin(key);
+            if (running != null) {
+                stored = awaitFirstExecution(running, response);
+                if (stored == null) {
+                    return;
+                }
+            } else {
+                // Re-check: the first execution may have finished between find() and begin()
+                stored = idempotencyService.find(key);
+                if (stored != null) {
+                    idempotencyService.complete(key, stored, false);
+                } else {
+                    execute(key, fingerprint, cachedRequest, response, filterChain);
+                    return;
+                }
+            }
+        }
+        replay(stored, fingerprint, response);
+    }
+
+    private void execute(String key, String fingerprint, CachedBodyRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } catch (ServletException | IOException | RuntimeException e) {
+            idempotencyService.abort(key, e);
+            throw e;
+        }
+        int status = wrapper.getStatus();
+        StoredResponse stored = idempotencyService.newResponse(fingerprint, status, wrapper.getContentType(),
+                wrapper.getContentAsByteArray());
+        idempotencyService.complete(key, stored, status >= 200 && status < 300);
+        wrapper.copyBodyToResponse();
+    }
+
+    private StoredResponse awaitFirstExecution(CompletableFuture<StoredResponse> running,
+            HttpServletResponse response) throws IOException {
+        try {
+            return running.get(waitSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            writeError(response, 409, "A request with this Idempotency-Key is still in progress");
+        } catch (ExecutionException e) {
+            writeError(response, 409, "The original request with this Idempotency-Key failed, please retry");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeError(response, 409, "A request with this Idempotency-Key is still in progress");
+        }
+        return null;
+    }
+
+    private void replay(StoredResponse stored, String fingerprint, HttpServletResponse response) throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            writeError(response, 422, "Idempotency-Key was already used with a different request");
+            return;
+        }
+        logger.debug("Replaying stored response for Idempotency-Key");
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private String scope(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getName())) {
+            return "user:" + auth.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private String fingerprint(String queryString, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            if (queryString != null) {
+                digest.update(queryString.getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) 0);
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setContentType("application/json");
+        response.setStatus(status);
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+
+    /**
+     * Reads the body once so it can be fingerprinted and still reach the controller.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -139,6 +139,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return true;
         }
 
+        // Waiting room polling must stay cheap: no user lookup
+        if (path.startsWith("/api/queue/")) {
+            return true;
+        }
+
         // Allow payment sync-status for both GET and POST
         if (path.startsWith("/api/payments/sync-status")) {
             return true;
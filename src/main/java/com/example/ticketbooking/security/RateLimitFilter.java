@@ -24,6 +24,12 @@ public class RateLimitFilter extends OncePerRequestFilter {
     private static final int MAX_REQUESTS_PER_MINUTE = 10;
     private static final int MAX_REQUESTS_PER_HOUR = 100;
 
+    private final SecurityAuditService securityAuditService;
+
+    public RateLimitFilter(SecurityAuditService securityAuditService) {
+        this.securityAuditService = securityAuditService;
+    }
+
     @Override
     protected void doFilterInternal(
             @org.springframework.lang.NonNull HttpServletRequest request,
@@ -36,6 +42,7 @@ public class RateLimitFilter extends OncePerRequestFilter {
         if (isAuthenticationEndpoint(requestPath)) {
             if (isRateLimitExceeded(clientIp)) {
                 logger.warn("Rate limit exceeded for IP: {}", clientIp);
+                securityAuditService.logRateLimitExceeded(clientIp, requestPath);
                 response.setContentType("application/json");
                 response.setStatus(429);
                 response.getWriter().write(
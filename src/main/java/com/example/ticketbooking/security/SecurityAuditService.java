@@ -1,5 +1,7 @@
 package com.example.ticketbooking.security;
 
+import com.example.ticketbooking.entity.AuditLog;
+import com.example.ticketbooking.service.AuditLogService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -15,15 +17,24 @@ public class SecurityAuditService {
 
     private final Map<String, FailedLoginAttempt> failedLoginAttempts = new ConcurrentHashMap<>();
 
+    // Every event also goes to the audit_log table, without waiting for the write
+    private final AuditLogService auditLogService;
+
+    public SecurityAuditService(AuditLogService auditLogService) {
+        this.auditLogService = auditLogService;
+    }
+
     public void logLoginAttempt(String username, String ipAddress, boolean success) {
         if (success) {
             securityLogger.info("SUCCESSFUL_LOGIN - Username: {}, IP: {}, Timestamp: {}",
                     username, ipAddress, LocalDateTime.now());
+            auditLogService.append(AuditLog.EventType.LOGIN_SUCCESS, username, ipAddress, "Login successful");
 
             failedLoginAttempts.remove(ipAddress);
         } else {
             securityLogger.warn("FAILED_LOGIN - Username: {}, IP: {}, Timestamp: {}",
                     username, ipAddress, LocalDateTime.now());
+            auditLogService.append(AuditLog.EventType.LOGIN_FAILURE, username, ipAddress, "Failed login attempt");
 
             trackFailedAttempt(ipAddress);
         }
@@ -33,25 +44,44 @@ public class SecurityAuditService {
         if (success) {
             securityLogger.info("SUCCESSFUL_REGISTRATION - Username: {}, Email: {}, IP: {}, Timestamp: {}",
                     username, email, ipAddress, LocalDateTime.now());
+            auditLogService.append(AuditLog.EventType.REGISTRATION_SUCCESS, username, ipAddress,
+                    "Registration successful: " + email);
         } else {
             securityLogger.warn("FAILED_REGISTRATION - Username: {}, Email: {}, IP: {}, Timestamp: {}",
                     username, email, ipAddress, LocalDateTime.now());
+            auditLogService.append(AuditLog.EventType.REGISTRATION_FAILURE, username, ipAddress,
+                    "Failed registration: " + email);
         }
     }
 
     public void logUnauthorizedAccess(String endpoint, String ipAddress, String reason) {
         securityLogger.warn("UNAUTHORIZED_ACCESS - Endpoint: {}, IP: {}, Reason: {}, Timestamp: {}",
                 endpoint, ipAddress, reason, LocalDateTime.now());
+        auditLogService.append(AuditLog.EventType.UNAUTHORIZED_ACCESS, null, ipAddress,
+                "Unauthorized access to " + endpoint + ": " + reason);
     }
 
     public void logRateLimitExceeded(String ipAddress, String endpoint) {
         securityLogger.warn("RATE_LIMIT_EXCEEDED - IP: {}, Endpoint: {}, Timestamp: {}",
                 ipAddress, endpoint, LocalDateTime.now());
+        auditLogService.append(AuditLog.EventType.RATE_LIMIT_EXCEEDED, null, ipAddress,
+                "Rate limit exceeded on " + endpoint);
     }
 
     public void logSuspiciousActivity(String activity, String ipAddress, String details) {
         securityLogger.error("SUSPICIOUS_ACTIVITY - Activity: {}, IP: {}, Details: {}, Timestamp: {}",
                 activity, ipAddress, details, LocalDateTime.now());
+        auditLogService.append(AuditLog.EventType.SUSPICIOUS_ACTIVITY, null, ipAddress, activity + ": " + details);
+    }
+
+    /**
+     * A change made through an admin endpoint; {@code action} names the
+     * request and its response status.
+     */
+    public void logAdminAction(String username, String ipAddress, String action) {
+        securityLogger.info("ADMIN_ACTION - Username: {}, IP: {}, Action: {}, Timestamp: {}",
+                username, ipAddress, action, LocalDateTime.now());
+        auditLogService.append(AuditLog.EventType.ADMIN_ACTION, username, ipAddress, action);
     }
 
     public boolean isIpBlocked(String ipAddress) {
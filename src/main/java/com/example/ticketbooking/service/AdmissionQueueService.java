@@ -0,0 +1,269 @@
+package com.example.ticketbooking.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Virtual waiting room in front of POST /api/bookings.
+ *
+ * Each event with an active queue hands out FIFO sequence numbers wrapped in
+ * HMAC-signed tickets. Once per second the admission cursor moves forward by
+ * the release rate the admin configured; a ticket whose sequence is behind the
+ * cursor may create one booking. Everything here is in memory, so polling the
+ * queue position never touches JPA.
+ *
+ * The queue is per node: sequence numbers, the admission cursor and used
+ * tickets are not shared, so with several instances each one runs its own
+ * waiting room. Keep a single instance (or route each event to one node)
+ * while a waiting room is on.
+ */
+@Service
+public class AdmissionQueueService {
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionQueueService.class);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Map<Long, EventQueue> queues = new ConcurrentHashMap<>();
+    private final SecretKeySpec signingKey;
+    private final long ticketTtlMs;
+    private final LongSupplier clock;
+
+    @Autowired
+    public AdmissionQueueService(@Value("${app.queue.secret:}") String secret,
+            @Value("${app.queue.ticket-ttl-minutes:120}") long ticketTtlMinutes) {
+        this(secret, ticketTtlMinutes, System::currentTimeMillis);
+    }
+
+    AdmissionQueueService(String secret, long ticketTtlMinutes, LongSupplier clock) {
+        byte[] key;
+        if (secret == null || secret.isBlank()) {
+            // Tickets then stop working when this instance restarts
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            logger.warn("app.queue.secret not set, queue tickets do not survive a restart");
+        } else {
+            key = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.signingKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+        this.ticketTtlMs = ticketTtlMinutes * 60_000;
+        this.clock = clock;
+    }
+
+    /**
+     * Enables (or reconfigures) the waiting room for an event.
+     */
+    public void configure(Long eventId, boolean enabled, int releasePerSecond) {
+        if (releasePerSecond < 1) {
+            throw new IllegalArgumentException("Release rate must be at least 1 per second");
+        }
+        EventQueue queue = queues.computeIfAbsent(eventId, id -> new EventQueue());
+        queue.releasePerSecond = releasePerSecond;
+        queue.enabled = enabled;
+        logger.info("Waiting room for event {} {} ({} admissions/s)", eventId, enabled ? "enabled" : "disabled",
+                releasePerSecond);
+    }
+
+    public boolean isEnabled(Long eventId) {
+        EventQueue queue = queues.get(eventId);
+        return queue != null && queue.enabled;
+    }
+
+    /**
+     * Puts the caller at the back of the event queue and returns a signed ticket.
+     */
+    public Map<String, Object> join(Long eventId) {
+        EventQueue queue = queues.get(eventId);
+        if (queue == null || !queue.enabled) {
+            return Map.of("eventId", eventId, "queueEnabled", false, "admitted", true);
+        }
+        // Read the time first: a sequence below a checkpoint was then issued before it
+        long issuedAt = clock.getAsLong();
+        long sequence = queue.issued.getAndIncrement();
+        String ticket = sign(eventId, sequence, issuedAt);
+        Map<String, Object> result = status(eventId, queue, sequence);
+        result.put("ticket", ticket);
+        return result;
+    }
+
+    /**
+     * Current position for a ticket. Pure in-memory arithmetic.
+     */
+    public Map<String, Object> position(Long eventId, String ticket) {
+        QueueTicket parsed = verify(ticket);
+        if (!parsed.eventId().equals(eventId)) {
+            throw new IllegalArgumentException("Ticket does not belong to this event");
+        }
+        EventQueue queue = queues.get(eventId);
+        if (queue == null || !queue.enabled) {
+            return Map.of("eventId", eventId, "queueEnabled", false, "admitted", true);
+        }
+        return status(eventId, queue, parsed.sequence());
+    }
+
+    /**
+     * Checks the ticket for a booking attempt and marks it used. Events
+     * without an active waiting room always pass.
+     */
+    public boolean tryAdmit(Long eventId, String ticket) {
+        EventQueue queue = queues.get(eventId);
+        if (queue == null || !queue.enabled) {
+            return true;
+        }
+        if (ticket == null || ticket.isBlank()) {
+            return false;
+        }
+        QueueTicket parsed;
+        try {
+            parsed = verify(ticket);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return parsed.eventId().equals(eventId)
+                && parsed.sequence() < queue.admitted
+                && queue.used.add(parsed.sequence());
+    }
+
+    /**
+     * Gives a ticket back after the booking attempt failed, so the fan can retry.
+     */
+    public void restore(Long eventId, String ticket) {
+        EventQueue queue = queues.get(eventId);
+        if (queue != null && ticket != null && !ticket.isBlank()) {
+            try {
+                queue.used.remove(verify(ticket).sequence());
+            } catch (IllegalArgumentException ignored) {
+                // invalid tickets were never admitted in the first place
+            }
+        }
+    }
+
+    public Map<Long, Map<String, Object>> getQueues() {
+        Map<Long, Map<String, Object>> result = new LinkedHashMap<>();
+        queues.forEach((eventId, queue) -> {
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("enabled", queue.enabled);
+            info.put("releasePerSecond", queue.releasePerSecond);
+            info.put("issued", queue.issued.get());
+            info.put("admitted", Math.min(queue.admitted, queue.issued.get()));
+            info.put("waiting", Math.max(0, queue.issued.get() - queue.admitted));
+            info.put("used", queue.used.size());
+            result.put(eventId, info);
+        });
+        return result;
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void releaseAdmissions() {
+        long now = clock.getAsLong();
+        queues.values().forEach(queue -> {
+            if (queue.enabled) {
+                queue.admitted = Math.min(queue.issued.get(), queue.admitted + queue.releasePerSecond);
+            }
+            evictExpired(queue, now);
+        });
+    }
+
+    /**
+     * Forgets used tickets that have expired anyway. Each tick records how
+     * many tickets had been issued by then; once that checkpoint is older
+     * than the ticket TTL, every sequence below it is expired and its used
+     * mark can go.
+     */
+    private void evictExpired(EventQueue queue, long now) {
+        queue.checkpoints.addLast(new Checkpoint(now, queue.issued.get()));
+        long expiredBelow = -1;
+        while (!queue.checkpoints.isEmpty() && now - queue.checkpoints.peekFirst().at() > ticketTtlMs) {
+            expiredBelow = queue.checkpoints.pollFirst().issued();
+        }
+        if (expiredBelow > 0) {
+            queue.used.headSet(expiredBelow).clear();
+        }
+    }
+
+    private Map<String, Object> status(Long eventId, EventQueue queue, long sequence) {
+        long ahead = Math.max(0, sequence - queue.admitted);
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("eventId", eventId);
+        status.put("queueEnabled", true);
+        status.put("admitted", sequence < queue.admitted);
+        status.put("position", ahead);
+        status.put("estimatedWaitSeconds", (ahead + queue.releasePerSecond - 1) / queue.releasePerSecond);
+        return status;
+    }
+
+    private String sign(Long eventId, long sequence, long issuedAt) {
+        String payload = eventId + "." + sequence + "." + issuedAt;
+        return ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "." + ENCODER.encodeToString(mac(payload));
+    }
+
+    private QueueTicket verify(String ticket) {
+        try {
+            int dot = ticket.indexOf('.');
+            String payload = new String(DECODER.decode(ticket.substring(0, dot)), StandardCharsets.UTF_8);
+            byte[] signature = DECODER.decode(ticket.substring(dot + 1));
+            if (!MessageDigest.isEqual(mac(payload), signature)) {
+                throw new IllegalArgumentException("Invalid queue ticket");
+            }
+            String[] parts = payload.split("\\.");
+            long issuedAt = Long.parseLong(parts[2]);
+            if (clock.getAsLong() - issuedAt > ticketTtlMs) {
+                throw new IllegalArgumentException("Queue ticket expired");
+            }
+            return new QueueTicket(Long.valueOf(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid queue ticket");
+        }
+    }
+
+    private byte[] mac(String payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Queue ticket signing unavailable", e);
+        }
+    }
+
+    private record QueueTicket(Long eventId, long sequence) {
+    }
+
+    private record Checkpoint(long at, long issued) {
+    }
+
+    private static final class EventQueue {
+        private final AtomicLong issued = new AtomicLong();
+        // Sorted, so expired sequences are dropped as one range
+        private final NavigableSet<Long> used = new ConcurrentSkipListSet<>();
+        // Only touched by the scheduler thread
+        private final Deque<Checkpoint> checkpoints = new ArrayDeque<>();
+        private volatile long admitted;
+        private volatile int releasePerSecond = 50;
+        private volatile boolean enabled;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.ticketbooking.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Finds every keyword occurring in a text in one pass, however many
+ * keywords there are (Aho-Corasick).
+ *
+ * Keywords are built into a trie whose nodes carry failure links to the
+ * longest proper suffix that is also in the trie, plus the labels of every
+ * keyword ending there. Matching walks the text once and follows failure
+ * links on mismatches, so it costs O(text + matches). Immutable once built
+ * and safe to share between threads.
+ *
+ * @param <T> label reported for a keyword, e.g. the league it points to
+ */
+public final class AhoCorasickMatcher<T> {
+
+    private final Node<T> root = new Node<>();
+
+    /**
+     * @param keywords keyword to label; keywords are matched as given, so
+     *                 fold them the same way as the texts
+     */
+    public AhoCorasickMatcher(Map<String, T> keywords) {
+        keywords.forEach((keyword, label) -> {
+            if (keyword.isEmpty()) {
+                throw new IllegalArgumentException("Keywords must not be empty");
+            }
+            Node<T> node = root;
+            for (int i = 0; i < keyword.length(); i++) {
+                node = node.children.computeIfAbsent(keyword.charAt(i), c -> new Node<>());
+            }
+            node.labels.add(label);
+        });
+        linkFailures();
+    }
+
+    /**
+     * Labels of the keywords found in {@code text}, in the order the
+     * occurrences end. A label is reported once per end position.
+     */
+    public List<T> matches(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<T> found = new ArrayList<>();
+        Node<T> node = root;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            while (node != root && !node.children.containsKey(c)) {
+                node = node.failure;
+            }
+            node = node.children.getOrDefault(c, root);
+            found.addAll(node.labels);
+        }
+        return found;
+    }
+
+    // Breadth-first, so a node's failure target is always linked before it
+    private void linkFailures() {
+        Queue<Node<T>> queue = new ArrayDeque<>();
+        root.failure = root;
+        for (Node<T> child : root.children.values()) {
+            child.failure = root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node<T> node = queue.poll();
+            for (Map.Entry<Character, Node<T>> edge : node.children.entrySet()) {
+                char c = edge.getKey();
+                Node<T> child = edge.getValue();
+                Node<T> fallback = node.failure;
+                while (fallback != root && !fallback.children.containsKey(c)) {
+                    fallback = fallback.failure;
+                }
+                Node<T> target = fallback.children.get(c);
+                child.failure = target != null && target != child ? target : root;
+                // Keywords that are suffixes of this one end here too
+                child.labels.addAll(child.failure.labels);
+                queue.add(child);
+            }
+        }
+    }
+
+    private static final class Node<T> {
+        private final Map<Character, Node<T>> children = new HashMap<>();
+        private final Set<T> labels = new LinkedHashSet<>();
+        private Node<T> failure;
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.entity.AuditLog;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only audit log.
+ *
+ * Callers (logins, registrations, admin changes) only put a record into a
+ * lock-free {@link MpscRingBuffer}, which costs a CAS and never waits on the
+ * database, so auditing adds no latency to the request. The flush drains
+ * the ring and inserts the records into audit_log with one JDBC batch per
+ * batch-size records. If the ring is full, e.g. while the database is down,
+ * new records are dropped and counted rather than blocking the caller.
+ *
+ * A batch that could not be written because the database was unreachable
+ * or failed transiently is kept and retried first, after a back-off that
+ * doubles from {@code retry-delay-ms} up to {@code max-retry-delay-ms}, for
+ * as long as the outage lasts. Only a batch the database answered and
+ * rejected (a data error such as a constraint violation) is written row by
+ * row instead, so one bad record cannot hold back the rest: rows that are
+ * rejected on their own are logged in full and skipped.
+ */
+@Service
+public class AuditLogService {
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogService.class);
+
+    private static final String INSERT = "INSERT INTO audit_log (occurred_at, event_type, level, username, "
+            + "ip_address, message) VALUES (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * A record waiting in the ring.
+     */
+    public record Entry(LocalDateTime occurredAt, AuditLog.EventType eventType, String username, String ipAddress,
+            String message) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MpscRingBuffer<Entry> ring;
+    private final int batchSize;
+    private final long retryDelayMs;
+    private final long maxRetryDelayMs;
+    private final AtomicLong dropped = new AtomicLong();
+
+    // Owned by the flush
+    private final List<Entry> batch = new ArrayList<>();
+    private int failedAttempts;
+    private long retryAt;
+    private long written;
+    private long skipped;
+    private LocalDateTime lastFlush;
+
+    public AuditLogService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            @Value("${app.audit.buffer-size:65536}") int bufferSize,
+            @Value("${app.audit.batch-size:500}") int batchSize,
+            @Value("${app.audit.retry-delay-ms:1000}") long retryDelayMs,
+            @Value("${app.audit.max-retry-delay-ms:60000}") long maxRetryDelayMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.ring = new MpscRingBuffer<>(bufferSize);
+        this.batchSize = Math.max(1, batchSize);
+        this.retryDelayMs = Math.max(1, retryDelayMs);
+        this.maxRetryDelayMs = Math.max(this.retryDelayMs, maxRetryDelayMs);
+    }
+
+    /**
+     * Queues a record; returns at once, whatever the state of the database.
+     */
+    public void append(AuditLog.EventType eventType, String username, String ipAddress, String message) {
+        if (!ring.offer(new Entry(LocalDateTime.now(), eventType, username, ipAddress, message))) {
+            long total = dropped.incrementAndGet();
+            // Once per thousand, not once per record, while the ring is full
+            if (total % 1000 == 1) {
+                logger.warn("Audit log buffer full, {} records dropped so far", total);
+            }
+        }
+    }
+
+    /**
+     * Writes everything queued when the flush started, in batches.
+     */
+    @Scheduled(fixedDelayString = "${app.audit.flush-ms:500}")
+    public synchronized void flush() {
+        if (System.currentTimeMillis() < retryAt) {
+            return;
+        }
+        // Bounded, so a steady stream of records cannot keep the scheduler thread here
+        int batches = (batch.size() + ring.size()) / batchSize + 1;
+        for (int i = 0; i < batches; i++) {
+            if (batch.isEmpty() && ring.drainTo(batch, batchSize) == 0) {
+                break;
+            }
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                backOff(e);
+                return;
+            }
+            failedAttempts = 0;
+            batch.clear();
+        }
+        lastFlush = LocalDateTime.now();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        // One last try at shutdown, back-off or not
+        retryAt = 0;
+        flush();
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("capacity", ring.capacity());
+        stats.put("queued", ring.size() + batch.size());
+        stats.put("written", written);
+        stats.put("dropped", dropped.get());
+        stats.put("skipped", skipped);
+        stats.put("lastFlush", lastFlush);
+        return stats;
+    }
+
+    // Throws if the database could not be reached; a batch it rejected is written row by row instead
+    private void write(List<Entry> entries) {
+        try {
+            insert(entries);
+            written += entries.size();
+        } catch (RuntimeException e) {
+            if (!isDataError(e)) {
+                throw e;
+            }
+            logger.warn("Audit batch of {} records was rejected, writing it row by row: {}", entries.size(),
+                    e.getMessage());
+            insertOneByOne(entries);
+        }
+    }
+
+    // Stops at the first failure that is not a data error; the rows not yet written stay in entries
+    private void insertOneByOne(List<Entry> entries) {
+        int done = 0;
+        try {
+            for (Entry entry : entries) {
+                try {
+                    insert(List.of(entry));
+                    written++;
+                } catch (RuntimeException e) {
+                    if (!isDataError(e)) {
+                        throw e;
+                    }
+                    skipped++;
+                    logger.error("Skipping audit record that could not be written: {} ({})", entry, e.getMessage());
+                }
+                done++;
+            }
+        } finally {
+            entries.subList(0, done).clear();
+        }
+    }
+
+    private void backOff(RuntimeException e) {
+        failedAttempts++;
+        long delay = Math.min(maxRetryDelayMs, retryDelayMs << Math.min(failedAttempts - 1, 30));
+        retryAt = System.currentTimeMillis() + delay;
+        logger.error("Failed to write {} audit records (attempt {}), retrying in {} ms: {}", batch.size(),
+                failedAttempts, delay, e.getMessage());
+    }
+
+    /**
+     * The database was reached and refused the rows, so the same batch would
+     * fail again; anything else (no connection, a timeout) may pass on retry.
+     */
+    private static boolean isDataError(RuntimeException e) {
+        return e instanceof NonTransientDataAccessException
+                && !(e instanceof NonTransientDataAccessResourceException);
+    }
+
+    private void insert(List<Entry> entries) {
+        List<Object[]> args = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            // A record without an event type is left to the NOT NULL constraint, like any other bad row
+            AuditLog.EventType type = entry.eventType();
+            args.add(new Object[] { Timestamp.valueOf(entry.occurredAt()), type != null ? type.name() : null,
+                    type != null ? type.getLevel() : null, truncate(entry.username(), 100), truncate(entry.ipAddress(), 64),
+                    truncate(entry.message(), 500) });
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT, args));
+    }
+
+    private static String truncate(String value, int length) {
+        return value == null || value.length() <= length ? value : value.substring(0, length);
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.ticketbooking.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes seat availability to browsers over Server-Sent Events.
+ *
+ * {@link SeatInventoryService} reports every committed change of an event's
+ * available seats. Changes are coalesced per event (the last value wins) and
+ * flushed every {@code flush-ms} as one compact "availability" message:
+ * {@code [{"eventId":1,"availableSeats":120},...]}. The JSON is built once
+ * per flush and written to every subscriber that watches those events.
+ *
+ * Connections are async servlet requests ({@link SseEmitter}), so an idle
+ * subscriber holds no thread. All writes happen on one dedicated thread,
+ * never on the shared scheduler. Subscribers that fail a write are dropped;
+ * a heartbeat comment finds dead ones even when nothing sells.
+ */
+@Service
+public class AvailabilityBroadcaster {
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityBroadcaster.class);
+
+    public static final int MAX_WATCHED_EVENTS = 500;
+    private static final long HEARTBEAT_MS = 20_000;
+    private static final long RECONNECT_MS = 3_000;
+
+    private final int maxSubscribers;
+    private final long timeoutMs;
+    private final Map<Long, Integer> pending = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService pusher;
+    private final LongAdder messagesSent = new LongAdder();
+    private long lastHeartbeat = System.currentTimeMillis();
+
+    public AvailabilityBroadcaster(
+            @Value("${app.availability.flush-ms:250}") long flushMs,
+            @Value("${app.availability.max-subscribers:10000}") int maxSubscribers,
+            @Value("${app.availability.timeout-minutes:30}") long timeoutMinutes) {
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMs = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.pusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "availability-push");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pusher.scheduleWithFixedDelay(this::flushSafely, flushMs, flushMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records the seats now available for an event; sent with the next flush.
+     */
+    public void changed(Long eventId, int availableSeats) {
+        pending.put(eventId, availableSeats);
+    }
+
+    /**
+     * Opens a stream for the given events (all events if empty), starting
+     * with their current availability. Returns null when the subscriber
+     * limit is reached.
+     */
+    public SseEmitter subscribe(Set<Long> eventIds, Map<Long, Integer> snapshot) {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = register(eventIds, new Sink() {
+            @Override
+            public void send(String json) throws IOException {
+                emitter.send(SseEmitter.event().name("availability").data(json, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void heartbeat() throws IOException {
+                emitter.send(SseEmitter.event().comment("ping"));
+            }
+        });
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        try {
+            emitter.send(SseEmitter.event().reconnectTime(RECONNECT_MS).name("availability")
+                    .data(toJson(snapshot), MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            subscribers.remove(subscriber);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", subscribers.size());
+        stats.put("pendingEvents", pending.size());
+        stats.put("messagesSent", messagesSent.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pusher.shutdownNow();
+    }
+
+    Subscriber register(Set<Long> eventIds, Sink sink) {
+        Subscriber subscriber = new Subscriber(eventIds == null || eventIds.isEmpty() ? null : Set.copyOf(eventIds),
+                sink);
+        subscribers.add(subscriber);
+        return subscriber;
+    }
+
+    void flush() {
+        Map<Long, Integer> changes = new TreeMap<>();
+        for (Long eventId : pending.keySet()) {
+            // remove() returns the latest value, so a change racing with the flush is never lost
+            Integer available = pending.remove(eventId);
+            if (available != null) {
+                changes.put(eventId, available);
+            }
+        }
+        long now = System.currentTimeMillis();
+        boolean heartbeat = now - lastHeartbeat >= HEARTBEAT_MS;
+        if (heartbeat) {
+            lastHeartbeat = now;
+        }
+        if (changes.isEmpty() && !heartbeat) {
+            return;
+        }
+
+        String all = changes.isEmpty() ? null : toJson(changes);
+        for (Subscriber subscriber : subscribers) {
+            try {
+                String json = subscriber.eventIds() == null ? all : toJson(subscriber.filter(changes));
+                if (json != null && !json.equals("[]")) {
+                    subscriber.sink().send(json);
+                    messagesSent.increment();
+                } else if (heartbeat) {
+                    subscriber.sink().heartbeat();
+                }
+            } catch (IOException | RuntimeException e) {
+                // Client went away; the container completes the emitter on its side
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Availability flush failed: {}", e.getMessage());
+        }
+    }
+
+    static String toJson(Map<Long, Integer> changes) {
+        StringBuilder json = new StringBuilder(changes.size() * 40 + 2).append('[');
+        for (Map.Entry<Long, Integer> change : changes.entrySet()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append("{\"eventId\":").append(change.getKey())
+                    .append(",\"availableSeats\":").append(change.getValue()).append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    interface Sink {
+        void send(String json) throws IOException;
+
+        void heartbeat() throws IOException;
+    }
+
+    record Subscriber(Set<Long> eventIds, Sink sink) {
+
+        Map<Long, Integer> filter(Map<Long, Integer> changes) {
+            Map<Long, Integer> watched = new TreeMap<>();
+            for (Long eventId : eventIds) {
+                Integer available = changes.get(eventId);
+                if (available != null) {
+                    watched.put(eventId, available);
+                }
+            }
+            return watched;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.entity.Booking;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams bookings for finance as CSV or gzip-compressed JSON lines.
+ *
+ * Rows come from one forward-only, read-only JDBC cursor with a fixed fetch
+ * size and are written to the output as they are read, so memory use does
+ * not depend on how many bookings match. The cursor runs in a read-only
+ * transaction because some drivers (PostgreSQL) only honour the fetch size
+ * with auto-commit off. Rows are in booking date order, served by
+ * idx_bookings_booking_date.
+ */
+@Service
+public class BookingExportService {
+    private static final Logger logger = LoggerFactory.getLogger(BookingExportService.class);
+
+    static final String[] COLUMNS = { "id", "bookingReference", "paymentReference", "bookingDate", "status",
+            "eventId", "eventTitle", "userId", "username", "numberOfTickets", "totalAmount", "paymentType",
+            "paymentDate" };
+
+    private static final String SELECT = "SELECT b.id, b.booking_reference, b.payment_reference, b.booking_date, "
+            + "b.status, e.id, e.title, u.id, u.username, b.number_of_tickets, b.total_amount, b.payment_type, "
+            + "b.payment_date FROM bookings b JOIN events e ON e.id = b.event_id JOIN users u ON u.id = b.user_id ";
+
+    public enum Format {
+        CSV, JSONL_GZIP
+    }
+
+    /**
+     * Bookings made in [from, to), of one status and one event; null
+     * matches everything.
+     */
+    public record Filter(LocalDateTime from, LocalDateTime to, Booking.BookingStatus status, Long eventId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public BookingExportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper, @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Writes every matching booking to {@code output} and returns how many
+     * there were. {@code output} is finished (and the gzip trailer written)
+     * but not closed.
+     */
+    public long export(Filter filter, Format format, OutputStream output) throws IOException {
+        long began = System.nanoTime();
+        RowWriter writer = format == Format.CSV ? new CsvRowWriter(output) : new JsonLinesRowWriter(output);
+        long rows;
+        try {
+            rows = readOnlyTransaction.execute(status -> stream(filter, writer));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+        logger.info("Exported {} bookings as {} in {} ms", rows, format, (System.nanoTime() - began) / 1_000_000);
+        return rows;
+    }
+
+    private long stream(Filter filter, RowWriter writer) {
+        StringBuilder sql = new StringBuilder(SELECT).append("WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (filter.from() != null) {
+            sql.append(" AND b.booking_date >= ?");
+            args.add(Timestamp.valueOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            sql.append(" AND b.booking_date < ?");
+            args.add(Timestamp.valueOf(filter.to()));
+        }
+        if (filter.status() != null) {
+            sql.append(" AND b.status = ?");
+            args.add(filter.status().name());
+        }
+        if (filter.eventId() != null) {
+            sql.append(" AND b.event_id = ?");
+            args.add(filter.eventId());
+        }
+        sql.append(" ORDER BY b.booking_date, b.id");
+
+        long[] rows = { 0 };
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, resultSet -> {
+            try {
+                writer.write(values(resultSet));
+            } catch (IOException e) {
+                // Typically the client went away; stops the cursor
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    private static Object[] values(ResultSet row) throws SQLException {
+        Timestamp bookingDate = row.getTimestamp(4);
+        Timestamp paymentDate = row.getTimestamp(13);
+        return new Object[] { row.getLong(1), row.getString(2), row.getString(3),
+                bookingDate != null ? bookingDate.toLocalDateTime() : null, row.getString(5), row.getLong(6),
+                row.getString(7), row.getLong(8), row.getString(9), row.getInt(10), row.getBigDecimal(11),
+                row.getString(12), paymentDate != null ? paymentDate.toLocalDateTime() : null };
+    }
+
+    private interface RowWriter {
+        void write(Object[] values) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer out;
+
+        CsvRowWriter(OutputStream output) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+            write(COLUMNS);
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(csv(values[i]));
+            }
+            out.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+    }
+
+    private final class JsonLinesRowWriter implements RowWriter {
+        private final GZIPOutputStream gzip;
+        private final JsonGenerator json;
+
+        JsonLinesRowWriter(OutputStream output) throws IOException {
+            this.gzip = new GZIPOutputStream(output, 64 * 1024);
+            this.json = objectMapper.getFactory().createGenerator(gzip);
+            // One object per line: the newline is written after each row instead of Jackson's space
+            this.json.setRootValueSeparator(null);
+            this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            json.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                json.writeFieldName(COLUMNS[i]);
+                if (value == null) {
+                    json.writeNull();
+                } else if (value instanceof Long number) {
+                    json.writeNumber(number);
+                } else if (value instanceof Integer number) {
+                    json.writeNumber(number);
+                } else if (value instanceof BigDecimal number) {
+                    json.writeNumber(number);
+                } else {
+                    json.writeString(value.toString());
+                }
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.flush();
+            gzip.finish();
+        }
+    }
+
+    // RFC 4180: quote fields with separators, quotes or line breaks. Text that a spreadsheet would read as a
+    // formula (=, +, -, @, tab or CR first) is prefixed with ' so it stays text (OWASP CSV injection)
+    static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal number ? number.toPlainString() : value.toString();
+        if (!(value instanceof Number) && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Running booking counters for the admin dashboards: bookings and their
+ * total amount per status, and revenue (confirmed plus completed bookings).
+ *
+ * The counters are loaded with one GROUP BY and then moved by the writers,
+ * which report every booking they create, delete or move to another status.
+ * Inside a transaction a change is applied after commit, so rolled-back
+ * bookings never count. The counters live in memory on each node; a
+ * periodic reload from the bookings table corrects any drift from writes
+ * that bypass the services (e.g. bookings deleted with their user) or that
+ * were made on another node.
+ *
+ * A reload must not read a commit whose change is still to be applied, or
+ * that change would be counted twice. Transactions therefore hold a shared
+ * lock from just before their commit until their changes are applied, and
+ * a reload takes it exclusively: it waits for commits in progress, and
+ * commits that start meanwhile wait for it.
+ *
+ * Per-booking changes are passed on to {@link BookingRollupService} after
+ * commit as well.
+ */
+@Service
+public class BookingLedger {
+    private static final Logger logger = LoggerFactory.getLogger(BookingLedger.class);
+
+    private final BookingRepository bookingRepository;
+    private final BookingRollupService bookingRollupService;
+
+    private final Map<Booking.BookingStatus, Long> bookings = new EnumMap<>(Booking.BookingStatus.class);
+    private final Map<Booking.BookingStatus, BigDecimal> amounts = new EnumMap<>(Booking.BookingStatus.class);
+    // Shared by committing transactions, exclusive to reload; always taken before the monitor
+    private final ReadWriteLock commits = new ReentrantReadWriteLock();
+
+    public BookingLedger(BookingRepository bookingRepository, BookingRollupService bookingRollupService) {
+        this.bookingRepository = bookingRepository;
+        this.bookingRollupService = bookingRollupService;
+    }
+
+    public void created(Booking booking) {
+        record(null, booking.getStatus(), booking);
+    }
+
+    /**
+     * {@code booking} has moved from {@code from} to its current status.
+     */
+    public void moved(Booking.BookingStatus from, Booking booking) {
+        record(from, booking.getStatus(), booking);
+    }
+
+    /**
+     * {@code booking} has moved from {@code from} to {@code to} by a bulk
+     * UPDATE, so the entity still has the old status.
+     */
+    public void moved(Booking.BookingStatus from, Booking.BookingStatus to, Booking booking) {
+        record(from, to, booking);
+    }
+
+    public void deleted(Booking booking) {
+        record(booking.getStatus(), null, booking);
+    }
+
+    /**
+     * {@code count} bookings worth {@code amount} in total moved from
+     * {@code from} to {@code to} by a bulk UPDATE. Only for moves the
+     * rollups do not see, i.e. between two paid statuses (CONFIRMED <->
+     * COMPLETED); anything else goes through the per-booking methods.
+     */
+    public void record(Booking.BookingStatus from, Booking.BookingStatus to, long count, BigDecimal amount) {
+        if (from == to || count == 0) {
+            return;
+        }
+        BigDecimal total = amount != null ? amount : BigDecimal.ZERO;
+        afterCommit(() -> apply(from, to, count, total));
+    }
+
+    public synchronized long getTotalBookings() {
+        return bookings.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public synchronized long getBookings(Booking.BookingStatus status) {
+        return bookings.getOrDefault(status, 0L);
+    }
+
+    public synchronized BigDecimal getRevenue() {
+        return amounts.getOrDefault(Booking.BookingStatus.CONFIRMED, BigDecimal.ZERO)
+                .add(amounts.getOrDefault(Booking.BookingStatus.COMPLETED, BigDecimal.ZERO));
+    }
+
+    /**
+     * Reloads every counter from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.booking-ledger.reconcile-ms:3600000}",
+            fixedDelayString = "${app.booking-ledger.reconcile-ms:3600000}")
+    public void reload() {
+        long began = System.nanoTime();
+        commits.writeLock().lock();
+        try {
+            List<Object[]> rows = bookingRepository.countAndSumByStatus();
+            synchronized (this) {
+                bookings.clear();
+                amounts.clear();
+                for (Object[] row : rows) {
+                    Booking.BookingStatus status = (Booking.BookingStatus) row[0];
+                    bookings.put(status, ((Number) row[1]).longValue());
+                    amounts.put(status, toBigDecimal(row[2]));
+                }
+            }
+        } finally {
+            commits.writeLock().unlock();
+        }
+        logger.info("Loaded booking ledger: {} bookings, revenue {}, in {} ms", getTotalBookings(), getRevenue(),
+                (System.nanoTime() - began) / 1_000_000);
+    }
+
+    private void record(Booking.BookingStatus from, Booking.BookingStatus to, Booking booking) {
+        if (from == to) {
+            return;
+        }
+        BookingRollupService.Facts facts = BookingRollupService.Facts.of(booking);
+        afterCommit(() -> {
+            apply(from, to, 1, facts.amount());
+            bookingRollupService.record(from, to, facts);
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean committing;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commits.readLock().lock();
+                committing = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (committing) {
+                    commits.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    private synchronized void apply(Booking.BookingStatus from, Booking.BookingStatus to, long count,
+            BigDecimal amount) {
+        if (from != null) {
+            bookings.merge(from, -count, Long::sum);
+            amounts.merge(from, amount.negate(), BigDecimal::add);
+        }
+        if (to != null) {
+            bookings.merge(to, count, Long::sum);
+            amounts.merge(to, amount, BigDecimal::add);
+        }
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.ticketbooking.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style booking references: 41 bits of milliseconds since 2024,
+ * 10 bits of node id and a 12-bit per-millisecond sequence, rendered as
+ * "BK" + 13 Crockford base32 characters.
+ *
+ * Timestamp and sequence share one AtomicLong, so generation is a single CAS
+ * with no locks. When the sequence overflows (or the clock steps back) the
+ * generator borrows the next millisecond instead of waiting, which keeps ids
+ * unique and strictly increasing per node.
+ */
+@Component
+public class BookingReferenceGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(BookingReferenceGenerator.class);
+
+    public static final String PREFIX = "BK";
+    public static final String PAYMENT_PREFIX = "PY";
+
+    private static final long EPOCH_MS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+
+    private final long nodeId;
+    // (milliseconds since EPOCH_MS << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong state = new AtomicLong();
+
+    public BookingReferenceGenerator(@Value("${app.node-id:-1}") long nodeId) {
+        if (nodeId < 0) {
+            nodeId = deriveNodeId();
+            logger.warn("app.node-id not set, using derived node id {}; configure a unique id per instance", nodeId);
+        } else if (nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("app.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+
+    public String nextReference() {
+        return PREFIX + encode(nextId());
+    }
+
+    /**
+     * Midtrans order id for a cart checkout that covers several bookings.
+     */
+    public String nextPaymentReference() {
+        return PAYMENT_PREFIX + encode(nextId());
+    }
+
+    public long nextId() {
+        while (true) {
+            long previous = state.get();
+            long now = System.currentTimeMillis() - EPOCH_MS;
+            long next = now > (previous >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : previous + 1;
+            if (state.compareAndSet(previous, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * Fixed-width Crockford base32, so references sort in generation order.
+     */
+    public static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = CROCKFORD[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    private static long deriveNodeId() {
+        String identity;
+        try {
+            identity = InetAddress.getLocalHost().getHostName() + "/" + ManagementFactory.getRuntimeMXBean().getName();
+        } catch (Exception e) {
+            identity = ManagementFactory.getRuntimeMXBean().getName();
+        }
+        return (identity.hashCode() & 0x7fffffff) % (MAX_NODE_ID + 1);
+    }
+}
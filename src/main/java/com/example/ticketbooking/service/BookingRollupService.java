@@ -0,0 +1,373 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.BookingRollup;
+import com.example.ticketbooking.entity.League;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.BookingRollupRepository;
+import com.example.ticketbooking.repository.EventRepository;
+import com.example.ticketbooking.repository.LeagueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Booking and revenue analytics in minute, hour and day buckets per event
+ * (and the event's league), so admin charts never scan the bookings table.
+ *
+ * {@link BookingLedger} hands over every booking status change after
+ * commit. Changes are summed in memory per event and minute and flushed
+ * every {@code flush-ms} into booking_rollups, adding the deltas to the
+ * minute, hour and day rows with one batched UPDATE (and an INSERT for
+ * rows that do not exist yet). A booking always counts in the buckets of
+ * its booking date, so a late payment webhook that confirms or cancels it
+ * corrects those buckets instead of the current one. Minute rows are
+ * pruned after {@code minute-retention-hours}.
+ */
+@Service
+public class BookingRollupService {
+    private static final Logger logger = LoggerFactory.getLogger(BookingRollupService.class);
+
+    public static final int MAX_BUCKETS = 1000;
+    private static final int TOP_ITEMS = 10;
+    private static final int BACKFILL_PAGE = 1000;
+
+    private static final String UPDATE = "UPDATE booking_rollups SET bookings = bookings + ?, "
+            + "tickets_sold = tickets_sold + ?, revenue = revenue + ?, cancelled = cancelled + ?, league_id = ?, "
+            + "updated_at = ? WHERE granularity = ? AND event_id = ? AND bucket_start = ?";
+    private static final String INSERT = "INSERT INTO booking_rollups (bookings, tickets_sold, revenue, cancelled, "
+            + "league_id, updated_at, granularity, event_id, bucket_start) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final BookingRollupRepository bookingRollupRepository;
+    private final BookingRepository bookingRepository;
+    private final EventRepository eventRepository;
+    private final LeagueRepository leagueRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long minuteRetentionHours;
+
+    // Event and minute -> changes not flushed yet
+    private Map<Bucket, Delta> pending = new HashMap<>();
+    private final Object flushLock = new Object();
+
+    /**
+     * What the rollups need to know about one booking.
+     */
+    public record Facts(Long eventId, LocalDateTime bookingDate, int tickets, BigDecimal amount) {
+
+        public static Facts of(Booking booking) {
+            return new Facts(booking.getEvent().getId(),
+                    booking.getBookingDate() != null ? booking.getBookingDate() : LocalDateTime.now(),
+                    booking.getNumberOfTickets() != null ? booking.getNumberOfTickets() : 0,
+                    booking.getTotalAmount() != null ? booking.getTotalAmount() : BigDecimal.ZERO);
+        }
+    }
+
+    private record Totals(long bookings, long ticketsSold, BigDecimal revenue, long cancelled) {
+        static final Totals ZERO = new Totals(0, 0, BigDecimal.ZERO, 0);
+    }
+
+    public BookingRollupService(BookingRollupRepository bookingRollupRepository,
+            BookingRepository bookingRepository, EventRepository eventRepository,
+            LeagueRepository leagueRepository, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            @Value("${app.rollups.minute-retention-hours:48}") long minuteRetentionHours) {
+        this.bookingRollupRepository = bookingRollupRepository;
+        this.bookingRepository = bookingRepository;
+        this.eventRepository = eventRepository;
+        this.leagueRepository = leagueRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.minuteRetentionHours = minuteRetentionHours;
+    }
+
+    /**
+     * A committed booking moved from {@code from} to {@code to}; null stands
+     * for "did not exist".
+     */
+    public synchronized void record(Booking.BookingStatus from, Booking.BookingStatus to, Facts booking) {
+        int paid = (isPaid(to) ? 1 : 0) - (isPaid(from) ? 1 : 0);
+        int created = (from == null ? 1 : 0) - (to == null ? 1 : 0);
+        int cancelled = (to == Booking.BookingStatus.CANCELLED ? 1 : 0)
+                - (from == Booking.BookingStatus.CANCELLED ? 1 : 0);
+        if (paid == 0 && created == 0 && cancelled == 0) {
+            return;
+        }
+        Bucket bucket = new Bucket(booking.eventId(), booking.bookingDate().truncatedTo(ChronoUnit.MINUTES));
+        pending.computeIfAbsent(bucket, key -> new Delta())
+                .add(created, (long) paid * booking.tickets(),
+                        paid == 0 ? BigDecimal.ZERO : booking.amount().multiply(BigDecimal.valueOf(paid)), cancelled);
+    }
+
+    /**
+     * Totals per bucket of {@code granularity} in [from, to), for one event,
+     * one league or everything. Empty buckets are included as zeros.
+     */
+    public Map<String, Object> query(BookingRollup.Granularity granularity, LocalDateTime from, LocalDateTime to,
+            Long eventId, Long leagueId) {
+        LocalDateTime start = truncate(from, granularity);
+        if (!start.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (count(start, to, granularity) > MAX_BUCKETS) {
+            throw new IllegalArgumentException("At most " + MAX_BUCKETS + " " + granularity.name().toLowerCase()
+                    + " buckets per query");
+        }
+
+        Map<LocalDateTime, Totals> byBucket = new HashMap<>();
+        for (Object[] row : bookingRollupRepository.sumByBucket(granularity, start, to, eventId, leagueId)) {
+            byBucket.put((LocalDateTime) row[0], totals(row));
+        }
+        List<Map<String, Object>> buckets = new ArrayList<>();
+        for (LocalDateTime bucket = start; bucket.isBefore(to); bucket = next(bucket, granularity)) {
+            Map<String, Object> entry = describe(byBucket.getOrDefault(bucket, Totals.ZERO));
+            entry.put("start", bucket);
+            buckets.add(entry);
+        }
+
+        PageRequest top = PageRequest.of(0, TOP_ITEMS);
+        List<Object[]> events = bookingRollupRepository.sumByEvent(granularity, start, to, eventId, leagueId, top);
+        Map<Long, String> titles = new HashMap<>();
+        List<Long> eventIds = events.stream().map(event -> (Long) event[0]).toList();
+        if (!eventIds.isEmpty()) {
+            for (Object[] row : eventRepository.findTitles(eventIds)) {
+                titles.put((Long) row[0], (String) row[1]);
+            }
+        }
+        List<Map<String, Object>> byEvent = new ArrayList<>();
+        for (Object[] row : events) {
+            Map<String, Object> entry = describe(totals(row));
+            entry.put("eventId", row[0]);
+            entry.put("title", titles.get((Long) row[0]));
+            byEvent.add(entry);
+        }
+
+        List<Object[]> leagues = bookingRollupRepository.sumByLeague(granularity, start, to, eventId, leagueId, top);
+        Map<Long, String> names = new HashMap<>();
+        List<Long> leagueIds = leagues.stream().map(league -> (Long) league[0]).filter(id -> id != null).toList();
+        for (League league : leagueRepository.findAllById(leagueIds)) {
+            names.put(league.getId(), league.getName());
+        }
+        List<Map<String, Object>> byLeague = new ArrayList<>();
+        for (Object[] row : leagues) {
+            Map<String, Object> entry = describe(totals(row));
+            entry.put("leagueId", row[0]);
+            entry.put("name", row[0] == null ? "No league" : names.get((Long) row[0]));
+            byLeague.add(entry);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("granularity", granularity);
+        result.put("from", start);
+        result.put("to", to);
+        result.put("buckets", buckets);
+        result.put("byEvent", byEvent);
+        result.put("byLeague", byLeague);
+        return result;
+    }
+
+    /**
+     * Adds the pending changes to the minute, hour and day rows.
+     */
+    @Scheduled(fixedDelayString = "${app.rollups.flush-ms:10000}")
+    public void flush() {
+        synchronized (flushLock) {
+            Map<Bucket, Delta> changes;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                changes = pending;
+                pending = new HashMap<>();
+            }
+            try {
+                write(changes);
+            } catch (Exception e) {
+                // Keep the changes for the next flush
+                synchronized (this) {
+                    changes.forEach((bucket, delta) -> pending.computeIfAbsent(bucket, key -> new Delta()).add(delta));
+                }
+                logger.error("Failed to flush {} booking rollups: {}", changes.size(), e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rollups.prune-ms:3600000}")
+    public void prune() {
+        LocalDateTime before = LocalDateTime.now().minusHours(minuteRetentionHours).truncatedTo(ChronoUnit.HOURS);
+        Integer pruned = transactionTemplate.execute(status -> bookingRollupRepository
+                .deleteOlderThan(BookingRollup.Granularity.MINUTE, before));
+        if (pruned != null && pruned > 0) {
+            logger.info("Pruned {} minute booking rollups before {}", pruned, before);
+        }
+    }
+
+    /**
+     * Builds the rollups from the bookings table once, when there are none
+     * yet (e.g. the first start after upgrading).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (bookingRollupRepository.count() > 0) {
+            return;
+        }
+        long began = System.nanoTime();
+        long bookings = 0;
+        Long afterId = 0L;
+        List<Object[]> page;
+        do {
+            page = bookingRepository.findRollupFactsAfter(afterId, PageRequest.of(0, BACKFILL_PAGE));
+            for (Object[] row : page) {
+                record(null, (Booking.BookingStatus) row[3], new Facts((Long) row[1], (LocalDateTime) row[2],
+                        ((Number) row[4]).intValue(), (BigDecimal) row[5]));
+                afterId = (Long) row[0];
+            }
+            bookings += page.size();
+        } while (page.size() == BACKFILL_PAGE);
+        flush();
+        if (bookings > 0) {
+            logger.info("Backfilled booking rollups from {} bookings in {} ms", bookings,
+                    (System.nanoTime() - began) / 1_000_000);
+        }
+    }
+
+    private void write(Map<Bucket, Delta> changes) {
+        Map<Long, Long> leagues = new HashMap<>();
+        List<Long> eventIds = changes.keySet().stream().map(Bucket::eventId).distinct().toList();
+        for (Object[] row : eventRepository.findLeagueIds(eventIds)) {
+            leagues.put((Long) row[0], (Long) row[1]);
+        }
+
+        // Roll the minutes up into every granularity
+        Map<Row, Delta> rows = new LinkedHashMap<>();
+        changes.forEach((bucket, delta) -> {
+            for (BookingRollup.Granularity granularity : BookingRollup.Granularity.values()) {
+                rows.computeIfAbsent(new Row(granularity, bucket.eventId(), truncate(bucket.minute(), granularity)),
+                        key -> new Delta()).add(delta);
+            }
+        });
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(rows.size());
+        rows.forEach((row, delta) -> args.add(new Object[] { delta.bookings, delta.ticketsSold, delta.revenue,
+                delta.cancelled, leagues.get(row.eventId()), now, row.granularity().name(), row.eventId(),
+                Timestamp.valueOf(row.bucketStart()) }));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            int[] updated = jdbcTemplate.batchUpdate(UPDATE, args);
+            List<Object[]> missing = new ArrayList<>();
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    missing.add(args.get(i));
+                }
+            }
+            if (!missing.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT, missing);
+            }
+        });
+    }
+
+    /**
+     * The end of the bucket {@code now} is in, so the current bucket is
+     * included.
+     */
+    public static LocalDateTime defaultEnd(BookingRollup.Granularity granularity, LocalDateTime now) {
+        return next(truncate(now, granularity), granularity);
+    }
+
+    /**
+     * The last hour by minute, the last two days by hour or the last 30 days
+     * by day.
+     */
+    public static LocalDateTime defaultStart(BookingRollup.Granularity granularity, LocalDateTime end) {
+        return switch (granularity) {
+            case MINUTE -> end.minusMinutes(60);
+            case HOUR -> end.minusHours(48);
+            case DAY -> end.minusDays(30);
+        };
+    }
+
+    private static boolean isPaid(Booking.BookingStatus status) {
+        return status == Booking.BookingStatus.CONFIRMED || status == Booking.BookingStatus.COMPLETED;
+    }
+
+    static LocalDateTime truncate(LocalDateTime time, BookingRollup.Granularity granularity) {
+        return switch (granularity) {
+            case MINUTE -> time.truncatedTo(ChronoUnit.MINUTES);
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+        };
+    }
+
+    static LocalDateTime next(LocalDateTime bucket, BookingRollup.Granularity granularity) {
+        return switch (granularity) {
+            case MINUTE -> bucket.plusMinutes(1);
+            case HOUR -> bucket.plusHours(1);
+            case DAY -> bucket.plusDays(1);
+        };
+    }
+
+    private static long count(LocalDateTime start, LocalDateTime to, BookingRollup.Granularity granularity) {
+        Duration span = Duration.between(start, to);
+        return switch (granularity) {
+            case MINUTE -> span.toMinutes() + 1;
+            case HOUR -> span.toHours() + 1;
+            case DAY -> span.toDays() + 1;
+        };
+    }
+
+    private static Totals totals(Object[] row) {
+        return new Totals(((Number) row[1]).longValue(), ((Number) row[2]).longValue(),
+                row[3] instanceof BigDecimal decimal ? decimal : new BigDecimal(row[3].toString()),
+                ((Number) row[4]).longValue());
+    }
+
+    private static Map<String, Object> describe(Totals totals) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("bookings", totals.bookings());
+        entry.put("ticketsSold", totals.ticketsSold());
+        entry.put("revenue", totals.revenue());
+        entry.put("cancelled", totals.cancelled());
+        return entry;
+    }
+
+    private record Bucket(Long eventId, LocalDateTime minute) {
+    }
+
+    private record Row(BookingRollup.Granularity granularity, Long eventId, LocalDateTime bucketStart) {
+    }
+
+    private static final class Delta {
+        private long bookings;
+        private long ticketsSold;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private long cancelled;
+
+        void add(long bookings, long ticketsSold, BigDecimal revenue, long cancelled) {
+            this.bookings += bookings;
+            this.ticketsSold += ticketsSold;
+            this.revenue = this.revenue.add(revenue);
+            this.cancelled += cancelled;
+        }
+
+        void add(Delta other) {
+            add(other.bookings, other.ticketsSold, other.revenue, other.cancelled);
+        }
+    }
+}
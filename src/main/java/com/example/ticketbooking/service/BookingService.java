@@ -2,6 +2,8 @@ package com.example.ticketbooking.service;
 
 import com.example.ticketbooking.dto.BookingRequestDTO;
 import com.example.ticketbooking.dto.BookingResponseDTO;
+import com.example.ticketbooking.dto.CartCheckoutRequestDTO;
+import com.example.ticketbooking.dto.CartCheckoutResponseDTO;
 import com.example.ticketbooking.entity.Booking;
 import com.example.ticketbooking.entity.Event;
 import com.example.ticketbooking.entity.User;
@@ -13,16 +15,24 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
 public class BookingService {
     private static final Logger logger = LoggerFactory.getLogger(BookingService.class);
 
+    private static final int MAX_TICKETS_PER_EVENT = 10;
+
     @Autowired
     private BookingRepository bookingRepository;
 
@@ -33,52 +43,180 @@ public class BookingService {
     private EventRepository eventRepository;
 
     @Autowired
-    private MidtransService midtransService;
+    private SnapTokenService snapTokenService;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private SeatMapService seatMapService;
+
+    @Autowired
+    private BookingReferenceGenerator bookingReferenceGenerator;
+
+    @Autowired
+    private EventMailboxExecutor eventMailboxExecutor;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BookingLedger bookingLedger;
 
     public BookingResponseDTO createBooking(BookingRequestDTO requestDTO, Long userId) {
+        // Keep the seat reservation and the insert in one short transaction
+        // (batched per event in actor mode). The Snap token is created
+        // asynchronously from the payment outbox; clients poll
+        // GET /api/payments/token/{reference} for it.
+        Booking booking = eventMailboxExecutor.execute(requestDTO.getEventId(),
+                () -> reserveAndSave(requestDTO, userId));
+        return mapToDto(booking);
+    }
+
+    private Booking reserveAndSave(BookingRequestDTO requestDTO, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         Event event = eventRepository.findById(requestDTO.getEventId())
                 .orElseThrow(() -> new IllegalArgumentException("Event not found"));
 
-        if (event.getAvailableSeats() < requestDTO.getNumberOfTickets()) {
+        Booking booking = bookingRepository.save(reserve(user, event, requestDTO));
+        seatMapService.book(booking);
+        bookingLedger.created(booking);
+        snapTokenService.enqueue(booking);
+        seatHoldService.hold(booking);
+        return booking;
+    }
+
+    /**
+     * Books several events for one fan in a single transaction with a single
+     * Midtrans payment. Items are merged per event and reserved in ascending
+     * event id order, so two carts sharing events always lock the events rows
+     * in the same order and cannot deadlock. Either every item is reserved or
+     * none is.
+     */
+    public CartCheckoutResponseDTO checkout(CartCheckoutRequestDTO requestDTO, Long userId) {
+        List<BookingRequestDTO> items = mergeCartItems(requestDTO.getItems());
+        // A cart spans several events, so it cannot go through one event mailbox;
+        // the guarded seat UPDATEs keep it safe next to the mailbox writers
+        List<Booking> bookings = transactionTemplate.execute(status -> reserveCart(items, userId));
+
+        CartCheckoutResponseDTO response = new CartCheckoutResponseDTO();
+        response.setPaymentReference(bookings.get(0).getPaymentReference());
+        response.setTotalAmount(bookings.stream()
+                .map(Booking::getTotalAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .doubleValue());
+        response.setStatus(Booking.BookingStatus.PENDING.toString());
+        response.setBookings(bookings.stream().map(this::mapToDto).collect(Collectors.toList()));
+        return response;
+    }
+
+    private List<Booking> reserveCart(List<BookingRequestDTO> items, Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        Map<Long, Event> events = eventRepository.findAllById(
+                items.stream().map(BookingRequestDTO::getEventId).toList()).stream()
+                .collect(Collectors.toMap(Event::getId, event -> event));
+
+        String paymentReference = bookingReferenceGenerator.nextPaymentReference();
+        List<Booking> bookings = new ArrayList<>(items.size());
+        for (BookingRequestDTO item : items) {
+            Event event = events.get(item.getEventId());
+            if (event == null) {
+                throw new IllegalArgumentException("Event not found: " + item.getEventId());
+            }
+            Booking booking;
+            try {
+                booking = reserve(user, event, item);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(event.getTitle() + ": " + e.getMessage());
+            }
+            booking.setPaymentReference(paymentReference);
+            bookings.add(booking);
+        }
+        // Sequence ids let these go out as one JDBC batch
+        bookings = bookingRepository.saveAll(bookings);
+        bookings.forEach(seatMapService::book);
+        bookings.forEach(bookingLedger::created);
+        snapTokenService.enqueue(paymentReference, bookings);
+        bookings.forEach(seatHoldService::hold);
+        return bookings;
+    }
+
+    private List<BookingRequestDTO> mergeCartItems(List<BookingRequestDTO> items) {
+        Map<Long, BookingRequestDTO> byEvent = new TreeMap<>();
+        for (BookingRequestDTO item : items) {
+            BookingRequestDTO merged = byEvent.get(item.getEventId());
+            if (merged == null) {
+                merged = new BookingRequestDTO();
+                merged.setEventId(item.getEventId());
+                merged.setNumberOfTickets(item.getNumberOfTickets());
+                merged.setSectionId(item.getSectionId());
+                byEvent.put(item.getEventId(), merged);
+                continue;
+            }
+            if (!Objects.equals(merged.getSectionId(), item.getSectionId())) {
+                throw new IllegalArgumentException("Event " + item.getEventId() + " is in the cart with two sections");
+            }
+            merged.setNumberOfTickets(merged.getNumberOfTickets() + item.getNumberOfTickets());
+            if (merged.getNumberOfTickets() > MAX_TICKETS_PER_EVENT) {
+                throw new IllegalArgumentException(
+                        "Number of tickets cannot exceed " + MAX_TICKETS_PER_EVENT + " per event");
+            }
+        }
+        return new ArrayList<>(byEvent.values());
+    }
+
+    /**
+     * Takes the seats for one booking and returns it unsaved.
+     */
+    private Booking reserve(User user, Event event, BookingRequestDTO requestDTO) {
+        if (event.getStatus() != Event.EventStatus.ACTIVE) {
+            throw new IllegalArgumentException("Ticket sales for this event have closed");
+        }
+        // Seat-mapped events pick adjacent seats first; that only touches memory,
+        // so a failed count reservation can simply hand them back
+        String seatAssignment = null;
+        if (seatMapService.hasSeatMap(event.getId())) {
+            seatAssignment = seatMapService.allocate(event.getId(), requestDTO.getSectionId(),
+                    requestDTO.getNumberOfTickets());
+        }
+        boolean reserved = false;
+        try {
+            reserved = seatInventoryService.reserve(event.getId(), requestDTO.getNumberOfTickets());
+        } finally {
+            // Also when reserve throws; a rejected command in an actor batch does not roll back
+            if (!reserved) {
+                seatMapService.free(event.getId(), seatAssignment);
+            }
+        }
+        if (!reserved) {
             throw new IllegalArgumentException("Not enough available seats");
         }
+        if (seatAssignment != null) {
+            seatMapService.freeOnRollback(event.getId(), seatAssignment);
+        }
 
         Booking booking = new Booking();
         booking.setUser(user);
         booking.setEvent(event);
         booking.setNumberOfTickets(requestDTO.getNumberOfTickets());
-        booking.setTotalAmount(
-                event.getPrice().multiply(java.math.BigDecimal.valueOf(requestDTO.getNumberOfTickets())));
+        booking.setTotalAmount(event.getPrice().multiply(BigDecimal.valueOf(requestDTO.getNumberOfTickets())));
         booking.setStatus(Booking.BookingStatus.PENDING);
-        booking.setBookingReference(generateBookingReference());
-
-        event.setAvailableSeats(event.getAvailableSeats() - requestDTO.getNumberOfTickets());
-        eventRepository.save(event);
-        bookingRepository.save(booking);
-
-        // Create Midtrans Snap token
-        BookingResponseDTO dto = mapToDto(booking);
-        try {
-            Map<String, String> snapResult = midtransService.createSnapTransaction(booking);
-            dto.setSnapToken(snapResult.get("token"));
-            dto.setRedirectUrl(snapResult.get("redirect_url"));
-            // Save snap token to booking
-            booking.setSnapToken(snapResult.get("token"));
-            bookingRepository.save(booking);
-        } catch (Exception e) {
-            logger.error("Failed to create Midtrans token for booking {}: {}",
-                    booking.getBookingReference(), e.getMessage());
-        }
-
-        return dto;
+        booking.setBookingReference(bookingReferenceGenerator.nextReference());
+        booking.setHoldExpiresAt(seatHoldService.newHoldDeadline());
+        booking.setSeatAssignment(seatAssignment);
+        return booking;
     }
 
     @Transactional(readOnly = true)
     public List<BookingResponseDTO> getUserBookings(Long userId) {
         logger.info("Fetching bookings for userId: {}", userId);
-        List<Booking> bookings = bookingRepository.findByUser_Id(userId);
+        // mapToDto reads the event of every booking
+        List<Booking> bookings = bookingRepository.findWithEventByUser_Id(userId);
         if (bookings.isEmpty()) {
             logger.info("No bookings found for userId: {}", userId);
             return Collections.emptyList();
@@ -87,7 +225,16 @@ public class BookingService {
     }
 
     public BookingResponseDTO cancelBooking(Long bookingId, Long userId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Long eventId = bookingRepository.findEventIdById(bookingId)
+                .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+        BookingResponseDTO dto = eventMailboxExecutor.execute(eventId, () -> cancel(bookingId, userId));
+        seatHoldService.releaseHold(bookingId);
+        return dto;
+    }
+
+    private BookingResponseDTO cancel(Long bookingId, Long userId) {
+        // Lock the row so a concurrent hold expiry cannot release the seats twice
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
         if (!booking.getUser().getId().equals(userId)) {
             throw new IllegalArgumentException("You are not allowed to cancel this booking");
@@ -95,22 +242,39 @@ public class BookingService {
         if (booking.getStatus() == Booking.BookingStatus.CANCELLED) {
             throw new IllegalArgumentException("Booking already cancelled");
         }
+        if (booking.getStatus() != Booking.BookingStatus.COMPLETED) {
+            seatInventoryService.release(booking.getEvent().getId(), booking.getNumberOfTickets());
+            seatMapService.release(booking);
+        }
+        Booking.BookingStatus previous = booking.getStatus();
         booking.setStatus(Booking.BookingStatus.CANCELLED);
         bookingRepository.save(booking);
+        bookingLedger.moved(previous, booking);
         return mapToDto(booking);
     }
 
     public BookingResponseDTO confirmBooking(Long bookingId, Long userId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Long eventId = bookingRepository.findEventIdById(bookingId)
+                .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+        BookingResponseDTO dto = eventMailboxExecutor.execute(eventId, () -> confirm(bookingId, userId));
+        seatHoldService.releaseHold(bookingId);
+        return dto;
+    }
+
+    private BookingResponseDTO confirm(Long bookingId, Long userId) {
+        // Lock the row: a hold that expires meanwhile has released the seats, so only PENDING may be confirmed
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
         if (!booking.getUser().getId().equals(userId)) {
             throw new IllegalArgumentException("You are not allowed to confirm this booking");
         }
-        if (booking.getStatus() == Booking.BookingStatus.CONFIRMED) {
-            throw new IllegalArgumentException("Booking already confirmed");
+        if (booking.getStatus() != Booking.BookingStatus.PENDING) {
+            throw new IllegalArgumentException("Only pending bookings can be confirmed, this one is "
+                    + booking.getStatus().name().toLowerCase(Locale.ROOT));
         }
         booking.setStatus(Booking.BookingStatus.CONFIRMED);
         bookingRepository.save(booking);
+        bookingLedger.moved(Booking.BookingStatus.PENDING, booking);
         return mapToDto(booking);
     }
 
@@ -125,10 +289,10 @@ public class BookingService {
         dto.setTotalAmount(booking.getTotalAmount() != null ? booking.getTotalAmount().doubleValue() : null);
         dto.setStatus(booking.getStatus() != null ? booking.getStatus().toString() : null);
         dto.setImageUrl(booking.getEvent() != null ? booking.getEvent().getImageUrl() : null);
+        dto.setPaymentReference(booking.getPaymentReference());
+        if (booking.getSeatAssignment() != null) {
+            dto.setSeats(seatMapService.describe(booking.getEvent().getId(), booking.getSeatAssignment()));
+        }
         return dto;
     }
-
-    private String generateBookingReference() {
-        return "BK" + System.currentTimeMillis();
-    }
 }
\ No newline at end of file
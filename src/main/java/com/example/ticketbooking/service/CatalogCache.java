@@ -0,0 +1,112 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.dto.CursorPage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Read-model cache for the catalog endpoints.
+ *
+ * Holds each response as serialized JSON bytes with a strong ETag (MD5 of
+ * the bytes), tagged with the {@link CatalogVersion} it was built from. A
+ * request is answered from memory while the version is unchanged; a client
+ * sending a matching If-None-Match gets a 304 without the body ever being
+ * serialized again. Entries also expire after {@code ttl-seconds}, because
+ * "upcoming" shifts with the clock even when nothing is written.
+ */
+@Service
+public class CatalogCache {
+
+    private static final int MAX_ENTRIES = 2_000;
+
+    private final CatalogVersion catalogVersion;
+    private final ObjectMapper objectMapper;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public CatalogCache(CatalogVersion catalogVersion, ObjectMapper objectMapper,
+            @Value("${app.catalog-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.catalogVersion = catalogVersion;
+        this.objectMapper = objectMapper;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * The cached response for {@code key}, loading and serializing it first
+     * if the catalog changed since. A {@link CursorPage} is sent as its
+     * items, with the next cursor in the X-Next-Cursor header.
+     */
+    public ResponseEntity<byte[]> respond(String key, String ifNoneMatch, Supplier<?> loader) {
+        Entry entry = lookup(key, loader);
+        boolean notModified = ifNoneMatch != null && matches(ifNoneMatch, entry.etag());
+        ResponseEntity.BodyBuilder response = notModified
+                ? ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                : ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        response.eTag(entry.etag()).cacheControl(CacheControl.noCache());
+        if (entry.nextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, entry.nextCursor());
+        }
+        return response.body(notModified ? null : entry.json());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Entry lookup(String key, Supplier<?> loader) {
+        long version = catalogVersion.current();
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.version() == version && now - entry.loadedAt() < ttlMillis) {
+            return entry;
+        }
+        // Tagged with the version read before loading: a concurrent write makes it stale, never wrong
+        entry = load(version, now, loader.get());
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.values().removeIf(old -> old.version() != version || now - old.loadedAt() >= ttlMillis);
+        }
+        if (entries.size() < MAX_ENTRIES) {
+            entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    private Entry load(long version, long now, Object value) {
+        String nextCursor = null;
+        if (value instanceof CursorPage<?> page) {
+            nextCursor = page.nextCursor();
+            value = page.items();
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            String etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+            return new Entry(version, now, json, etag, nextCursor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize catalog response", e);
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Entry(long version, long loadedAt, byte[] json, String etag, String nextCursor) {
+    }
+}
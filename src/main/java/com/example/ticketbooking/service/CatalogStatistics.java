@@ -0,0 +1,230 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.entity.League;
+import com.example.ticketbooking.repository.EventRepository;
+import com.example.ticketbooking.repository.LeagueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Running counters over the event catalog: totals, events per status and
+ * per league, and upcoming events (active, not yet started) overall and
+ * per league.
+ *
+ * The counters are loaded once with a few aggregate queries and then kept
+ * current by the writers: {@link EventServiceImpl} reports every event it
+ * creates, updates or deletes, league and seat-map changes report theirs.
+ * Upcoming events are also kept in a schedule by start time; every read
+ * and write first retires the events that have started since, so "upcoming"
+ * rolls forward without rescanning the table. A periodic reload corrects
+ * any drift from writes that bypass the services.
+ */
+@Service
+public class CatalogStatistics {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogStatistics.class);
+
+    private final EventRepository eventRepository;
+    private final LeagueRepository leagueRepository;
+
+    private long totalEvents;
+    private long totalSeats;
+    private BigDecimal totalPrice = BigDecimal.ZERO;
+    private final Map<Event.EventStatus, Long> eventsByStatus = new EnumMap<>(Event.EventStatus.class);
+    private final Map<Long, Long> eventsByLeague = new HashMap<>();
+    private long upcomingEvents;
+    private final Map<Long, Long> upcomingByLeague = new HashMap<>();
+    // Start time -> league -> upcoming events starting then (league null for unassigned)
+    private final TreeMap<LocalDateTime, Map<Long, Long>> schedule = new TreeMap<>();
+    private long totalLeagues;
+    private long activeLeagues;
+
+    /**
+     * What the counters need to know about one event.
+     */
+    public record Facts(Long leagueId, Event.EventStatus status, LocalDateTime eventDate, int totalSeats,
+            BigDecimal price) {
+
+        public static Facts of(Event event) {
+            return new Facts(event.getLeague() != null ? event.getLeague().getId() : null, event.getStatus(),
+                    event.getEventDate(), event.getTotalSeats() != null ? event.getTotalSeats() : 0,
+                    event.getPrice() != null ? event.getPrice() : BigDecimal.ZERO);
+        }
+    }
+
+    public CatalogStatistics(EventRepository eventRepository, LeagueRepository leagueRepository) {
+        this.eventRepository = eventRepository;
+        this.leagueRepository = leagueRepository;
+    }
+
+    public synchronized void created(Facts event) {
+        LocalDateTime now = advance();
+        apply(event, 1, now);
+    }
+
+    public synchronized void updated(Facts before, Facts after) {
+        LocalDateTime now = advance();
+        apply(before, -1, now);
+        apply(after, 1, now);
+    }
+
+    public synchronized void deleted(Facts event) {
+        LocalDateTime now = advance();
+        apply(event, -1, now);
+    }
+
+    public synchronized void statusChanged(Event.EventStatus from, Event.EventStatus to, long events) {
+        eventsByStatus.merge(from, -events, Long::sum);
+        eventsByStatus.merge(to, events, Long::sum);
+    }
+
+    public synchronized void seatsChanged(long delta) {
+        totalSeats += delta;
+    }
+
+    public synchronized long getTotalEvents() {
+        return totalEvents;
+    }
+
+    public synchronized long getUpcomingEvents() {
+        advance();
+        return upcomingEvents;
+    }
+
+    public synchronized long getEventCount(Event.EventStatus status) {
+        return eventsByStatus.getOrDefault(status, 0L);
+    }
+
+    public synchronized long getTotalLeagues() {
+        return totalLeagues;
+    }
+
+    public synchronized long getActiveLeagues() {
+        return activeLeagues;
+    }
+
+    public synchronized Map<String, Object> getCatalogStats() {
+        advance();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalEvents", totalEvents);
+        stats.put("totalSeats", totalSeats);
+        stats.put("averagePrice", totalEvents == 0 ? 0.0
+                : totalPrice.divide(BigDecimal.valueOf(totalEvents), 2, RoundingMode.HALF_UP).doubleValue());
+        stats.put("upcomingEvents", upcomingEvents);
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (Event.EventStatus status : Event.EventStatus.values()) {
+            byStatus.put(status.name(), eventsByStatus.getOrDefault(status, 0L));
+        }
+        stats.put("eventsByStatus", byStatus);
+        stats.put("eventsByLeague", byLeague(eventsByLeague));
+        stats.put("upcomingByLeague", byLeague(upcomingByLeague));
+        stats.put("totalLeagues", totalLeagues);
+        stats.put("activeLeagues", activeLeagues);
+        return stats;
+    }
+
+    /**
+     * Reloads every counter from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.catalog-stats.reconcile-ms:3600000}",
+            fixedDelayString = "${app.catalog-stats.reconcile-ms:3600000}")
+    public synchronized void reload() {
+        long began = System.nanoTime();
+        totalEvents = 0;
+        totalSeats = 0;
+        totalPrice = BigDecimal.ZERO;
+        eventsByStatus.clear();
+        eventsByLeague.clear();
+        for (Object[] row : eventRepository.countByStatusAndLeague()) {
+            long count = ((Number) row[2]).longValue();
+            totalEvents += count;
+            totalSeats += ((Number) row[3]).longValue();
+            totalPrice = totalPrice.add(toBigDecimal(row[4]));
+            eventsByStatus.merge((Event.EventStatus) row[0], count, Long::sum);
+            eventsByLeague.merge((Long) row[1], count, Long::sum);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        upcomingEvents = 0;
+        upcomingByLeague.clear();
+        schedule.clear();
+        for (Object[] row : eventRepository.countUpcomingByDateAndLeague(Event.EventStatus.ACTIVE, now)) {
+            long count = ((Number) row[2]).longValue();
+            schedule.computeIfAbsent((LocalDateTime) row[0], date -> new HashMap<>()).merge((Long) row[1], count,
+                    Long::sum);
+            upcomingByLeague.merge((Long) row[1], count, Long::sum);
+            upcomingEvents += count;
+        }
+        reloadLeagueCounts();
+        logger.info("Loaded catalog statistics: {} events, {} upcoming, in {} ms", totalEvents, upcomingEvents,
+                (System.nanoTime() - began) / 1_000_000);
+    }
+
+    public synchronized void reloadLeagueCounts() {
+        totalLeagues = leagueRepository.count();
+        activeLeagues = leagueRepository.countByStatus(League.LeagueStatus.ACTIVE);
+    }
+
+    // Retires events that have started since the last call
+    private LocalDateTime advance() {
+        LocalDateTime now = LocalDateTime.now();
+        Map.Entry<LocalDateTime, Map<Long, Long>> first;
+        while ((first = schedule.firstEntry()) != null && !first.getKey().isAfter(now)) {
+            schedule.pollFirstEntry();
+            first.getValue().forEach((leagueId, count) -> {
+                upcomingEvents -= count;
+                decrement(upcomingByLeague, leagueId, count);
+            });
+        }
+        return now;
+    }
+
+    private void apply(Facts event, int sign, LocalDateTime now) {
+        totalEvents += sign;
+        totalSeats += (long) sign * event.totalSeats();
+        totalPrice = sign > 0 ? totalPrice.add(event.price()) : totalPrice.subtract(event.price());
+        eventsByStatus.merge(event.status(), (long) sign, Long::sum);
+        decrement(eventsByLeague, event.leagueId(), -sign);
+        if (event.status() == Event.EventStatus.ACTIVE && event.eventDate() != null
+                && event.eventDate().isAfter(now)) {
+            upcomingEvents += sign;
+            decrement(upcomingByLeague, event.leagueId(), -sign);
+            Map<Long, Long> starting = schedule.computeIfAbsent(event.eventDate(), date -> new HashMap<>());
+            decrement(starting, event.leagueId(), -sign);
+            if (starting.isEmpty()) {
+                schedule.remove(event.eventDate());
+            }
+        }
+    }
+
+    private static void decrement(Map<Long, Long> counts, Long key, long by) {
+        Long left = counts.merge(key, -by, Long::sum);
+        if (left != null && left == 0) {
+            counts.remove(key);
+        }
+    }
+
+    private static Map<String, Long> byLeague(Map<Long, Long> counts) {
+        Map<String, Long> named = new TreeMap<>();
+        counts.forEach((leagueId, count) -> named.put(leagueId == null ? "none" : leagueId.toString(), count));
+        return named;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+}
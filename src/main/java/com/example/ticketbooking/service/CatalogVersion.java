@@ -0,0 +1,25 @@
+package com.example.ticketbooking.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the public catalog (events and leagues). Every write that
+ * changes what the catalog endpoints return bumps it, which invalidates
+ * {@link CatalogCache} at once. Seat availability is not part of it.
+ */
+@Component
+public class CatalogVersion {
+
+    // Starts from the clock so versions are not reused across restarts
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    public long current() {
+        return version.get();
+    }
+
+    public long bump() {
+        return version.incrementAndGet();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.ticketbooking.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads CSV records one at a time (RFC 4180): comma-separated fields,
+ * optionally quoted, with "" for a quote and line breaks allowed inside
+ * quotes. Blank lines are skipped. Only the current record is held in
+ * memory, so files of any size stream through.
+ */
+public final class CsvReader implements Closeable {
+
+    private final BufferedReader reader;
+    private long line = 1;
+    private long recordLine;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    /**
+     * The next record's fields, or null at the end of the input.
+     *
+     * @throws IllegalArgumentException if the input ends inside quotes
+     */
+    public List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean started = false;
+        recordLine = line;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+                continue;
+            }
+            if (c == '\r') {
+                continue;
+            }
+            if (c == '\n') {
+                line++;
+                if (!started && field.isEmpty()) {
+                    // Blank line
+                    recordLine = line;
+                    continue;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            started = true;
+            if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append((char) c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field starting on line " + recordLine);
+        }
+        if (!started) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Line on which the record last returned by {@link #next()} starts.
+     */
+    public long line() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
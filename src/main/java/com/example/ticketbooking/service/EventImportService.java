@@ -0,0 +1,382 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.dto.EventDTO;
+import com.example.ticketbooking.entity.Event;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk event import: CSV or JSON lines in, rows written with JDBC batches.
+ *
+ * Input is read one record at a time, so a whole season of fixtures never
+ * sits in memory. Each record is validated on its own; a bad record is
+ * reported with its line number and skipped, the rest still load. Leagues
+ * are given by id, name or page slug and resolved through
+ * {@link LeagueIndexService}; records without one are classified like
+ * events created one by one.
+ *
+ * Valid rows are inserted {@code BATCH_SIZE} at a time, each batch in its
+ * own transaction, and then added to the search index, the suggestions and
+ * the catalog statistics. Fields: title, description, venue, eventDate
+ * (ISO, e.g. 2025-08-16T15:00), totalSeats, price, imageUrl, league.
+ */
+@Service
+public class EventImportService {
+    private static final Logger logger = LoggerFactory.getLogger(EventImportService.class);
+
+    public static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1_000;
+    private static final String INSERT = "INSERT INTO events (title, description, venue, event_date, total_seats, "
+            + "available_seats, price, image_url, status, created_at, league_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final LeagueIndexService leagueIndexService;
+    private final EventSearchService eventSearchService;
+    private final SuggestionService suggestionService;
+    private final CatalogStatistics catalogStatistics;
+    private final CatalogVersion catalogVersion;
+
+    /**
+     * Receives progress while an import runs, e.g. to stream it back.
+     */
+    public interface Listener {
+        void rowFailed(long line, String error);
+
+        void batchWritten(Summary progress);
+    }
+
+    public record Summary(long rows, long imported, long failed, long elapsedMs) {
+    }
+
+    public EventImportService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper, LeagueIndexService leagueIndexService,
+            EventSearchService eventSearchService, SuggestionService suggestionService,
+            CatalogStatistics catalogStatistics, CatalogVersion catalogVersion) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.leagueIndexService = leagueIndexService;
+        this.eventSearchService = eventSearchService;
+        this.suggestionService = suggestionService;
+        this.catalogStatistics = catalogStatistics;
+        this.catalogVersion = catalogVersion;
+    }
+
+    /**
+     * Imports CSV with a header row naming the fields (in any order).
+     */
+    public Summary importCsv(Reader input, Listener listener) throws IOException {
+        try (CsvReader csv = new CsvReader(input)) {
+            List<String> header = csv.next();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV input is empty");
+            }
+            List<String> columns = header.stream().map(column -> column.trim().toLowerCase(Locale.ROOT)).toList();
+            for (String required : List.of("title", "venue", "eventdate", "totalseats", "price")) {
+                if (!columns.contains(required)) {
+                    throw new IllegalArgumentException("CSV header is missing column: " + required);
+                }
+            }
+            return run(new Iterator<>() {
+                private List<String> next = advance();
+
+                private List<String> advance() {
+                    try {
+                        return csv.next();
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public Record next() {
+                    long line = csv.line();
+                    Map<String, String> fields = new HashMap<>();
+                    for (int i = 0; i < columns.size() && i < next.size(); i++) {
+                        fields.put(columns.get(i), next.get(i));
+                    }
+                    next = advance();
+                    return new Record(line, fields, null);
+                }
+            }, listener);
+        }
+    }
+
+    /**
+     * Imports one JSON object per line.
+     */
+    public Summary importJsonLines(Reader input, Listener listener) throws IOException {
+        try (BufferedReader reader = new BufferedReader(input)) {
+            return run(new Iterator<>() {
+                private long line;
+                private String next = advance();
+
+                private String advance() {
+                    try {
+                        String text;
+                        do {
+                            text = reader.readLine();
+                            line++;
+                        } while (text != null && text.isBlank());
+                        return text;
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public Record next() {
+                    long current = line;
+                    String text = next;
+                    next = advance();
+                    try {
+                        JsonNode node = objectMapper.readTree(text);
+                        if (!node.isObject()) {
+                            return new Record(current, null, "Expected a JSON object");
+                        }
+                        Map<String, String> fields = new HashMap<>();
+                        node.fields().forEachRemaining(field -> fields.put(field.getKey().toLowerCase(Locale.ROOT),
+                                field.getValue().isNull() ? null : field.getValue().asText()));
+                        return new Record(current, fields, null);
+                    } catch (JsonProcessingException e) {
+                        return new Record(current, null, "Malformed JSON: " + e.getOriginalMessage());
+                    }
+                }
+            }, listener);
+        }
+    }
+
+    /**
+     * Imports events that are already typed, e.g. seed data.
+     */
+    public Summary importEvents(List<EventDTO> events) {
+        List<EventDTO> batch = new ArrayList<>(BATCH_SIZE);
+        long began = System.nanoTime();
+        long imported = 0;
+        for (EventDTO event : events) {
+            batch.add(withLeague(event, event.leagueId()));
+            if (batch.size() == BATCH_SIZE) {
+                imported += write(batch);
+            }
+        }
+        imported += write(batch);
+        catalogVersion.bump();
+        return new Summary(events.size(), imported, 0, (System.nanoTime() - began) / 1_000_000);
+    }
+
+    private Summary run(Iterator<Record> records, Listener listener) {
+        long began = System.nanoTime();
+        long rows = 0;
+        long imported = 0;
+        long failed = 0;
+        List<EventDTO> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            try {
+                while (records.hasNext()) {
+                    Record record = records.next();
+                    rows++;
+                    String error = record.error();
+                    EventDTO event = null;
+                    if (error == null) {
+                        try {
+                            event = parse(record.fields());
+                        } catch (IllegalArgumentException e) {
+                            error = e.getMessage();
+                        }
+                    }
+                    if (error != null) {
+                        failed++;
+                        if (failed <= MAX_REPORTED_ERRORS) {
+                            listener.rowFailed(record.line(), error);
+                        }
+                        continue;
+                    }
+                    batch.add(event);
+                    if (batch.size() == BATCH_SIZE) {
+                        imported += write(batch);
+                        listener.batchWritten(new Summary(rows, imported, failed,
+                                (System.nanoTime() - began) / 1_000_000));
+                    }
+                }
+            } catch (IllegalStateException e) {
+                if (!(e.getCause() instanceof IOException)) {
+                    throw e;
+                }
+                logger.warn("Event import input failed after {} rows: {}", rows, e.getCause().getMessage());
+                listener.rowFailed(rows + 1, "Input could not be read: " + e.getCause().getMessage());
+            }
+            // The last partial batch; only reached when no write failed, so nothing is written twice
+            imported += write(batch);
+        } finally {
+            if (imported > 0) {
+                catalogVersion.bump();
+            }
+        }
+        Summary summary = new Summary(rows, imported, failed, (System.nanoTime() - began) / 1_000_000);
+        logger.info("Imported {} of {} events ({} rejected) in {} ms", imported, rows, failed, summary.elapsedMs());
+        return summary;
+    }
+
+    EventDTO parse(Map<String, String> fields) {
+        String title = text(fields, "title", 255, true);
+        String description = text(fields, "description", 1000, false);
+        String venue = text(fields, "venue", 255, true);
+        String imageUrl = text(fields, "imageUrl", 255, false);
+        LocalDateTime eventDate;
+        try {
+            eventDate = LocalDateTime.parse(text(fields, "eventDate", 40, true).replace(' ', 'T'));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("eventDate must look like 2025-08-16T15:00");
+        }
+        int totalSeats;
+        BigDecimal price;
+        try {
+            totalSeats = Integer.parseInt(text(fields, "totalSeats", 12, true));
+            price = new BigDecimal(text(fields, "price", 40, true));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("totalSeats and price must be numbers");
+        }
+        if (totalSeats <= 0) {
+            throw new IllegalArgumentException("totalSeats must be positive");
+        }
+        if (price.signum() < 0) {
+            throw new IllegalArgumentException("price must not be negative");
+        }
+
+        String league = text(fields, "league", 255, false);
+        if (league == null) {
+            league = text(fields, "leagueId", 255, false);
+        }
+        Long leagueId = null;
+        if (league != null) {
+            leagueId = leagueIndexService.resolve(league);
+            if (leagueId == null || !leagueIndexService.exists(leagueId)) {
+                throw new IllegalArgumentException("Unknown league: " + league);
+            }
+        }
+        return withLeague(new EventDTO(null, title, description, venue, eventDate, totalSeats, price, imageUrl,
+                null), leagueId);
+    }
+
+    private EventDTO withLeague(EventDTO event, Long leagueId) {
+        Long league = leagueId != null ? leagueId : leagueIndexService.classify(event.title(), event.venue());
+        return new EventDTO(event.id(), event.title(), event.description(), event.venue(), event.eventDate(),
+                event.totalSeats(), event.price(), event.imageUrl(), league);
+    }
+
+    // Inserts the batch in one transaction, then indexes the new rows; clears the batch
+    private int write(List<EventDTO> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> ids = transactionTemplate.execute(status -> jdbcTemplate.execute(
+                (ConnectionCallback<List<Long>>) connection -> {
+                    try (PreparedStatement insert = connection.prepareStatement(INSERT,
+                            Statement.RETURN_GENERATED_KEYS)) {
+                        for (EventDTO event : batch) {
+                            insert.setString(1, event.title());
+                            insert.setString(2, event.description());
+                            insert.setString(3, event.venue());
+                            insert.setTimestamp(4, Timestamp.valueOf(event.eventDate()));
+                            insert.setInt(5, event.totalSeats());
+                            insert.setInt(6, event.totalSeats());
+                            insert.setBigDecimal(7, event.price());
+                            insert.setString(8, event.imageUrl());
+                            insert.setString(9, Event.EventStatus.ACTIVE.name());
+                            insert.setTimestamp(10, now);
+                            if (event.leagueId() != null) {
+                                insert.setLong(11, event.leagueId());
+                            } else {
+                                insert.setNull(11, Types.BIGINT);
+                            }
+                            insert.addBatch();
+                        }
+                        insert.executeBatch();
+                        List<Long> keys = new ArrayList<>(batch.size());
+                        try (ResultSet generated = insert.getGeneratedKeys()) {
+                            while (generated.next()) {
+                                keys.add(generated.getLong(1));
+                            }
+                        }
+                        return keys;
+                    }
+                }));
+
+        int written = batch.size();
+        if (ids == null || ids.size() != written) {
+            // The driver did not report every key; fall back to reloading the read models
+            eventSearchService.rebuild();
+            suggestionService.rebuild();
+            catalogStatistics.reload();
+        } else {
+            for (int i = 0; i < written; i++) {
+                EventDTO event = batch.get(i);
+                EventDTO saved = new EventDTO(ids.get(i), event.title(), event.description(), event.venue(),
+                        event.eventDate(), event.totalSeats(), event.price(), event.imageUrl(), event.leagueId());
+                eventSearchService.index(saved);
+                suggestionService.index(saved);
+                catalogStatistics.created(new CatalogStatistics.Facts(saved.leagueId(), Event.EventStatus.ACTIVE,
+                        saved.eventDate(), saved.totalSeats(), saved.price()));
+            }
+        }
+        batch.clear();
+        return written;
+    }
+
+    private static String text(Map<String, String> fields, String name, int maxLength, boolean required) {
+        String value = fields.get(name.toLowerCase(Locale.ROOT));
+        if (value == null || value.isBlank()) {
+            if (required) {
+                throw new IllegalArgumentException(name + " is required");
+            }
+            return null;
+        }
+        value = value.trim();
+        if (value.length() > maxLength) {
+            throw new IllegalArgumentException(name + " is longer than " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private record Record(long line, Map<String, String> fields, String error) {
+    }
+}
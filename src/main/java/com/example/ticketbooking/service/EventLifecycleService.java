@@ -0,0 +1,158 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves events through their lifecycle as time passes.
+ *
+ * At kickoff an ACTIVE event becomes LIVE and ticket sales close; at full
+ * time ({@code match-minutes} after kickoff) a LIVE event becomes COMPLETED
+ * and its CONFIRMED bookings become COMPLETED with it. Listings then only
+ * need the indexed status column to tell upcoming events from past ones.
+ *
+ * Due events are found through idx_events_status_event_date, oldest first,
+ * and moved in chunks of {@code batch-size}, each chunk in its own
+ * transaction of two bulk UPDATEs. Every status change is guarded by the
+ * expected old status, so overlapping runs or several nodes are harmless.
+ * Events missed while the application was down catch up on the first run.
+ *
+ * A COMPLETED event postponed to a later date is reopened with
+ * {@link #reopen(Long)}, which takes its COMPLETED bookings back to
+ * CONFIRMED.
+ */
+@Service
+public class EventLifecycleService {
+    private static final Logger logger = LoggerFactory.getLogger(EventLifecycleService.class);
+
+    private final EventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SeatInventoryService seatInventoryService;
+    private final CatalogStatistics catalogStatistics;
+    private final BookingLedger bookingLedger;
+    private final CatalogVersion catalogVersion;
+    private final Duration matchDuration;
+    private final int batchSize;
+
+    public EventLifecycleService(EventRepository eventRepository, BookingRepository bookingRepository,
+            TransactionTemplate transactionTemplate, SeatInventoryService seatInventoryService,
+            CatalogStatistics catalogStatistics, BookingLedger bookingLedger, CatalogVersion catalogVersion,
+            @Value("${app.lifecycle.match-minutes:120}") long matchMinutes,
+            @Value("${app.lifecycle.batch-size:1000}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.seatInventoryService = seatInventoryService;
+        this.catalogStatistics = catalogStatistics;
+        this.bookingLedger = bookingLedger;
+        this.catalogVersion = catalogVersion;
+        this.matchDuration = Duration.ofMinutes(matchMinutes);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.lifecycle.interval-ms:30000}")
+    public void advance() {
+        LocalDateTime now = LocalDateTime.now();
+        int started = kickOff(now);
+        int finished = finish(now);
+        if (started + finished > 0) {
+            catalogVersion.bump();
+            logger.info("Event lifecycle: {} events kicked off, {} completed", started, finished);
+        }
+    }
+
+    /**
+     * ACTIVE -> LIVE for every event that has started by {@code now}.
+     */
+    int kickOff(LocalDateTime now) {
+        int moved = 0;
+        List<Long> ids;
+        do {
+            ids = eventRepository.findIdsStartedBefore(Event.EventStatus.ACTIVE, now, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            List<Long> chunk = ids;
+            int updated = transactionTemplate.execute(status -> eventRepository.updateStatusByIds(chunk,
+                    Event.EventStatus.ACTIVE, Event.EventStatus.LIVE));
+            // Sales are closed now; drop the seat counters so nobody is told seats are left
+            chunk.forEach(seatInventoryService::evict);
+            catalogStatistics.statusChanged(Event.EventStatus.ACTIVE, Event.EventStatus.LIVE, updated);
+            moved += updated;
+        } while (ids.size() == batchSize);
+        return moved;
+    }
+
+    /**
+     * LIVE -> COMPLETED, with their confirmed bookings, for every event whose
+     * full time has passed by {@code now}.
+     */
+    int finish(LocalDateTime now) {
+        int moved = 0;
+        LocalDateTime kickedOffBefore = now.minus(matchDuration);
+        List<Long> ids;
+        do {
+            ids = eventRepository.findIdsStartedBefore(Event.EventStatus.LIVE, kickedOffBefore,
+                    PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            List<Long> chunk = ids;
+            int updated = transactionTemplate.execute(status -> {
+                // Counted in the same transaction, so the ledger moves exactly what the UPDATE does
+                Object[] confirmed = bookingRepository.countAndSumByEventIdsAndStatus(chunk,
+                        Booking.BookingStatus.CONFIRMED).get(0);
+                int completed = bookingRepository.updateStatusByEventIds(chunk, Booking.BookingStatus.CONFIRMED,
+                        Booking.BookingStatus.COMPLETED);
+                bookingLedger.record(Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.COMPLETED, completed,
+                        completed == 0 ? BigDecimal.ZERO : new BigDecimal(confirmed[1].toString()));
+                return eventRepository.updateStatusByIds(chunk, Event.EventStatus.LIVE,
+                        Event.EventStatus.COMPLETED);
+            });
+            catalogStatistics.statusChanged(Event.EventStatus.LIVE, Event.EventStatus.COMPLETED, updated);
+            moved += updated;
+        } while (ids.size() == batchSize);
+        return moved;
+    }
+
+    /**
+     * COMPLETED -> ACTIVE for one event, with its completed bookings back to
+     * CONFIRMED: the reverse of {@link #finish}. The caller accounts for the
+     * event's own status change.
+     *
+     * @return false if the event was not COMPLETED
+     */
+    public boolean reopen(Long eventId) {
+        List<Long> chunk = List.of(eventId);
+        int reopened = transactionTemplate.execute(status -> {
+            int updated = eventRepository.updateStatusByIds(chunk, Event.EventStatus.COMPLETED,
+                    Event.EventStatus.ACTIVE);
+            if (updated == 0) {
+                return 0;
+            }
+            Object[] completed = bookingRepository.countAndSumByEventIdsAndStatus(chunk,
+                    Booking.BookingStatus.COMPLETED).get(0);
+            int confirmed = bookingRepository.updateStatusByEventIds(chunk, Booking.BookingStatus.COMPLETED,
+                    Booking.BookingStatus.CONFIRMED);
+            bookingLedger.record(Booking.BookingStatus.COMPLETED, Booking.BookingStatus.CONFIRMED, confirmed,
+                    confirmed == 0 ? BigDecimal.ZERO : new BigDecimal(completed[1].toString()));
+            return updated;
+        });
+        return reopened > 0;
+    }
+}
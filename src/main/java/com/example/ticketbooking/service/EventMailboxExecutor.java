@@ -0,0 +1,212 @@
+package com.example.ticketbooking.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs seat-changing work for an event, either directly in its own
+ * transaction (execution-mode=transactional, the default) or through a
+ * per-event mailbox (execution-mode=actor).
+ *
+ * In actor mode each event has a single writer: its mailbox is drained by at
+ * most one worker at a time, which takes up to batch-size queued commands and
+ * runs them in one transaction. Requests for the same event therefore stop
+ * fighting over the events row lock and share a commit, while different
+ * events are drained in parallel by the worker pool. A command rejected with
+ * IllegalArgumentException (e.g. sold out) fails on its own; any other
+ * failure rolls the batch back and its commands are retried one transaction
+ * each, so one bad request never takes its neighbours down.
+ */
+@Service
+public class EventMailboxExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(EventMailboxExecutor.class);
+
+    // Set while a worker drains a mailbox, so nested calls run inline instead of deadlocking
+    private static final ThreadLocal<Boolean> DRAINING = new ThreadLocal<>();
+
+    public enum Mode {
+        TRANSACTIONAL, ACTOR
+    }
+
+    private final TransactionTemplate transactionTemplate;
+    private final Mode mode;
+    private final int batchSize;
+    private final ExecutorService workers;
+    private final Map<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    public EventMailboxExecutor(TransactionTemplate transactionTemplate,
+            @Value("${app.booking.execution-mode:transactional}") String mode,
+            @Value("${app.booking.actor-threads:0}") int threads,
+            @Value("${app.booking.actor-batch-size:64}") int batchSize) {
+        this.transactionTemplate = transactionTemplate;
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.batchSize = Math.max(1, batchSize);
+        if (this.mode == Mode.ACTOR) {
+            int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors() * 2;
+            AtomicInteger threadCount = new AtomicInteger();
+            this.workers = Executors.newFixedThreadPool(poolSize, runnable -> {
+                Thread thread = new Thread(runnable, "event-mailbox-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            logger.info("Booking execution mode: actor ({} workers, batches of {})", poolSize, this.batchSize);
+        } else {
+            this.workers = null;
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Runs the work for an event inside a transaction and returns its result.
+     * In actor mode the calling thread blocks until the event's mailbox has
+     * committed the batch containing this command.
+     */
+    public <T> T execute(Long eventId, Supplier<T> work) {
+        if (mode == Mode.TRANSACTIONAL || eventId == null || Boolean.TRUE.equals(DRAINING.get())) {
+            return transactionTemplate.execute(status -> work.get());
+        }
+        Command<T> command = new Command<>(work);
+        Mailbox mailbox = mailboxes.computeIfAbsent(eventId, id -> new Mailbox());
+        mailbox.queue.add(command);
+        schedule(mailbox);
+        return command.await();
+    }
+
+    private void schedule(Mailbox mailbox) {
+        if (!mailbox.queue.isEmpty() && mailbox.scheduled.compareAndSet(false, true)) {
+            workers.execute(() -> drain(mailbox));
+        }
+    }
+
+    private void drain(Mailbox mailbox) {
+        DRAINING.set(Boolean.TRUE);
+        try {
+            List<Command<?>> batch = new ArrayList<>(batchSize);
+            Command<?> command;
+            while (batch.size() < batchSize && (command = mailbox.queue.poll()) != null) {
+                batch.add(command);
+            }
+            if (!batch.isEmpty()) {
+                runBatch(batch);
+            }
+        } finally {
+            DRAINING.remove();
+            mailbox.scheduled.set(false);
+            // One batch per turn keeps busy events from starving the others
+            schedule(mailbox);
+        }
+    }
+
+    private void runBatch(List<Command<?>> batch) {
+        boolean committed = false;
+        if (batch.size() > 1) {
+            try {
+                committed = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                    for (Command<?> command : batch) {
+                        try {
+                            command.run();
+                        } catch (IllegalArgumentException e) {
+                            if (status.isRollbackOnly()) {
+                                return false;
+                            }
+                            command.error = e;
+                        } catch (RuntimeException e) {
+                            status.setRollbackOnly();
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            } catch (RuntimeException e) {
+                logger.warn("Batch of {} booking commands failed to commit: {}", batch.size(), e.getMessage());
+            }
+        }
+
+        if (committed) {
+            batch.forEach(Command::publish);
+            return;
+        }
+        // Single command, or the batch was rolled back: one transaction per command
+        for (Command<?> command : batch) {
+            command.error = null;
+            try {
+                transactionTemplate.executeWithoutResult(status -> command.run());
+            } catch (RuntimeException e) {
+                command.error = e;
+            }
+            command.publish();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (workers != null) {
+            workers.shutdown();
+        }
+    }
+
+    private static final class Mailbox {
+        private final Queue<Command<?>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+    }
+
+    private static final class Command<T> {
+        private final Supplier<T> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private T result;
+        private RuntimeException error;
+
+        private Command(Supplier<T> work) {
+            this.work = work;
+        }
+
+        private void run() {
+            result = work.get();
+        }
+
+        // Results are only handed out once their transaction has committed
+        private void publish() {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(result);
+            }
+        }
+
+        private T await() {
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for booking", e);
+            }
+        }
+    }
+}
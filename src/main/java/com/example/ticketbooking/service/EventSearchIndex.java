@@ -0,0 +1,216 @@
+package com.example.ticketbooking.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory inverted index over event titles, descriptions and venues.
+ *
+ * Every folded word (see {@link TextNormalizer}) maps to the ids of the
+ * events containing it. A query matches events that contain all of its
+ * words; the last word also matches as a prefix, so "atl" finds "Atlético".
+ * Matching starts from the rarest query word and checks the others against
+ * each candidate's own term map, so the cost follows the smallest posting
+ * list rather than the catalog size. Results are ranked by tf-idf, with
+ * title hits counting more than venue hits and venue hits more than
+ * description hits, then by date.
+ *
+ * Reads are lock-free; writers are serialized.
+ */
+public final class EventSearchIndex {
+
+    static final int TITLE_WEIGHT = 3;
+    static final int VENUE_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+    // Shorter prefixes would fan out over a large part of the dictionary
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparing(Hit::eventDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingLong(Hit::id);
+
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+    /**
+     * Adds the event, or replaces what was indexed for it before.
+     */
+    public synchronized void put(long id, String title, String description, String venue, LocalDateTime eventDate) {
+        remove(id);
+        Map<String, Integer> weights = new HashMap<>();
+        addTerms(weights, title, TITLE_WEIGHT);
+        addTerms(weights, venue, VENUE_WEIGHT);
+        addTerms(weights, description, DESCRIPTION_WEIGHT);
+        for (String term : weights.keySet()) {
+            postings.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+        documents.put(id, new Document(eventDate, TextNormalizer.fold(venue), weights));
+    }
+
+    public synchronized void remove(long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.weights().keySet()) {
+            Set<Long> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        postings.clear();
+        documents.clear();
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public int terms() {
+        return postings.size();
+    }
+
+    /**
+     * Ids of the events matching every word of {@code query}, best first.
+     * {@code venue} (substring, accent-insensitive) and the date range
+     * [{@code from}, {@code to}) are optional filters.
+     */
+    public List<Long> search(String query, String venue, LocalDateTime from, LocalDateTime to, int offset,
+            int limit) {
+        List<String> words = TextNormalizer.tokens(query);
+        if (words.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        String venueFilter = TextNormalizer.fold(venue).trim();
+
+        // Dictionary terms each word matches, with their posting lists
+        List<Map<String, Set<Long>>> matches = new ArrayList<>(words.size());
+        int driver = 0;
+        long driverSize = Long.MAX_VALUE;
+        for (int i = 0; i < words.size(); i++) {
+            boolean prefix = i == words.size() - 1 && words.get(i).length() >= MIN_PREFIX_LENGTH;
+            Map<String, Set<Long>> terms = termsFor(words.get(i), prefix);
+            if (terms.isEmpty()) {
+                return Collections.emptyList();
+            }
+            long candidates = terms.values().stream().mapToLong(Set::size).sum();
+            if (candidates < driverSize) {
+                driver = i;
+                driverSize = candidates;
+            }
+            matches.add(terms);
+        }
+
+        int total = documents.size();
+        int keep = offset + limit;
+        PriorityQueue<Hit> best = new PriorityQueue<>(RANKING.reversed());
+        Set<Long> seen = matches.get(driver).size() > 1 ? new HashSet<>() : null;
+        for (Set<Long> ids : matches.get(driver).values()) {
+            for (Long id : ids) {
+                if (seen != null && !seen.add(id)) {
+                    continue;
+                }
+                Document document = documents.get(id);
+                if (document == null || !document.accepts(venueFilter, from, to)) {
+                    continue;
+                }
+                double score = score(document, matches, total);
+                if (score <= 0) {
+                    continue;
+                }
+                best.add(new Hit(id, score, document.eventDate()));
+                if (best.size() > keep) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<Hit> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        if (offset >= ranked.size()) {
+            return Collections.emptyList();
+        }
+        return ranked.subList(offset, ranked.size()).stream().map(Hit::id).toList();
+    }
+
+    private Map<String, Set<Long>> termsFor(String word, boolean prefix) {
+        if (!prefix) {
+            Set<Long> ids = postings.get(word);
+            return ids == null ? Collections.emptyMap() : Map.of(word, ids);
+        }
+        // Copied so that size() and get() are O(1) while scoring
+        return new HashMap<>(postings.subMap(word, true, word + Character.MAX_VALUE, false));
+    }
+
+    // Zero when some query word is missing from the document
+    private double score(Document document, List<Map<String, Set<Long>>> matches, int total) {
+        double score = 0;
+        for (Map<String, Set<Long>> terms : matches) {
+            double best = 0;
+            if (terms.size() == 1 || terms.size() < document.weights().size()) {
+                for (Map.Entry<String, Set<Long>> term : terms.entrySet()) {
+                    best = Math.max(best, termScore(document, term.getKey(), term.getValue(), total));
+                }
+            } else {
+                for (String term : document.weights().keySet()) {
+                    Set<Long> ids = terms.get(term);
+                    if (ids != null) {
+                        best = Math.max(best, termScore(document, term, ids, total));
+                    }
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    private double termScore(Document document, String term, Collection<Long> ids, int total) {
+        Integer weight = document.weights().get(term);
+        if (weight == null) {
+            return 0;
+        }
+        return weight * Math.log(1 + (double) total / Math.max(1, ids.size()));
+    }
+
+    private static void addTerms(Map<String, Integer> weights, String text, int weight) {
+        for (String token : TextNormalizer.tokens(text)) {
+            weights.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private record Document(LocalDateTime eventDate, String venue, Map<String, Integer> weights) {
+
+        boolean accepts(String venueFilter, LocalDateTime from, LocalDateTime to) {
+            if (!venueFilter.isEmpty() && !venue.contains(venueFilter)) {
+                return false;
+            }
+            if (from != null && (eventDate == null || eventDate.isBefore(from))) {
+                return false;
+            }
+            return to == null || (eventDate != null && eventDate.isBefore(to));
+        }
+    }
+
+    private record Hit(long id, double score, LocalDateTime eventDate) {
+    }
+}
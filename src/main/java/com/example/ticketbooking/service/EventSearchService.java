@@ -0,0 +1,82 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.dto.EventDTO;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Full-text event search backed by {@link EventSearchIndex}.
+ *
+ * The index is built from the events table at startup and kept up to date
+ * by {@link EventServiceImpl} as events are created, updated and deleted.
+ * It only yields ids; the page of results is then loaded by primary key.
+ */
+@Service
+public class EventSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(EventSearchService.class);
+
+    private static final int REBUILD_BATCH = 5_000;
+
+    private final EventRepository eventRepository;
+    private final EventSearchIndex index = new EventSearchIndex();
+
+    public EventSearchService(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    public List<EventDTO> search(String query, String venue, LocalDateTime from, LocalDateTime to, int offset,
+            int limit) {
+        List<Long> ids = index.search(query, venue, from, to, offset, limit);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, EventDTO> events = new HashMap<>();
+        for (EventDTO event : eventRepository.findSummariesByIdIn(ids)) {
+            events.put(event.id(), event);
+        }
+        // Keep the index's ranking; skip events deleted in the meantime
+        return ids.stream().map(events::get).filter(Objects::nonNull).toList();
+    }
+
+    public void index(Event event) {
+        index.put(event.getId(), event.getTitle(), event.getDescription(), event.getVenue(), event.getEventDate());
+    }
+
+    public void index(EventDTO event) {
+        index.put(event.id(), event.title(), event.description(), event.venue(), event.eventDate());
+    }
+
+    public void remove(Long eventId) {
+        index.remove(eventId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long began = System.nanoTime();
+        index.clear();
+        long lastId = 0;
+        List<EventDTO> batch;
+        do {
+            batch = eventRepository.findSummariesAfter(lastId, PageRequest.of(0, REBUILD_BATCH));
+            batch.forEach(this::index);
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).id();
+            }
+        } while (batch.size() == REBUILD_BATCH);
+        logger.info("Indexed {} events ({} terms) for search in {} ms", index.size(), index.terms(),
+                (System.nanoTime() - began) / 1_000_000);
+    }
+}
@@ -1,18 +1,21 @@
 package com.example.ticketbooking.service;
 
+import com.example.ticketbooking.dto.CursorPage;
 import com.example.ticketbooking.dto.EventDTO;
 import java.util.List;
+import java.util.Map;
 
 public interface EventService {
     void createEvent(EventDTO eventDTO);
     void updateEvent(Long id, EventDTO eventDTO);
     void deleteEvent(Long id);
 
-    List<EventDTO> getAllEvents();
-    List<EventDTO> getUpcomingEvents();
+    CursorPage<EventDTO> getAllEvents(String cursor, int limit);
+    Map<String, Object> getCatalogStats();
+    List<EventDTO> getUpcomingEvents(int page, int size);
 
     EventDTO getEventById(Long id);
 
-    List<EventDTO> getEventsByLeague(String league);
-    List<EventDTO> searchEvents(String query, String venue, String date);
+    List<EventDTO> getEventsByLeague(String league, int page, int size);
+    List<EventDTO> searchEvents(String query, String venue, String date, int page, int size);
 }
\ No newline at end of file
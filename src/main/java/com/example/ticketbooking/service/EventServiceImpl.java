@@ -1,24 +1,56 @@
 package com.example.ticketbooking.service;
 
+import com.example.ticketbooking.dto.CursorPage;
 import com.example.ticketbooking.dto.EventDTO;
+import com.example.ticketbooking.dto.PageCursor;
 import com.example.ticketbooking.entity.Event;
 import com.example.ticketbooking.entity.League;
 import com.example.ticketbooking.repository.EventRepository;
 import com.example.ticketbooking.repository.LeagueRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
 
 @Service
 public class EventServiceImpl implements EventService {
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final EventRepository eventRepository;
     private final LeagueRepository leagueRepository;
-
-    public EventServiceImpl(EventRepository eventRepository, LeagueRepository leagueRepository) {
+    private final SeatInventoryService seatInventoryService;
+    private final SeatMapService seatMapService;
+    private final EventSearchService eventSearchService;
+    private final LeagueIndexService leagueIndexService;
+    private final CatalogVersion catalogVersion;
+    private final SuggestionService suggestionService;
+    private final CatalogStatistics catalogStatistics;
+    private final EventLifecycleService eventLifecycleService;
+
+    public EventServiceImpl(EventRepository eventRepository, LeagueRepository leagueRepository,
+            SeatInventoryService seatInventoryService, SeatMapService seatMapService,
+            EventSearchService eventSearchService, LeagueIndexService leagueIndexService,
+            CatalogVersion catalogVersion, SuggestionService suggestionService,
+            CatalogStatistics catalogStatistics, EventLifecycleService eventLifecycleService) {
         this.eventRepository = eventRepository;
         this.leagueRepository = leagueRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.seatMapService = seatMapService;
+        this.eventSearchService = eventSearchService;
+        this.leagueIndexService = leagueIndexService;
+        this.catalogVersion = catalogVersion;
+        this.suggestionService = suggestionService;
+        this.catalogStatistics = catalogStatistics;
+        this.eventLifecycleService = eventLifecycleService;
     }
 
     @Override
@@ -33,29 +65,38 @@ public class EventServiceImpl implements EventService {
         event.setImageUrl(eventDTO.imageUrl());
         event.setAvailableSeats(eventDTO.totalSeats());
         
-        // Set league if leagueId is provided
-        if (eventDTO.leagueId() != null) {
-            League league = leagueRepository.findById(eventDTO.leagueId())
-                    .orElseThrow(() -> new RuntimeException("League not found with id: " + eventDTO.leagueId()));
+        // Set league if leagueId is provided, otherwise classify the event once here
+        Long leagueId = eventDTO.leagueId() != null ? eventDTO.leagueId()
+                : leagueIndexService.classify(eventDTO.title(), eventDTO.venue());
+        if (leagueId != null) {
+            League league = leagueRepository.findById(leagueId)
+                    .orElseThrow(() -> new RuntimeException("League not found with id: " + leagueId));
             event.setLeague(league);
         }
         
-        eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        eventSearchService.index(saved);
+        suggestionService.index(saved);
+        catalogStatistics.created(CatalogStatistics.Facts.of(saved));
+        catalogVersion.bump();
+    }
+
+    @Override
+    public CursorPage<EventDTO> getAllEvents(String cursor, int limit) {
+        long afterId = cursor == null || cursor.isBlank() ? 0 : PageCursor.decode(cursor).id();
+        int pageSize = PageCursor.limit(limit);
+        List<EventDTO> rows = eventRepository.findSummariesAfter(afterId, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, event -> new PageCursor("", event.id()), event -> event);
     }
 
     @Override
-    public List<EventDTO> getAllEvents() {
-        return eventRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public Map<String, Object> getCatalogStats() {
+        return catalogStatistics.getCatalogStats();
     }
 
     @Override
-    public List<EventDTO> getUpcomingEvents() {
-        return eventRepository.findAll().stream()
-                .filter(event -> event.getEventDate().isAfter(LocalDateTime.now()))
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public List<EventDTO> getUpcomingEvents(int page, int size) {
+        return eventRepository.findSummariesByStatus(Event.EventStatus.ACTIVE, pageOf(page, size));
     }
 
     @Override
@@ -66,49 +107,116 @@ public class EventServiceImpl implements EventService {
     }
 
     @Override
-    public List<EventDTO> getEventsByLeague(String league) {
-        return eventRepository.findAll().stream()
-                .filter(event -> isEventInLeague(event, league))
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public List<EventDTO> getEventsByLeague(String league, int page, int size) {
+        Long leagueId = leagueIndexService.resolve(league);
+        if (leagueId == null) {
+            return Collections.emptyList();
+        }
+        return eventRepository.findSummariesByLeagueId(leagueId, pageOf(page, size));
     }
 
     @Override
-    public List<EventDTO> searchEvents(String query, String venue, String date) {
-        return eventRepository.findAll().stream()
-                .filter(event -> matchesSearchCriteria(event, query, venue, date))
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public List<EventDTO> searchEvents(String query, String venue, String date, int page, int size) {
+        LocalDateTime from = LocalDateTime.of(1970, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(9999, 1, 1, 0, 0);
+        if (date != null && !date.isEmpty()) {
+            try {
+                from = LocalDate.parse(date).atStartOfDay();
+                to = from.plusDays(1);
+            } catch (DateTimeParseException e) {
+                return Collections.emptyList();
+            }
+        }
+        PageRequest pageable = pageOf(page, size);
+        if (query != null && !query.isBlank()) {
+            return eventSearchService.search(query, venue, from, to, (int) pageable.getOffset(),
+                    pageable.getPageSize());
+        }
+        return eventRepository.searchSummaries(likePattern(query), likePattern(venue), from, to, pageable);
     }
 
     @Override
+    @Transactional
     public void updateEvent(Long id, EventDTO eventDTO) {
-        Event event = eventRepository.findById(id)
+        // Locked until commit: kickoff, full time and seat sales wait for the resize and status change below
+        Event event = eventRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
+        CatalogStatistics.Facts before = CatalogStatistics.Facts.of(event);
         event.setTitle(eventDTO.title());
         event.setDescription(eventDTO.description());
         event.setVenue(eventDTO.venue());
         event.setEventDate(eventDTO.eventDate());
-        event.setTotalSeats(eventDTO.totalSeats());
         event.setPrice(eventDTO.price());
         event.setImageUrl(eventDTO.imageUrl());
-        event.setAvailableSeats(eventDTO.totalSeats());
-        if (eventDTO.leagueId() != null) {
-            League league = leagueRepository.findById(eventDTO.leagueId())
-                    .orElseThrow(() -> new RuntimeException("League not found with id: " + eventDTO.leagueId()));
+        // As on create: without a leagueId the league is classified from the new title and venue
+        Long leagueId = eventDTO.leagueId() != null ? eventDTO.leagueId()
+                : leagueIndexService.classify(eventDTO.title(), eventDTO.venue());
+        if (leagueId != null) {
+            League league = leagueRepository.findById(leagueId)
+                    .orElseThrow(() -> new RuntimeException("League not found with id: " + leagueId));
             event.setLeague(league);
         } else {
             event.setLeague(null);
         }
-        eventRepository.save(event);
+        // Seat-mapped events take their capacity from the seat map; others change by the difference, so
+        // seats sold in the meantime are kept
+        if (!seatMapService.hasSeatMap(id) && eventDTO.totalSeats() != null) {
+            int delta = eventDTO.totalSeats() - event.getTotalSeats();
+            if (!seatInventoryService.resize(id, delta)) {
+                throw new RuntimeException("Total seats cannot be less than the seats already sold");
+            }
+        }
+        // A started or finished event moved to a later date goes back on sale. The status is moved by
+        // guarded UPDATEs like the lifecycle's own; saving the entity never writes it
+        if (eventDTO.eventDate().isAfter(LocalDateTime.now())) {
+            if (event.getStatus() == Event.EventStatus.LIVE) {
+                eventRepository.updateStatusByIds(List.of(id), Event.EventStatus.LIVE, Event.EventStatus.ACTIVE);
+            } else if (event.getStatus() == Event.EventStatus.COMPLETED) {
+                // Its bookings were completed at full time; they are CONFIRMED again
+                eventLifecycleService.reopen(id);
+            }
+        }
+        Event saved = eventRepository.save(event);
+        // Read back what the UPDATEs changed, for the indexes and statistics below
+        Object[] state = eventRepository.findStateById(id).get(0);
+        saved.setStatus((Event.EventStatus) state[0]);
+        saved.setTotalSeats((Integer) state[1]);
+        saved.setAvailableSeats((Integer) state[2]);
+        eventSearchService.index(saved);
+        suggestionService.index(saved);
+        CatalogStatistics.Facts after = CatalogStatistics.Facts.of(saved);
+        afterCommit(() -> {
+            catalogStatistics.updated(before, after);
+            catalogVersion.bump();
+            seatInventoryService.evict(id);
+        });
     }
 
     @Override
     public void deleteEvent(Long id) {
-        if (!eventRepository.existsById(id)) {
-            throw new RuntimeException("Event not found");
-        }
+        Event event = eventRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+        CatalogStatistics.Facts facts = CatalogStatistics.Facts.of(event);
+        seatMapService.delete(id);
         eventRepository.deleteById(id);
+        eventSearchService.remove(id);
+        suggestionService.remove(id);
+        catalogStatistics.deleted(facts);
+        catalogVersion.bump();
+        seatInventoryService.evict(id);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
     private EventDTO mapToDTO(Event event) {
@@ -124,47 +232,17 @@ public class EventServiceImpl implements EventService {
                 event.getLeague() != null ? event.getLeague().getId() : null);
     }
 
-    private boolean isEventInLeague(Event event, String league) {
-        String title = event.getTitle().toLowerCase();
-        String venue = event.getVenue().toLowerCase();
-
-        return switch (league.toLowerCase()) {
-            case "premier" -> title.contains("manchester") || title.contains("chelsea") ||
-                    title.contains("arsenal") || title.contains("liverpool") ||
-                    title.contains("tottenham") || venue.contains("london") ||
-                    venue.contains("manchester") || venue.contains("old trafford") ||
-                    venue.contains("stamford bridge") || venue.contains("etihad");
-            case "laliga" -> title.contains("madrid") || title.contains("barcelona") ||
-                    title.contains("atletico") || title.contains("sevilla") ||
-                    venue.contains("madrid") || venue.contains("barcelona") ||
-                    venue.contains("bernabeu") || venue.contains("metropolitano");
-            case "bundesliga" -> title.contains("bayern") || title.contains("dortmund") ||
-                    title.contains("leipzig") || title.contains("leverkusen") ||
-                    venue.contains("munich") || venue.contains("allianz") ||
-                    venue.contains("red bull arena");
-            case "seriea" -> title.contains("milan") || title.contains("juventus") ||
-                    title.contains("napoli") || venue.contains("milan") ||
-                    venue.contains("san siro") || venue.contains("turin");
-            case "ligue1" -> title.contains("psg") || title.contains("marseille") ||
-                    title.contains("lyon") || title.contains("monaco") ||
-                    venue.contains("paris") || venue.contains("parc des princes") ||
-                    venue.contains("groupama");
-            case "champions" -> title.contains("champions league") || title.contains("european");
-            default -> false;
-        };
+    private PageRequest pageOf(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
     }
 
-    private boolean matchesSearchCriteria(Event event, String query, String venue, String date) {
-        boolean matchesQuery = query == null || query.isEmpty() ||
-                event.getTitle().toLowerCase().contains(query.toLowerCase()) ||
-                event.getDescription().toLowerCase().contains(query.toLowerCase());
-
-        boolean matchesVenue = venue == null || venue.isEmpty() ||
-                event.getVenue().toLowerCase().contains(venue.toLowerCase());
-
-        boolean matchesDate = date == null || date.isEmpty() ||
-                event.getEventDate().toLocalDate().toString().equals(date);
-
-        return matchesQuery && matchesVenue && matchesDate;
+    // Lower-cased LIKE pattern; blank input matches everything
+    private String likePattern(String value) {
+        if (value == null || value.isBlank()) {
+            return "%";
+        }
+        String escaped = value.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,137 @@
+package com.example.ticketbooking.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timing wheel: deadlines are hashed into a fixed ring of slots by
+ * tick, so scheduling and cancelling are O(1) and each tick only looks at
+ * one slot instead of every live timer.
+ *
+ * Any thread may schedule or cancel; {@link #advance(long)} must be called
+ * from a single thread.
+ */
+public final class HashedTimingWheel<T> {
+
+    private final long tickMs;
+    private final int mask;
+    private final List<List<Entry<T>>> slots;
+    private final Queue<Entry<T>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private long currentTick;
+
+    public HashedTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize a power of two");
+        }
+        this.tickMs = tickMs;
+        this.mask = wheelSize - 1;
+        this.slots = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            slots.add(new ArrayList<>());
+        }
+        this.currentTick = startMs / tickMs;
+    }
+
+    public Timeout schedule(T item, long deadlineMs) {
+        Entry<T> entry = new Entry<>(item, deadlineMs, size);
+        size.incrementAndGet();
+        pending.add(entry);
+        return entry;
+    }
+
+    /**
+     * Processes every tick up to {@code nowMs} and returns the items whose
+     * deadline has passed. Cancelled items are dropped along the way.
+     */
+    public List<T> advance(long nowMs) {
+        transferPending();
+        List<T> expired = new ArrayList<>();
+        long targetTick = nowMs / tickMs;
+        while (currentTick <= targetTick) {
+            Iterator<Entry<T>> bucket = slots.get((int) (currentTick & mask)).iterator();
+            while (bucket.hasNext()) {
+                Entry<T> entry = bucket.next();
+                if (entry.isCancelled()) {
+                    bucket.remove();
+                } else if (entry.tick <= currentTick) {
+                    bucket.remove();
+                    if (entry.expire()) {
+                        expired.add(entry.item);
+                    }
+                }
+            }
+            currentTick++;
+        }
+        return expired;
+    }
+
+    /**
+     * Number of scheduled items that have neither expired nor been cancelled.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private void transferPending() {
+        Entry<T> entry;
+        while ((entry = pending.poll()) != null) {
+            if (entry.isCancelled()) {
+                continue;
+            }
+            long tick = (entry.deadlineMs + tickMs - 1) / tickMs;
+            entry.tick = Math.max(tick, currentTick);
+            slots.get((int) (entry.tick & mask)).add(entry);
+        }
+    }
+
+    public interface Timeout {
+        /**
+         * @return true if the timer was still live and is now cancelled
+         */
+        boolean cancel();
+    }
+
+    private static final class Entry<T> implements Timeout {
+        private static final int LIVE = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final T item;
+        private final long deadlineMs;
+        private final AtomicInteger wheelSize;
+        private final AtomicInteger state = new AtomicInteger(LIVE);
+        private long tick;
+
+        private Entry(T item, long deadlineMs, AtomicInteger wheelSize) {
+            this.item = item;
+            this.deadlineMs = deadlineMs;
+            this.wheelSize = wheelSize;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (state.compareAndSet(LIVE, CANCELLED)) {
+                wheelSize.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean expire() {
+            if (state.compareAndSet(LIVE, EXPIRED)) {
+                wheelSize.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.entity.IdempotencyRecord;
+import com.example.ticketbooking.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Response store behind the Idempotency-Key filter.
+ *
+ * Completed responses live in a bounded LRU map with a TTL; when
+ * app.idempotency.jpa-enabled is set they are also written to the
+ * idempotency_keys table and looked up there on a memory miss. Requests that
+ * are still running are tracked as futures, so a concurrent duplicate waits
+ * for the first execution instead of racing it.
+ */
+@Service
+public class IdempotencyService {
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, StoredResponse> completed;
+
+    @Value("${app.idempotency.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${app.idempotency.jpa-enabled:false}")
+    private boolean jpaEnabled;
+
+    public IdempotencyService(IdempotencyRecordRepository recordRepository, TransactionTemplate transactionTemplate,
+            @Value("${app.idempotency.max-entries:10000}") int maxEntries) {
+        this.recordRepository = recordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.completed = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Stored response for a key, or null if the key was never completed (or expired).
+     */
+    public StoredResponse find(String key) {
+        long now = System.currentTimeMillis();
+        synchronized (completed) {
+            StoredResponse response = completed.get(key);
+            if (response != null) {
+                if (response.expiresAtMs() > now) {
+                    return response;
+                }
+                completed.remove(key);
+            }
+        }
+        if (!jpaEnabled) {
+            return null;
+        }
+        StoredResponse response = recordRepository.findById(key)
+                .map(this::toStoredResponse)
+                .filter(stored -> stored.expiresAtMs() > now)
+                .orElse(null);
+        if (response != null) {
+            synchronized (completed) {
+                completed.put(key, response);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Claims a key for execution. Returns null if the caller now owns the key
+     * and must call {@link #complete}; otherwise returns the future of the
+     * execution already in flight.
+     */
+    public CompletableFuture<StoredResponse> begin(String key) {
+        return inFlight.putIfAbsent(key, new CompletableFuture<>());
+    }
+
+    /**
+     * Finishes an owned key. Only successful responses are remembered, so a
+     * failed attempt can be retried with the same key.
+     */
+    public void complete(String key, StoredResponse response, boolean remember) {
+        if (remember) {
+            synchronized (completed) {
+                completed.put(key, response);
+            }
+            if (jpaEnabled) {
+                persist(key, response);
+            }
+        }
+        CompletableFuture<StoredResponse> future = inFlight.remove(key);
+        if (future != null) {
+            future.complete(response);
+        }
+    }
+
+    /**
+     * Releases an owned key after the request threw; waiting duplicates get the error.
+     */
+    public void abort(String key, Throwable error) {
+        CompletableFuture<StoredResponse> future = inFlight.remove(key);
+        if (future != null) {
+            future.completeExceptionally(error);
+        }
+    }
+
+    public StoredResponse newResponse(String fingerprint, int status, String contentType, byte[] body) {
+        long expiresAtMs = System.currentTimeMillis() + ttlMinutes * 60_000;
+        return new StoredResponse(fingerprint, status, contentType, body, expiresAtMs);
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (completed) {
+            completed.values().removeIf(response -> response.expiresAtMs() <= now);
+        }
+        if (jpaEnabled) {
+            Integer purged = transactionTemplate.execute(status -> recordRepository.deleteExpired(LocalDateTime.now()));
+            if (purged != null && purged > 0) {
+                logger.debug("Purged {} expired idempotency keys", purged);
+            }
+        }
+    }
+
+    private void persist(String key, StoredResponse response) {
+        try {
+            IdempotencyRecord record = new IdempotencyRecord();
+            record.setScopedKey(key);
+            record.setFingerprint(response.fingerprint());
+            record.setStatusCode(response.status());
+            record.setContentType(response.contentType());
+            record.setBody(response.body());
+            record.setExpiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(response.expiresAtMs()),
+                    ZoneId.systemDefault()));
+            transactionTemplate.executeWithoutResult(status -> recordRepository.save(record));
+        } catch (Exception e) {
+            // The in-memory copy still covers retries against this instance
+            logger.warn("Failed to persist idempotency key: {}", e.getMessage());
+        }
+    }
+
+    private StoredResponse toStoredResponse(IdempotencyRecord record) {
+        long expiresAtMs = record.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new StoredResponse(record.getFingerprint(), record.getStatusCode(), record.getContentType(),
+                record.getBody(), expiresAtMs);
+    }
+
+    public record StoredResponse(String fingerprint, int status, String contentType, byte[] body, long expiresAtMs) {
+    }
+}
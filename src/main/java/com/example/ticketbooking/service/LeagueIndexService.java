@@ -0,0 +1,212 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.entity.League;
+import com.example.ticketbooking.repository.EventRepository;
+import com.example.ticketbooking.repository.LeagueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * League slugs and league classification.
+ *
+ * League pages use short slugs ("premier", "laliga", "champions", ...);
+ * they are resolved to league ids from an in-memory map, which is rebuilt
+ * whenever a league is created, renamed or deleted. Event listings then
+ * filter on events.league_id through its index.
+ *
+ * Events stored without a league (older data, or created without one) are
+ * classified once by matching club and stadium keywords with
+ * {@link AhoCorasickMatcher}, and the result is written to league_id. This
+ * happens at startup for the whole backlog, and on create or update for an
+ * event saved without a league.
+ */
+@Service
+public class LeagueIndexService {
+    private static final Logger logger = LoggerFactory.getLogger(LeagueIndexService.class);
+
+    private static final int BACKFILL_BATCH = 1_000;
+    private static final String CHAMPIONS = "champions";
+
+    // Slug -> keywords found in event titles and in venues. Matched on folded text.
+    private static final Map<String, List<String>> TITLE_KEYWORDS = new LinkedHashMap<>();
+    private static final Map<String, List<String>> VENUE_KEYWORDS = new LinkedHashMap<>();
+
+    static {
+        TITLE_KEYWORDS.put("premier", List.of("manchester", "chelsea", "arsenal", "liverpool", "tottenham"));
+        VENUE_KEYWORDS.put("premier", List.of("london", "manchester", "old trafford", "stamford bridge", "etihad"));
+        TITLE_KEYWORDS.put("laliga", List.of("madrid", "barcelona", "atletico", "sevilla"));
+        VENUE_KEYWORDS.put("laliga", List.of("madrid", "barcelona", "bernabeu", "metropolitano"));
+        TITLE_KEYWORDS.put("bundesliga", List.of("bayern", "dortmund", "leipzig", "leverkusen"));
+        VENUE_KEYWORDS.put("bundesliga", List.of("munich", "allianz", "red bull arena"));
+        TITLE_KEYWORDS.put("seriea", List.of("milan", "juventus", "napoli"));
+        VENUE_KEYWORDS.put("seriea", List.of("milan", "san siro", "turin"));
+        TITLE_KEYWORDS.put("ligue1", List.of("psg", "marseille", "lyon", "monaco"));
+        VENUE_KEYWORDS.put("ligue1", List.of("paris", "parc des princes", "groupama"));
+        TITLE_KEYWORDS.put(CHAMPIONS, List.of("champions league", "european"));
+    }
+
+    private final LeagueRepository leagueRepository;
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogVersion catalogVersion;
+    private final CatalogStatistics catalogStatistics;
+
+    private volatile Map<String, Long> slugs = Collections.emptyMap();
+    private volatile Set<Long> leagueIds = Collections.emptySet();
+    private volatile AhoCorasickMatcher<Long> titleMatcher = new AhoCorasickMatcher<>(Collections.emptyMap());
+    private volatile AhoCorasickMatcher<Long> venueMatcher = new AhoCorasickMatcher<>(Collections.emptyMap());
+    private volatile Long championsLeagueId;
+
+    public LeagueIndexService(LeagueRepository leagueRepository, EventRepository eventRepository,
+            TransactionTemplate transactionTemplate, CatalogVersion catalogVersion,
+            CatalogStatistics catalogStatistics) {
+        this.leagueRepository = leagueRepository;
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.catalogVersion = catalogVersion;
+        this.catalogStatistics = catalogStatistics;
+    }
+
+    /**
+     * League id for a numeric id, a page slug or a league name; null if
+     * nothing matches.
+     */
+    public Long resolve(String league) {
+        if (league == null || league.isBlank()) {
+            return null;
+        }
+        if (league.chars().allMatch(Character::isDigit)) {
+            return Long.valueOf(league);
+        }
+        return slugs.get(slug(league));
+    }
+
+    public boolean exists(Long leagueId) {
+        return leagueIds.contains(leagueId);
+    }
+
+    /**
+     * League an event most likely belongs to, judging by its title and
+     * venue. A Champions League fixture is a Champions League event whatever
+     * clubs play in it; otherwise the league with the most keyword hits wins.
+     */
+    public Long classify(String title, String venue) {
+        List<Long> titleHits = titleMatcher.matches(TextNormalizer.fold(title));
+        if (championsLeagueId != null && titleHits.contains(championsLeagueId)) {
+            return championsLeagueId;
+        }
+        Map<Long, Integer> votes = new LinkedHashMap<>();
+        titleHits.forEach(id -> votes.merge(id, 1, Integer::sum));
+        venueMatcher.matches(TextNormalizer.fold(venue)).forEach(id -> votes.merge(id, 1, Integer::sum));
+        return votes.entrySet().stream()
+                .max(Map.Entry.<Long, Integer>comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+
+    /**
+     * Rebuilds slugs and keyword matchers from the leagues table.
+     */
+    public synchronized void refresh() {
+        List<League> leagues = leagueRepository.findAll();
+        Map<String, Long> bySlug = new HashMap<>();
+        for (League league : leagues) {
+            bySlug.put(slug(league.getName()), league.getId());
+        }
+        // Page slugs are abbreviations of the league names ("champions" -> "UEFA Champions League")
+        Map<String, Long> leagueForSlug = new LinkedHashMap<>();
+        for (String page : TITLE_KEYWORDS.keySet()) {
+            leagues.stream()
+                    .filter(league -> slug(league.getName()).contains(page))
+                    .findFirst()
+                    .ifPresent(league -> leagueForSlug.put(page, league.getId()));
+        }
+        bySlug.putAll(leagueForSlug);
+
+        titleMatcher = new AhoCorasickMatcher<>(keywords(TITLE_KEYWORDS, leagueForSlug));
+        venueMatcher = new AhoCorasickMatcher<>(keywords(VENUE_KEYWORDS, leagueForSlug));
+        championsLeagueId = leagueForSlug.get(CHAMPIONS);
+        leagueIds = leagues.stream().map(League::getId).collect(Collectors.toUnmodifiableSet());
+        slugs = bySlug;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refresh();
+        classifyUnassignedEvents();
+    }
+
+    /**
+     * Assigns a league to every event that has none and can be classified.
+     * Runs in batches, each in its own transaction.
+     */
+    public int classifyUnassignedEvents() {
+        long began = System.nanoTime();
+        int scanned = 0;
+        int assigned = 0;
+        long lastId = 0;
+        List<Object[]> batch;
+        do {
+            batch = eventRepository.findUnassigned(lastId, PageRequest.of(0, BACKFILL_BATCH));
+            Map<Long, List<Long>> eventsByLeague = new HashMap<>();
+            for (Object[] row : batch) {
+                Long leagueId = classify((String) row[1], (String) row[2]);
+                if (leagueId != null) {
+                    eventsByLeague.computeIfAbsent(leagueId, id -> new ArrayList<>()).add((Long) row[0]);
+                }
+            }
+            if (!eventsByLeague.isEmpty()) {
+                assigned += transactionTemplate.execute(status -> {
+                    int updated = 0;
+                    for (Map.Entry<Long, List<Long>> entry : eventsByLeague.entrySet()) {
+                        updated += eventRepository.assignLeague(
+                                leagueRepository.getReferenceById(entry.getKey()), entry.getValue());
+                    }
+                    return updated;
+                });
+            }
+            scanned += batch.size();
+            if (!batch.isEmpty()) {
+                lastId = (Long) batch.get(batch.size() - 1)[0];
+            }
+        } while (batch.size() == BACKFILL_BATCH);
+        if (assigned > 0) {
+            catalogStatistics.reload();
+            catalogVersion.bump();
+        }
+        if (scanned > 0) {
+            logger.info("Classified {} of {} events without a league in {} ms", assigned, scanned,
+                    (System.nanoTime() - began) / 1_000_000);
+        }
+        return assigned;
+    }
+
+    private static Map<String, Long> keywords(Map<String, List<String>> keywordsBySlug, Map<String, Long> leagues) {
+        Map<String, Long> keywords = new LinkedHashMap<>();
+        keywordsBySlug.forEach((slug, words) -> {
+            Long leagueId = leagues.get(slug);
+            if (leagueId != null) {
+                words.forEach(word -> keywords.putIfAbsent(word, leagueId));
+            }
+        });
+        return keywords;
+    }
+
+    private static String slug(String value) {
+        return TextNormalizer.fold(value).replaceAll("[^a-z0-9]", "");
+    }
+}
@@ -14,6 +14,10 @@ import java.util.stream.Collectors;
 public class LeagueServiceImpl implements LeagueService {
 
     private final LeagueRepository leagueRepository;
+    private final LeagueIndexService leagueIndexService;
+    private final CatalogVersion catalogVersion;
+    private final SuggestionService suggestionService;
+    private final CatalogStatistics catalogStatistics;
 
     @Override
     public List<LeagueDTO> getAllLeagues() {
@@ -61,6 +65,10 @@ public class LeagueServiceImpl implements LeagueService {
     public LeagueDTO createLeague(LeagueDTO leagueDTO) {
         League league = mapToEntity(leagueDTO);
         League savedLeague = leagueRepository.save(league);
+        leagueIndexService.refresh();
+        suggestionService.rebuild();
+        catalogStatistics.reloadLeagueCounts();
+        catalogVersion.bump();
         return mapToDTO(savedLeague);
     }
 
@@ -82,6 +90,10 @@ public class LeagueServiceImpl implements LeagueService {
         existingLeague.setUpdatedAt(java.time.LocalDateTime.now());
 
         League updatedLeague = leagueRepository.save(existingLeague);
+        leagueIndexService.refresh();
+        suggestionService.rebuild();
+        catalogStatistics.reloadLeagueCounts();
+        catalogVersion.bump();
         return mapToDTO(updatedLeague);
     }
 
@@ -91,6 +103,10 @@ public class LeagueServiceImpl implements LeagueService {
             throw new RuntimeException("League not found with id: " + id);
         }
         leagueRepository.deleteById(id);
+        leagueIndexService.refresh();
+        suggestionService.rebuild();
+        catalogStatistics.reload();
+        catalogVersion.bump();
     }
 
     @Override
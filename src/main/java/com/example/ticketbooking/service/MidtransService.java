@@ -11,6 +11,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 @Service
@@ -18,6 +22,8 @@ public class MidtransService {
 
     private static final Logger logger = LoggerFactory.getLogger(MidtransService.class);
 
+    private static final DateTimeFormatter EXPIRY_START_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss Z");
+
     @Value("${midtrans.server-key}")
     private String serverKey;
 
@@ -27,6 +33,13 @@ public class MidtransService {
     @Value("${midtrans.is-production:false}")
     private boolean isProduction;
 
+    // Local stand-in for the Snap API, for load tests without a sandbox account
+    @Value("${midtrans.fake.enabled:false}")
+    private boolean fakeEnabled;
+
+    @Value("${midtrans.fake.latency-ms:0}")
+    private long fakeLatencyMs;
+
     private MidtransSnapApi snapApi;
     private com.midtrans.service.MidtransCoreApi coreApi;
 
@@ -42,6 +55,10 @@ public class MidtransService {
             snapApi = factory.getSnapApi();
             coreApi = factory.getCoreApi();
             logger.info("Midtrans API initialized (production={})", isProduction);
+            if (fakeEnabled) {
+                logger.warn("Midtrans fake Snap API enabled ({} ms latency), no real transactions are created",
+                        fakeLatencyMs);
+            }
         } catch (Exception e) {
             logger.error("Failed to initialize Midtrans: {}", e.getMessage());
         }
@@ -52,57 +69,104 @@ public class MidtransService {
     }
 
     public Map<String, String> createSnapTransaction(Booking booking) throws MidtransError {
+        return createSnapTransaction(booking.getBookingReference(), List.of(booking));
+    }
+
+    /**
+     * One Snap transaction for several bookings of the same customer (cart
+     * checkout), with one item line per booking.
+     *
+     * The transaction expires with the earliest seat hold of its bookings.
+     * Holds are not extended for slow payment methods, so a bank transfer
+     * opened on this page has to be paid before the hold runs out as well.
+     */
+    public Map<String, String> createSnapTransaction(String orderId, List<Booking> bookings) throws MidtransError {
         Map<String, Object> params = new HashMap<>();
+        Booking first = bookings.get(0);
 
         // Transaction details
+        int grossAmount = bookings.stream().mapToInt(booking -> booking.getTotalAmount().intValue()).sum();
         Map<String, String> transactionDetails = new HashMap<>();
-        transactionDetails.put("order_id", booking.getBookingReference());
-        transactionDetails.put("gross_amount", String.valueOf(booking.getTotalAmount().intValue()));
+        transactionDetails.put("order_id", orderId);
+        transactionDetails.put("gross_amount", String.valueOf(grossAmount));
         params.put("transaction_details", transactionDetails);
 
         // Customer details
         Map<String, String> customerDetails = new HashMap<>();
-        if (booking.getUser() != null) {
-            customerDetails.put("first_name", booking.getUser().getFullName() != null
-                    ? booking.getUser().getFullName()
-                    : booking.getUser().getUsername());
-            customerDetails.put("email", booking.getUser().getEmail());
+        if (first.getUser() != null) {
+            customerDetails.put("first_name", first.getUser().getFullName() != null
+                    ? first.getUser().getFullName()
+                    : first.getUser().getUsername());
+            customerDetails.put("email", first.getUser().getEmail());
         }
         params.put("customer_details", customerDetails);
 
         // Item details
         List<Map<String, String>> itemDetails = new ArrayList<>();
-        Map<String, String> item = new HashMap<>();
-        item.put("id", "TICKET-" + booking.getEvent().getId());
-        item.put("price", String.valueOf(booking.getEvent().getPrice().intValue()));
-        item.put("quantity", String.valueOf(booking.getNumberOfTickets()));
-        item.put("name", truncate(booking.getEvent().getTitle(), 50));
-        itemDetails.add(item);
+        for (Booking booking : bookings) {
+            Map<String, String> item = new HashMap<>();
+            item.put("id", "TICKET-" + booking.getEvent().getId());
+            item.put("price", String.valueOf(booking.getEvent().getPrice().intValue()));
+            item.put("quantity", String.valueOf(booking.getNumberOfTickets()));
+            item.put("name", truncate(booking.getEvent().getTitle(), 50));
+            itemDetails.add(item);
+        }
         params.put("item_details", itemDetails);
 
+        // Close the payment page when the seat hold runs out, so nobody pays for released seats
+        bookings.stream()
+                .map(Booking::getHoldExpiresAt)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder())
+                .ifPresent(deadline -> params.put("expiry", expiry(deadline)));
+
         // Callbacks
         Map<String, String> callbacks = new HashMap<>();
         callbacks.put("finish", "http://localhost:8080/bookings.html");
         params.put("callbacks", callbacks);
 
-        logger.info("Creating Snap transaction for order: {}", booking.getBookingReference());
-        String snapToken = snapApi.createTransactionToken(params);
+        logger.info("Creating Snap transaction for order: {} ({} bookings)", orderId, bookings.size());
+        String snapToken = fakeEnabled ? createFakeToken() : snapApi.createTransactionToken(params);
 
         Map<String, String> result = new HashMap<>();
         result.put("token", snapToken);
-        result.put("redirect_url", isProduction
-                ? "https://app.midtrans.com/snap/v2/vtweb/" + snapToken
-                : "https://app.sandbox.midtrans.com/snap/v2/vtweb/" + snapToken);
+        result.put("redirect_url", getRedirectUrl(snapToken));
 
         logger.info("Snap token created successfully: {}",
                 snapToken.substring(0, Math.min(10, snapToken.length())) + "...");
         return result;
     }
 
+    private static Map<String, Object> expiry(LocalDateTime deadline) {
+        ZonedDateTime now = ZonedDateTime.now();
+        Map<String, Object> expiry = new HashMap<>();
+        expiry.put("start_time", now.format(EXPIRY_START_TIME));
+        expiry.put("unit", "minutes");
+        expiry.put("duration", Math.max(1, Duration.between(now.toLocalDateTime(), deadline).toMinutes()));
+        return expiry;
+    }
+
+    public String getRedirectUrl(String snapToken) {
+        return isProduction
+                ? "https://app.midtrans.com/snap/v2/vtweb/" + snapToken
+                : "https://app.sandbox.midtrans.com/snap/v2/vtweb/" + snapToken;
+    }
+
     public String getClientKey() {
         return clientKey;
     }
 
+    private String createFakeToken() {
+        if (fakeLatencyMs > 0) {
+            try {
+                Thread.sleep(fakeLatencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return "fake-" + UUID.randomUUID();
+    }
+
     private String truncate(String str, int maxLen) {
         if (str == null)
             return "";
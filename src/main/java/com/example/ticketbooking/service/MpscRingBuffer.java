@@ -0,0 +1,94 @@
+package com.example.ticketbooking.service;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer for many producers and one consumer.
+ *
+ * A producer claims the next sequence with a CAS on the tail and then
+ * publishes its element into that slot; it never blocks and never waits for
+ * the consumer: when the ring is full {@link #offer(Object)} just returns
+ * false. The consumer takes published elements in sequence order and stops
+ * at the first slot that is still empty, i.e. claimed but not yet published.
+ *
+ * Any thread may offer; {@link #drainTo(Collection, int)} must be called
+ * from a single thread at a time.
+ */
+public final class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    // Next sequence to claim
+    private final AtomicLong tail = new AtomicLong();
+    // Next sequence to take; only the consumer moves it
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    public MpscRingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Adds {@code element} unless the ring is full.
+     */
+    public boolean offer(E element) {
+        Objects.requireNonNull(element, "element");
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head.get() >= slots.length()) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        slots.set((int) sequence & mask, element);
+        return true;
+    }
+
+    /**
+     * Moves up to {@code max} elements, oldest first, into {@code target}
+     * and returns how many were moved.
+     */
+    public int drainTo(Collection<? super E> target, int max) {
+        long sequence = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) sequence & mask;
+            E element = slots.get(index);
+            if (element == null) {
+                break;
+            }
+            // Free the slot before moving the head, so a producer that sees the new head finds it empty
+            slots.lazySet(index, null);
+            target.add(element);
+            sequence++;
+            drained++;
+        }
+        head.lazySet(sequence);
+        return drained;
+    }
+
+    /**
+     * Elements claimed and not yet taken; may include some still being
+     * published.
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Applies payment gateway results (webhook notifications and status syncs)
+ * to the bookings of a Midtrans order.
+ *
+ * Each order is handled in one transaction that first locks its bookings, so
+ * a duplicate webhook, a sync and the hold sweeper never move the same
+ * booking twice: whoever gets the lock second finds the booking no longer
+ * PENDING and leaves it, and its seats, alone.
+ *
+ * A failed payment gives seats back, so like hold expiry it is applied per
+ * event by that event's {@link EventMailboxExecutor}, which takes the locks
+ * itself; nothing is locked before the mailbox is entered.
+ */
+@Service
+public class PaymentStatusService {
+    private static final Logger logger = LoggerFactory.getLogger(PaymentStatusService.class);
+
+    public enum Outcome {
+        // Captured or settled
+        PAID,
+        // Reported as finished by the client but not confirmed by the gateway
+        // (demo sync); never brings a CANCELLED booking back
+        ASSUMED_PAID,
+        // Waiting for the buyer, e.g. an open bank transfer; the seat hold keeps running
+        PENDING,
+        // Denied, cancelled, expired or flagged as fraud
+        FAILED
+    }
+
+    private final BookingRepository bookingRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatMapService seatMapService;
+    private final BookingLedger bookingLedger;
+    private final EventMailboxExecutor eventMailboxExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    public PaymentStatusService(BookingRepository bookingRepository, SeatInventoryService seatInventoryService,
+            SeatMapService seatMapService, BookingLedger bookingLedger, EventMailboxExecutor eventMailboxExecutor,
+            TransactionTemplate transactionTemplate) {
+        this.bookingRepository = bookingRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.seatMapService = seatMapService;
+        this.bookingLedger = bookingLedger;
+        this.eventMailboxExecutor = eventMailboxExecutor;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Applies {@code outcome} to every PENDING booking of the order and
+     * returns all of the order's bookings (empty if there are none). Callers
+     * stop the hold timers of those no longer PENDING once this returns.
+     */
+    public List<Booking> apply(String orderId, Outcome outcome, String paymentType) {
+        if (outcome == Outcome.FAILED) {
+            fail(orderId);
+            return bookingRepository.findByOrderId(orderId);
+        }
+        return transactionTemplate.execute(status -> applyLocked(orderId, outcome, paymentType));
+    }
+
+    private List<Booking> applyLocked(String orderId, Outcome outcome, String paymentType) {
+        List<Booking> bookings = bookingRepository.findByOrderIdForUpdate(orderId);
+        List<Booking> pending = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            if (outcome == Outcome.PAID && booking.getStatus() == Booking.BookingStatus.CANCELLED
+                    && !Boolean.TRUE.equals(booking.getRefundRequired())) {
+                settleLate(booking, paymentType);
+            } else if (booking.getStatus() != Booking.BookingStatus.PENDING) {
+                logger.info("Booking {} is {}, ignoring payment outcome {}", booking.getBookingReference(),
+                        booking.getStatus(), outcome);
+            } else {
+                pending.add(booking);
+            }
+        }
+        if (pending.isEmpty()) {
+            return bookings;
+        }
+        if (outcome == Outcome.PAID || outcome == Outcome.ASSUMED_PAID) {
+            confirm(pending, paymentType);
+            return bookings;
+        }
+        for (Booking booking : pending) {
+            booking.setPaymentType(paymentType);
+            bookingRepository.save(booking);
+            logger.info("Booking {} PENDING", booking.getBookingReference());
+        }
+        return bookings;
+    }
+
+    private void fail(String orderId) {
+        Map<Long, List<Long>> byEvent = bookingRepository.findByOrderId(orderId).stream()
+                .filter(booking -> booking.getStatus() == Booking.BookingStatus.PENDING)
+                .collect(Collectors.groupingBy(booking -> booking.getEvent().getId(),
+                        Collectors.mapping(Booking::getId, Collectors.toList())));
+        byEvent.forEach((eventId, ids) -> eventMailboxExecutor.execute(eventId, () -> cancel(eventId, ids)));
+    }
+
+    // Bookings of one event, run by that event's mailbox
+    private int cancel(Long eventId, List<Long> ids) {
+        // Lock the rows that are still unpaid; a duplicate notification finds none
+        List<Booking> locked = bookingRepository.findByIdInAndStatusForUpdate(ids, Booking.BookingStatus.PENDING);
+        if (locked.isEmpty()) {
+            return 0;
+        }
+        for (Booking booking : locked) {
+            booking.setStatus(Booking.BookingStatus.CANCELLED);
+            bookingRepository.save(booking);
+            bookingLedger.moved(Booking.BookingStatus.PENDING, booking);
+            logger.info("Booking {} CANCELLED", booking.getBookingReference());
+        }
+        seatInventoryService.release(eventId, locked.stream().mapToInt(Booking::getNumberOfTickets).sum());
+        seatMapService.release(eventId, locked);
+        return locked.size();
+    }
+
+    /**
+     * Confirms a whole order with one UPDATE that is guarded on PENDING as
+     * well as locked, so no booking of a cart is confirmed twice or brought
+     * back from CANCELLED.
+     */
+    private void confirm(List<Booking> pending, String paymentType) {
+        LocalDateTime paidAt = LocalDateTime.now();
+        int confirmed = bookingRepository.confirmPending(pending.stream().map(Booking::getId).toList(), paidAt,
+                paymentType);
+        if (confirmed != pending.size()) {
+            logger.warn("Confirmed {} of {} pending bookings", confirmed, pending.size());
+        }
+        // Detached by the UPDATE; updated here only for the caller and the ledger
+        for (Booking booking : pending) {
+            booking.setStatus(Booking.BookingStatus.CONFIRMED);
+            booking.setPaymentDate(paidAt);
+            booking.setPaymentType(paymentType);
+            bookingLedger.moved(Booking.BookingStatus.PENDING, booking);
+            logger.info("Booking {} CONFIRMED", booking.getBookingReference());
+        }
+    }
+
+    /**
+     * The buyer paid after the hold expired and the seats went back on sale.
+     * Plain single bookings take their seats again if there are still enough
+     * left. Seat-mapped ones cannot get the same seats back, and a cart's
+     * cancelled items are never brought back on their own, so those (and plain
+     * ones that came too late) stay CANCELLED and are flagged for a refund.
+     */
+    private void settleLate(Booking booking, String paymentType) {
+        Long eventId = booking.getEvent().getId();
+        if (booking.getSeatAssignment() == null && booking.getPaymentReference() == null
+                && seatInventoryService.reserve(eventId, booking.getNumberOfTickets())) {
+            booking.setStatus(Booking.BookingStatus.CONFIRMED);
+            booking.setPaymentDate(LocalDateTime.now());
+            booking.setPaymentType(paymentType);
+            bookingRepository.save(booking);
+            bookingLedger.moved(Booking.BookingStatus.CANCELLED, booking);
+            logger.warn("Booking {} paid after its hold expired, seats reserved again and CONFIRMED",
+                    booking.getBookingReference());
+            return;
+        }
+        booking.setPaymentType(paymentType);
+        booking.setRefundRequired(true);
+        bookingRepository.save(booking);
+        logger.error("Booking {} paid after its hold expired and its seats are gone, refund required",
+                booking.getBookingReference());
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Time-boxed seat holds for PENDING bookings.
+ *
+ * Every PENDING booking gets a hold deadline. Deadlines live in a hashed
+ * timing wheel, so the sweeper only touches holds that are actually due and
+ * never scans the bookings table. Expired holds are cancelled in batches with
+ * one bulk UPDATE, and their seats go back through {@link SeatInventoryService}.
+ *
+ * A hold lasts {@code hold-minutes} and is never extended. The Snap payment
+ * page closes at the same deadline ({@link MidtransService}), so a slow
+ * payment method such as a bank transfer has to be completed within the
+ * hold too; a payment that still arrives later is settled as a late one by
+ * {@link PaymentStatusService}.
+ *
+ * Like every other seat change, expiry runs through the event's
+ * {@link EventMailboxExecutor}, and new holds are started by the mailbox
+ * command that created the booking once it commits.
+ */
+@Service
+public class SeatHoldService {
+    private static final Logger logger = LoggerFactory.getLogger(SeatHoldService.class);
+
+    private static final long TICK_MS = 1000;
+    private static final int WHEEL_SLOTS = 1024;
+
+    private final BookingRepository bookingRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatMapService seatMapService;
+    private final EventMailboxExecutor eventMailboxExecutor;
+    private final BookingLedger bookingLedger;
+
+    private final HashedTimingWheel<SeatHold> wheel = new HashedTimingWheel<>(TICK_MS, WHEEL_SLOTS,
+            System.currentTimeMillis());
+    private final Map<Long, HashedTimingWheel.Timeout> holds = new ConcurrentHashMap<>();
+
+    @Value("${app.booking.hold-minutes:15}")
+    private long holdMinutes;
+
+    @Value("${app.booking.hold-sweep-batch-size:500}")
+    private int batchSize;
+
+    public SeatHoldService(BookingRepository bookingRepository, SeatInventoryService seatInventoryService,
+            SeatMapService seatMapService, EventMailboxExecutor eventMailboxExecutor, BookingLedger bookingLedger) {
+        this.bookingRepository = bookingRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.seatMapService = seatMapService;
+        this.eventMailboxExecutor = eventMailboxExecutor;
+        this.bookingLedger = bookingLedger;
+    }
+
+    public LocalDateTime newHoldDeadline() {
+        return LocalDateTime.now().plusMinutes(holdMinutes);
+    }
+
+    /**
+     * Starts the hold timer for a new PENDING booking once the transaction
+     * that inserted it commits, so the wheel never holds a rolled-back booking.
+     */
+    public void hold(Booking booking) {
+        LocalDateTime deadline = booking.getHoldExpiresAt() != null ? booking.getHoldExpiresAt() : newHoldDeadline();
+        scheduleAfterCommit(new SeatHold(booking.getId(), booking.getEvent().getId(), booking.getNumberOfTickets()),
+                deadline);
+    }
+
+    /**
+     * Stops the hold timer, e.g. because the booking was paid or cancelled.
+     */
+    public void releaseHold(Long bookingId) {
+        HashedTimingWheel.Timeout timeout = holds.remove(bookingId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    public int getActiveHolds() {
+        return wheel.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingHolds() {
+        List<Booking> pending = bookingRepository.findByStatus(Booking.BookingStatus.PENDING);
+        pending.forEach(this::hold);
+        logger.info("Restored {} seat holds for pending bookings", pending.size());
+    }
+
+    @Scheduled(fixedDelay = TICK_MS)
+    public void sweep() {
+        List<SeatHold> expired = wheel.advance(System.currentTimeMillis());
+        if (expired.isEmpty()) {
+            return;
+        }
+        expired.forEach(hold -> holds.remove(hold.bookingId()));
+        Map<Long, List<SeatHold>> byEvent = expired.stream().collect(Collectors.groupingBy(SeatHold::eventId));
+        byEvent.forEach((eventId, eventHolds) -> {
+            for (int from = 0; from < eventHolds.size(); from += batchSize) {
+                List<SeatHold> batch = eventHolds.subList(from, Math.min(from + batchSize, eventHolds.size()));
+                try {
+                    Integer released = eventMailboxExecutor.execute(eventId, () -> expire(batch));
+                    logger.info("Expired {} of {} seat holds for event {}", released, batch.size(), eventId);
+                } catch (Exception e) {
+                    logger.error("Failed to expire {} seat holds for event {}: {}", batch.size(), eventId,
+                            e.getMessage());
+                }
+            }
+        });
+    }
+
+    // Holds of one event, run by that event's mailbox
+    private int expire(List<SeatHold> batch) {
+        Map<Long, SeatHold> byBooking = batch.stream()
+                .collect(Collectors.toMap(SeatHold::bookingId, hold -> hold, (a, b) -> a));
+        // Lock the rows that are still unpaid; paid or cancelled ones drop out here
+        List<Booking> locked = bookingRepository
+                .findByIdInAndStatusForUpdate(byBooking.keySet(), Booking.BookingStatus.PENDING);
+        if (locked.isEmpty()) {
+            return 0;
+        }
+        List<Long> stillPending = locked.stream().map(Booking::getId).toList();
+        bookingRepository.updateStatusByIds(stillPending, Booking.BookingStatus.PENDING,
+                Booking.BookingStatus.CANCELLED);
+        locked.forEach(booking -> bookingLedger.moved(Booking.BookingStatus.PENDING,
+                Booking.BookingStatus.CANCELLED, booking));
+
+        Long eventId = batch.get(0).eventId();
+        seatInventoryService.release(eventId, stillPending.stream().mapToInt(id -> byBooking.get(id).tickets()).sum());
+        seatMapService.release(eventId, locked);
+        return stillPending.size();
+    }
+
+    private void scheduleAfterCommit(SeatHold hold, LocalDateTime deadline) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            schedule(hold, deadline);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                schedule(hold, deadline);
+            }
+        });
+    }
+
+    private void schedule(SeatHold hold, LocalDateTime deadline) {
+        long deadlineMs = deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        HashedTimingWheel.Timeout previous = holds.put(hold.bookingId(), wheel.schedule(hold, deadlineMs));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private record SeatHold(Long bookingId, Long eventId, int tickets) {
+    }
+}
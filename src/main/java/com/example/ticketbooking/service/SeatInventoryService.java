@@ -0,0 +1,227 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single entry point for every change to Event.availableSeats.
+ *
+ * Reservations go through an in-memory per-event counter first, so a sold-out
+ * event rejects buyers without touching the database. Requests that pass the
+ * counter are confirmed by one guarded UPDATE (availableSeats >= n), which is
+ * the source of truth and keeps us oversell-free even across several nodes.
+ */
+@Service
+public class SeatInventoryService {
+    private static final Logger logger = LoggerFactory.getLogger(SeatInventoryService.class);
+
+    // A sold-out counter is re-read from the database at most this often
+    private static final long RESYNC_INTERVAL_MS = 1000;
+
+    private final EventRepository eventRepository;
+    private final AvailabilityBroadcaster availabilityBroadcaster;
+    private final Map<Long, SeatCounter> counters = new ConcurrentHashMap<>();
+
+    public SeatInventoryService(EventRepository eventRepository, AvailabilityBroadcaster availabilityBroadcaster) {
+        this.eventRepository = eventRepository;
+        this.availabilityBroadcaster = availabilityBroadcaster;
+    }
+
+    /**
+     * Atomically takes seats from the event. Returns false when not enough
+     * seats are left; never reads-modifies-writes the Event row.
+     */
+    @Transactional
+    public boolean reserve(Long eventId, int seats) {
+        if (seats <= 0) {
+            throw new IllegalArgumentException("Number of seats must be positive");
+        }
+        SeatCounter counter = counterFor(eventId);
+        if (!counter.tryTake(seats)) {
+            // Another node may have released seats since our last sync
+            if (!counter.isStale()) {
+                return false;
+            }
+            counter = resync(eventId);
+            if (!counter.tryTake(seats)) {
+                return false;
+            }
+        }
+
+        boolean reserved;
+        try {
+            reserved = eventRepository.reserveSeats(eventId, seats) == 1;
+        } catch (RuntimeException e) {
+            counter.give(seats);
+            throw e;
+        }
+        if (!reserved) {
+            // The in-memory counter was ahead of the database
+            counter.give(seats);
+            resync(eventId);
+            return false;
+        }
+
+        SeatCounter reservedFrom = counter;
+        afterRollback(() -> reservedFrom.give(seats));
+        afterCommit(() -> availabilityBroadcaster.changed(eventId, reservedFrom.available.get()));
+        return true;
+    }
+
+    /**
+     * Returns seats to the event, e.g. after a cancelled or expired booking.
+     */
+    @Transactional
+    public void release(Long eventId, int seats) {
+        if (seats <= 0) {
+            return;
+        }
+        if (eventRepository.releaseSeats(eventId, seats) == 0) {
+            logger.warn("Seat release of {} for event {} ignored (would exceed total seats)", seats, eventId);
+            return;
+        }
+        afterCommit(() -> {
+            SeatCounter counter = counters.get(eventId);
+            if (counter != null) {
+                counter.give(seats);
+                availabilityBroadcaster.changed(eventId, counter.available.get());
+            }
+        });
+    }
+
+    /**
+     * Grows or shrinks the event by {@code delta} seats, keeping every seat
+     * already sold. Returns false if the event would end up with fewer seats
+     * than it has sold.
+     */
+    @Transactional
+    public boolean resize(Long eventId, int delta) {
+        if (delta == 0) {
+            return true;
+        }
+        if (eventRepository.resizeSeats(eventId, delta) == 0) {
+            return false;
+        }
+        afterCommit(() -> {
+            SeatCounter counter = counters.get(eventId);
+            if (counter != null) {
+                counter.give(delta);
+                availabilityBroadcaster.changed(eventId, counter.available.get());
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Seats currently available according to the in-memory counter.
+     */
+    public int getAvailableSeats(Long eventId) {
+        return counterFor(eventId).available.get();
+    }
+
+    /**
+     * Drops the cached counter, e.g. after an admin edited the event.
+     */
+    public void evict(Long eventId) {
+        counters.remove(eventId);
+    }
+
+    private SeatCounter counterFor(Long eventId) {
+        SeatCounter counter = counters.get(eventId);
+        return counter != null ? counter : resync(eventId);
+    }
+
+    private SeatCounter resync(Long eventId) {
+        int available = eventRepository.findAvailableSeats(eventId)
+                .orElseThrow(() -> new IllegalArgumentException("Event not found"));
+        return counters.compute(eventId, (id, existing) -> {
+            if (existing == null) {
+                return new SeatCounter(available);
+            }
+            existing.available.set(available);
+            existing.syncedAt = System.currentTimeMillis();
+            return existing;
+        });
+    }
+
+    /**
+     * Current availability of several events, e.g. to open an availability
+     * stream. Events that do not exist are left out.
+     */
+    public Map<Long, Integer> getAvailableSeats(Collection<Long> eventIds) {
+        Map<Long, Integer> available = new TreeMap<>();
+        for (Long eventId : eventIds) {
+            try {
+                available.put(eventId, getAvailableSeats(eventId));
+            } catch (IllegalArgumentException e) {
+                // Unknown event
+            }
+        }
+        return available;
+    }
+
+    private void afterRollback(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        action.run();
+                    }
+                }
+            });
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class SeatCounter {
+        private final AtomicInteger available;
+        private volatile long syncedAt = System.currentTimeMillis();
+
+        private SeatCounter(int available) {
+            this.available = new AtomicInteger(available);
+        }
+
+        private boolean tryTake(int seats) {
+            int current;
+            do {
+                current = available.get();
+                if (current < seats) {
+                    return false;
+                }
+            } while (!available.compareAndSet(current, current - seats));
+            return true;
+        }
+
+        private void give(int seats) {
+            available.addAndGet(seats);
+        }
+
+        private boolean isStale() {
+            return System.currentTimeMillis() - syncedAt > RESYNC_INTERVAL_MS;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.ticketbooking.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory seat map of one event: sections (grouped by stand) made of rows,
+ * each row a bitset of taken seats.
+ *
+ * Every row caches the length of its longest free run and every section the
+ * best of its rows, so a best-available search skips full sections and rows
+ * in O(1) and only scans the runs of the one row it picks. Sections are
+ * locked independently; allocators working in different sections never
+ * block each other.
+ */
+public final class SeatMap {
+
+    public static final byte SNAPSHOT_VERSION = 1;
+
+    private final List<Section> sections = new ArrayList<>();
+    private final Map<Long, Section> sectionsById = new LinkedHashMap<>();
+
+    public SeatMap(List<SectionLayout> layouts) {
+        for (SectionLayout layout : layouts) {
+            Section section = new Section(layout);
+            sections.add(section);
+            sectionsById.put(layout.id(), section);
+        }
+    }
+
+    public int capacity() {
+        return sections.stream().mapToInt(section -> section.layout.capacity()).sum();
+    }
+
+    public int available() {
+        int available = 0;
+        for (Section section : sections) {
+            synchronized (section) {
+                available += section.free;
+            }
+        }
+        return available;
+    }
+
+    public List<SectionLayout> getSections() {
+        return sections.stream().map(section -> section.layout).toList();
+    }
+
+    /**
+     * Takes {@code count} adjacent seats, closest to the front and centre,
+     * in the given section or (if null) in the first section that has room.
+     */
+    public Optional<SeatBlock> allocateBestAvailable(Long sectionId, int count) {
+        if (count < 1) {
+            return Optional.empty();
+        }
+        if (sectionId != null) {
+            Section section = sectionsById.get(sectionId);
+            return section == null ? Optional.empty() : Optional.ofNullable(section.allocate(count));
+        }
+        for (Section section : sections) {
+            // Unlocked read; a stale value only costs one extra locked attempt
+            if (section.bestRun >= count) {
+                SeatBlock block = section.allocate(count);
+                if (block != null) {
+                    return Optional.of(block);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Marks a specific block as taken, e.g. when restoring bookings at startup.
+     * Returns false (and changes nothing) if any seat is already taken.
+     */
+    public boolean occupy(SeatBlock block) {
+        Section section = sectionsById.get(block.sectionId());
+        return section != null && section.occupy(block);
+    }
+
+    public void release(SeatBlock block) {
+        Section section = sectionsById.get(block.sectionId());
+        if (section != null) {
+            section.release(block);
+        }
+    }
+
+    /**
+     * Human-readable label, e.g. "North Stand N1, Row 3, Seats 10-13".
+     */
+    public String describe(SeatBlock block) {
+        Section section = sectionsById.get(block.sectionId());
+        if (section == null) {
+            return null;
+        }
+        int first = block.firstSeat() + 1;
+        int last = block.firstSeat() + block.count();
+        return section.layout.stand() + " " + section.layout.code() + ", Row " + (block.row() + 1)
+                + (block.count() == 1 ? ", Seat " + first : ", Seats " + first + "-" + last);
+    }
+
+    /**
+     * Binary run-length snapshot for the seat picker (all numbers big-endian):
+     *
+     * <pre>
+     * byte version, int sectionCount
+     * per section: long id, UTF stand, UTF code, short rows, short seatsPerRow, int free
+     *   per row: varint runCount, then runCount varint run lengths,
+     *            alternating free/taken and starting with free
+     * </pre>
+     *
+     * An empty 80,000-seat stadium encodes to a few kilobytes.
+     */
+    public byte[] snapshot() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(SNAPSHOT_VERSION);
+            out.writeInt(sections.size());
+            for (Section section : sections) {
+                section.writeSnapshot(out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    public record SectionLayout(Long id, String stand, String code, int rows, int seatsPerRow) {
+        public int capacity() {
+            return rows * seatsPerRow;
+        }
+    }
+
+    /**
+     * Adjacent seats in one row; stored on the booking as "sectionId:row:firstSeat:count".
+     */
+    public record SeatBlock(Long sectionId, int row, int firstSeat, int count) {
+        public String encode() {
+            return sectionId + ":" + row + ":" + firstSeat + ":" + count;
+        }
+
+        public static SeatBlock decode(String value) {
+            String[] parts = value.split(":");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid seat assignment: " + value);
+            }
+            return new SeatBlock(Long.valueOf(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+                    Integer.parseInt(parts[3]));
+        }
+    }
+
+    private static final class Section {
+        private final SectionLayout layout;
+        private final BitSet[] taken;
+        private final int[] longestRun;
+        private int free;
+        private volatile int bestRun;
+
+        private Section(SectionLayout layout) {
+            this.layout = layout;
+            this.taken = new BitSet[layout.rows()];
+            this.longestRun = new int[layout.rows()];
+            for (int row = 0; row < layout.rows(); row++) {
+                taken[row] = new BitSet(layout.seatsPerRow());
+                longestRun[row] = layout.seatsPerRow();
+            }
+            this.free = layout.capacity();
+            this.bestRun = layout.rows() > 0 ? layout.seatsPerRow() : 0;
+        }
+
+        private synchronized SeatBlock allocate(int count) {
+            if (bestRun < count) {
+                return null;
+            }
+            for (int row = 0; row < taken.length; row++) {
+                if (longestRun[row] < count) {
+                    continue;
+                }
+                int start = mostCentralStart(taken[row], count);
+                taken[row].set(start, start + count);
+                free -= count;
+                refresh(row);
+                return new SeatBlock(layout.id(), row, start, count);
+            }
+            return null;
+        }
+
+        private synchronized boolean occupy(SeatBlock block) {
+            if (!fits(block)) {
+                return false;
+            }
+            BitSet row = taken[block.row()];
+            int end = block.firstSeat() + block.count();
+            if (row.nextSetBit(block.firstSeat()) != -1 && row.nextSetBit(block.firstSeat()) < end) {
+                return false;
+            }
+            row.set(block.firstSeat(), end);
+            free -= block.count();
+            refresh(block.row());
+            return true;
+        }
+
+        private synchronized void release(SeatBlock block) {
+            if (!fits(block)) {
+                return;
+            }
+            BitSet row = taken[block.row()];
+            int end = block.firstSeat() + block.count();
+            free += row.get(block.firstSeat(), end).cardinality();
+            row.clear(block.firstSeat(), end);
+            refresh(block.row());
+        }
+
+        private boolean fits(SeatBlock block) {
+            return block.row() >= 0 && block.row() < taken.length && block.firstSeat() >= 0
+                    && block.count() > 0 && block.firstSeat() + block.count() <= layout.seatsPerRow();
+        }
+
+        /**
+         * Start of the free block of {@code count} seats whose middle is
+         * closest to the middle of the row. Walks the row's runs only.
+         */
+        private int mostCentralStart(BitSet row, int count) {
+            int seats = layout.seatsPerRow();
+            int centre = seats - count; // twice the ideal start, kept in integers
+            int best = -1;
+            int runStart = row.nextClearBit(0);
+            while (runStart < seats) {
+                int runEnd = row.nextSetBit(runStart);
+                if (runEnd < 0 || runEnd > seats) {
+                    runEnd = seats;
+                }
+                if (runEnd - runStart >= count) {
+                    int start = Math.max(runStart, Math.min(runEnd - count, centre / 2));
+                    if (best < 0 || Math.abs(2 * start - centre) < Math.abs(2 * best - centre)) {
+                        best = start;
+                    }
+                }
+                runStart = row.nextClearBit(runEnd);
+            }
+            return best;
+        }
+
+        private void refresh(int row) {
+            BitSet bits = taken[row];
+            int seats = layout.seatsPerRow();
+            int longest = 0;
+            int runStart = bits.nextClearBit(0);
+            while (runStart < seats) {
+                int runEnd = bits.nextSetBit(runStart);
+                if (runEnd < 0 || runEnd > seats) {
+                    runEnd = seats;
+                }
+                longest = Math.max(longest, runEnd - runStart);
+                runStart = bits.nextClearBit(runEnd);
+            }
+            longestRun[row] = longest;
+            int best = 0;
+            for (int run : longestRun) {
+                best = Math.max(best, run);
+            }
+            bestRun = best;
+        }
+
+        private synchronized void writeSnapshot(DataOutputStream out) throws IOException {
+            out.writeLong(layout.id());
+            out.writeUTF(layout.stand());
+            out.writeUTF(layout.code());
+            out.writeShort(layout.rows());
+            out.writeShort(layout.seatsPerRow());
+            out.writeInt(free);
+            int seats = layout.seatsPerRow();
+            List<Integer> runs = new ArrayList<>();
+            for (BitSet row : taken) {
+                runs.clear();
+                int position = 0;
+                boolean freeRun = true;
+                while (position < seats) {
+                    int next = freeRun ? row.nextSetBit(position) : row.nextClearBit(position);
+                    if (next < 0 || next > seats) {
+                        next = seats;
+                    }
+                    runs.add(next - position);
+                    position = next;
+                    freeRun = !freeRun;
+                }
+                writeVarInt(out, runs.size());
+                for (int run : runs) {
+                    writeVarInt(out, run);
+                }
+            }
+        }
+    }
+}
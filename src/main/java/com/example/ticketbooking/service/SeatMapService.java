@@ -0,0 +1,301 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.dto.SeatSectionRequest;
+import com.example.ticketbooking.entity.BookedSeat;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.entity.SeatSection;
+import com.example.ticketbooking.repository.BookedSeatRepository;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.EventRepository;
+import com.example.ticketbooking.repository.SeatSectionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Seat maps for events that sell specific seats.
+ *
+ * Layouts are stored as seat_sections rows; which seats are taken is decided
+ * in memory ({@link SeatMap}) and rebuilt at startup from the seat
+ * assignments of active bookings. Every booked seat is also written to
+ * booked_seats, whose unique key is the final guard against selling a seat
+ * twice. Events without a seat map keep selling general admission through
+ * {@link SeatInventoryService} alone.
+ */
+@Service
+public class SeatMapService {
+    private static final Logger logger = LoggerFactory.getLogger(SeatMapService.class);
+
+    private static final int MAX_ROWS_PER_SECTION = 200;
+    private static final int MAX_SEATS_PER_ROW = 500;
+    private static final int MAX_CAPACITY = 200_000;
+
+    private final SeatSectionRepository sectionRepository;
+    private final BookingRepository bookingRepository;
+    private final BookedSeatRepository bookedSeatRepository;
+    private final EventRepository eventRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final CatalogVersion catalogVersion;
+    private final CatalogStatistics catalogStatistics;
+    private final Map<Long, SeatMap> seatMaps = new ConcurrentHashMap<>();
+
+    public SeatMapService(SeatSectionRepository sectionRepository, BookingRepository bookingRepository,
+            BookedSeatRepository bookedSeatRepository, EventRepository eventRepository,
+            SeatInventoryService seatInventoryService, CatalogVersion catalogVersion,
+            CatalogStatistics catalogStatistics) {
+        this.sectionRepository = sectionRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookedSeatRepository = bookedSeatRepository;
+        this.eventRepository = eventRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.catalogVersion = catalogVersion;
+        this.catalogStatistics = catalogStatistics;
+    }
+
+    public boolean hasSeatMap(Long eventId) {
+        return seatMaps.containsKey(eventId);
+    }
+
+    /**
+     * Takes the best available adjacent seats and returns the assignment to
+     * store on the booking. Changes memory only; callers inside a transaction
+     * must follow up with {@link #freeOnRollback}.
+     */
+    public String allocate(Long eventId, Long sectionId, int count) {
+        SeatMap seatMap = seatMaps.get(eventId);
+        if (seatMap == null) {
+            throw new IllegalArgumentException("Event has no seat map");
+        }
+        return seatMap.allocateBestAvailable(sectionId, count)
+                .map(SeatMap.SeatBlock::encode)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "No " + count + " adjacent seats available" + (sectionId != null ? " in this section" : "")));
+    }
+
+    /**
+     * Frees an allocation straight away, for a booking that never got saved.
+     */
+    public void free(Long eventId, String assignment) {
+        SeatMap seatMap = seatMaps.get(eventId);
+        if (seatMap != null && assignment != null) {
+            seatMap.release(SeatMap.SeatBlock.decode(assignment));
+        }
+    }
+
+    public void freeOnRollback(Long eventId, String assignment) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        free(eventId, assignment);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Writes a saved booking's seats to booked_seats in the booking's
+     * transaction. If another booking already holds one of them, the insert
+     * fails and the booking rolls back with it.
+     */
+    public void book(Booking booking) {
+        if (booking.getSeatAssignment() == null) {
+            return;
+        }
+        SeatMap.SeatBlock block = SeatMap.SeatBlock.decode(booking.getSeatAssignment());
+        List<BookedSeat> seats = new ArrayList<>(block.count());
+        for (int seat = block.firstSeat(); seat < block.firstSeat() + block.count(); seat++) {
+            seats.add(new BookedSeat(null, booking.getEvent().getId(), block.sectionId(), block.row(), seat,
+                    booking.getId()));
+        }
+        bookedSeatRepository.saveAll(seats);
+    }
+
+    /**
+     * Gives a cancelled booking's seats back once the cancellation commits.
+     */
+    public void release(Booking booking) {
+        release(booking.getEvent().getId(), List.of(booking));
+    }
+
+    /**
+     * Gives the seats of several cancelled bookings of one event back, with
+     * one DELETE for their booked_seats rows.
+     */
+    public void release(Long eventId, List<Booking> bookings) {
+        List<Booking> seated = bookings.stream().filter(booking -> booking.getSeatAssignment() != null).toList();
+        if (seated.isEmpty()) {
+            return;
+        }
+        bookedSeatRepository.deleteByBookingIds(seated.stream().map(Booking::getId).toList());
+        Runnable free = () -> seated.forEach(booking -> free(eventId, booking.getSeatAssignment()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    free.run();
+                }
+            });
+        } else {
+            free.run();
+        }
+    }
+
+    public String describe(Long eventId, String assignment) {
+        SeatMap seatMap = seatMaps.get(eventId);
+        if (seatMap == null || assignment == null) {
+            return null;
+        }
+        return seatMap.describe(SeatMap.SeatBlock.decode(assignment));
+    }
+
+    public byte[] snapshot(Long eventId) {
+        SeatMap seatMap = seatMaps.get(eventId);
+        if (seatMap == null) {
+            throw new IllegalArgumentException("Event has no seat map");
+        }
+        return seatMap.snapshot();
+    }
+
+    public Map<String, Object> getSummary(Long eventId) {
+        SeatMap seatMap = seatMaps.get(eventId);
+        if (seatMap == null) {
+            throw new IllegalArgumentException("Event has no seat map");
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("eventId", eventId);
+        summary.put("sections", seatMap.getSections().size());
+        summary.put("capacity", seatMap.capacity());
+        summary.put("available", seatMap.available());
+        return summary;
+    }
+
+    /**
+     * Replaces the seat map of an event that has not sold anything yet. The
+     * event's seat totals are set to the new capacity.
+     */
+    @Transactional
+    public Map<String, Object> configure(Long eventId, List<SeatSectionRequest> requests) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new IllegalArgumentException("Event not found"));
+        if (bookingRepository.countByEvent_IdAndStatusNot(eventId, Booking.BookingStatus.CANCELLED) > 0) {
+            throw new IllegalArgumentException("Seat map can only be changed before tickets are sold");
+        }
+        validate(requests);
+
+        sectionRepository.deleteByEventId(eventId);
+        List<SeatSection> sections = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            SeatSectionRequest request = requests.get(i);
+            SeatSection section = new SeatSection();
+            section.setEvent(event);
+            section.setStand(request.stand().trim());
+            section.setCode(request.code().trim());
+            section.setRowCount(request.rows());
+            section.setSeatsPerRow(request.seatsPerRow());
+            section.setDisplayOrder(i);
+            sections.add(section);
+        }
+        sections = sectionRepository.saveAll(sections);
+
+        SeatMap seatMap = new SeatMap(sections.stream().map(this::toLayout).toList());
+        int previousSeats = event.getTotalSeats() != null ? event.getTotalSeats() : 0;
+        // Nothing is sold yet, so this leaves available equal to total
+        if (!seatInventoryService.resize(eventId, seatMap.capacity() - previousSeats)) {
+            throw new IllegalArgumentException("Seat map can only be changed before tickets are sold");
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                seatMaps.put(eventId, seatMap);
+                // totalSeats is part of the catalog
+                catalogVersion.bump();
+                catalogStatistics.seatsChanged(seatMap.capacity() - previousSeats);
+                seatInventoryService.evict(eventId);
+            }
+        });
+        logger.info("Seat map for event {} configured: {} sections, {} seats", eventId, sections.size(),
+                seatMap.capacity());
+        return Map.of("eventId", eventId, "sections", sections.size(), "capacity", seatMap.capacity());
+    }
+
+    /**
+     * Drops the seat map, e.g. before the event itself is deleted.
+     */
+    @Transactional
+    public void delete(Long eventId) {
+        bookedSeatRepository.deleteByEventId(eventId);
+        sectionRepository.deleteByEventId(eventId);
+        seatMaps.remove(eventId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadSeatMaps() {
+        Map<Long, List<SeatMap.SectionLayout>> layouts = sectionRepository.findAllOrdered().stream()
+                .collect(Collectors.groupingBy(section -> section.getEvent().getId(), LinkedHashMap::new,
+                        Collectors.mapping(this::toLayout, Collectors.toList())));
+        layouts.forEach((eventId, sections) -> seatMaps.put(eventId, new SeatMap(sections)));
+
+        int restored = 0;
+        for (Object[] row : bookingRepository.findSeatAssignments(Booking.BookingStatus.CANCELLED)) {
+            SeatMap seatMap = seatMaps.get((Long) row[0]);
+            if (seatMap != null && seatMap.occupy(SeatMap.SeatBlock.decode((String) row[1]))) {
+                restored++;
+            } else {
+                logger.warn("Could not restore seat assignment {} for event {}", row[1], row[0]);
+            }
+        }
+        logger.info("Loaded {} seat maps with {} seat assignments", seatMaps.size(), restored);
+    }
+
+    private void validate(List<SeatSectionRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one section is required");
+        }
+        Set<String> codes = new HashSet<>();
+        long capacity = 0;
+        for (SeatSectionRequest request : requests) {
+            if (request.stand() == null || request.stand().isBlank() || request.code() == null
+                    || request.code().isBlank()) {
+                throw new IllegalArgumentException("Every section needs a stand and a code");
+            }
+            if (!codes.add(request.stand().trim() + "/" + request.code().trim())) {
+                throw new IllegalArgumentException("Duplicate section " + request.code());
+            }
+            if (request.rows() == null || request.rows() < 1 || request.rows() > MAX_ROWS_PER_SECTION
+                    || request.seatsPerRow() == null || request.seatsPerRow() < 1
+                    || request.seatsPerRow() > MAX_SEATS_PER_ROW) {
+                throw new IllegalArgumentException("Section " + request.code() + " must have 1-"
+                        + MAX_ROWS_PER_SECTION + " rows of 1-" + MAX_SEATS_PER_ROW + " seats");
+            }
+            capacity += (long) request.rows() * request.seatsPerRow();
+        }
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Seat map cannot exceed " + MAX_CAPACITY + " seats");
+        }
+    }
+
+    private SeatMap.SectionLayout toLayout(SeatSection section) {
+        return new SeatMap.SectionLayout(section.getId(), section.getStand(), section.getCode(),
+                section.getRowCount(), section.getSeatsPerRow());
+    }
+}
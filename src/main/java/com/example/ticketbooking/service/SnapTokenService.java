@@ -0,0 +1,252 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.PaymentOutbox;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.PaymentOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates Midtrans Snap tokens off the booking request path.
+ *
+ * The booking transaction only inserts a payment_outbox row. After commit the
+ * row is handed to a small bounded worker pool that calls the gateway and
+ * stores the token on the booking; clients pick it up through
+ * GET /api/payments/token/{reference}. If the pool is full, or the node dies
+ * mid-call, the scheduled relay finds the row again, so no token request is
+ * lost and a slow gateway never ties up servlet threads.
+ */
+@Service
+public class SnapTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(SnapTokenService.class);
+
+    private static final int RELAY_BATCH_SIZE = 200;
+    private static final long RELAY_GRACE_SECONDS = 5;
+
+    private final PaymentOutboxRepository outboxRepository;
+    private final BookingRepository bookingRepository;
+    private final MidtransService midtransService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+
+    @Value("${app.payment.token-max-attempts:3}")
+    private int maxAttempts;
+
+    // Longer than the gateway's timeouts, so a live worker never loses its claim
+    @Value("${app.payment.token-lease-seconds:120}")
+    private long leaseSeconds;
+
+    public SnapTokenService(PaymentOutboxRepository outboxRepository, BookingRepository bookingRepository,
+            MidtransService midtransService, TransactionTemplate transactionTemplate,
+            @Value("${app.payment.token-workers:8}") int workers,
+            @Value("${app.payment.token-queue-capacity:1000}") int queueCapacity) {
+        this.outboxRepository = outboxRepository;
+        this.bookingRepository = bookingRepository;
+        this.midtransService = midtransService;
+        this.transactionTemplate = transactionTemplate;
+        AtomicInteger threadCount = new AtomicInteger();
+        // When the queue is full the row simply stays PENDING for the relay
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "snap-token-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> logger.debug("Snap token queue full, leaving request to the relay"));
+    }
+
+    /**
+     * Records a token request for a new booking. Must run inside the booking
+     * transaction; the work is dispatched once that transaction commits.
+     */
+    public void enqueue(Booking booking) {
+        enqueue(booking.getId(), booking.getBookingReference());
+    }
+
+    /**
+     * Records one token request for all bookings of a cart checkout. The
+     * bookings must share the payment reference, which becomes the order id.
+     */
+    public void enqueue(String paymentReference, List<Booking> bookings) {
+        enqueue(bookings.get(0).getId(), paymentReference);
+    }
+
+    private void enqueue(Long bookingId, String orderId) {
+        PaymentOutbox outbox = new PaymentOutbox();
+        outbox.setBookingId(bookingId);
+        outbox.setOrderId(orderId);
+        // Give the after-commit dispatch a head start before the relay looks at the row
+        outbox.setNextAttemptAt(LocalDateTime.now().plusSeconds(RELAY_GRACE_SECONDS));
+        Long outboxId = outboxRepository.save(outbox).getId();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                executor.execute(() -> process(outboxId));
+            }
+        });
+    }
+
+    /**
+     * Token state for a booking or cart payment reference, for its owner to
+     * poll. Other users get the same answer as for an unknown reference.
+     */
+    public Map<String, Object> getTokenStatus(String reference, Long userId) {
+        Booking booking = bookingRepository.findByBookingReference(reference)
+                .or(() -> bookingRepository.findByPaymentReferenceOrderByIdAsc(reference).stream().findFirst())
+                .filter(candidate -> candidate.getUser().getId().equals(userId))
+                .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("bookingReference", reference);
+        if (booking.getSnapToken() != null) {
+            result.put("status", "READY");
+            result.put("snapToken", booking.getSnapToken());
+            result.put("redirectUrl", midtransService.getRedirectUrl(booking.getSnapToken()));
+            return result;
+        }
+        String orderId = booking.getPaymentReference() != null ? booking.getPaymentReference()
+                : booking.getBookingReference();
+        PaymentOutbox.OutboxStatus status = outboxRepository.findByOrderId(orderId)
+                .map(PaymentOutbox::getStatus)
+                .orElse(PaymentOutbox.OutboxStatus.FAILED);
+        result.put("status", status == PaymentOutbox.OutboxStatus.FAILED ? "FAILED" : "PENDING");
+        return result;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (PaymentOutbox.OutboxStatus status : PaymentOutbox.OutboxStatus.values()) {
+            stats.put(status.name().toLowerCase(), outboxRepository.countByStatus(status));
+        }
+        stats.put("activeWorkers", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        return stats;
+    }
+
+    /**
+     * Picks up rows that were never dispatched (pool full) or whose worker died.
+     */
+    @Scheduled(fixedDelayString = "${app.payment.token-relay-interval-ms:5000}")
+    public void relay() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer reset = transactionTemplate.execute(status -> outboxRepository.resetStale(now));
+        if (reset != null && reset > 0) {
+            logger.warn("Re-queued {} stale Snap token requests", reset);
+        }
+        int capacity = executor.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        List<Long> due = outboxRepository.findDueIds(PaymentOutbox.OutboxStatus.PENDING, now,
+                PageRequest.of(0, Math.min(capacity, RELAY_BATCH_SIZE)));
+        due.forEach(id -> executor.execute(() -> process(id)));
+    }
+
+    void process(Long outboxId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(
+                status -> outboxRepository.claim(outboxId, now, now.plusSeconds(leaseSeconds)));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+        PaymentOutbox outbox = outboxRepository.findById(outboxId).orElseThrow();
+        Booking booking = bookingRepository.findWithUserAndEventById(outbox.getBookingId()).orElse(null);
+        String paymentReference = booking != null ? booking.getPaymentReference() : null;
+        // A cart pays for whichever of its bookings are still unpaid
+        List<Booking> pending = (paymentReference == null
+                ? (booking == null ? List.<Booking>of() : List.of(booking))
+                : bookingRepository.findWithUserAndEventByPaymentReference(paymentReference)).stream()
+                .filter(candidate -> candidate.getStatus() == Booking.BookingStatus.PENDING)
+                .toList();
+        if (pending.isEmpty()) {
+            complete(outbox, PaymentOutbox.OutboxStatus.DONE, "Booking no longer pending");
+            return;
+        }
+        // An earlier attempt whose lease ran out may have stored a token after all;
+        // Midtrans takes each order id once, so keep that transaction
+        if (pending.get(0).getSnapToken() != null) {
+            complete(outbox, PaymentOutbox.OutboxStatus.DONE, null);
+            return;
+        }
+
+        try {
+            // Remote call happens outside any transaction
+            Map<String, String> snapResult = paymentReference == null
+                    ? midtransService.createSnapTransaction(booking)
+                    : midtransService.createSnapTransaction(paymentReference, pending);
+            String token = snapResult.get("token");
+            transactionTemplate.executeWithoutResult(status -> {
+                if (paymentReference == null) {
+                    bookingRepository.updateSnapToken(booking.getId(), token);
+                } else {
+                    bookingRepository.updateSnapTokenByPaymentReference(paymentReference, token,
+                            Booking.BookingStatus.PENDING);
+                }
+                if (!finish(outbox, PaymentOutbox.OutboxStatus.DONE, null, LocalDateTime.now())) {
+                    logger.warn("Lease for Snap token request {} ran out before the gateway answered",
+                            outbox.getOrderId());
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Failed to create Midtrans token for booking {} (attempt {}): {}",
+                    outbox.getOrderId(), outbox.getAttempts(), e.getMessage());
+            if (outbox.getAttempts() >= maxAttempts) {
+                complete(outbox, PaymentOutbox.OutboxStatus.FAILED, e.getMessage());
+            } else {
+                retryLater(outbox, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Ends this attempt's claim. Does nothing if the lease was reset and a
+     * later attempt owns the row.
+     */
+    private boolean finish(PaymentOutbox outbox, PaymentOutbox.OutboxStatus status, String error,
+            LocalDateTime nextAttemptAt) {
+        return outboxRepository.finish(outbox.getId(), outbox.getAttempts(), status, truncate(error), nextAttemptAt,
+                LocalDateTime.now()) == 1;
+    }
+
+    private void complete(PaymentOutbox outbox, PaymentOutbox.OutboxStatus status, String error) {
+        transactionTemplate.executeWithoutResult(tx -> finish(outbox, status, error, LocalDateTime.now()));
+    }
+
+    private void retryLater(PaymentOutbox outbox, String error) {
+        // 2s, 4s, 8s, ... between attempts
+        long backoffSeconds = 1L << Math.min(outbox.getAttempts(), 10);
+        transactionTemplate.executeWithoutResult(tx -> finish(outbox, PaymentOutbox.OutboxStatus.PENDING, error,
+                LocalDateTime.now().plusSeconds(backoffSeconds)));
+    }
+
+    private String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= 255 ? error : error.substring(0, 255);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.dto.EventDTO;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.entity.League;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.EventRepository;
+import com.example.ticketbooking.repository.LeagueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Search-box suggestions for teams, venues, leagues and upcoming events.
+ *
+ * Suggestions live in a {@link SuggestionTrie}. Every upcoming event adds
+ * its title, its teams (the sides of "A vs B"), its venue and its league,
+ * each weighted by how soon the event is and how many tickets it has sold;
+ * a team or venue weighs as much as all its events together. Leagues are
+ * always suggested, even without upcoming events.
+ *
+ * {@link EventServiceImpl} updates the trie as events are written, and
+ * league changes rebuild it. Ticket sales and the passing of time shift the
+ * weights slowly, so they are applied by a periodic rebuild rather than on
+ * every booking.
+ */
+@Service
+public class SuggestionService {
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionService.class);
+
+    public static final int DEFAULT_LIMIT = 8;
+    private static final int REBUILD_BATCH = 5_000;
+    private static final double LEAGUE_WEIGHT = 0.5;
+    private static final double HALF_WEIGHT_DAYS = 14;
+    private static final Pattern VERSUS = Pattern.compile("(?i)\\s+(?:vs?\\.?|versus)\\s+");
+
+    private final EventRepository eventRepository;
+    private final LeagueRepository leagueRepository;
+    private final BookingRepository bookingRepository;
+
+    private volatile SuggestionTrie trie = new SuggestionTrie();
+    private Map<Long, String> leagueNames = Collections.emptyMap();
+    private Map<Long, Long> ticketsSold = Collections.emptyMap();
+    // What each indexed event added, so it can be taken back on update or delete
+    private final Map<Long, Contribution> contributions = new HashMap<>();
+
+    public SuggestionService(EventRepository eventRepository, LeagueRepository leagueRepository,
+            BookingRepository bookingRepository) {
+        this.eventRepository = eventRepository;
+        this.leagueRepository = leagueRepository;
+        this.bookingRepository = bookingRepository;
+    }
+
+    public List<SuggestionTrie.Suggestion> suggest(String prefix, int limit) {
+        return trie.suggest(prefix, Math.min(Math.max(limit, 1), SuggestionTrie.MAX_RESULTS));
+    }
+
+    public synchronized void index(Event event) {
+        remove(event.getId());
+        if (event.getStatus() == Event.EventStatus.ACTIVE) {
+            add(trie, event.getId(), event.getTitle(), event.getVenue(), event.getEventDate(),
+                    event.getLeague() != null ? event.getLeague().getId() : null, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Adds a new active event, e.g. one written by the bulk import.
+     */
+    public synchronized void index(EventDTO event) {
+        remove(event.id());
+        add(trie, event.id(), event.title(), event.venue(), event.eventDate(), event.leagueId(), LocalDateTime.now());
+    }
+
+    public synchronized void remove(Long eventId) {
+        Contribution contribution = contributions.remove(eventId);
+        if (contribution != null) {
+            for (Phrase phrase : contribution.phrases()) {
+                trie.add(phrase.id(), phrase.text(), phrase.type(), phrase.eventId(), -contribution.weight());
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the suggestions from the upcoming catalog, current ticket
+     * sales and the leagues table, then swaps them in.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.suggestions.rebuild-ms:600000}",
+            fixedDelayString = "${app.suggestions.rebuild-ms:600000}")
+    public synchronized void rebuild() {
+        long began = System.nanoTime();
+        Map<Long, String> names = new HashMap<>();
+        for (League league : leagueRepository.findAll()) {
+            names.put(league.getId(), league.getName());
+        }
+        Map<Long, Long> sold = new HashMap<>();
+        for (Object[] row : bookingRepository.sumTicketsByEvent(Booking.BookingStatus.CANCELLED)) {
+            sold.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        leagueNames = names;
+        ticketsSold = sold;
+        contributions.clear();
+
+        SuggestionTrie fresh = new SuggestionTrie();
+        names.forEach((id, name) -> fresh.add("league:" + id, name, "league", null, LEAGUE_WEIGHT));
+        LocalDateTime now = LocalDateTime.now();
+        long lastId = 0;
+        List<EventDTO> batch;
+        do {
+            batch = eventRepository.findUpcomingSummariesAfter(Event.EventStatus.ACTIVE, now, lastId,
+                    PageRequest.of(0, REBUILD_BATCH));
+            for (EventDTO event : batch) {
+                add(fresh, event.id(), event.title(), event.venue(), event.eventDate(), event.leagueId(), now);
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).id();
+            }
+        } while (batch.size() == REBUILD_BATCH);
+        trie = fresh;
+        logger.info("Built {} suggestions from {} upcoming events in {} ms", fresh.size(), contributions.size(),
+                (System.nanoTime() - began) / 1_000_000);
+    }
+
+    private void add(SuggestionTrie target, Long eventId, String title, String venue, LocalDateTime eventDate,
+            Long leagueId, LocalDateTime now) {
+        if (eventDate == null || !eventDate.isAfter(now)) {
+            return;
+        }
+        double weight = weight(eventDate, ticketsSold.getOrDefault(eventId, 0L), now);
+        List<Phrase> phrases = new ArrayList<>(5);
+        if (title != null && !title.isBlank()) {
+            phrases.add(new Phrase("event:" + eventId, title.trim(), "event", eventId));
+            for (String team : teams(title)) {
+                phrases.add(new Phrase("team:" + TextNormalizer.fold(team), team, "team", null));
+            }
+        }
+        if (venue != null && !venue.isBlank()) {
+            phrases.add(new Phrase("venue:" + TextNormalizer.fold(venue.trim()), venue.trim(), "venue", null));
+        }
+        String league = leagueId != null ? leagueNames.get(leagueId) : null;
+        if (league != null) {
+            phrases.add(new Phrase("league:" + leagueId, league, "league", null));
+        }
+        for (Phrase phrase : phrases) {
+            target.add(phrase.id(), phrase.text(), phrase.type(), phrase.eventId(), weight);
+        }
+        contributions.put(eventId, new Contribution(phrases, weight));
+    }
+
+    // Sooner and better-selling events weigh more; an event two weeks out counts half
+    static double weight(LocalDateTime eventDate, long ticketsSold, LocalDateTime now) {
+        double days = Math.max(0, Duration.between(now, eventDate).toHours() / 24.0);
+        return (1 + Math.log1p(ticketsSold)) / (1 + days / HALF_WEIGHT_DAYS);
+    }
+
+    // "UEFA Champions League: Real Madrid vs Bayern" -> [Real Madrid, Bayern]
+    static List<String> teams(String title) {
+        String[] sides = VERSUS.split(title.trim());
+        if (sides.length < 2) {
+            return Collections.emptyList();
+        }
+        List<String> teams = new ArrayList<>(sides.length);
+        for (int i = 0; i < sides.length; i++) {
+            String side = sides[i];
+            if (i == 0 && side.contains(":")) {
+                side = side.substring(side.lastIndexOf(':') + 1);
+            }
+            side = side.trim();
+            if (!side.isEmpty()) {
+                teams.add(side);
+            }
+        }
+        return teams;
+    }
+
+    private record Phrase(String id, String text, String type, Long eventId) {
+    }
+
+    private record Contribution(List<Phrase> phrases, double weight) {
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.ticketbooking.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Weighted radix trie for search-box suggestions.
+ *
+ * Every phrase (an event title, a team, a venue, a league) is stored under
+ * the folded text starting at each of its words, so "unit" suggests
+ * "Manchester United". Edges carry whole strings (a compressed trie), and
+ * every node caches the {@code MAX_RESULTS} heaviest phrases below it. A
+ * lookup therefore walks at most the length of the prefix and copies one
+ * cached list: it costs microseconds whatever the number of phrases.
+ *
+ * Phrase weights are adjusted in place as events come and go; only the
+ * cached lists on the paths of the affected keys are recomputed.
+ */
+public final class SuggestionTrie {
+
+    public static final int MAX_RESULTS = 10;
+    private static final double EPSILON = 1e-9;
+
+    private final Node root = new Node("");
+    private final Map<String, Phrase> phrases = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * A suggestion: what to show, its kind ("event", "team", "venue",
+     * "league") and the event it opens, if any.
+     */
+    public record Suggestion(String text, String type, Long eventId) {
+    }
+
+    /**
+     * Adds {@code weight} to the phrase {@code id}, creating it on first
+     * use. A negative weight takes it back; a phrase whose weight drops to
+     * zero is removed.
+     */
+    public void add(String id, String text, String type, Long eventId, double weight) {
+        lock.writeLock().lock();
+        try {
+            Phrase phrase = phrases.get(id);
+            if (phrase == null) {
+                if (weight <= EPSILON) {
+                    return;
+                }
+                List<String> keys = keys(text);
+                if (keys.isEmpty()) {
+                    return;
+                }
+                phrase = new Phrase(new Suggestion(text, type, eventId), keys);
+                phrase.weight = weight;
+                phrases.put(id, phrase);
+                for (String key : keys) {
+                    insert(key, phrase);
+                }
+                return;
+            }
+            phrase.weight += weight;
+            if (phrase.weight <= EPSILON) {
+                phrases.remove(id);
+                for (String key : phrase.keys) {
+                    delete(key, phrase);
+                }
+            } else {
+                for (String key : phrase.keys) {
+                    refresh(key);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} phrases starting with {@code prefix} (at any word),
+     * heaviest first.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = String.join(" ", TextNormalizer.tokens(prefix));
+        if (key.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int matched = 0;
+            while (matched < key.length()) {
+                Node child = node.children.get(key.charAt(matched));
+                if (child == null) {
+                    return Collections.emptyList();
+                }
+                int common = commonPrefix(child.label, key, matched);
+                if (matched + common == key.length()) {
+                    // The prefix ends on or inside this edge
+                    node = child;
+                    break;
+                }
+                if (common < child.label.length()) {
+                    return Collections.emptyList();
+                }
+                matched += common;
+                node = child;
+            }
+            Phrase[] top = node.top;
+            List<Suggestion> suggestions = new ArrayList<>(Math.min(limit, top.length));
+            for (int i = 0; i < top.length && i < limit; i++) {
+                suggestions.add(top[i].suggestion);
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return phrases.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            phrases.clear();
+            root.children.clear();
+            root.terminals.clear();
+            root.top = new Phrase[0];
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The folded text from each word to the end: "manchester united", "united"
+    private static List<String> keys(String text) {
+        List<String> words = TextNormalizer.tokens(text);
+        List<String> keys = new ArrayList<>(words.size());
+        for (int i = 0; i < words.size(); i++) {
+            String key = String.join(" ", words.subList(i, words.size()));
+            if (!keys.contains(key)) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private void insert(String key, Phrase phrase) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int matched = 0;
+        while (matched < key.length()) {
+            char next = key.charAt(matched);
+            Node child = node.children.get(next);
+            if (child == null) {
+                child = new Node(key.substring(matched));
+                node.children.put(next, child);
+                node = child;
+                path.add(node);
+                break;
+            }
+            int common = commonPrefix(child.label, key, matched);
+            if (common < child.label.length()) {
+                // Split the edge: node -> middle -> child
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children.put(child.label.charAt(0), child);
+                middle.top = child.top;
+                node.children.put(next, middle);
+                child = middle;
+            }
+            matched += common;
+            node = child;
+            path.add(node);
+        }
+        node.terminals.add(phrase);
+        recompute(path);
+    }
+
+    private void delete(String key, Phrase phrase) {
+        List<Node> path = find(key);
+        if (path == null) {
+            return;
+        }
+        Node node = path.get(path.size() - 1);
+        node.terminals.remove(phrase);
+        // Prune or merge nodes that no longer branch
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node current = path.get(i);
+            Node parent = path.get(i - 1);
+            if (!current.terminals.isEmpty()) {
+                break;
+            }
+            if (current.children.isEmpty()) {
+                parent.children.remove(current.label.charAt(0));
+                path.remove(i);
+            } else if (current.children.size() == 1) {
+                Node only = current.children.values().iterator().next();
+                only.label = current.label + only.label;
+                parent.children.put(only.label.charAt(0), only);
+                path.set(i, only);
+                break;
+            } else {
+                break;
+            }
+        }
+        recompute(path);
+    }
+
+    private void refresh(String key) {
+        List<Node> path = find(key);
+        if (path != null) {
+            recompute(path);
+        }
+    }
+
+    private List<Node> find(String key) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int matched = 0;
+        while (matched < key.length()) {
+            Node child = node.children.get(key.charAt(matched));
+            if (child == null || !key.startsWith(child.label, matched)) {
+                return null;
+            }
+            matched += child.label.length();
+            node = child;
+            path.add(node);
+        }
+        return path;
+    }
+
+    // Bottom-up, so every node merges its children's fresh lists
+    private void recompute(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            List<Phrase> candidates = new ArrayList<>(node.terminals);
+            for (Node child : node.children.values()) {
+                Collections.addAll(candidates, child.top);
+            }
+            candidates.sort((a, b) -> Double.compare(b.weight, a.weight));
+            Set<Phrase> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            List<Phrase> top = new ArrayList<>(MAX_RESULTS);
+            for (Phrase candidate : candidates) {
+                if (top.size() == MAX_RESULTS) {
+                    break;
+                }
+                if (seen.add(candidate)) {
+                    top.add(candidate);
+                }
+            }
+            node.top = top.toArray(new Phrase[0]);
+        }
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final List<Phrase> terminals = new ArrayList<>(1);
+        private Phrase[] top = new Phrase[0];
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final class Phrase {
+        private final Suggestion suggestion;
+        private final List<String> keys;
+        private double weight;
+
+        private Phrase(Suggestion suggestion, List<String> keys) {
+            this.suggestion = suggestion;
+            this.keys = keys;
+        }
+    }
+}
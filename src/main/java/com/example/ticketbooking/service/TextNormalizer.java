@@ -0,0 +1,67 @@
+package com.example.ticketbooking.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Accent folding and tokenization for search.
+ *
+ * "Atlético", "ATLETICO" and "atletico" all fold to "atletico"; "München"
+ * to "munchen". Letters that Unicode does not decompose (ß, ø, æ, ł, ...)
+ * are mapped by hand.
+ */
+public final class TextNormalizer {
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Lower-cased, accent-free copy of {@code text}.
+     */
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            switch (c) {
+                case 'ß' -> folded.append("ss");
+                case 'æ', 'Æ' -> folded.append("ae");
+                case 'œ', 'Œ' -> folded.append("oe");
+                case 'ø', 'Ø' -> folded.append('o');
+                case 'ł', 'Ł' -> folded.append('l');
+                case 'đ', 'Đ' -> folded.append('d');
+                case 'ı' -> folded.append('i');
+                default -> folded.append(c);
+            }
+        }
+        return folded.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Folded words of {@code text}, split on anything that is not a letter
+     * or digit.
+     */
+    public static List<String> tokens(String text) {
+        String folded = fold(text);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
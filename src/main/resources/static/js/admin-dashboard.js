@@ -11,7 +11,7 @@ const bookingsTableBody = document.getElementById('admin-bookings-tbody');
 const toast = document.getElementById('toast');
 
 // Chart.js instances
-let userRoleChart, bookingStatusChart;
+let userRoleChart, bookingStatusChart, salesChart;
 
 // --- Strict Authentication Check ---
 async function checkAdminAuth() {
@@ -121,7 +121,7 @@ async function loadUsers() {
 
         usersTableBody.innerHTML = '<tr><td colspan="6"><div class="flex items-center justify-center py-4"><div class="animate-spin rounded-full h-6 w-6 border-b-2 border-blue-600"></div><span class="ml-2">Loading users...</span></div></td></tr>';
 
-        const users = await fetchJson(`${API_BASE_URL}/users`);
+        const users = await fetchAllPages(`${API_BASE_URL}/users`);
 
         if (!users) {
             throw new Error('Failed to fetch users data');
@@ -175,7 +175,7 @@ async function loadBookings() {
 
         bookingsTableBody.innerHTML = '<tr><td colspan="5"><div class="flex items-center justify-center py-4"><div class="animate-spin rounded-full h-6 w-6 border-b-2 border-blue-600"></div><span class="ml-2">Loading bookings...</span></div></td></tr>';
 
-        const bookings = await fetchJson(`${API_BASE_URL}/bookings`);
+        const bookings = await fetchAllPages(`${API_BASE_URL}/bookings`);
 
         if (!bookings) {
             throw new Error('Failed to fetch bookings data');
@@ -343,6 +343,63 @@ function renderBookingStatusChart(bookings) {
     }
 }
 
+// --- Chart.js: Sales per time bucket (from the analytics rollups) ---
+async function loadSalesChart() {
+    try {
+        const select = document.getElementById('salesGranularity');
+        const granularity = select ? select.value : 'HOUR';
+        const sales = await fetchJson(`${API_BASE_URL}/analytics/sales?granularity=${granularity}`);
+        if (!sales) return;
+        renderSalesChart(sales);
+    } catch (error) {
+        console.error('Error loading sales chart:', error);
+    }
+}
+
+function renderSalesChart(sales) {
+    const ctx = document.getElementById('salesChart');
+    if (!ctx) return;
+
+    const labels = sales.buckets.map(bucket => {
+        const start = new Date(bucket.start);
+        return sales.granularity === 'DAY'
+            ? start.toLocaleDateString()
+            : start.toLocaleTimeString([], { hour: '2-digit', minute: '2-digit' });
+    });
+
+    if (salesChart) salesChart.destroy();
+
+    salesChart = new Chart(ctx.getContext('2d'), {
+        type: 'bar',
+        data: {
+            labels: labels,
+            datasets: [{
+                label: 'Revenue',
+                data: sales.buckets.map(bucket => Number(bucket.revenue)),
+                backgroundColor: '#3b82f6',
+                yAxisID: 'revenue'
+            }, {
+                label: 'Tickets sold',
+                type: 'line',
+                data: sales.buckets.map(bucket => bucket.ticketsSold),
+                borderColor: '#10b981',
+                backgroundColor: '#10b981',
+                tension: 0.3,
+                yAxisID: 'tickets'
+            }]
+        },
+        options: {
+            plugins: { legend: { position: 'bottom' } },
+            scales: {
+                revenue: { type: 'linear', position: 'left', beginAtZero: true },
+                tickets: { type: 'linear', position: 'right', beginAtZero: true, grid: { drawOnChartArea: false } }
+            },
+            responsive: true,
+            maintainAspectRatio: false
+        }
+    });
+}
+
 // --- Delete User ---
 async function deleteUser(userId) {
     if (!confirm('Are you sure you want to delete this user? This action cannot be undone.')) return;
@@ -431,6 +488,28 @@ function showToast(message, isError = false) {
 
 // --- Helper: Fetch JSON with better error handling ---
 async function fetchJson(url) {
+    const page = await fetchJsonPage(url);
+    return page ? page.data : null;
+}
+
+// --- Helper: Fetch every page of a list that follows X-Next-Cursor ---
+const LIST_PAGE_SIZE = 500;
+
+async function fetchAllPages(url) {
+    const rows = [];
+    let cursor = null;
+    do {
+        let pageUrl = `${url}?limit=${LIST_PAGE_SIZE}`;
+        if (cursor) pageUrl += `&cursor=${encodeURIComponent(cursor)}`;
+        const page = await fetchJsonPage(pageUrl);
+        if (!page) return null;
+        rows.push(...(page.data || []));
+        cursor = page.next;
+    } while (cursor);
+    return rows;
+}
+
+async function fetchJsonPage(url) {
     try {
         const token = localStorage.getItem('accessToken');
         console.log('Fetching:', url);
@@ -458,7 +537,7 @@ async function fetchJson(url) {
 
         const data = await response.json();
         console.log('Response data:', data);
-        return data;
+        return { data, next: response.headers.get('X-Next-Cursor') };
 
     } catch (error) {
         console.error('fetchJson error:', error);
@@ -474,7 +553,7 @@ async function fetchJson(url) {
 async function refreshAllData() {
     try {
         showToast('Refreshing data...', false);
-        await Promise.all([loadStats(), loadUsers(), loadBookings()]);
+        await Promise.all([loadStats(), loadUsers(), loadBookings(), loadSalesChart()]);
         showToast('Data refreshed successfully!');
     } catch (error) {
         console.error('Error refreshing data:', error);
@@ -495,9 +574,13 @@ async function initAdminDashboard() {
         await Promise.all([
             loadStats(),
             loadUsers(),
-            loadBookings()
+            loadBookings(),
+            loadSalesChart()
         ]);
 
+        const salesGranularity = document.getElementById('salesGranularity');
+        if (salesGranularity) salesGranularity.addEventListener('change', loadSalesChart);
+
         console.log('Admin dashboard initialized successfully');
 
         // Set up auto-refresh every 5 minutes
@@ -18,6 +18,8 @@ const totalPrice = document.getElementById('total-price');
 const decreaseTickets = document.getElementById('decrease-tickets');
 const increaseTickets = document.getElementById('increase-tickets');
 const confirmBooking = document.getElementById('confirm-booking');
+const seatSectionPicker = document.getElementById('seat-section-picker');
+const seatSectionSelect = document.getElementById('seat-section');
 
 // Admin slide panel (should exist on admin dashboard)
 const adminPanel = document.getElementById('admin-slide-panel');
@@ -26,6 +28,7 @@ const adminPanel = document.getElementById('admin-slide-panel');
 let allEvents = [];
 let selectedEvent = null;
 let currentTicketCount = 1;
+let selectedSeatMap = null;
 
 // Initialize the page
 document.addEventListener('DOMContentLoaded', function () {
@@ -130,17 +133,31 @@ function handleLogout() {
 }
 
 /* --------------------- Load & Render Events --------------------- */
+// GET /events is paginated: follow X-Next-Cursor until the whole catalogue is loaded
+const EVENTS_PAGE_SIZE = 500;
+
+async function fetchAllEvents() {
+    const events = [];
+    let cursor = null;
+    do {
+        let url = `${API_BASE_URL}/events?limit=${EVENTS_PAGE_SIZE}`;
+        if (cursor) url += `&cursor=${encodeURIComponent(cursor)}`;
+        const response = await fetch(url);
+        if (!response.ok) throw new Error('Failed to fetch events');
+        events.push(...((await response.json()) || []));
+        cursor = response.headers.get('X-Next-Cursor');
+    } while (cursor);
+    return events;
+}
+
 async function loadEvents() {
     try {
         showLoading();
 
-        const response = await fetch(`${API_BASE_URL}/events`);
-        if (!response.ok) throw new Error('Failed to fetch events');
-
-        const events = await response.json();
-        allEvents = events || [];
+        allEvents = await fetchAllEvents();
 
         displayEvents(allEvents);
+        watchAvailability(allEvents);
         hideLoading();
 
     } catch (error) {
@@ -237,7 +254,7 @@ function displayEvents(events) {
                     <svg class="w-4 h-4 mr-2" fill="none" stroke="currentColor" viewBox="0 0 24 24">
                         <path stroke-linecap="round" stroke-linejoin="round" stroke-width="2" d="M16 7a4 4 0 11-8 0 4 4 0 018 0zM12 14a7 7 0 00-7 7h14a7 7 0 00-7-7z"></path>
                     </svg>
-                    ${Number(event.totalSeats || 0).toLocaleString()} seats available
+                    ${seatsAvailable(event)} seats available
                 </div>
             </div>
            
@@ -325,6 +342,7 @@ function selectEvent(eventId) {
 
     updateEventSelection();
     updateBookingSummary();
+    loadSeatMap(event.id);
     // Re-render selection highlight without re-fetching
     // (we could re-render, but updateEventSelection manipulates DOM)
 }
@@ -364,6 +382,125 @@ function updateTicketCount() {
     ticketCount.textContent = currentTicketCount;
     const total = parseFloat(selectedEvent.price) * currentTicketCount;
     totalPrice.textContent = `Rp ${new Intl.NumberFormat('id-ID').format(total)}`;
+    renderSeatSections();
+}
+
+/* --------------------- Live seat availability (SSE) --------------------- */
+// Seat counts pushed by GET /api/events/availability/stream; falls back to totalSeats
+const liveAvailability = new Map();
+let availabilityStream = null;
+let watchedEventIds = '';
+
+function watchAvailability(events) {
+    const ids = (events || []).slice(0, 500).map(event => event.id).join(',');
+    if (!window.EventSource || ids === watchedEventIds) return;
+    if (availabilityStream) availabilityStream.close();
+    watchedEventIds = ids;
+    availabilityStream = null;
+    if (!ids) return;
+    availabilityStream = new EventSource(`${API_BASE_URL}/events/availability/stream?eventIds=${ids}`);
+    availabilityStream.addEventListener('availability', message => {
+        JSON.parse(message.data).forEach(({ eventId, availableSeats }) => {
+            liveAvailability.set(eventId, availableSeats);
+            document.querySelectorAll(`[data-available-seats="${eventId}"]`).forEach(element => {
+                element.textContent = Number(availableSeats).toLocaleString();
+            });
+        });
+    });
+}
+
+function seatsAvailable(event) {
+    const seats = liveAvailability.has(event.id) ? liveAvailability.get(event.id) : event.totalSeats;
+    return `<span data-available-seats="${event.id}">${Number(seats || 0).toLocaleString()}</span>`;
+}
+
+/* --------------------- Seat map (seat-mapped events only) --------------------- */
+async function loadSeatMap(eventId) {
+    selectedSeatMap = null;
+    renderSeatSections();
+    try {
+        const response = await fetch(`${API_BASE_URL}/events/${eventId}/seat-map`);
+        if (!response.ok) return; // general admission
+        const sections = decodeSeatMap(await response.arrayBuffer());
+        if (selectedEvent && selectedEvent.id === eventId) {
+            selectedSeatMap = sections;
+            renderSeatSections();
+        }
+    } catch (error) {
+        console.error('Error loading seat map:', error);
+    }
+}
+
+// Decodes the run-length snapshot served by GET /api/events/{id}/seat-map
+function decodeSeatMap(buffer) {
+    const view = new DataView(buffer);
+    const decoder = new TextDecoder();
+    let offset = 0;
+    const readVarInt = () => {
+        let result = 0, shift = 0, b;
+        do {
+            b = view.getUint8(offset++);
+            result |= (b & 0x7f) << shift;
+            shift += 7;
+        } while (b & 0x80);
+        return result;
+    };
+    const readUtf = () => {
+        const length = view.getUint16(offset);
+        offset += 2;
+        const text = decoder.decode(new Uint8Array(buffer, offset, length));
+        offset += length;
+        return text;
+    };
+
+    const version = view.getUint8(offset++);
+    if (version !== 1) throw new Error('Unsupported seat map version ' + version);
+    const sectionCount = view.getInt32(offset);
+    offset += 4;
+    const sections = [];
+    for (let i = 0; i < sectionCount; i++) {
+        const id = Number(view.getBigInt64(offset));
+        offset += 8;
+        const stand = readUtf();
+        const code = readUtf();
+        const rows = view.getUint16(offset);
+        const seatsPerRow = view.getUint16(offset + 2);
+        const free = view.getInt32(offset + 4);
+        offset += 8;
+        // Runs alternate free/taken, starting with free
+        const rowRuns = [];
+        let longestRun = 0;
+        for (let r = 0; r < rows; r++) {
+            const runCount = readVarInt();
+            const runs = [];
+            for (let k = 0; k < runCount; k++) {
+                const run = readVarInt();
+                runs.push(run);
+                if (k % 2 === 0) longestRun = Math.max(longestRun, run);
+            }
+            rowRuns.push(runs);
+        }
+        sections.push({ id, stand, code, rows, seatsPerRow, free, longestRun, rowRuns });
+    }
+    return sections;
+}
+
+function renderSeatSections() {
+    if (!seatSectionPicker || !seatSectionSelect) return;
+    if (!selectedSeatMap) {
+        seatSectionPicker.classList.add('hidden');
+        seatSectionSelect.innerHTML = '';
+        return;
+    }
+    const previous = seatSectionSelect.value;
+    seatSectionSelect.innerHTML = '<option value="">Best available</option>' + selectedSeatMap.map(section => {
+        const fits = section.longestRun >= currentTicketCount;
+        return `<option value="${section.id}" ${fits ? '' : 'disabled'}>
+            ${escapeHtml(section.stand)} ${escapeHtml(section.code)} (${section.free} free)</option>`;
+    }).join('');
+    const stillValid = selectedSeatMap.some(s => String(s.id) === previous && s.longestRun >= currentTicketCount);
+    seatSectionSelect.value = stillValid ? previous : '';
+    seatSectionPicker.classList.remove('hidden');
 }
 
 /* --------------------- Ticket controls & Confirm --------------------- */
@@ -445,17 +582,37 @@ async function handleConfirmBooking() {
 
         const bookingData = {
             eventId: selectedEvent.id,
-            numberOfTickets: currentTicketCount
+            numberOfTickets: currentTicketCount,
+            sectionId: seatSectionSelect && seatSectionSelect.value ? Number(seatSectionSelect.value) : null
         };
 
-        const response = await fetch(`${API_BASE_URL}/bookings?userId=${userId}`, {
-            method: 'POST',
-            headers: {
-                'Authorization': `Bearer ${token}`,
-                'Content-Type': 'application/json'
-            },
-            body: JSON.stringify(bookingData)
-        });
+        // One key per confirm click, so a retried request cannot book twice
+        const idempotencyKey = crypto.randomUUID();
+        const postBooking = async (queueTicket) => {
+            for (let attempt = 0; ; attempt++) {
+                const res = await fetch(`${API_BASE_URL}/bookings?userId=${userId}`, {
+                    method: 'POST',
+                    headers: {
+                        'Authorization': `Bearer ${token}`,
+                        'Content-Type': 'application/json',
+                        'Idempotency-Key': idempotencyKey,
+                        ...(queueTicket ? { 'X-Queue-Ticket': queueTicket } : {})
+                    },
+                    body: JSON.stringify(bookingData)
+                });
+                // Server is shedding load: back off as told (same key, so retrying is safe)
+                if (res.status !== 503 || attempt >= 4) return res;
+                const retryAfter = Number(res.headers.get('Retry-After')) || 1;
+                await new Promise(resolve => setTimeout(resolve, retryAfter * 1000 * (1 + Math.random())));
+            }
+        };
+
+        let response = await postBooking();
+        if (response.status === 403) {
+            // Waiting room is active for this match: queue up, then retry once admitted
+            const queueTicket = await waitForAdmission(selectedEvent.id);
+            if (queueTicket) response = await postBooking(queueTicket);
+        }
 
         if (!response.ok) {
             const errText = await response.text().catch(() => '');
@@ -463,6 +620,16 @@ async function handleConfirmBooking() {
         }
 
         const booking = await response.json();
+        if (booking.seats) showToast(`Your seats: ${booking.seats}`, 'info');
+
+        // The Snap token is created in the background; poll until it is ready
+        if (!booking.snapToken) {
+            const tokenStatus = await waitForSnapToken(booking.bookingReference, token);
+            if (tokenStatus) {
+                booking.snapToken = tokenStatus.snapToken;
+                booking.redirectUrl = tokenStatus.redirectUrl;
+            }
+        }
 
         // Check if we got a Snap token for Midtrans payment
         if (booking.snapToken) {
@@ -537,6 +704,44 @@ async function handleConfirmBooking() {
     }
 }
 
+/* Poll for the Midtrans Snap token of a new booking (null if it failed or timed out) */
+async function waitForSnapToken(bookingReference, token) {
+    const deadline = Date.now() + 20000;
+    let delayMs = 250;
+    while (Date.now() < deadline) {
+        const response = await fetch(`${API_BASE_URL}/payments/token/${encodeURIComponent(bookingReference)}`, {
+            headers: { 'Authorization': `Bearer ${token}` }
+        });
+        if (!response.ok) return null;
+        const status = await response.json();
+        if (status.status === 'READY') return status;
+        if (status.status === 'FAILED') return null;
+        await new Promise(resolve => setTimeout(resolve, delayMs));
+        delayMs = Math.min(2000, delayMs * 2);
+    }
+    return null;
+}
+
+/* Waiting room: join the event queue and poll until admitted */
+async function waitForAdmission(eventId) {
+    const joinResponse = await fetch(`${API_BASE_URL}/queue/${eventId}/join`, { method: 'POST' });
+    if (!joinResponse.ok) return null;
+    const joined = await joinResponse.json();
+    if (!joined.ticket) return null;
+
+    let status = joined;
+    while (!status.admitted) {
+        showToast(`You are in the queue. Fans ahead of you: ${status.position}`, 'info');
+        const waitMs = Math.min(5000, Math.max(1000, status.estimatedWaitSeconds * 500));
+        await new Promise(resolve => setTimeout(resolve, waitMs));
+        const positionResponse = await fetch(
+            `${API_BASE_URL}/queue/${eventId}/position?ticket=${encodeURIComponent(joined.ticket)}`);
+        if (!positionResponse.ok) return null;
+        status = await positionResponse.json();
+    }
+    return joined.ticket;
+}
+
 /* Initialize Midtrans Snap client key */
 async function initMidtransSnap() {
     try {
@@ -280,17 +280,28 @@ async function loadBookings() {
     }
 }
 
+// GET /events is paginated: follow X-Next-Cursor until the whole catalogue is loaded
+const EVENTS_PAGE_SIZE = 500;
+
+async function fetchAllEvents() {
+    const events = [];
+    let cursor = null;
+    do {
+        let url = `${API_BASE_URL}/events?limit=${EVENTS_PAGE_SIZE}`;
+        if (cursor) url += `&cursor=${encodeURIComponent(cursor)}`;
+        const response = await fetch(url);
+        if (!response.ok) throw new Error('Failed to fetch events');
+        events.push(...((await response.json()) || []));
+        cursor = response.headers.get('X-Next-Cursor');
+    } while (cursor);
+    return events;
+}
+
 async function loadBookingEvents() {
     try {
         showBookingLoading();
 
-        const response = await fetch(`${API_BASE_URL}/events`);
-
-        if (!response.ok) {
-            throw new Error('Failed to fetch events');
-        }
-
-        const events = await response.json();
+        const events = await fetchAllEvents();
         allEvents = events;
 
         displayBookingEvents(events);
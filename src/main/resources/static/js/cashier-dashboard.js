@@ -31,11 +31,14 @@ document.addEventListener('DOMContentLoaded', function() {
     document.getElementById('status-filter').addEventListener('change', handleSearch);
 });
 
-function loadBookings() {
-    console.log('Loading real bookings from database...');
-    
-    const token = localStorage.getItem('accessToken') || localStorage.getItem('jwtToken');
-    fetch('/api/cashier/dashboard/bookings', {
+// The list is paginated (newest first): follow X-Next-Cursor up to MAX_DASHBOARD_BOOKINGS
+const BOOKINGS_PAGE_SIZE = 500;
+const MAX_DASHBOARD_BOOKINGS = 5000;
+
+function fetchBookingPages(token, cursor, collected) {
+    let url = `/api/cashier/dashboard/bookings?limit=${BOOKINGS_PAGE_SIZE}`;
+    if (cursor) url += `&cursor=${encodeURIComponent(cursor)}`;
+    return fetch(url, {
         headers: {
             'Content-Type': 'application/json',
             ...(token ? { 'Authorization': `Bearer ${token}` } : {})
@@ -51,8 +54,22 @@ function loadBookings() {
         if (!response.ok) {
             throw new Error('Failed to fetch bookings. Status: ' + response.status);
         }
-        return response.json();
-    })
+        const next = response.headers.get('X-Next-Cursor');
+        return response.json().then(page => {
+            const bookings = collected.concat(page || []);
+            if (next && bookings.length < MAX_DASHBOARD_BOOKINGS) {
+                return fetchBookingPages(token, next, bookings);
+            }
+            return bookings;
+        });
+    });
+}
+
+function loadBookings() {
+    console.log('Loading real bookings from database...');
+    
+    const token = localStorage.getItem('accessToken') || localStorage.getItem('jwtToken');
+    fetchBookingPages(token, null, [])
     .then(bookings => {
         console.log('Real bookings received:', bookings);
         
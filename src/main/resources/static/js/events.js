@@ -209,15 +209,44 @@ function getStaticLeagues() {
         "champions": { name: "Champions League", country: "Europe", color: "gold" }
     };
 }
+// GET /events is paginated: follow X-Next-Cursor until the whole catalogue is loaded
+const EVENTS_PAGE_SIZE = 500;
+
+async function fetchAllEvents() {
+    const events = [];
+    let cursor = null;
+    do {
+        let url = `${API_BASE_URL}/events?limit=${EVENTS_PAGE_SIZE}`;
+        if (cursor) url += `&cursor=${encodeURIComponent(cursor)}`;
+        const response = await fetch(url);
+        if (!response.ok) throw new Error('Failed to fetch events');
+        events.push(...((await response.json()) || []));
+        cursor = response.headers.get('X-Next-Cursor');
+    } while (cursor);
+    return events;
+}
+
+// /events/search and /events/league return one page of at most EVENTS_PAGE_SIZE: read pages until a short one
+async function fetchEventPages(url) {
+    const base = url.replace(/[?&]$/, '');
+    const separator = base.includes('?') ? '&' : '?';
+    const events = [];
+    for (let page = 0; ; page++) {
+        const response = await fetch(`${base}${separator}page=${page}&size=${EVENTS_PAGE_SIZE}`);
+        if (!response.ok) throw new Error(`Failed to fetch events: HTTP ${response.status}`);
+        const rows = (await response.json()) || [];
+        events.push(...rows);
+        if (rows.length < EVENTS_PAGE_SIZE) return events;
+    }
+}
+
 async function loadAllEvents() {
     try {
         showLoading();
 
-        const response = await fetch(`${API_BASE_URL}/events`);
-        if (!response.ok) throw new Error('Failed to fetch events');
-
-        const events = await response.json();
+        const events = await fetchAllEvents();
         displayEvents(events);
+        watchAvailability(events);
 
         hideLoading();
     } catch (error) {
@@ -307,7 +336,7 @@ function displayEvents(events) {
                         <svg class="w-4 h-4 mr-2" fill="none" stroke="currentColor" viewBox="0 0 24 24">
                             <path stroke-linecap="round" stroke-linejoin="round" stroke-width="2" d="M16 7a4 4 0 11-8 0 4 4 0 018 0zM12 14a7 7 0 00-7 7h14a7 7 0 00-7-7z"></path>
                         </svg>
-                        ${event.totalSeats.toLocaleString()} seats available
+                        ${seatsAvailable(event)} seats available
                     </div>
                 </div>
                
@@ -336,6 +365,35 @@ function displayEvents(events) {
         </div>
     `).join('');
 }
+/* --------------------- Live seat availability (SSE) --------------------- */
+// Seat counts pushed by GET /api/events/availability/stream; falls back to totalSeats
+const liveAvailability = new Map();
+let availabilityStream = null;
+let watchedEventIds = '';
+
+function watchAvailability(events) {
+    const ids = (events || []).slice(0, 500).map(event => event.id).join(',');
+    if (!window.EventSource || ids === watchedEventIds) return;
+    if (availabilityStream) availabilityStream.close();
+    watchedEventIds = ids;
+    availabilityStream = null;
+    if (!ids) return;
+    availabilityStream = new EventSource(`${API_BASE_URL}/events/availability/stream?eventIds=${ids}`);
+    availabilityStream.addEventListener('availability', message => {
+        JSON.parse(message.data).forEach(({ eventId, availableSeats }) => {
+            liveAvailability.set(eventId, availableSeats);
+            document.querySelectorAll(`[data-available-seats="${eventId}"]`).forEach(element => {
+                element.textContent = Number(availableSeats).toLocaleString();
+            });
+        });
+    });
+}
+
+function seatsAvailable(event) {
+    const seats = liveAvailability.has(event.id) ? liveAvailability.get(event.id) : event.totalSeats;
+    return `<span data-available-seats="${event.id}">${Number(seats || 0).toLocaleString()}</span>`;
+}
+
 function setupEventListeners() {
     // Search functionality
     if (searchBtn) {
@@ -385,16 +443,9 @@ async function handleSearch() {
         if (league) url += `league=${encodeURIComponent(league)}&`;
         if (date) url += `date=${encodeURIComponent(date)}&`;
 
-        // Remove trailing '&' if present
-        if (url.endsWith('&')) {
-            url = url.slice(0, -1);
-        }
-
-        const response = await fetch(url);
-        if (!response.ok) throw new Error(`Failed to search events: ${response.status}`);
-
-        const events = await response.json();
+        const events = await fetchEventPages(url);
         displayEvents(events);
+        watchAvailability(events);
 
         hideLoading();
     } catch (error) {
@@ -606,37 +657,66 @@ function detectLeagueFromKeywords(title, venue) {
     }
     return 'Football Match';
 }
-// Team list for autocomplete from teamToLeagueMap
+// Team list for autocomplete when the suggest endpoint is unreachable
 const teams = Object.keys(teamToLeagueMap).map(team => team.charAt(0).toUpperCase() + team.slice(1));
+async function fetchSuggestions(value) {
+    try {
+        const response = await fetch(`${API_BASE_URL}/events/suggest?q=${encodeURIComponent(value)}&limit=8`);
+        if (!response.ok) throw new Error('Failed to fetch suggestions');
+        return await response.json();
+    } catch (error) {
+        return teams.filter(team => team.toLowerCase().includes(value.toLowerCase()))
+            .map(team => ({ text: team, type: 'team', eventId: null }));
+    }
+}
 // Setup autocomplete
 function setupAutocomplete() {
     const searchInput = document.getElementById('search-input');
     const autocompleteDropdown = document.getElementById('autocomplete-dropdown');
     if (!searchInput || !autocompleteDropdown) return;
+    let debounceTimer = null;
+    let latestRequest = 0;
     searchInput.addEventListener('input', function () {
-        const value = this.value.toLowerCase().trim();
-        autocompleteDropdown.innerHTML = '';
+        const value = this.value.trim();
+        clearTimeout(debounceTimer);
         if (!value) {
+            autocompleteDropdown.innerHTML = '';
             autocompleteDropdown.classList.add('hidden');
             return;
         }
-        const suggestions = teams.filter(team => team.toLowerCase().includes(value));
-        if (suggestions.length === 0) {
-            autocompleteDropdown.classList.add('hidden');
-            return;
-        }
-        suggestions.forEach(suggestion => {
-            const div = document.createElement('div');
-            div.className = 'px-4 py-2 text-gray-800 hover:bg-blue-100 cursor-pointer';
-            div.textContent = suggestion;
-            div.addEventListener('click', () => {
-                searchInput.value = suggestion;
+        debounceTimer = setTimeout(async () => {
+            const request = ++latestRequest;
+            const suggestions = await fetchSuggestions(value);
+            // A slower answer to an older keystroke must not overwrite a newer one
+            if (request !== latestRequest) return;
+            autocompleteDropdown.innerHTML = '';
+            if (suggestions.length === 0) {
                 autocompleteDropdown.classList.add('hidden');
-                handleSearch();
+                return;
+            }
+            suggestions.forEach(suggestion => {
+                const div = document.createElement('div');
+                div.className = 'px-4 py-2 text-gray-800 hover:bg-blue-100 cursor-pointer flex justify-between';
+                const text = document.createElement('span');
+                text.textContent = suggestion.text;
+                const type = document.createElement('span');
+                type.className = 'text-xs text-gray-500 capitalize';
+                type.textContent = suggestion.type;
+                div.appendChild(text);
+                div.appendChild(type);
+                div.addEventListener('click', () => {
+                    autocompleteDropdown.classList.add('hidden');
+                    if (suggestion.eventId) {
+                        showEventDetailsModal(suggestion.eventId);
+                        return;
+                    }
+                    searchInput.value = suggestion.text;
+                    handleSearch();
+                });
+                autocompleteDropdown.appendChild(div);
             });
-            autocompleteDropdown.appendChild(div);
-        });
-        autocompleteDropdown.classList.remove('hidden');
+            autocompleteDropdown.classList.remove('hidden');
+        }, 120);
     });
     // Close dropdown when clicking outside
     document.addEventListener('click', function (e) {
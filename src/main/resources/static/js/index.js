@@ -693,11 +693,7 @@ async function handleSearch() {
         if (team) url += `team=${encodeURIComponent(team)}&`;
         if (date) url += `date=${encodeURIComponent(date)}&`;
 
-        const response = await fetch(url);
-        if (!response.ok) throw new Error(`Search failed: HTTP ${response.status} - ${response.statusText}`);
-
-        const events = await response.json();
-        if (!Array.isArray(events)) throw new Error('Invalid data format from server');
+        const events = await fetchEventPages(url);
 
         if (events.length === 0) {
             showToast('No matches found for your search criteria', 'info');
@@ -716,6 +712,23 @@ async function handleSearch() {
     }
 }
 
+// /events/search and /events/league return one page at a time: read pages until a short one
+const EVENTS_PAGE_SIZE = 500;
+
+async function fetchEventPages(url) {
+    const base = url.replace(/[?&]$/, '');
+    const separator = base.includes('?') ? '&' : '?';
+    const events = [];
+    for (let page = 0; ; page++) {
+        const response = await fetch(`${base}${separator}page=${page}&size=${EVENTS_PAGE_SIZE}`);
+        if (!response.ok) throw new Error(`HTTP ${response.status} - ${response.statusText}`);
+        const rows = (await response.json()) || [];
+        if (!Array.isArray(rows)) throw new Error('Invalid data format from server');
+        events.push(...rows);
+        if (rows.length < EVENTS_PAGE_SIZE) return events;
+    }
+}
+
 // Enhanced Buy Tickets functionality
 function handleBuyTickets(eventId, eventTitle) {
     // Check if user is authenticated using sessionStorage
@@ -1169,10 +1182,7 @@ async function handleLeagueChange() {
     showLoadingSpinner(teamSelect?.parentElement || document.body, 'Loading teams...');
 
     try {
-        const response = await fetch(`${API_BASE_URL}/events/league/${selectedLeague}`);
-        if (!response.ok) throw new Error('Failed to fetch league events');
-
-        const events = await response.json();
+        const events = await fetchEventPages(`${API_BASE_URL}/events/league/${selectedLeague}`);
         updateTeamSelect(events);
         showToast(`Loaded teams for ${selectedLeague.replace('-', ' ')}`, 'success');
     } catch (error) {
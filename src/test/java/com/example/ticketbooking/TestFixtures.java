@@ -0,0 +1,79 @@
+package com.example.ticketbooking;
+
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.entity.User;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.EventRepository;
+import com.example.ticketbooking.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Users, events and bookings for tests. Names carry a nanosecond suffix, so
+ * tests sharing a context never collide.
+ */
+public class TestFixtures {
+
+	public static final BigDecimal PRICE = new BigDecimal("100000.00");
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	public User createUser(String prefix) {
+		User user = new User();
+		user.setUsername(prefix + "-" + System.nanoTime());
+		user.setEmail(user.getUsername() + "@example.com");
+		user.setRole("USER");
+		return userRepository.save(user);
+	}
+
+	/**
+	 * An event on sale, 30 days out, at {@link #PRICE} per ticket.
+	 */
+	public Event createEvent(String title, int seats) {
+		return createEvent(title, seats, LocalDateTime.now().plusDays(30));
+	}
+
+	public Event createEvent(String title, int seats, LocalDateTime eventDate) {
+		Event event = new Event();
+		event.setTitle(title);
+		event.setVenue("Test Stadium");
+		event.setEventDate(eventDate);
+		event.setTotalSeats(seats);
+		event.setAvailableSeats(seats);
+		event.setPrice(PRICE);
+		return eventRepository.save(event);
+	}
+
+	/**
+	 * Saves a booking as is: no seats are taken and nothing else is told.
+	 */
+	public Booking createBooking(User user, Event event, Booking.BookingStatus status, int tickets,
+			LocalDateTime bookingDate) {
+		Booking booking = new Booking();
+		booking.setUser(user);
+		booking.setEvent(event);
+		booking.setNumberOfTickets(tickets);
+		booking.setTotalAmount(event.getPrice().multiply(BigDecimal.valueOf(tickets)));
+		booking.setStatus(status);
+		booking.setBookingReference("TF" + System.nanoTime());
+		booking.setBookingDate(bookingDate);
+		return bookingRepository.save(booking);
+	}
+
+	/**
+	 * One ticket for a new buyer, booked now.
+	 */
+	public Booking createBooking(Event event, Booking.BookingStatus status) {
+		return createBooking(createUser("buyer"), event, status, 1, LocalDateTime.now());
+	}
+}
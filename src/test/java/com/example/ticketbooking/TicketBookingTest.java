@@ -0,0 +1,34 @@
+package com.example.ticketbooking;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Full application context with test credentials and {@link TestFixtures};
+ * {@link #properties()} adds or overrides settings for one test class.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@SpringBootTest
+@TestPropertySource(properties = {
+		"midtrans.server-key=test-server-key",
+		"midtrans.client-key=test-client-key",
+		"app.google.client-id=test-client-id",
+		"spring.jpa.show-sql=false" })
+@Import(TestFixtures.class)
+public @interface TicketBookingTest {
+
+	@AliasFor(annotation = SpringBootTest.class, attribute = "properties")
+	String[] properties() default {};
+}
@@ -0,0 +1,51 @@
+package com.example.ticketbooking.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CursorPageTests {
+
+	@Test
+	void cursorsRoundTripAndRejectGarbage() {
+		PageCursor cursor = new PageCursor("2026-11-01T20:00:00.123|x", 42);
+		PageCursor decoded = PageCursor.decode(cursor.encode());
+		assertThat(decoded.sortKey()).isEqualTo("2026-11-01T20:00:00.123|x");
+		assertThat(decoded.id()).isEqualTo(42L);
+		assertThat(cursor.encode().contains("|")).isFalse();
+
+		for (String garbage : List.of("not base64!", "bm8tc2VwYXJhdG9y", "YWJjfHh5eg")) {
+			String error = null;
+			try {
+				PageCursor.decode(garbage);
+			} catch (IllegalArgumentException e) {
+				error = e.getMessage();
+			}
+			assertThat(error).isEqualTo("Invalid cursor");
+		}
+	}
+
+	@Test
+	void onlyAFullPageHasANextCursor() {
+		List<Long> rows = List.of(1L, 2L, 3L, 4L);
+		CursorPage<String> full = CursorPage.of(rows, 3, id -> new PageCursor("", id), id -> "event-" + id);
+		assertThat(full.items()).containsExactly("event-1", "event-2", "event-3");
+		assertThat(PageCursor.decode(full.nextCursor()).id()).isEqualTo(3L);
+		assertThat(full.toResponse().getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER))
+				.isEqualTo(full.nextCursor());
+
+		CursorPage<String> last = CursorPage.of(rows.subList(0, 3), 3, id -> new PageCursor("", id), id -> "e" + id);
+		assertThat(last.items()).hasSize(3);
+		assertThat(last.nextCursor()).isNull();
+		assertThat(last.toResponse().getHeaders().containsKey(CursorPage.NEXT_CURSOR_HEADER)).isFalse();
+	}
+
+	@Test
+	void limitsAreCapped() {
+		assertThat(PageCursor.limit(0)).isEqualTo(1);
+		assertThat(PageCursor.limit(50)).isEqualTo(50);
+		assertThat(PageCursor.limit(100_000)).isEqualTo(PageCursor.MAX_LIMIT);
+	}
+}
@@ -0,0 +1,39 @@
+package com.example.ticketbooking.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdminAuditInterceptorTests {
+
+	private static final String PROXY = "10.0.0.2";
+
+	private final AdminAuditInterceptor interceptor = new AdminAuditInterceptor(null, Set.of(PROXY, "10.0.0.3"));
+
+	@Test
+	void forwardedForIsIgnoredFromUntrustedPeers() {
+		assertThat(interceptor.getClientIpAddress(request("203.0.113.9", "1.2.3.4"))).isEqualTo("203.0.113.9");
+		assertThat(interceptor.getClientIpAddress(request("203.0.113.9", null))).isEqualTo("203.0.113.9");
+	}
+
+	@Test
+	void behindTrustedProxiesTheLastUntrustedHopIsTheClient() {
+		assertThat(interceptor.getClientIpAddress(request(PROXY, "198.51.100.7"))).isEqualTo("198.51.100.7");
+		// The client forged the first entry; our proxies appended the rest
+		assertThat(interceptor.getClientIpAddress(request(PROXY, "1.2.3.4, 198.51.100.7, 10.0.0.3")))
+				.isEqualTo("198.51.100.7");
+		assertThat(interceptor.getClientIpAddress(request(PROXY, null))).isEqualTo(PROXY);
+	}
+
+	private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/admin/events");
+		request.setRemoteAddr(remoteAddr);
+		if (forwardedFor != null) {
+			request.addHeader("X-Forwarded-For", forwardedFor);
+		}
+		return request;
+	}
+}
@@ -0,0 +1,126 @@
+package com.example.ticketbooking.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTests {
+
+	private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+	@Test
+	void requestsOverTheLimitAreShedWithRetryAfter() throws Exception {
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(true, 2, 1, 10, 100, 3);
+		CountDownLatch entered = new CountDownLatch(2);
+		CountDownLatch finish = new CountDownLatch(1);
+		FilterChain slow = (request, response) -> {
+			entered.countDown();
+			try {
+				finish.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		List<Future<MockHttpServletResponse>> running = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			running.add(pool.submit(() -> send(filter, "POST", "/api/bookings", slow)));
+		}
+		assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+		MockHttpServletResponse shed = send(filter, "POST", "/api/bookings", ok());
+		assertThat(shed.getStatus()).isEqualTo(503);
+		assertThat(shed.getHeader("Retry-After")).isEqualTo("3");
+
+		// Other route groups have their own limit; other paths are not limited at all
+		assertThat(send(filter, "POST", "/api/auth/login", ok()).getStatus()).isEqualTo(200);
+		assertThat(send(filter, "GET", "/api/events", ok()).getStatus()).isEqualTo(200);
+
+		finish.countDown();
+		for (Future<MockHttpServletResponse> response : running) {
+			assertThat(response.get().getStatus()).isEqualTo(200);
+		}
+		pool.shutdown();
+		assertThat(send(filter, "POST", "/api/bookings", ok()).getStatus()).isEqualTo(200);
+
+		@SuppressWarnings("unchecked")
+		Map<String, Object> bookings = (Map<String, Object>) filter.getMetrics().get("bookings");
+		assertThat(bookings.get("rejected")).isEqualTo(1L);
+		assertThat(bookings.get("accepted")).isEqualTo(3L);
+		assertThat(bookings.get("inFlight")).isEqualTo(0);
+	}
+
+	@Test
+	void limitGrowsWhileLatencyHoldsAndShrinksWhenItClimbs() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("bookings", 20, 4, 200, 100);
+		long now = System.nanoTime();
+		for (int window = 0; window < 50; window++) {
+			now = window(limiter, now, 10, limiter.getLimit(), false);
+		}
+		int grown = limiter.getLimit();
+		assertThat(grown).isGreaterThan(30);
+
+		// Requests start queueing: ten times the latency
+		for (int window = 0; window < 40; window++) {
+			now = window(limiter, now, 100, limiter.getLimit(), false);
+		}
+		assertThat(limiter.getLimit()).isLessThan(grown / 4);
+	}
+
+	@Test
+	void idleWindowsDoNotRaiseTheLimit() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("auth", 20, 4, 200, 100);
+		long now = System.nanoTime();
+		for (int window = 0; window < 50; window++) {
+			now = window(limiter, now, 10, 2, false);
+		}
+		assertThat(limiter.getLimit()).isEqualTo(20);
+	}
+
+	@Test
+	void serverErrorsBackOff() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("payments", 100, 4, 200, 100);
+		long now = System.nanoTime();
+		for (int window = 0; window < 5; window++) {
+			now = window(limiter, now, 10, 100, true);
+		}
+		// 100 * 0.9^5
+		assertThat(limiter.getLimit()).isEqualTo(59);
+	}
+
+	// Feeds one full sample window and returns the time it ended
+	private long window(AdaptiveConcurrencyLimiter limiter, long start, long rttMs, int inFlight, boolean failed) {
+		long now = start;
+		for (int i = 0; i < 20; i++) {
+			now += WINDOW_NANOS / 20 + 1;
+			limiter.sample(now, TimeUnit.MILLISECONDS.toNanos(rttMs), inFlight, failed && i == 0);
+		}
+		return now;
+	}
+
+	private FilterChain ok() {
+		return (request, response) -> ((HttpServletResponse) response).setStatus(200);
+	}
+
+	private MockHttpServletResponse send(ConcurrencyLimitFilter filter, String method, String path, FilterChain chain)
+			throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, chain);
+		return response;
+	}
+}
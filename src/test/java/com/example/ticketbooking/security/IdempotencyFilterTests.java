@@ -0,0 +1,125 @@
+package com.example.ticketbooking.security;
+
+import com.example.ticketbooking.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTests {
+
+	private IdempotencyFilter filter;
+
+	private final AtomicInteger executions = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		IdempotencyService service = new IdempotencyService(null, null, 100);
+		ReflectionTestUtils.setField(service, "ttlMinutes", 60L);
+		filter = new IdempotencyFilter(service);
+		ReflectionTestUtils.setField(filter, "waitSeconds", 10L);
+	}
+
+	@Test
+	void replayReturnsStoredResponseWithoutRunningAgain() throws Exception {
+		MockHttpServletResponse first = send("key-1", "{\"eventId\":1}", bookingCreated(0));
+		MockHttpServletResponse second = send("key-1", "{\"eventId\":1}", bookingCreated(0));
+
+		assertThat(executions.get()).isEqualTo(1);
+		assertThat(second.getStatus()).isEqualTo(200);
+		assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString());
+		assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+	}
+
+	@Test
+	void concurrentDuplicatesWaitForTheFirstExecution() throws Exception {
+		int duplicates = 16;
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(duplicates);
+		List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+		for (int i = 0; i < duplicates; i++) {
+			responses.add(pool.submit(() -> {
+				start.await();
+				return send("key-2", "{\"eventId\":2}", bookingCreated(200));
+			}));
+		}
+		start.countDown();
+
+		String body = null;
+		for (Future<MockHttpServletResponse> response : responses) {
+			MockHttpServletResponse result = response.get();
+			assertThat(result.getStatus()).isEqualTo(200);
+			if (body == null) {
+				body = result.getContentAsString();
+			}
+			assertThat(result.getContentAsString()).isEqualTo(body);
+		}
+		pool.shutdown();
+		assertThat(executions.get()).isEqualTo(1);
+	}
+
+	@Test
+	void reusingKeyWithDifferentBodyIsRejected() throws Exception {
+		send("key-3", "{\"eventId\":3}", bookingCreated(0));
+		MockHttpServletResponse conflict = send("key-3", "{\"eventId\":4}", bookingCreated(0));
+
+		assertThat(executions.get()).isEqualTo(1);
+		assertThat(conflict.getStatus()).isEqualTo(422);
+	}
+
+	@Test
+	void failedResponsesAreNotRemembered() throws Exception {
+		FilterChain rejected = (request, response) -> {
+			executions.incrementAndGet();
+			((HttpServletResponse) response).setStatus(403);
+		};
+		send("key-4", "{\"eventId\":5}", rejected);
+		MockHttpServletResponse retry = send("key-4", "{\"eventId\":5}", bookingCreated(0));
+
+		assertThat(executions.get()).isEqualTo(2);
+		assertThat(retry.getStatus()).isEqualTo(200);
+		assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+	}
+
+	private FilterChain bookingCreated(long delayMs) {
+		return (request, response) -> {
+			int execution = executions.incrementAndGet();
+			if (delayMs > 0) {
+				try {
+					Thread.sleep(delayMs);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			// Request body must still be readable after the filter fingerprinted it
+			String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+			response.setContentType("application/json");
+			response.getWriter().write("{\"execution\":" + execution + ",\"request\":" + body + "}");
+		};
+	}
+
+	private MockHttpServletResponse send(String key, String body, FilterChain chain) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bookings");
+		request.setQueryString("userId=1");
+		request.addHeader(IdempotencyFilter.HEADER, key);
+		request.setContentType("application/json");
+		request.setContent(body.getBytes(StandardCharsets.UTF_8));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, chain);
+		return response;
+	}
+}
@@ -0,0 +1,13 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.TicketBookingTest;
+
+/**
+ * Same stress run as {@link BookingConcurrencyTests}, with bookings going
+ * through the per-event mailboxes; compare the logged req/s of both runs.
+ */
+@TicketBookingTest(properties = {
+		"app.booking.execution-mode=actor",
+		"logging.level.com.example.ticketbooking=INFO" })
+class ActorBookingConcurrencyTests extends BookingConcurrencyTests {
+}
@@ -0,0 +1,118 @@
+package com.example.ticketbooking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionQueueServiceTests {
+
+	private static final long EVENT_ID = 1L;
+	private static final long TTL_MINUTES = 120;
+	private static final long TTL_MS = TTL_MINUTES * 60_000;
+
+	private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+	private final AdmissionQueueService queue = new AdmissionQueueService("test-secret", TTL_MINUTES, now::get);
+
+	@Test
+	void eventsWithoutAWaitingRoomAdmitEveryone() {
+		assertThat(queue.tryAdmit(EVENT_ID, null)).isTrue();
+		assertThat(queue.join(EVENT_ID).get("admitted")).isEqualTo(true);
+	}
+
+	@Test
+	void ticketsAreAdmittedInJoinOrderAtTheReleaseRate() {
+		queue.configure(EVENT_ID, true, 2);
+		String first = ticket(queue.join(EVENT_ID));
+		String second = ticket(queue.join(EVENT_ID));
+		String third = ticket(queue.join(EVENT_ID));
+		assertThat(queue.tryAdmit(EVENT_ID, first)).isFalse();
+		assertThat(queue.position(EVENT_ID, third).get("position")).isEqualTo(2L);
+
+		tick();
+
+		assertThat(queue.position(EVENT_ID, second).get("admitted")).isEqualTo(true);
+		assertThat(queue.position(EVENT_ID, third).get("position")).isEqualTo(0L);
+		assertThat(queue.position(EVENT_ID, third).get("admitted")).isEqualTo(false);
+		assertThat(queue.tryAdmit(EVENT_ID, first)).isTrue();
+		assertThat(queue.tryAdmit(EVENT_ID, second)).isTrue();
+		assertThat(queue.tryAdmit(EVENT_ID, third)).isFalse();
+	}
+
+	@Test
+	void aTicketBuysOneBookingUnlessItIsGivenBack() {
+		queue.configure(EVENT_ID, true, 10);
+		String ticket = ticket(queue.join(EVENT_ID));
+		tick();
+
+		assertThat(queue.tryAdmit(EVENT_ID, ticket)).isTrue();
+		assertThat(queue.tryAdmit(EVENT_ID, ticket)).isFalse();
+		queue.restore(EVENT_ID, ticket);
+		assertThat(queue.tryAdmit(EVENT_ID, ticket)).isTrue();
+	}
+
+	@Test
+	void forgedAndForeignTicketsAreRejected() {
+		queue.configure(EVENT_ID, true, 10);
+		queue.configure(2L, true, 10);
+		String foreign = ticket(queue.join(2L));
+		String forged = ticket(new AdmissionQueueService("other-secret", TTL_MINUTES, now::get).join(EVENT_ID));
+		tick();
+
+		assertThat(queue.tryAdmit(EVENT_ID, foreign)).isFalse();
+		assertThat(queue.tryAdmit(EVENT_ID, forged)).isFalse();
+		assertThatThrownBy(() -> queue.position(EVENT_ID, forged))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Invalid queue ticket");
+	}
+
+	@Test
+	void ticketsExpireAfterTheirTtl() {
+		queue.configure(EVENT_ID, true, 10);
+		String ticket = ticket(queue.join(EVENT_ID));
+		tick();
+
+		now.addAndGet(TTL_MS + 1);
+
+		assertThatThrownBy(() -> queue.position(EVENT_ID, ticket))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Queue ticket expired");
+		assertThat(queue.tryAdmit(EVENT_ID, ticket)).isFalse();
+	}
+
+	@Test
+	void usedTicketsAreForgottenOnceExpired() {
+		queue.configure(EVENT_ID, true, 10);
+		String first = ticket(queue.join(EVENT_ID));
+		tick();
+		assertThat(queue.tryAdmit(EVENT_ID, first)).isTrue();
+		String second = ticket(queue.join(EVENT_ID));
+		tick();
+		assertThat(queue.tryAdmit(EVENT_ID, second)).isTrue();
+		assertThat(used()).isEqualTo(2);
+
+		// The first ticket has now expired, the second one has not
+		now.addAndGet(TTL_MS - 1000);
+		tick();
+		assertThat(used()).isEqualTo(1);
+
+		tick();
+		assertThat(used()).isEqualTo(0);
+	}
+
+	private void tick() {
+		now.addAndGet(1000);
+		queue.releaseAdmissions();
+	}
+
+	private int used() {
+		return (Integer) queue.getQueues().get(EVENT_ID).get("used");
+	}
+
+	private static String ticket(Map<String, Object> joined) {
+		return (String) joined.get("ticket");
+	}
+}
@@ -0,0 +1,48 @@
+package com.example.ticketbooking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AhoCorasickMatcherTests {
+
+	@Test
+	void findsOverlappingAndNestedKeywordsInOnePass() {
+		Map<String, String> keywords = new LinkedHashMap<>();
+		keywords.put("he", "he");
+		keywords.put("she", "she");
+		keywords.put("his", "his");
+		keywords.put("hers", "hers");
+		AhoCorasickMatcher<String> matcher = new AhoCorasickMatcher<>(keywords);
+
+		assertThat(matcher.matches("ushers")).containsExactly("she", "he", "hers");
+		assertThat(matcher.matches("ahishers")).containsExactly("his", "she", "he", "hers");
+		assertThat(matcher.matches("nothing to see")).isEmpty();
+		assertThat(matcher.matches(null)).isEmpty();
+	}
+
+	@Test
+	void reportsTheLabelOfEveryKeywordFound() {
+		Map<String, Long> keywords = new LinkedHashMap<>();
+		keywords.put("madrid", 2L);
+		keywords.put("bernabeu", 2L);
+		keywords.put("bayern", 3L);
+		keywords.put("champions league", 6L);
+		AhoCorasickMatcher<Long> matcher = new AhoCorasickMatcher<>(keywords);
+
+		String title = TextNormalizer.fold("UEFA Champions League: Real Madrid vs Bayern München");
+		assertThat(matcher.matches(title)).containsExactly(6L, 2L, 3L);
+		assertThat(matcher.matches(TextNormalizer.fold("Santiago Bernabéu, Madrid"))).containsExactly(2L, 2L);
+	}
+
+	@Test
+	void anEmptyMatcherMatchesNothing() {
+		AhoCorasickMatcher<String> matcher = new AhoCorasickMatcher<>(Map.of());
+		List<String> found = matcher.matches("anything");
+		assertThat(found).isEmpty();
+	}
+}
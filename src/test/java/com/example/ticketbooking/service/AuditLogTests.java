@@ -0,0 +1,155 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.TicketBookingTest;
+import com.example.ticketbooking.dto.AuditLogDTO;
+import com.example.ticketbooking.dto.PageCursor;
+import com.example.ticketbooking.entity.AuditLog;
+import com.example.ticketbooking.repository.AuditLogRepository;
+import com.example.ticketbooking.security.SecurityAuditService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TicketBookingTest(properties = {
+		"app.audit.flush-ms=3600000",
+		"app.audit.batch-size=3" })
+class AuditLogTests {
+
+	@Autowired
+	private SecurityAuditService securityAuditService;
+
+	@Autowired
+	private AuditLogService auditLogService;
+
+	@Autowired
+	private AuditLogRepository auditLogRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Test
+	void loginsAreWrittenInBatchesAndQueryableByUserAndIp() {
+		String user = "audit-" + System.nanoTime();
+		String ip = "10.0." + (System.nanoTime() % 250) + ".7";
+		LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+		for (int i = 0; i < 4; i++) {
+			securityAuditService.logLoginAttempt(user, ip, false);
+		}
+		securityAuditService.logLoginAttempt(user, ip, true);
+		securityAuditService.logLoginAttempt("someone-else", ip, true);
+
+		// Nothing is written until the flush
+		assertThat(auditLogRepository.findPage(null, 100, before, null, user, null, null)).isEmpty();
+		auditLogService.flush();
+
+		List<AuditLogDTO> mine = auditLogRepository.findPage(null, 100, before, null, user, null, null);
+		assertThat(mine).hasSize(5);
+		assertThat(mine.get(0).eventType).isEqualTo("LOGIN_SUCCESS");
+		assertThat(mine.get(0).level).isEqualTo("INFO");
+		assertThat(mine.get(1).level).isEqualTo("WARNING");
+		assertThat(mine.get(0).ip).isEqualTo(ip);
+
+		List<AuditLogDTO> failures = auditLogRepository.findPage(null, 100, before, null, user, ip,
+				AuditLog.EventType.LOGIN_FAILURE);
+		assertThat(failures).hasSize(4);
+		assertThat(auditLogRepository.findPage(null, 100, before, null, null, ip, null)).hasSize(6);
+		assertThat(auditLogRepository.findPage(null, 100, null, before, user, null, null)).isEmpty();
+	}
+
+	@Test
+	void pagesFollowTheCursorNewestFirst() {
+		String user = "audit-page-" + System.nanoTime();
+		for (int i = 0; i < 5; i++) {
+			securityAuditService.logAdminAction(user, "127.0.0.1", "DELETE /api/admin/bookings/" + i + " -> 200");
+		}
+		auditLogService.flush();
+
+		List<String> actions = new ArrayList<>();
+		List<AuditLogDTO> page = auditLogRepository.findPage(null, 2, null, null, user, null, null);
+		while (true) {
+			boolean more = page.size() > 2;
+			List<AuditLogDTO> rows = more ? page.subList(0, 2) : page;
+			rows.forEach(row -> actions.add(row.message));
+			if (!more) {
+				break;
+			}
+			PageCursor cursor = AuditLogRepository.cursorOf(rows.get(1));
+			page = auditLogRepository.findPage(cursor, 2, null, null, user, null, null);
+		}
+
+		assertThat(actions).hasSize(5);
+		assertThat(actions.get(0)).isEqualTo("DELETE /api/admin/bookings/4 -> 200");
+		assertThat(actions.get(4)).isEqualTo("DELETE /api/admin/bookings/0 -> 200");
+		assertThat(((Number) auditLogService.getStats().get("dropped")).longValue()).isEqualTo(0L);
+	}
+
+	@Test
+	void aRejectedBatchIsWrittenRowByRowWithoutItsBadRecord() {
+		String user = "audit-bad-" + System.nanoTime();
+		long skipped = skipped(auditLogService);
+		// No event type: the database rejects this record
+		auditLogService.append(null, user, "127.0.0.1", "broken");
+		auditLogService.append(AuditLog.EventType.ADMIN_ACTION, user, "127.0.0.1", "kept");
+
+		auditLogService.flush();
+		List<AuditLogDTO> rows = auditLogRepository.findPage(null, 10, null, null, user, null, null);
+		assertThat(rows).hasSize(1);
+		assertThat(rows.get(0).message).isEqualTo("kept");
+		assertThat(skipped(auditLogService)).isEqualTo(skipped + 1);
+	}
+
+	@Test
+	void aBatchIsKeptAndRetriedForAsLongAsTheDatabaseIsDown() throws InterruptedException {
+		AtomicBoolean down = new AtomicBoolean(true);
+		AtomicInteger attempts = new AtomicInteger();
+		DataSource unreachable = new DelegatingDataSource(dataSource) {
+			@Override
+			public Connection getConnection() throws SQLException {
+				if (down.get()) {
+					attempts.incrementAndGet();
+					throw new SQLException("Connection refused", "08001");
+				}
+				return super.getConnection();
+			}
+		};
+		AuditLogService service = new AuditLogService(new JdbcTemplate(unreachable),
+				new TransactionTemplate(new DataSourceTransactionManager(unreachable)), 16, 3, 1, 1);
+		String user = "audit-down-" + System.nanoTime();
+		for (int i = 0; i < 4; i++) {
+			service.append(AuditLog.EventType.ADMIN_ACTION, user, "127.0.0.1", "action " + i);
+		}
+
+		for (int i = 0; i < 10; i++) {
+			Thread.sleep(5);
+			service.flush();
+		}
+		assertThat(attempts.get()).isGreaterThan(5);
+		assertThat(service.getStats().get("queued")).isEqualTo(4);
+		assertThat(skipped(service)).isEqualTo(0L);
+
+		down.set(false);
+		Thread.sleep(5);
+		service.flush();
+		assertThat(auditLogRepository.findPage(null, 10, null, null, user, null, null)).hasSize(4);
+		assertThat(service.getStats().get("queued")).isEqualTo(0);
+		assertThat(skipped(service)).isEqualTo(0L);
+	}
+
+	private static long skipped(AuditLogService service) {
+		return ((Number) service.getStats().get("skipped")).longValue();
+	}
+}
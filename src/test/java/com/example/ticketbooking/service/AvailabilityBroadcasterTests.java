@@ -0,0 +1,90 @@
+package com.example.ticketbooking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AvailabilityBroadcasterTests {
+
+	@Test
+	void changesAreCoalescedPerEventAndSentOncePerFlush() {
+		AvailabilityBroadcaster broadcaster = broadcaster();
+		RecordingSink everything = new RecordingSink();
+		RecordingSink oneEvent = new RecordingSink();
+		broadcaster.register(Set.of(), everything);
+		broadcaster.register(Set.of(2L), oneEvent);
+
+		broadcaster.changed(1L, 100);
+		broadcaster.changed(2L, 50);
+		broadcaster.changed(1L, 98);
+		broadcaster.changed(1L, 97);
+		broadcaster.flush();
+
+		assertThat(everything.messages).containsExactly(
+				"[{\"eventId\":1,\"availableSeats\":97},{\"eventId\":2,\"availableSeats\":50}]");
+		assertThat(oneEvent.messages).containsExactly("[{\"eventId\":2,\"availableSeats\":50}]");
+
+		// Nothing changed: nothing sent
+		broadcaster.flush();
+		broadcaster.changed(1L, 96);
+		broadcaster.flush();
+		assertThat(everything.messages).hasSize(2);
+		assertThat(oneEvent.messages).hasSize(1);
+		broadcaster.shutdown();
+	}
+
+	@Test
+	void brokenConnectionsAreDropped() {
+		AvailabilityBroadcaster broadcaster = broadcaster();
+		RecordingSink healthy = new RecordingSink();
+		RecordingSink broken = new RecordingSink();
+		broken.failing = true;
+		broadcaster.register(null, healthy);
+		broadcaster.register(null, broken);
+		assertThat(broadcaster.getStats().get("subscribers")).isEqualTo(2);
+
+		broadcaster.changed(7L, 0);
+		broadcaster.flush();
+		assertThat(broadcaster.getStats().get("subscribers")).isEqualTo(1);
+		assertThat(healthy.messages).containsExactly("[{\"eventId\":7,\"availableSeats\":0}]");
+		broadcaster.shutdown();
+	}
+
+	@Test
+	void snapshotsUseTheSameCompactFormat() {
+		assertThat(AvailabilityBroadcaster.toJson(Map.of())).isEqualTo("[]");
+		assertThat(AvailabilityBroadcaster.toJson(Map.of(3L, 12)))
+				.isEqualTo("[{\"eventId\":3,\"availableSeats\":12}]");
+	}
+
+	// Background flushes far apart, so the test drives flush() itself
+	private AvailabilityBroadcaster broadcaster() {
+		return new AvailabilityBroadcaster(3_600_000, 100, 30);
+	}
+
+	private static final class RecordingSink implements AvailabilityBroadcaster.Sink {
+		private final List<String> messages = new CopyOnWriteArrayList<>();
+		private boolean failing;
+
+		@Override
+		public void send(String json) throws IOException {
+			if (failing) {
+				throw new IOException("Broken pipe");
+			}
+			messages.add(json);
+		}
+
+		@Override
+		public void heartbeat() throws IOException {
+			if (failing) {
+				throw new IOException("Broken pipe");
+			}
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.TestFixtures;
+import com.example.ticketbooking.TicketBookingTest;
+import com.example.ticketbooking.dto.BookingRequestDTO;
+import com.example.ticketbooking.dto.BookingResponseDTO;
+import com.example.ticketbooking.dto.SeatSectionRequest;
+import com.example.ticketbooking.entity.BookedSeat;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.entity.User;
+import com.example.ticketbooking.repository.BookedSeatRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TicketBookingTest(properties = {
+		"midtrans.fake.enabled=true" })
+class BookedSeatTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private SeatMapService seatMapService;
+
+	@Autowired
+	private BookedSeatRepository bookedSeatRepository;
+
+	@Test
+	void bookedSeatsAreWrittenOnceAndFreedOnCancel() {
+		Event event = fixtures.createEvent("Seat Map Test Fixture", 0);
+		seatMapService.configure(event.getId(), List.of(new SeatSectionRequest("North", "N1", 2, 10)));
+		User buyer = fixtures.createUser("seated");
+
+		BookingRequestDTO request = new BookingRequestDTO();
+		request.setEventId(event.getId());
+		request.setNumberOfTickets(3);
+		BookingResponseDTO booking = bookingService.createBooking(request, buyer.getId());
+
+		List<BookedSeat> seats = seatsOf(booking);
+		assertThat(seats).hasSize(3);
+		BookedSeat taken = seats.get(0);
+		assertThatThrownBy(() -> bookedSeatRepository.saveAndFlush(new BookedSeat(null, taken.getEventId(),
+				taken.getSectionId(), taken.getSeatRow(), taken.getSeatNumber(), -1L)))
+				.isInstanceOf(DataIntegrityViolationException.class);
+
+		bookingService.cancelBooking(booking.getId(), buyer.getId());
+
+		assertThat(seatsOf(booking)).isEmpty();
+		assertThat(seatMapService.getSummary(event.getId()).get("available")).isEqualTo(20);
+	}
+
+	private List<BookedSeat> seatsOf(BookingResponseDTO booking) {
+		return bookedSeatRepository.findAll().stream()
+				.filter(seat -> seat.getBookingId().equals(booking.getId()))
+				.toList();
+	}
+}
@@ -0,0 +1,140 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.TestFixtures;
+import com.example.ticketbooking.TicketBookingTest;
+import com.example.ticketbooking.dto.BookingRequestDTO;
+import com.example.ticketbooking.dto.EventDTO;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.entity.User;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@TicketBookingTest(properties = {
+		"logging.level.com.example.ticketbooking=INFO" })
+class BookingConcurrencyTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(BookingConcurrencyTests.class);
+
+	private static final int SEATS = 500;
+	private static final int BUYERS = 4000;
+	private static final int THREADS = 64;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private EventMailboxExecutor eventMailboxExecutor;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private SeatInventoryService seatInventoryService;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@MockBean
+	private MidtransService midtransService;
+
+	@Test
+	void parallelBookingsNeverOversell() throws Exception {
+		when(midtransService.createSnapTransaction(any()))
+				.thenReturn(Map.of("token", "test-token", "redirect_url", "http://localhost/snap"));
+		User buyer = fixtures.createUser("stress");
+		Event event = fixtures.createEvent("Stress Test Derby", SEATS);
+
+		AtomicInteger sold = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+		AtomicInteger failed = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		for (int i = 0; i < BUYERS; i++) {
+			pool.submit(() -> {
+				BookingRequestDTO request = new BookingRequestDTO();
+				request.setEventId(event.getId());
+				request.setNumberOfTickets(1);
+				try {
+					start.await();
+					bookingService.createBooking(request, buyer.getId());
+					sold.incrementAndGet();
+				} catch (IllegalArgumentException e) {
+					rejected.incrementAndGet();
+				} catch (Exception e) {
+					failed.incrementAndGet();
+				}
+			});
+		}
+
+		long began = System.nanoTime();
+		start.countDown();
+		pool.shutdown();
+		assertThat(pool.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+		long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began);
+
+		logger.info("[{}] {} createBooking calls on {} threads in {} ms ({} req/s): sold={}, rejected={}, failed={}",
+				eventMailboxExecutor.getMode(), BUYERS, THREADS, elapsedMs, BUYERS * 1000L / Math.max(1, elapsedMs),
+				sold.get(), rejected.get(), failed.get());
+
+		int available = eventRepository.findById(event.getId()).orElseThrow().getAvailableSeats();
+		int ticketsSold = bookingRepository.findByEvent_Id(event.getId()).stream()
+				.mapToInt(Booking::getNumberOfTickets)
+				.sum();
+		assertThat(available).isZero();
+		assertThat(ticketsSold).isEqualTo(sold.get()).isEqualTo(SEATS);
+		assertThat(rejected.get()).isEqualTo(BUYERS - SEATS);
+	}
+
+	@Test
+	void changingTotalSeatsKeepsTheSeatsAlreadySold() {
+		Event event = fixtures.createEvent("Stress Test Derby", 10);
+		assertThat(seatInventoryService.reserve(event.getId(), 6)).isTrue();
+
+		eventService.updateEvent(event.getId(), summary(event, 20));
+		Event grown = eventRepository.findById(event.getId()).orElseThrow();
+		assertThat(grown.getTotalSeats()).isEqualTo(20);
+		assertThat(grown.getAvailableSeats()).isEqualTo(14);
+
+		String error = null;
+		try {
+			eventService.updateEvent(event.getId(), summary(event, 5));
+		} catch (RuntimeException e) {
+			error = e.getMessage();
+		}
+		assertThat(error).isEqualTo("Total seats cannot be less than the seats already sold");
+		assertThat(eventRepository.findById(event.getId()).orElseThrow().getAvailableSeats()).isEqualTo(14);
+
+		eventService.updateEvent(event.getId(), summary(event, 6));
+		Event shrunk = eventRepository.findById(event.getId()).orElseThrow();
+		assertThat(shrunk.getTotalSeats()).isEqualTo(6);
+		assertThat(shrunk.getAvailableSeats()).isEqualTo(0);
+	}
+
+	private static EventDTO summary(Event event, int totalSeats) {
+		return new EventDTO(event.getId(), event.getTitle(), null, event.getVenue(), event.getEventDate(), totalSeats,
+				event.getPrice(), null, null);
+	}
+}
@@ -0,0 +1,101 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.TestFixtures;
+import com.example.ticketbooking.TicketBookingTest;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.Event;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TicketBookingTest(properties = {
+		"app.export.fetch-size=2" })
+class BookingExportTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private BookingExportService bookingExportService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void exportsMatchingBookingsAsCsvInBookingDateOrder() throws IOException {
+		Event event = fixtures.createEvent("Arsenal vs Chelsea, \"Derby\"", 100);
+		LocalDateTime start = LocalDateTime.now().minusDays(10).truncatedTo(ChronoUnit.SECONDS);
+		for (int i = 0; i < 5; i++) {
+			fixtures.createBooking(fixtures.createUser("export"), event, i % 2 == 0 ? Booking.BookingStatus.CONFIRMED
+					: Booking.BookingStatus.CANCELLED, 1, start.plusDays(i));
+		}
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		long rows = bookingExportService.export(new BookingExportService.Filter(start, start.plusDays(4),
+				Booking.BookingStatus.CONFIRMED, event.getId()), BookingExportService.Format.CSV, output);
+
+		assertThat(rows).isEqualTo(2L);
+		CsvReader csv = new CsvReader(new StringReader(output.toString(StandardCharsets.UTF_8)));
+		assertThat(csv.next()).containsExactly(BookingExportService.COLUMNS);
+		List<String> first = csv.next();
+		List<String> second = csv.next();
+		assertThat(csv.next() == null).isTrue();
+		assertThat(first.get(6)).isEqualTo("Arsenal vs Chelsea, \"Derby\"");
+		assertThat(first.get(4)).isEqualTo("CONFIRMED");
+		assertThat(LocalDateTime.parse(first.get(3))).isEqualTo(start);
+		assertThat(LocalDateTime.parse(second.get(3))).isEqualTo(start.plusDays(2));
+		assertThat(new BigDecimal(first.get(10)).compareTo(new BigDecimal("100000"))).isEqualTo(0);
+	}
+
+	@Test
+	void cellsThatLookLikeFormulasStayText() {
+		assertThat(BookingExportService.csv("=HYPERLINK(\"http://evil\")")).isEqualTo("\"'=HYPERLINK(\"\"http://evil\"\")\"");
+		assertThat(BookingExportService.csv("+1")).isEqualTo("'+1");
+		assertThat(BookingExportService.csv("-2+3")).isEqualTo("'-2+3");
+		assertThat(BookingExportService.csv("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+		assertThat(BookingExportService.csv("Arsenal vs Chelsea")).isEqualTo("Arsenal vs Chelsea");
+		assertThat(BookingExportService.csv(new BigDecimal("-5.00"))).isEqualTo("-5.00");
+		assertThat(BookingExportService.csv(-1L)).isEqualTo("-1");
+	}
+
+	@Test
+	void exportsGzippedJsonLines() throws IOException {
+		Event event = fixtures.createEvent("Liverpool vs Everton", 100);
+		for (int i = 0; i < 3; i++) {
+			fixtures.createBooking(fixtures.createUser("export"), event, Booking.BookingStatus.PENDING, 1,
+					LocalDateTime.now().minusHours(i));
+		}
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		long rows = bookingExportService.export(new BookingExportService.Filter(null, null, null, event.getId()),
+				BookingExportService.Format.JSONL_GZIP, output);
+
+		assertThat(rows).isEqualTo(3L);
+		try (BufferedReader lines = new BufferedReader(new InputStreamReader(
+				new GZIPInputStream(new ByteArrayInputStream(output.toByteArray())), StandardCharsets.UTF_8))) {
+			List<String> all = lines.lines().toList();
+			assertThat(all).hasSize(3);
+			JsonNode first = objectMapper.readTree(all.get(0));
+			assertThat(first.get("eventId").asLong()).isEqualTo(event.getId());
+			assertThat(first.get("eventTitle").asText()).isEqualTo("Liverpool vs Everton");
+			assertThat(first.get("status").asText()).isEqualTo("PENDING");
+			assertThat(first.get("paymentDate").isNull()).isTrue();
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.TestFixtures;
+import com.example.ticketbooking.TicketBookingTest;
+import com.example.ticketbooking.dto.BookingRequestDTO;
+import com.example.ticketbooking.dto.BookingResponseDTO;
+import com.example.ticketbooking.dto.CartCheckoutRequestDTO;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.entity.User;
+import com.example.ticketbooking.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TicketBookingTest(properties = {
+		"midtrans.fake.enabled=true" })
+class BookingLedgerTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private BookingLedger bookingLedger;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Test
+	void transitionsKeepTheCountersEqualToAFullRecount() {
+		Map<Booking.BookingStatus, Long> before = counts();
+		BigDecimal revenueBefore = bookingLedger.getRevenue();
+		User buyer = fixtures.createUser("ledger");
+		Event event = fixtures.createEvent("Ledger Test Fixture", 10);
+		Event nearlyFull = fixtures.createEvent("Ledger Test Fixture", 1);
+
+		BookingResponseDTO single = bookingService.createBooking(item(event, 2), buyer.getId());
+		CartCheckoutRequestDTO cart = new CartCheckoutRequestDTO();
+		cart.setItems(List.of(item(event, 1), item(nearlyFull, 1)));
+		List<BookingResponseDTO> carted = bookingService.checkout(cart, buyer.getId()).getBookings();
+		// Sold out: rolled back, so never counted
+		CartCheckoutRequestDTO failing = new CartCheckoutRequestDTO();
+		failing.setItems(List.of(item(event, 1), item(nearlyFull, 1)));
+		try {
+			bookingService.checkout(failing, buyer.getId());
+		} catch (IllegalArgumentException expected) {
+		}
+		bookingService.confirmBooking(single.getId(), buyer.getId());
+		bookingService.cancelBooking(carted.get(0).getId(), buyer.getId());
+
+		Map<Booking.BookingStatus, Long> after = counts();
+		assertThat(after.get(Booking.BookingStatus.CONFIRMED) - before.get(Booking.BookingStatus.CONFIRMED))
+				.isEqualTo(1L);
+		assertThat(after.get(Booking.BookingStatus.PENDING) - before.get(Booking.BookingStatus.PENDING))
+				.isEqualTo(1L);
+		assertThat(after.get(Booking.BookingStatus.CANCELLED) - before.get(Booking.BookingStatus.CANCELLED))
+				.isEqualTo(1L);
+		assertThat(bookingLedger.getRevenue().subtract(revenueBefore).compareTo(new BigDecimal("200000.00")))
+				.isEqualTo(0);
+
+		bookingLedger.reload();
+		assertThat(counts()).isEqualTo(after);
+	}
+
+	@Test
+	void bookingsCreatedDuringReloadsAreCountedOnce() throws Exception {
+		Event event = fixtures.createEvent("Ledger Test Fixture", 200);
+		List<User> buyers = List.of(fixtures.createUser("ledger"), fixtures.createUser("ledger"),
+				fixtures.createUser("ledger"), fixtures.createUser("ledger"));
+		bookingLedger.reload();
+		long before = bookingLedger.getBookings(Booking.BookingStatus.PENDING);
+
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch booked = new CountDownLatch(buyers.size());
+		ExecutorService pool = Executors.newFixedThreadPool(buyers.size() + 1);
+		Future<?> reloads = pool.submit(() -> {
+			start.await();
+			while (booked.getCount() > 0) {
+				bookingLedger.reload();
+			}
+			return null;
+		});
+		for (User buyer : buyers) {
+			pool.submit(() -> {
+				start.await();
+				try {
+					for (int i = 0; i < 25; i++) {
+						bookingService.createBooking(item(event, 1), buyer.getId());
+					}
+				} finally {
+					booked.countDown();
+				}
+				return null;
+			});
+		}
+		start.countDown();
+		pool.shutdown();
+		assertThat(pool.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+		reloads.get();
+
+		long counted = bookingLedger.getBookings(Booking.BookingStatus.PENDING);
+		bookingLedger.reload();
+		assertThat(bookingLedger.getBookings(Booking.BookingStatus.PENDING)).isEqualTo(counted);
+		assertThat(counted - before).isEqualTo(100L);
+	}
+
+	private Map<Booking.BookingStatus, Long> counts() {
+		Map<Booking.BookingStatus, Long> counts = new EnumMap<>(Booking.BookingStatus.class);
+		for (Booking.BookingStatus status : Booking.BookingStatus.values()) {
+			counts.put(status, bookingLedger.getBookings(status));
+		}
+		return counts;
+	}
+
+	private BookingRequestDTO item(Event event, int tickets) {
+		BookingRequestDTO item = new BookingRequestDTO();
+		item.setEventId(event.getId());
+		item.setNumberOfTickets(tickets);
+		return item;
+	}
+}
@@ -0,0 +1,142 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.TestFixtures;
+import com.example.ticketbooking.TicketBookingTest;
+import com.example.ticketbooking.dto.BookingAdminDTO;
+import com.example.ticketbooking.dto.BookingDTO;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.entity.User;
+import com.example.ticketbooking.repository.BookingRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Booking listings must cost one statement per page, however many users and
+ * events the rows belong to.
+ */
+@TicketBookingTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true" })
+class BookingListingQueryTests {
+
+	private static final int USERS = 3;
+	private static final int EVENTS = 4;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private final List<User> users = new ArrayList<>();
+	private final List<Event> events = new ArrayList<>();
+
+	@BeforeEach
+	void createBookings() {
+		for (int i = 0; i < USERS; i++) {
+			users.add(fixtures.createUser("listing"));
+		}
+		for (int i = 0; i < EVENTS; i++) {
+			events.add(fixtures.createEvent("Listing Test Fixture", 100));
+		}
+		// Every user books every event; every other booking is cancelled
+		int n = 0;
+		for (User user : users) {
+			for (Event event : events) {
+				fixtures.createBooking(user, event, n++ % 2 == 0 ? Booking.BookingStatus.CONFIRMED
+						: Booking.BookingStatus.CANCELLED, 1, LocalDateTime.now());
+			}
+		}
+	}
+
+	@Test
+	void adminPageIsOneStatement() {
+		Statistics statistics = statistics();
+		Event event = events.get(0);
+
+		List<BookingAdminDTO> rows = bookingRepository.findAdminPage(null, 100, null, event.getId(), null);
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+		assertThat(statistics.getEntityLoadCount()).isEqualTo(0L);
+		assertThat(rows).hasSize(USERS);
+		assertThat(rows.get(0).eventTitle).isEqualTo(event.getTitle());
+		assertThat(rows.get(0).username.startsWith("listing-")).isTrue();
+	}
+
+	@Test
+	void filteredPagesFollowTheCursorOneStatementEach() {
+		User user = users.get(1);
+		List<BookingAdminDTO> confirmed = new ArrayList<>();
+		List<BookingAdminDTO> page = bookingRepository.findAdminPage(null, 1, Booking.BookingStatus.CONFIRMED,
+				null, user.getId());
+		Statistics statistics = statistics();
+		while (page.size() > 1) {
+			confirmed.add(page.get(0));
+			page = bookingRepository.findAdminPage(BookingRepository.cursorOf(page.get(0)), 1,
+					Booking.BookingStatus.CONFIRMED, null, user.getId());
+		}
+		confirmed.addAll(page);
+
+		assertThat(confirmed).hasSize(EVENTS / 2);
+		assertThat(confirmed.stream().allMatch(row -> "CONFIRMED".equals(row.status))).isTrue();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(EVENTS / 2 - 1L);
+	}
+
+	@Test
+	void onlyTheGivenFiltersAreInTheQuery() {
+		Statistics statistics = statistics();
+
+		bookingRepository.findAdminPage(null, 10, null, events.get(0).getId(), null);
+
+		assertThat(List.of(statistics.getQueries())).hasSize(1);
+		String query = statistics.getQueries()[0];
+		assertThat(query.contains("b.event.id = :eventId")).isTrue();
+		assertThat(query.contains(":status") || query.contains(":userId") || query.contains("IS NULL")).isFalse();
+	}
+
+	@Test
+	void cashierAndUserListingsAreOneStatement() {
+		User user = users.get(2);
+		Statistics statistics = statistics();
+
+		List<BookingDTO> mine = bookingRepository.findRowsByUserId(user.getId());
+		List<BookingDTO> cancelled = bookingRepository.findRowPage(null, 100, Booking.BookingStatus.CANCELLED);
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2L);
+		assertThat(statistics.getEntityLoadCount()).isEqualTo(0L);
+		assertThat(mine).hasSize(EVENTS);
+		assertThat(mine.stream().allMatch(row -> row.getEventTitle().startsWith("Listing Test Fixture"))).isTrue();
+		assertThat(cancelled.stream().allMatch(row -> "CANCELLED".equals(row.getStatus()))).isTrue();
+	}
+
+	@Test
+	void userBookingsFetchTheirEventsInTheSameStatement() {
+		User user = users.get(0);
+		Statistics statistics = statistics();
+
+		List<Booking> bookings = bookingRepository.findWithEventByUser_Id(user.getId());
+		bookings.forEach(booking -> assertThat(booking.getEvent().getTitle()).isNotNull());
+
+		assertThat(bookings).hasSize(EVENTS);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+	}
+
+	private Statistics statistics() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		return statistics;
+	}
+}
@@ -0,0 +1,88 @@
+package com.example.ticketbooking.service;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingReferenceGeneratorTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(BookingReferenceGeneratorTests.class);
+
+	private static final int THREADS = 8;
+	private static final int IDS_PER_THREAD = 1_000_000;
+
+	@Test
+	void idsAreUniqueAndMonotonicAcrossThreads() throws Exception {
+		BookingReferenceGenerator generator = new BookingReferenceGenerator(7);
+		long[][] generated = new long[THREADS][IDS_PER_THREAD];
+		boolean[] monotonic = new boolean[THREADS];
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> workers = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			int worker = t;
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				long[] ids = generated[worker];
+				boolean increasing = true;
+				for (int i = 0; i < IDS_PER_THREAD; i++) {
+					ids[i] = generator.nextId();
+					if (i > 0 && ids[i] <= ids[i - 1]) {
+						increasing = false;
+					}
+				}
+				monotonic[worker] = increasing;
+			});
+			thread.start();
+			workers.add(thread);
+		}
+
+		long began = System.nanoTime();
+		start.countDown();
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		long elapsedNanos = System.nanoTime() - began;
+		long total = (long) THREADS * IDS_PER_THREAD;
+		logger.info("Generated {} ids on {} threads in {} ms ({} ids/s)", total, THREADS,
+				TimeUnit.NANOSECONDS.toMillis(elapsedNanos), total * 1_000_000_000L / Math.max(1, elapsedNanos));
+
+		long[] all = new long[(int) total];
+		for (int t = 0; t < THREADS; t++) {
+			assertThat(monotonic[t]).isTrue();
+			System.arraycopy(generated[t], 0, all, t * IDS_PER_THREAD, IDS_PER_THREAD);
+		}
+		Arrays.sort(all);
+		int duplicates = 0;
+		for (int i = 1; i < all.length; i++) {
+			if (all[i] == all[i - 1]) {
+				duplicates++;
+			}
+		}
+		assertThat(duplicates).isZero();
+	}
+
+	@Test
+	void referencesAreFixedWidthAndSortInGenerationOrder() {
+		BookingReferenceGenerator generator = new BookingReferenceGenerator(1);
+		String previous = generator.nextReference();
+		for (int i = 0; i < 10_000; i++) {
+			String next = generator.nextReference();
+			assertThat(next).startsWith(BookingReferenceGenerator.PREFIX).hasSize(15);
+			assertThat(next.compareTo(previous)).isGreaterThan(0);
+			previous = next;
+		}
+	}
+}
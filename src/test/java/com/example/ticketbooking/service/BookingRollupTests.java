@@ -0,0 +1,103 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.TestFixtures;
+import com.example.ticketbooking.TicketBookingTest;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.BookingRollup;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TicketBookingTest(properties = {
+		"app.rollups.flush-ms=3600000" })
+class BookingRollupTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private BookingRollupService bookingRollupService;
+
+	@Autowired
+	private BookingLedger bookingLedger;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Test
+	void lateStatusChangesCorrectTheBucketTheBookingWasMadeIn() {
+		Event event = fixtures.createEvent("Rollup Test Fixture", 100);
+		LocalDateTime madeAt = LocalDateTime.now().minusHours(5);
+		Booking late = createBooking(event, madeAt, 2);
+		Booking recent = createBooking(event, LocalDateTime.now(), 1);
+		bookingRollupService.flush();
+
+		// Payment settles hours later; then the recent one is cancelled
+		late.setStatus(Booking.BookingStatus.CONFIRMED);
+		bookingRepository.save(late);
+		bookingLedger.moved(Booking.BookingStatus.PENDING, late);
+		recent.setStatus(Booking.BookingStatus.CANCELLED);
+		bookingRepository.save(recent);
+		bookingLedger.moved(Booking.BookingStatus.PENDING, recent);
+		bookingRollupService.flush();
+
+		LocalDateTime end = BookingRollupService.defaultEnd(BookingRollup.Granularity.HOUR, LocalDateTime.now());
+		Map<String, Object> sales = bookingRollupService.query(BookingRollup.Granularity.HOUR,
+				end.minusHours(6), end, event.getId(), null);
+		List<Map<String, Object>> buckets = buckets(sales);
+		assertThat(buckets).hasSize(6);
+
+		Map<String, Object> then = bucket(buckets, madeAt.truncatedTo(ChronoUnit.HOURS));
+		assertThat(then.get("bookings")).isEqualTo(1L);
+		assertThat(then.get("ticketsSold")).isEqualTo(2L);
+		assertThat(((BigDecimal) then.get("revenue")).compareTo(new BigDecimal("200000.00"))).isEqualTo(0);
+
+		Map<String, Object> now = buckets.get(buckets.size() - 1);
+		assertThat(now.get("bookings")).isEqualTo(1L);
+		assertThat(now.get("ticketsSold")).isEqualTo(0L);
+		assertThat(now.get("cancelled")).isEqualTo(1L);
+
+		// The day bucket holds both
+		Map<String, Object> days = bookingRollupService.query(BookingRollup.Granularity.DAY,
+				madeAt.minusDays(1), end.plusDays(1), event.getId(), null);
+		long dayBookings = buckets(days).stream().mapToLong(bucket -> (Long) bucket.get("bookings")).sum();
+		assertThat(dayBookings).isEqualTo(2L);
+	}
+
+	@Test
+	void rejectsRangesWithTooManyBuckets() {
+		LocalDateTime now = LocalDateTime.now();
+		String error = null;
+		try {
+			bookingRollupService.query(BookingRollup.Granularity.MINUTE, now.minusDays(2), now, null, null);
+		} catch (IllegalArgumentException e) {
+			error = e.getMessage();
+		}
+		assertThat(error).isEqualTo("At most 1000 minute buckets per query");
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Map<String, Object>> buckets(Map<String, Object> sales) {
+		return (List<Map<String, Object>>) sales.get("buckets");
+	}
+
+	private static Map<String, Object> bucket(List<Map<String, Object>> buckets, LocalDateTime start) {
+		return buckets.stream().filter(bucket -> start.equals(bucket.get("start"))).findFirst().orElseThrow();
+	}
+
+	private Booking createBooking(Event event, LocalDateTime bookingDate, int tickets) {
+		Booking booking = fixtures.createBooking(fixtures.createUser("rollup"), event, Booking.BookingStatus.PENDING,
+				tickets, bookingDate);
+		bookingLedger.created(booking);
+		return booking;
+	}
+}
@@ -0,0 +1,174 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.TestFixtures;
+import com.example.ticketbooking.TicketBookingTest;
+import com.example.ticketbooking.dto.BookingRequestDTO;
+import com.example.ticketbooking.dto.BookingResponseDTO;
+import com.example.ticketbooking.dto.CartCheckoutRequestDTO;
+import com.example.ticketbooking.dto.CartCheckoutResponseDTO;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.entity.User;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.EventRepository;
+import com.example.ticketbooking.repository.PaymentOutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TicketBookingTest(properties = {
+		"midtrans.fake.enabled=true",
+		"logging.level.com.example.ticketbooking=INFO" })
+class CartCheckoutTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(CartCheckoutTests.class);
+
+	private static final int SEATS = 200;
+	private static final int CARTS = 300;
+	private static final int THREADS = 32;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private PaymentOutboxRepository outboxRepository;
+
+	@Test
+	void checkoutBooksEveryEventUnderOnePayment() throws Exception {
+		User buyer = fixtures.createUser("cart");
+		Event first = fixtures.createEvent("Cart Test Fixture A", 50);
+		Event second = fixtures.createEvent("Cart Test Fixture B", 50);
+		Event third = fixtures.createEvent("Cart Test Fixture C", 50);
+
+		CartCheckoutResponseDTO response = bookingService.checkout(
+				cart(item(third, 2), item(first, 1), item(third, 1), item(second, 4)), buyer.getId());
+
+		assertThat(response.getPaymentReference()).startsWith("PY");
+		assertThat(response.getBookings()).hasSize(3);
+		assertThat(response.getTotalAmount()).isEqualTo(800000.0);
+		// Merged per event and reserved in event id order
+		List<String> titles = response.getBookings().stream().map(BookingResponseDTO::getEventTitle).toList();
+		assertThat(titles).containsExactly(first.getTitle(), second.getTitle(), third.getTitle());
+		assertThat(available(first)).isEqualTo(49);
+		assertThat(available(second)).isEqualTo(46);
+		assertThat(available(third)).isEqualTo(47);
+
+		// One outbox row, one gateway call, one token for the whole cart
+		assertThat(outboxRepository.findByOrderId(response.getPaymentReference()).isPresent()).isTrue();
+		long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+		List<Booking> bookings = bookingRepository.findByPaymentReferenceOrderByIdAsc(response.getPaymentReference());
+		while (bookings.stream().anyMatch(booking -> booking.getSnapToken() == null)
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+			bookings = bookingRepository.findByPaymentReferenceOrderByIdAsc(response.getPaymentReference());
+		}
+		assertThat(bookings).hasSize(3);
+		assertThat(bookings.stream().map(Booking::getSnapToken).distinct().count()).isEqualTo(1L);
+		assertThat(bookings.get(0).getSnapToken()).startsWith("fake-");
+	}
+
+	@Test
+	void soldOutItemRollsBackTheWholeCart() {
+		User buyer = fixtures.createUser("cart");
+		Event roomy = fixtures.createEvent("Cart Test Fixture", 10);
+		Event nearlyFull = fixtures.createEvent("Cart Test Fixture", 1);
+
+		String error = null;
+		try {
+			bookingService.checkout(cart(item(roomy, 2), item(nearlyFull, 2)), buyer.getId());
+		} catch (IllegalArgumentException e) {
+			error = e.getMessage();
+		}
+
+		assertThat(error).contains("Not enough available seats");
+		assertThat(available(roomy)).isEqualTo(10);
+		assertThat(available(nearlyFull)).isEqualTo(1);
+		assertThat(bookingRepository.findByEvent_Id(roomy.getId())).isEmpty();
+
+		// The counters were rolled back too, so the seats can still be sold
+		bookingService.checkout(cart(item(roomy, 10), item(nearlyFull, 1)), buyer.getId());
+		assertThat(available(roomy)).isZero();
+		assertThat(available(nearlyFull)).isZero();
+	}
+
+	@Test
+	void overlappingCartsNeitherDeadlockNorOversell() throws Exception {
+		User buyer = fixtures.createUser("cart");
+		Event home = fixtures.createEvent("Cart Test Fixture", SEATS);
+		Event away = fixtures.createEvent("Cart Test Fixture", SEATS);
+
+		AtomicInteger sold = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+		AtomicInteger failed = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		for (int i = 0; i < CARTS; i++) {
+			// Half of the carts list the events the other way round
+			CartCheckoutRequestDTO request = i % 2 == 0 ? cart(item(home, 1), item(away, 1))
+					: cart(item(away, 1), item(home, 1));
+			pool.submit(() -> {
+				try {
+					start.await();
+					bookingService.checkout(request, buyer.getId());
+					sold.incrementAndGet();
+				} catch (IllegalArgumentException e) {
+					rejected.incrementAndGet();
+				} catch (Exception e) {
+					logger.warn("Checkout failed: {}", e.getMessage());
+					failed.incrementAndGet();
+				}
+			});
+		}
+
+		long began = System.nanoTime();
+		start.countDown();
+		pool.shutdown();
+		assertThat(pool.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+		logger.info("{} carts on {} threads: {} sold, {} rejected, {} failed in {} ms", CARTS, THREADS, sold.get(),
+				rejected.get(), failed.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began));
+
+		assertThat(failed.get()).isZero();
+		assertThat(sold.get()).isEqualTo(SEATS);
+		assertThat(rejected.get()).isEqualTo(CARTS - SEATS);
+		assertThat(available(home)).isZero();
+		assertThat(available(away)).isZero();
+		assertThat(bookingRepository.findByEvent_Id(home.getId())).hasSize(SEATS);
+		assertThat(bookingRepository.findByEvent_Id(away.getId())).hasSize(SEATS);
+	}
+
+	private int available(Event event) {
+		return eventRepository.findById(event.getId()).orElseThrow().getAvailableSeats();
+	}
+
+	private CartCheckoutRequestDTO cart(BookingRequestDTO... items) {
+		CartCheckoutRequestDTO request = new CartCheckoutRequestDTO();
+		request.setItems(List.of(items));
+		return request;
+	}
+
+	private BookingRequestDTO item(Event event, int tickets) {
+		BookingRequestDTO item = new BookingRequestDTO();
+		item.setEventId(event.getId());
+		item.setNumberOfTickets(tickets);
+		return item;
+	}
+}
@@ -0,0 +1,73 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.dto.CursorPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogCacheTests {
+
+	@Test
+	void unchangedCatalogIsServedFromMemoryAndRevalidatedWith304() {
+		CatalogVersion version = new CatalogVersion();
+		CatalogCache cache = new CatalogCache(version, new ObjectMapper(), 60);
+		AtomicInteger loads = new AtomicInteger();
+
+		ResponseEntity<byte[]> first = cache.respond("leagues", null, () -> {
+			loads.incrementAndGet();
+			return List.of("Premier League", "La Liga");
+		});
+		assertThat(first.getStatusCode().value()).isEqualTo(200);
+		assertThat(new String(first.getBody(), StandardCharsets.UTF_8)).isEqualTo("[\"Premier League\",\"La Liga\"]");
+		String etag = first.getHeaders().getETag();
+		assertThat(etag).startsWith("\"");
+
+		ResponseEntity<byte[]> again = cache.respond("leagues", null, () -> List.of("not loaded"));
+		assertThat(again.getHeaders().getETag()).isEqualTo(etag);
+		ResponseEntity<byte[]> revalidated = cache.respond("leagues", "W/\"other\", " + etag,
+				() -> List.of("not loaded"));
+		assertThat(revalidated.getStatusCode().value()).isEqualTo(304);
+		assertThat(revalidated.getBody()).isNull();
+		assertThat(loads.get()).isEqualTo(1);
+
+		// A catalog write invalidates; same content keeps the same strong ETag
+		version.bump();
+		ResponseEntity<byte[]> reloaded = cache.respond("leagues", etag, () -> {
+			loads.incrementAndGet();
+			return List.of("Premier League", "La Liga");
+		});
+		assertThat(loads.get()).isEqualTo(2);
+		assertThat(reloaded.getStatusCode().value()).isEqualTo(304);
+
+		version.bump();
+		ResponseEntity<byte[]> changed = cache.respond("leagues", etag, () -> List.of("Serie A"));
+		assertThat(changed.getStatusCode().value()).isEqualTo(200);
+		assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+	}
+
+	@Test
+	void cursorPagesKeepTheirNextCursorHeader() {
+		CatalogCache cache = new CatalogCache(new CatalogVersion(), new ObjectMapper(), 60);
+		ResponseEntity<byte[]> page = cache.respond("events:null:2", null,
+				() -> new CursorPage<>(List.of(1, 2), "next-token"));
+		assertThat(new String(page.getBody(), StandardCharsets.UTF_8)).isEqualTo("[1,2]");
+		assertThat(page.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER)).isEqualTo("next-token");
+		assertThat(page.getHeaders().getFirst(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+	}
+
+	@Test
+	void entriesExpireWithTheTtl() {
+		CatalogCache cache = new CatalogCache(new CatalogVersion(), new ObjectMapper(), 0);
+		AtomicInteger loads = new AtomicInteger();
+		cache.respond("upcoming:0:100", null, () -> List.of(loads.incrementAndGet()));
+		cache.respond("upcoming:0:100", null, () -> List.of(loads.incrementAndGet()));
+		assertThat(loads.get()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,59 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.entity.Event;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogStatisticsTests {
+
+	private final CatalogStatistics statistics = new CatalogStatistics(null, null);
+
+	@Test
+	void countsFollowCreatesUpdatesAndDeletes() {
+		CatalogStatistics.Facts upcoming = facts(1L, Event.EventStatus.ACTIVE, LocalDateTime.now().plusDays(3), 100, "50");
+		CatalogStatistics.Facts past = facts(2L, Event.EventStatus.COMPLETED, LocalDateTime.now().minusDays(3), 300, "10");
+		statistics.created(upcoming);
+		statistics.created(past);
+
+		Map<String, Object> stats = statistics.getCatalogStats();
+		assertThat(stats.get("totalEvents")).isEqualTo(2L);
+		assertThat(stats.get("totalSeats")).isEqualTo(400L);
+		assertThat(stats.get("averagePrice")).isEqualTo(30.0);
+		assertThat(stats.get("upcomingEvents")).isEqualTo(1L);
+		assertThat(stats.get("upcomingByLeague")).isEqualTo(Map.of("1", 1L));
+		assertThat(stats.get("eventsByLeague")).isEqualTo(Map.of("1", 1L, "2", 1L));
+
+		// Cancelling the upcoming event and moving it to another league
+		statistics.updated(upcoming, facts(2L, Event.EventStatus.CANCELLED, upcoming.eventDate(), 100, "50"));
+		assertThat(statistics.getUpcomingEvents()).isEqualTo(0L);
+		assertThat(statistics.getEventCount(Event.EventStatus.ACTIVE)).isEqualTo(0L);
+		assertThat(statistics.getEventCount(Event.EventStatus.CANCELLED)).isEqualTo(1L);
+		assertThat(statistics.getCatalogStats().get("eventsByLeague")).isEqualTo(Map.of("2", 2L));
+
+		statistics.deleted(past);
+		assertThat(statistics.getTotalEvents()).isEqualTo(1L);
+		assertThat(statistics.getCatalogStats().get("totalSeats")).isEqualTo(100L);
+	}
+
+	@Test
+	void upcomingEventsRollForwardWhenTheyStart() throws InterruptedException {
+		statistics.created(facts(null, Event.EventStatus.ACTIVE, LocalDateTime.now().plusNanos(200_000_000), 10, "1"));
+		statistics.created(facts(null, Event.EventStatus.ACTIVE, LocalDateTime.now().plusDays(1), 10, "1"));
+		assertThat(statistics.getUpcomingEvents()).isEqualTo(2L);
+
+		Thread.sleep(300);
+		assertThat(statistics.getUpcomingEvents()).isEqualTo(1L);
+		assertThat(statistics.getCatalogStats().get("upcomingByLeague")).isEqualTo(Map.of("none", 1L));
+		assertThat(statistics.getTotalEvents()).isEqualTo(2L);
+	}
+
+	private static CatalogStatistics.Facts facts(Long leagueId, Event.EventStatus status, LocalDateTime date,
+			int seats, String price) {
+		return new CatalogStatistics.Facts(leagueId, status, date, seats, new BigDecimal(price));
+	}
+}
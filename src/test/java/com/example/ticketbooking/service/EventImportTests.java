@@ -0,0 +1,109 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.dto.EventDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventImportTests {
+
+	private final EventImportService importer = new EventImportService(null, null, new ObjectMapper(),
+			new LeagueIndexService(null, null, null, null, null), null, null, null, null);
+
+	@Test
+	void csvReaderHandlesQuotesEmbeddedNewlinesAndBlankLines() throws IOException {
+		String input = "title,venue\r\n"
+				+ "\"Arsenal vs Chelsea, Derby\",\"Emirates \"\"Stadium\"\"\"\n"
+				+ "\n"
+				+ "\"Two\nlines\",,\n"
+				+ "last,row";
+		CsvReader csv = new CsvReader(new StringReader(input));
+
+		assertThat(csv.next()).containsExactly("title", "venue");
+		assertThat(csv.next()).containsExactly("Arsenal vs Chelsea, Derby", "Emirates \"Stadium\"");
+		assertThat(csv.line()).isEqualTo(2L);
+		assertThat(csv.next()).containsExactly("Two\nlines", "", "");
+		assertThat(csv.line()).isEqualTo(4L);
+		assertThat(csv.next()).containsExactly("last", "row");
+		assertThat(csv.line()).isEqualTo(6L);
+		assertThat(csv.next() == null).isTrue();
+	}
+
+	@Test
+	void parsesAValidRow() {
+		Map<String, String> fields = new HashMap<>();
+		fields.put("title", " Arsenal vs Chelsea ");
+		fields.put("venue", "Emirates Stadium");
+		fields.put("eventdate", "2030-08-16 15:00");
+		fields.put("totalseats", "60000");
+		fields.put("price", "85.50");
+
+		EventDTO event = importer.parse(fields);
+		assertThat(event.title()).isEqualTo("Arsenal vs Chelsea");
+		assertThat(event.eventDate()).isEqualTo(LocalDateTime.of(2030, 8, 16, 15, 0));
+		assertThat(event.totalSeats()).isEqualTo(60000);
+		assertThat(event.price()).isEqualTo(new BigDecimal("85.50"));
+		assertThat(event.leagueId()).isNull();
+	}
+
+	@Test
+	void reportsEveryRejectedRowWithItsLine() throws IOException {
+		String input = "title,venue,eventDate,totalSeats,price,league\n"
+				+ ",Emirates,2030-08-16T15:00,100,10,\n"
+				+ "A vs B,Emirates,next week,100,10,\n"
+				+ "A vs B,Emirates,2030-08-16T15:00,-5,10,\n"
+				+ "A vs B,Emirates,2030-08-16T15:00,100,ten,\n"
+				+ "A vs B,Emirates,2030-08-16T15:00,100,10,Atlantis League\n";
+		List<String> errors = new ArrayList<>();
+		EventImportService.Summary summary = importer.importCsv(new StringReader(input), listener(errors));
+
+		assertThat(summary.rows()).isEqualTo(5L);
+		assertThat(summary.failed()).isEqualTo(5L);
+		assertThat(summary.imported()).isEqualTo(0L);
+		assertThat(errors).containsExactly(
+				"2: title is required",
+				"3: eventDate must look like 2025-08-16T15:00",
+				"4: totalSeats must be positive",
+				"5: totalSeats and price must be numbers",
+				"6: Unknown league: Atlantis League");
+	}
+
+	@Test
+	void rejectsMalformedJsonLinesOneByOne() throws IOException {
+		String input = "{\"title\":\"A vs B\"\n"
+				+ "\n"
+				+ "[1,2]\n"
+				+ "{\"title\":\"A vs B\",\"venue\":\"X\",\"eventDate\":\"2030-01-01T20:00\",\"totalSeats\":0,\"price\":1}\n";
+		List<String> errors = new ArrayList<>();
+		EventImportService.Summary summary = importer.importJsonLines(new StringReader(input), listener(errors));
+
+		assertThat(summary.rows()).isEqualTo(3L);
+		assertThat(errors).hasSize(3);
+		assertThat(errors.get(0).startsWith("1: Malformed JSON")).isTrue();
+		assertThat(errors.get(1)).isEqualTo("3: Expected a JSON object");
+		assertThat(errors.get(2)).isEqualTo("4: totalSeats must be positive");
+	}
+
+	private static EventImportService.Listener listener(List<String> errors) {
+		return new EventImportService.Listener() {
+			@Override
+			public void rowFailed(long line, String error) {
+				errors.add(line + ": " + error);
+			}
+
+			@Override
+			public void batchWritten(EventImportService.Summary progress) {
+			}
+		};
+	}
+}
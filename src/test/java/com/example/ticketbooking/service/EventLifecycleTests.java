@@ -0,0 +1,113 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.TestFixtures;
+import com.example.ticketbooking.TicketBookingTest;
+import com.example.ticketbooking.dto.EventDTO;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TicketBookingTest(properties = {
+		"app.lifecycle.interval-ms=3600000",
+		"app.lifecycle.batch-size=2" })
+class EventLifecycleTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private EventLifecycleService eventLifecycleService;
+
+	@Autowired
+	private SeatInventoryService seatInventoryService;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private BookingLedger bookingLedger;
+
+	@Test
+	void eventsGoLiveAtKickoffAndCompleteWithTheirBookingsAtFullTime() {
+		LocalDateTime now = LocalDateTime.now();
+		Event future = fixtures.createEvent("Lifecycle Test Match", 100, now.plusDays(1));
+		Event live = fixtures.createEvent("Lifecycle Test Match", 100, now.minusMinutes(30));
+		Event over = fixtures.createEvent("Lifecycle Test Match", 100, now.minusHours(3));
+		Event alsoOver = fixtures.createEvent("Lifecycle Test Match", 100, now.minusHours(4));
+		Event longOver = fixtures.createEvent("Lifecycle Test Match", 100, now.minusDays(2));
+		Booking confirmed = fixtures.createBooking(over, Booking.BookingStatus.CONFIRMED);
+		Booking cancelled = fixtures.createBooking(over, Booking.BookingStatus.CANCELLED);
+		Booking upcoming = fixtures.createBooking(future, Booking.BookingStatus.CONFIRMED);
+
+		// Chunks of two: several batches per step
+		eventLifecycleService.advance();
+
+		assertThat(status(future)).isEqualTo(Event.EventStatus.ACTIVE);
+		assertThat(status(live)).isEqualTo(Event.EventStatus.LIVE);
+		assertThat(status(over)).isEqualTo(Event.EventStatus.COMPLETED);
+		assertThat(status(alsoOver)).isEqualTo(Event.EventStatus.COMPLETED);
+		assertThat(status(longOver)).isEqualTo(Event.EventStatus.COMPLETED);
+		assertThat(bookingRepository.findById(confirmed.getId()).orElseThrow().getStatus())
+				.isEqualTo(Booking.BookingStatus.COMPLETED);
+		assertThat(bookingRepository.findById(cancelled.getId()).orElseThrow().getStatus())
+				.isEqualTo(Booking.BookingStatus.CANCELLED);
+		assertThat(bookingRepository.findById(upcoming.getId()).orElseThrow().getStatus())
+				.isEqualTo(Booking.BookingStatus.CONFIRMED);
+
+		// Sales are closed once the event has started
+		assertThat(seatInventoryService.getAvailableSeats(live.getId())).isEqualTo(0);
+		assertThat(seatInventoryService.getAvailableSeats(future.getId())).isEqualTo(100);
+	}
+
+	@Test
+	void aCompletedEventPostponedToALaterDateIsReopenedWithItsBookings() {
+		Event over = fixtures.createEvent("Lifecycle Test Match", 100, LocalDateTime.now().minusHours(3));
+		Booking booking = fixtures.createBooking(over, Booking.BookingStatus.CONFIRMED);
+		eventLifecycleService.advance();
+		assertThat(status(over)).isEqualTo(Event.EventStatus.COMPLETED);
+		long completed = bookingLedger.getBookings(Booking.BookingStatus.COMPLETED);
+		long confirmed = bookingLedger.getBookings(Booking.BookingStatus.CONFIRMED);
+
+		eventService.updateEvent(over.getId(), new EventDTO(over.getId(), over.getTitle(), null, over.getVenue(),
+				LocalDateTime.now().plusDays(7), over.getTotalSeats(), over.getPrice(), null, null));
+
+		assertThat(status(over)).isEqualTo(Event.EventStatus.ACTIVE);
+		assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getStatus())
+				.isEqualTo(Booking.BookingStatus.CONFIRMED);
+		assertThat(bookingLedger.getBookings(Booking.BookingStatus.COMPLETED)).isEqualTo(completed - 1);
+		assertThat(bookingLedger.getBookings(Booking.BookingStatus.CONFIRMED)).isEqualTo(confirmed + 1);
+	}
+
+	@Test
+	void aLiveEventPostponedAndResizedGoesBackOnSaleWithTheNewSeats() {
+		Event live = fixtures.createEvent("Lifecycle Test Match", 100, LocalDateTime.now().minusMinutes(30));
+		eventLifecycleService.advance();
+		assertThat(status(live)).isEqualTo(Event.EventStatus.LIVE);
+
+		eventService.updateEvent(live.getId(), new EventDTO(live.getId(), live.getTitle(), null, live.getVenue(),
+				LocalDateTime.now().plusDays(7), 120, live.getPrice(), null, null));
+
+		Event reopened = eventRepository.findById(live.getId()).orElseThrow();
+		assertThat(reopened.getStatus()).isEqualTo(Event.EventStatus.ACTIVE);
+		assertThat(reopened.getTotalSeats()).isEqualTo(120);
+		assertThat(reopened.getAvailableSeats()).isEqualTo(120);
+		assertThat(seatInventoryService.getAvailableSeats(live.getId())).isEqualTo(120);
+	}
+
+	private Event.EventStatus status(Event event) {
+		return eventRepository.findById(event.getId()).orElseThrow().getStatus();
+	}
+}
@@ -0,0 +1,131 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.TicketBookingTest;
+import com.example.ticketbooking.dto.EventDTO;
+import com.example.ticketbooking.entity.League;
+import com.example.ticketbooking.repository.LeagueRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listing latency while the catalog grows from 100 to 1,000,000 events.
+ * Takes a few minutes; run with -Dbenchmarks=true.
+ */
+@TicketBookingTest(properties = {
+		"logging.level.com.example.ticketbooking=INFO" })
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class EventQueryBenchmarkTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(EventQueryBenchmarkTests.class);
+
+	private static final int[] CATALOG_SIZES = { 100, 1_000, 10_000, 100_000, 1_000_000 };
+	private static final int INSERT_BATCH = 10_000;
+	private static final int WARMUP = 50;
+	private static final int ITERATIONS = 200;
+	private static final int PAGE_SIZE = 20;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private LeagueRepository leagueRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void listingLatencyStaysFlatAsTheCatalogGrows() {
+		List<Long> leagueIds = leagueRepository.findAll().stream().map(League::getId).toList();
+		assertThat(leagueIds).isNotEmpty();
+		String league = leagueIds.get(0).toString();
+		Random random = new Random(42);
+
+		List<long[]> results = new ArrayList<>();
+		int inserted = 0;
+		try {
+			for (int size : CATALOG_SIZES) {
+				insertEvents(size - inserted, leagueIds, random);
+				inserted = size;
+
+				long upcoming = medianMicros(() -> eventService.getUpcomingEvents(0, PAGE_SIZE));
+				long byLeague = medianMicros(() -> eventService.getEventsByLeague(league, 0, PAGE_SIZE));
+				long deepPage = medianMicros(() -> eventService.getUpcomingEvents(5, PAGE_SIZE));
+				results.add(new long[] { size, upcoming, byLeague, deepPage });
+				logger.info("{} events: upcoming {} us, by league {} us, page 6 {} us (median of {})", size,
+						upcoming, byLeague, deepPage, ITERATIONS);
+			}
+		} finally {
+			jdbcTemplate.update("DELETE FROM events WHERE title LIKE 'Benchmark %'");
+		}
+
+		long[] smallest = results.get(0);
+		long[] largest = results.get(results.size() - 1);
+		logger.info("100 -> 1,000,000 events: upcoming x{}, by league x{}", ratio(largest[1], smallest[1]),
+				ratio(largest[2], smallest[2]));
+		// Flat within noise: a full scan would be ~10,000x slower at the top end
+		for (int column = 1; column <= 3; column++) {
+			assertThat(largest[column]).isLessThan(Math.max(smallest[column] * 5, 2_000));
+		}
+	}
+
+	private void insertEvents(int count, List<Long> leagueIds, Random random) {
+		LocalDateTime now = LocalDateTime.now();
+		for (int from = 0; from < count; from += INSERT_BATCH) {
+			int batch = Math.min(INSERT_BATCH, count - from);
+			List<Object[]> rows = new ArrayList<>(batch);
+			for (int i = 0; i < batch; i++) {
+				// One year of past fixtures, three years ahead; a few cancelled and unassigned
+				LocalDateTime date = now.plusMinutes(random.nextInt(4 * 365 * 24 * 60) - 365 * 24 * 60);
+				int seats = 1_000 + random.nextInt(80_000);
+				rows.add(new Object[] {
+						"Benchmark FC " + random.nextInt(500) + " vs Benchmark United " + random.nextInt(500),
+						"Benchmark fixture",
+						"Benchmark Stadium " + random.nextInt(200),
+						Timestamp.valueOf(date),
+						seats,
+						seats,
+						100_000 + random.nextInt(1_000_000),
+						random.nextInt(20) == 0 ? "CANCELLED" : "ACTIVE",
+						Timestamp.valueOf(now),
+						random.nextInt(10) == 0 ? null : leagueIds.get(random.nextInt(leagueIds.size())) });
+			}
+			jdbcTemplate.batchUpdate("INSERT INTO events (title, description, venue, event_date, total_seats, "
+					+ "available_seats, price, status, created_at, league_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+					rows);
+		}
+	}
+
+	private long medianMicros(Supplier<List<EventDTO>> query) {
+		for (int i = 0; i < WARMUP; i++) {
+			query.get();
+		}
+		long[] samples = new long[ITERATIONS];
+		for (int i = 0; i < ITERATIONS; i++) {
+			long began = System.nanoTime();
+			List<EventDTO> page = query.get();
+			samples[i] = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - began);
+			assertThat(page).isNotEmpty();
+		}
+		Arrays.sort(samples);
+		return samples[ITERATIONS / 2];
+	}
+
+	private String ratio(long larger, long smaller) {
+		return String.format("%.1f", (double) larger / Math.max(1, smaller));
+	}
+}
@@ -0,0 +1,119 @@
+package com.example.ticketbooking.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventSearchIndexTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(EventSearchIndexTests.class);
+
+	private static final LocalDateTime KICK_OFF = LocalDateTime.of(2026, 11, 1, 20, 0);
+
+	@Test
+	void accentsAndCaseAreFolded() {
+		assertThat(TextNormalizer.fold("Atlético de Madrid")).isEqualTo("atletico de madrid");
+		assertThat(TextNormalizer.fold("BAYERN MÜNCHEN")).isEqualTo("bayern munchen");
+		assertThat(TextNormalizer.tokens("Straße, Øresund & Łódź")).containsExactly("strasse", "oresund", "lodz");
+
+		EventSearchIndex index = new EventSearchIndex();
+		index.put(1, "Atlético Madrid vs Bayern München", "Champions League night", "Metropolitano", KICK_OFF);
+
+		assertThat(index.search("atletico", null, null, null, 0, 10)).containsExactly(1L);
+		assertThat(index.search("MUNCHEN", null, null, null, 0, 10)).containsExactly(1L);
+		assertThat(index.search("Bayern Münch", null, null, null, 0, 10)).containsExactly(1L);
+	}
+
+	@Test
+	void everyWordMustMatchAndTheLastOneAsAPrefix() {
+		EventSearchIndex index = new EventSearchIndex();
+		index.put(1, "Real Madrid vs Barcelona", "El Clásico", "Santiago Bernabéu", KICK_OFF);
+		index.put(2, "Atlético Madrid vs Sevilla", "La Liga", "Metropolitano", KICK_OFF);
+		index.put(3, "Barcelona vs Valencia", "La Liga", "Camp Nou", KICK_OFF);
+
+		assertThat(index.search("madrid barc", null, null, null, 0, 10)).containsExactly(1L);
+		assertThat(index.search("clasico", null, null, null, 0, 10)).containsExactly(1L);
+		assertThat(index.search("madrid", null, null, null, 0, 10)).hasSize(2);
+		// Only the last word is a prefix
+		assertThat(index.search("mad barcelona", null, null, null, 0, 10)).isEmpty();
+		assertThat(index.search("juventus", null, null, null, 0, 10)).isEmpty();
+		assertThat(index.search("  ", null, null, null, 0, 10)).isEmpty();
+	}
+
+	@Test
+	void titleHitsRankAboveDescriptionHitsThenByDate() {
+		EventSearchIndex index = new EventSearchIndex();
+		index.put(1, "Liverpool vs Everton", "Arsenal fans welcome", "Anfield", KICK_OFF);
+		index.put(2, "Arsenal vs Chelsea", "London derby", "Emirates Stadium", KICK_OFF.plusDays(7));
+		index.put(3, "Arsenal vs Tottenham", "North London derby", "Emirates Stadium", KICK_OFF);
+		index.put(4, "Newcastle vs Leeds", "Northern derby", "St James' Park", KICK_OFF);
+
+		assertThat(index.search("arsenal", null, null, null, 0, 10)).containsExactly(3L, 2L, 1L);
+		assertThat(index.search("arsenal", null, null, null, 1, 1)).containsExactly(2L);
+		assertThat(index.search("arsenal", null, null, null, 3, 10)).isEmpty();
+
+		// Venue and date filters
+		assertThat(index.search("derby", "emirates", null, null, 0, 10)).containsExactly(3L, 2L);
+		assertThat(index.search("derby", null, KICK_OFF.plusDays(1), KICK_OFF.plusDays(8), 0, 10))
+				.containsExactly(2L);
+	}
+
+	@Test
+	void updatesAndDeletesAreIncremental() {
+		EventSearchIndex index = new EventSearchIndex();
+		index.put(1, "Milan vs Inter", "Derby della Madonnina", "San Siro", KICK_OFF);
+		index.put(2, "Inter vs Juventus", "Derby d'Italia", "San Siro", KICK_OFF);
+
+		index.put(1, "Milan vs Napoli", "Serie A", "San Siro", KICK_OFF);
+		assertThat(index.search("inter", null, null, null, 0, 10)).containsExactly(2L);
+		assertThat(index.search("napoli", null, null, null, 0, 10)).containsExactly(1L);
+		assertThat(index.search("madonnina", null, null, null, 0, 10)).isEmpty();
+
+		index.remove(2);
+		assertThat(index.search("inter", null, null, null, 0, 10)).isEmpty();
+		assertThat(index.search("siro", null, null, null, 0, 10)).containsExactly(1L);
+		assertThat(index.size()).isEqualTo(1);
+	}
+
+	// Builds 200,000 events and asserts on timing; run with -Dbenchmarks=true
+	@Test
+	@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+	void selectiveQueriesStaySubMillisecondOnALargeCatalog() {
+		String[] clubs = { "Arsenal", "Chelsea", "Liverpool", "Everton", "Real Madrid", "Barcelona", "Atlético",
+				"Sevilla", "Bayern München", "Dortmund", "Leipzig", "Milan", "Inter", "Juventus", "Napoli", "Roma",
+				"PSG", "Marseille", "Lyon", "Monaco" };
+		EventSearchIndex index = new EventSearchIndex();
+		Random random = new Random(7);
+		int events = 200_000;
+		for (int id = 1; id <= events; id++) {
+			String home = clubs[random.nextInt(clubs.length)] + " " + random.nextInt(1_000);
+			String away = clubs[random.nextInt(clubs.length)] + " " + random.nextInt(1_000);
+			index.put(id, home + " vs " + away, "Matchday " + random.nextInt(40) + " fixture",
+					"Stadium " + random.nextInt(500), KICK_OFF.plusHours(random.nextInt(20_000)));
+		}
+
+		long[] samples = new long[500];
+		for (int i = -100; i < samples.length; i++) {
+			long began = System.nanoTime();
+			List<Long> hits = index.search("munchen " + random.nextInt(1_000) + " dortm", null, null, null, 0, 20);
+			if (i >= 0) {
+				samples[i] = System.nanoTime() - began;
+			}
+			assertThat(hits.size()).isLessThanOrEqualTo(20);
+		}
+		Arrays.sort(samples);
+		long medianMicros = TimeUnit.NANOSECONDS.toMicros(samples[samples.length / 2]);
+		logger.info("{} events, {} terms: median query {} us, p99 {} us", index.size(), index.terms(), medianMicros,
+				TimeUnit.NANOSECONDS.toMicros(samples[samples.length * 99 / 100]));
+		assertThat(medianMicros).isLessThan(1_000L);
+	}
+}
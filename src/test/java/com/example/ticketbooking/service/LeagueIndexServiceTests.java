@@ -0,0 +1,81 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.TestFixtures;
+import com.example.ticketbooking.TicketBookingTest;
+import com.example.ticketbooking.dto.EventDTO;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.entity.League;
+import com.example.ticketbooking.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TicketBookingTest
+class LeagueIndexServiceTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private LeagueIndexService leagueIndexService;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Test
+	void aChampionsLeagueFixtureIsChampionsLeagueWhoeverPlays() {
+		assertThat(leagueIndexService.classify("Real Madrid vs Bayern - Champions League", "Santiago Bernabéu, Madrid"))
+				.isEqualTo(league("champions"));
+	}
+
+	@Test
+	void overlappingKeywordsVoteForTheLeagueWithTheMostHits() {
+		// "manchester" is a Premier League keyword in both the title and the venue
+		assertThat(leagueIndexService.classify("Manchester City vs Barcelona", "Etihad Stadium, Manchester"))
+				.isEqualTo(league("premier"));
+		// "milan" and "san siro" both point at Serie A; "psg" alone is outvoted
+		assertThat(leagueIndexService.classify("Inter Milan vs PSG", "San Siro, Milan"))
+				.isEqualTo(league("seriea"));
+		// "atletico" and "madrid" overlap in one club name and both count for La Liga
+		assertThat(leagueIndexService.classify("ATLÉTICO MADRID vs Arsenal", "Emirates Stadium"))
+				.isEqualTo(league("laliga"));
+	}
+
+	@Test
+	void textWithoutKeywordsIsNotClassified() {
+		assertThat(leagueIndexService.classify("Persija vs Persib", "Gelora Bung Karno")).isNull();
+		assertThat(leagueIndexService.classify("", "")).isNull();
+		assertThat(leagueIndexService.classify(null, null)).isNull();
+	}
+
+	@Test
+	void anUpdateWithoutALeagueIsClassifiedAgain() {
+		Event event = fixtures.createEvent("League Test Fixture", 100);
+
+		eventService.updateEvent(event.getId(), update(event, "Arsenal vs Chelsea", "Emirates Stadium, London"));
+		assertThat(leagueOf(event)).isEqualTo(league("premier"));
+
+		eventService.updateEvent(event.getId(), update(event, "Persija vs Persib", "Gelora Bung Karno"));
+		assertThat(leagueOf(event)).isNull();
+	}
+
+	private Long league(String slug) {
+		Long leagueId = leagueIndexService.resolve(slug);
+		assertThat(leagueId).isNotNull();
+		return leagueId;
+	}
+
+	private Long leagueOf(Event event) {
+		League league = eventRepository.findById(event.getId()).orElseThrow().getLeague();
+		return league == null ? null : league.getId();
+	}
+
+	private static EventDTO update(Event event, String title, String venue) {
+		return new EventDTO(event.getId(), title, null, venue, event.getEventDate(), event.getTotalSeats(),
+				event.getPrice(), null, null);
+	}
+}
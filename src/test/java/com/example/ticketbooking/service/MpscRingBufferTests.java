@@ -0,0 +1,98 @@
+package com.example.ticketbooking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MpscRingBufferTests {
+
+	private static final int PRODUCERS = 6;
+	private static final int PER_PRODUCER = 200_000;
+
+	@Test
+	void rejectsOffersWhenFullAndAcceptsAgainAfterDraining() {
+		MpscRingBuffer<Integer> ring = new MpscRingBuffer<>(3);
+		assertThat(ring.capacity()).isEqualTo(4);
+		for (int i = 0; i < 4; i++) {
+			assertThat(ring.offer(i)).isTrue();
+		}
+		assertThat(ring.offer(4)).isFalse();
+
+		List<Integer> drained = new ArrayList<>();
+		assertThat(ring.drainTo(drained, 3)).isEqualTo(3);
+		assertThat(drained).containsExactly(0, 1, 2);
+		assertThat(ring.offer(5)).isTrue();
+		assertThat(ring.drainTo(drained, 10)).isEqualTo(2);
+		assertThat(drained).containsExactly(0, 1, 2, 3, 5);
+		assertThat(ring.size()).isEqualTo(0);
+	}
+
+	@Test
+	void deliversEveryAcceptedElementOnceInPerProducerOrder() throws Exception {
+		MpscRingBuffer<long[]> ring = new MpscRingBuffer<>(1024);
+		AtomicLong accepted = new AtomicLong();
+		AtomicBoolean producing = new AtomicBoolean(true);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> producers = new ArrayList<>();
+		for (int p = 0; p < PRODUCERS; p++) {
+			int producer = p;
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (int i = 0; i < PER_PRODUCER; i++) {
+					// Spin until there is room, so every element gets through
+					while (!ring.offer(new long[] { producer, i })) {
+						Thread.onSpinWait();
+					}
+					accepted.incrementAndGet();
+				}
+			});
+			thread.start();
+			producers.add(thread);
+		}
+
+		long[] next = new long[PRODUCERS];
+		boolean[] ordered = { true };
+		long[] received = { 0 };
+		Thread consumer = new Thread(() -> {
+			List<long[]> batch = new ArrayList<>();
+			while (producing.get() || ring.size() > 0) {
+				batch.clear();
+				ring.drainTo(batch, 100);
+				for (long[] element : batch) {
+					int producer = (int) element[0];
+					if (element[1] != next[producer]) {
+						ordered[0] = false;
+					}
+					next[producer] = element[1] + 1;
+					received[0]++;
+				}
+			}
+		});
+		consumer.start();
+
+		start.countDown();
+		for (Thread producer : producers) {
+			producer.join();
+		}
+		producing.set(false);
+		consumer.join();
+
+		assertThat(accepted.get()).isEqualTo((long) PRODUCERS * PER_PRODUCER);
+		assertThat(received[0]).isEqualTo(accepted.get());
+		assertThat(ordered[0]).isTrue();
+		for (long count : next) {
+			assertThat(count).isEqualTo((long) PER_PRODUCER);
+		}
+	}
+}
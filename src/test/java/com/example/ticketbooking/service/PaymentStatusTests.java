@@ -0,0 +1,177 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.TestFixtures;
+import com.example.ticketbooking.TicketBookingTest;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TicketBookingTest
+class PaymentStatusTests {
+
+	private static final int DUPLICATES = 16;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private PaymentStatusService paymentStatusService;
+
+	@Autowired
+	private SeatInventoryService seatInventoryService;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Test
+	void duplicateFailureNotificationsReleaseTheSeatsOnce() throws Exception {
+		Event event = fixtures.createEvent("Payment Test Fixture", 10);
+		Booking booking = pendingBooking(event, 2);
+		assertThat(available(event)).isEqualTo(8);
+
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(DUPLICATES);
+		for (int i = 0; i < DUPLICATES; i++) {
+			pool.submit(() -> {
+				start.await();
+				return paymentStatusService.apply(booking.getBookingReference(), PaymentStatusService.Outcome.FAILED,
+						null);
+			});
+		}
+		start.countDown();
+		pool.shutdown();
+		assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(status(booking)).isEqualTo(Booking.BookingStatus.CANCELLED);
+		assertThat(available(event)).isEqualTo(10);
+	}
+
+	@Test
+	void aFailureAfterPaymentLeavesTheBookingConfirmed() {
+		Event event = fixtures.createEvent("Payment Test Fixture", 10);
+		Booking booking = pendingBooking(event, 2);
+
+		paymentStatusService.apply(booking.getBookingReference(), PaymentStatusService.Outcome.PAID, "bank_transfer");
+		paymentStatusService.apply(booking.getBookingReference(), PaymentStatusService.Outcome.FAILED, null);
+
+		assertThat(status(booking)).isEqualTo(Booking.BookingStatus.CONFIRMED);
+		assertThat(available(event)).isEqualTo(8);
+	}
+
+	@Test
+	void aLateSettlementTakesTheSeatsAgain() {
+		Event event = fixtures.createEvent("Payment Test Fixture", 10);
+		Booking booking = cancelledBooking(event, 2);
+
+		paymentStatusService.apply(booking.getBookingReference(), PaymentStatusService.Outcome.PAID, "gopay");
+
+		assertThat(status(booking)).isEqualTo(Booking.BookingStatus.CONFIRMED);
+		assertThat(available(event)).isEqualTo(8);
+	}
+
+	@Test
+	void aLateSettlementForSeatsSoldAgainIsFlaggedForRefund() {
+		Event event = fixtures.createEvent("Payment Test Fixture", 2);
+		Booking booking = cancelledBooking(event, 2);
+		pendingBooking(event, 2);
+
+		paymentStatusService.apply(booking.getBookingReference(), PaymentStatusService.Outcome.PAID, "gopay");
+
+		Booking settled = bookingRepository.findById(booking.getId()).orElseThrow();
+		assertThat(settled.getStatus()).isEqualTo(Booking.BookingStatus.CANCELLED);
+		assertThat(settled.getRefundRequired()).isTrue();
+		assertThat(available(event)).isEqualTo(0);
+	}
+
+	@Test
+	void anUnconfirmedPaymentNeverRevivesACancelledBooking() {
+		Event event = fixtures.createEvent("Payment Test Fixture", 10);
+		Booking booking = cancelledBooking(event, 2);
+
+		paymentStatusService.apply(booking.getBookingReference(), PaymentStatusService.Outcome.ASSUMED_PAID,
+				"midtrans_fallback");
+
+		assertThat(status(booking)).isEqualTo(Booking.BookingStatus.CANCELLED);
+		assertThat(available(event)).isEqualTo(10);
+	}
+
+	@Test
+	void aCartPaymentOnlyConfirmsItsPendingBookings() {
+		Event event = fixtures.createEvent("Payment Test Fixture", 10);
+		String paymentReference = "PYTEST" + System.nanoTime();
+		Booking pending = inCart(pendingBooking(event, 1), paymentReference);
+		Booking cancelled = inCart(cancelledBooking(event, 2), paymentReference);
+
+		List<Booking> settled = paymentStatusService.apply(paymentReference, PaymentStatusService.Outcome.PAID,
+				"gopay");
+
+		assertThat(settled).hasSize(2);
+		assertThat(status(pending)).isEqualTo(Booking.BookingStatus.CONFIRMED);
+		Booking stillCancelled = bookingRepository.findById(cancelled.getId()).orElseThrow();
+		assertThat(stillCancelled.getStatus()).isEqualTo(Booking.BookingStatus.CANCELLED);
+		assertThat(stillCancelled.getRefundRequired()).isTrue();
+		assertThat(available(event)).isEqualTo(9);
+	}
+
+	@Test
+	void aFailedCartReleasesTheSeatsOfEachEvent() {
+		Event first = fixtures.createEvent("Payment Test Fixture", 10);
+		Event second = fixtures.createEvent("Payment Test Fixture", 10);
+		String paymentReference = "PYTEST" + System.nanoTime();
+		Booking one = inCart(pendingBooking(first, 2), paymentReference);
+		Booking other = inCart(pendingBooking(second, 3), paymentReference);
+
+		List<Booking> failed = paymentStatusService.apply(paymentReference, PaymentStatusService.Outcome.FAILED,
+				null);
+
+		assertThat(failed).hasSize(2);
+		assertThat(status(one)).isEqualTo(Booking.BookingStatus.CANCELLED);
+		assertThat(status(other)).isEqualTo(Booking.BookingStatus.CANCELLED);
+		assertThat(available(first)).isEqualTo(10);
+		assertThat(available(second)).isEqualTo(10);
+	}
+
+	@Test
+	void unknownOrdersMatchNoBookings() {
+		assertThat(paymentStatusService.apply("NO-SUCH-ORDER", PaymentStatusService.Outcome.PAID, null)).isEmpty();
+	}
+
+	private Booking pendingBooking(Event event, int tickets) {
+		assertThat(seatInventoryService.reserve(event.getId(), tickets)).isTrue();
+		return fixtures.createBooking(fixtures.createUser("payer"), event, Booking.BookingStatus.PENDING, tickets,
+				LocalDateTime.now());
+	}
+
+	private Booking cancelledBooking(Event event, int tickets) {
+		return fixtures.createBooking(fixtures.createUser("payer"), event, Booking.BookingStatus.CANCELLED, tickets,
+				LocalDateTime.now());
+	}
+
+	private Booking inCart(Booking booking, String paymentReference) {
+		booking.setPaymentReference(paymentReference);
+		return bookingRepository.save(booking);
+	}
+
+	private int available(Event event) {
+		return eventRepository.findById(event.getId()).orElseThrow().getAvailableSeats();
+	}
+
+	private Booking.BookingStatus status(Booking booking) {
+		return bookingRepository.findById(booking.getId()).orElseThrow().getStatus();
+	}
+}
@@ -0,0 +1,69 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.TestFixtures;
+import com.example.ticketbooking.TicketBookingTest;
+import com.example.ticketbooking.dto.BookingRequestDTO;
+import com.example.ticketbooking.dto.BookingResponseDTO;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.entity.User;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TicketBookingTest(properties = {
+		"midtrans.fake.enabled=true",
+		"app.booking.hold-minutes=0" })
+class SeatHoldTests {
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private SeatHoldService seatHoldService;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Test
+	void aBookingWhoseHoldExpiredCannotBeConfirmed() throws InterruptedException {
+		Event event = fixtures.createEvent("Hold Test Fixture", 10);
+		User buyer = fixtures.createUser("hold");
+		BookingRequestDTO request = new BookingRequestDTO();
+		request.setEventId(event.getId());
+		request.setNumberOfTickets(2);
+		BookingResponseDTO booking = bookingService.createBooking(request, buyer.getId());
+
+		// The hold is due at once; the sweeper runs every second
+		for (int i = 0; i < 50 && status(booking) == Booking.BookingStatus.PENDING; i++) {
+			Thread.sleep(100);
+			seatHoldService.sweep();
+		}
+		assertThat(status(booking)).isEqualTo(Booking.BookingStatus.CANCELLED);
+		assertThat(available(event)).isEqualTo(10);
+
+		assertThatThrownBy(() -> bookingService.confirmBooking(booking.getId(), buyer.getId()))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Only pending bookings can be confirmed, this one is cancelled");
+		assertThat(status(booking)).isEqualTo(Booking.BookingStatus.CANCELLED);
+		assertThat(available(event)).isEqualTo(10);
+	}
+
+	private Booking.BookingStatus status(BookingResponseDTO booking) {
+		return bookingRepository.findById(booking.getId()).orElseThrow().getStatus();
+	}
+
+	private int available(Event event) {
+		return eventRepository.findById(event.getId()).orElseThrow().getAvailableSeats();
+	}
+}
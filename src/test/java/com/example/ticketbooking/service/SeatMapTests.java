@@ -0,0 +1,141 @@
+package com.example.ticketbooking.service;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatMapTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(SeatMapTests.class);
+
+	private static final int THREADS = 16;
+
+	@Test
+	void concurrentAllocatorsNeverDoubleBookAnEightyThousandSeatStadium() throws Exception {
+		SeatMap seatMap = new SeatMap(stadium());
+		assertThat(seatMap.capacity()).isEqualTo(80_000);
+
+		ConcurrentLinkedQueue<SeatMap.SeatBlock> allocated = new ConcurrentLinkedQueue<>();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> workers = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			Thread thread = new Thread(() -> {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				int misses = 0;
+				while (misses < 50) {
+					// Mostly best-available, sometimes a preferred section
+					Long section = random.nextInt(4) == 0 ? (long) random.nextInt(1, 41) : null;
+					Optional<SeatMap.SeatBlock> block = seatMap.allocateBestAvailable(section, random.nextInt(1, 7));
+					if (block.isPresent()) {
+						allocated.add(block.get());
+					} else if (section == null) {
+						misses++;
+					}
+				}
+				// Fill the leftovers one seat at a time
+				Optional<SeatMap.SeatBlock> single;
+				while ((single = seatMap.allocateBestAvailable(null, 1)).isPresent()) {
+					allocated.add(single.get());
+				}
+			});
+			thread.start();
+			workers.add(thread);
+		}
+
+		long began = System.nanoTime();
+		start.countDown();
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began);
+		logger.info("{} allocations on {} threads sold out 80,000 seats in {} ms", allocated.size(), THREADS,
+				elapsedMs);
+
+		Map<String, BitSet> seen = new HashMap<>();
+		int seats = 0;
+		int overlaps = 0;
+		for (SeatMap.SeatBlock block : allocated) {
+			BitSet row = seen.computeIfAbsent(block.sectionId() + ":" + block.row(), key -> new BitSet());
+			if (row.get(block.firstSeat(), block.firstSeat() + block.count()).cardinality() > 0) {
+				overlaps++;
+			}
+			row.set(block.firstSeat(), block.firstSeat() + block.count());
+			seats += block.count();
+		}
+		assertThat(overlaps).isZero();
+		assertThat(seats).isEqualTo(80_000);
+		assertThat(seatMap.available()).isZero();
+	}
+
+	@Test
+	void bestAvailableKeepsGroupsTogetherFrontAndCentre() {
+		SeatMap seatMap = new SeatMap(List.of(new SeatMap.SectionLayout(1L, "North Stand", "N1", 3, 10)));
+
+		SeatMap.SeatBlock first = seatMap.allocateBestAvailable(null, 4).orElseThrow();
+		assertThat(first).isEqualTo(new SeatMap.SeatBlock(1L, 0, 3, 4));
+
+		// 3 + 3 seats are left in the front row; a group of 4 moves back a row
+		SeatMap.SeatBlock second = seatMap.allocateBestAvailable(null, 4).orElseThrow();
+		assertThat(second.row()).isEqualTo(1);
+		SeatMap.SeatBlock third = seatMap.allocateBestAvailable(null, 3).orElseThrow();
+		assertThat(third.row()).isEqualTo(0);
+
+		seatMap.release(first);
+		SeatMap.SeatBlock again = seatMap.allocateBestAvailable(null, 4).orElseThrow();
+		assertThat(again).isEqualTo(first);
+		assertThat(seatMap.describe(again)).isEqualTo("North Stand N1, Row 1, Seats 4-7");
+		assertThat(SeatMap.SeatBlock.decode(again.encode())).isEqualTo(again);
+	}
+
+	@Test
+	void occupyRejectsSeatsThatAreAlreadyTaken() {
+		SeatMap seatMap = new SeatMap(List.of(new SeatMap.SectionLayout(1L, "East Stand", "E1", 1, 10)));
+
+		assertThat(seatMap.occupy(new SeatMap.SeatBlock(1L, 0, 2, 3))).isTrue();
+		assertThat(seatMap.occupy(new SeatMap.SeatBlock(1L, 0, 4, 2))).isFalse();
+		assertThat(seatMap.available()).isEqualTo(7);
+	}
+
+	@Test
+	void snapshotOfAnEmptyStadiumIsSmall() {
+		SeatMap seatMap = new SeatMap(stadium());
+		seatMap.allocateBestAvailable(null, 2);
+
+		byte[] snapshot = seatMap.snapshot();
+		logger.info("Seat map snapshot for 80,000 seats: {} bytes", snapshot.length);
+		assertThat(snapshot[0]).isEqualTo(SeatMap.SNAPSHOT_VERSION);
+		assertThat(snapshot.length).isLessThan(8 * 1024);
+	}
+
+	// 4 stands x 10 sections x 40 rows x 50 seats
+	private List<SeatMap.SectionLayout> stadium() {
+		List<SeatMap.SectionLayout> sections = new ArrayList<>();
+		String[] stands = { "North Stand", "East Stand", "South Stand", "West Stand" };
+		long id = 1;
+		for (String stand : stands) {
+			for (int i = 1; i <= 10; i++) {
+				sections.add(new SeatMap.SectionLayout(id++, stand, stand.charAt(0) + String.valueOf(i), 40, 50));
+			}
+		}
+		return sections;
+	}
+}
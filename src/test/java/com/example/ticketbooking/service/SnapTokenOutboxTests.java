@@ -0,0 +1,179 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.TestFixtures;
+import com.example.ticketbooking.TicketBookingTest;
+import com.example.ticketbooking.dto.BookingRequestDTO;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.entity.PaymentOutbox;
+import com.example.ticketbooking.entity.User;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.EventRepository;
+import com.example.ticketbooking.repository.PaymentOutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TicketBookingTest(properties = {
+		"midtrans.fake.enabled=true",
+		"midtrans.fake.latency-ms=" + SnapTokenOutboxTests.GATEWAY_LATENCY_MS,
+		"app.payment.token-workers=16",
+		"app.payment.token-relay-interval-ms=500",
+		"logging.level.com.example.ticketbooking=INFO" })
+class SnapTokenOutboxTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(SnapTokenOutboxTests.class);
+
+	static final long GATEWAY_LATENCY_MS = 300;
+	private static final int BOOKINGS = 400;
+	private static final int THREADS = 32;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private EventRepository eventRepository;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private PaymentOutboxRepository outboxRepository;
+
+	@Autowired
+	private SnapTokenService snapTokenService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void bookingsCommitWithoutWaitingForTheGateway() throws Exception {
+		User buyer = fixtures.createUser("outbox");
+		Event event = fixtures.createEvent("Outbox Test Derby", BOOKINGS);
+
+		AtomicInteger created = new AtomicInteger();
+		AtomicLong slowestNanos = new AtomicLong();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		for (int i = 0; i < BOOKINGS; i++) {
+			pool.submit(() -> {
+				BookingRequestDTO request = new BookingRequestDTO();
+				request.setEventId(event.getId());
+				request.setNumberOfTickets(1);
+				try {
+					start.await();
+					long began = System.nanoTime();
+					bookingService.createBooking(request, buyer.getId());
+					slowestNanos.accumulateAndGet(System.nanoTime() - began, Math::max);
+					created.incrementAndGet();
+				} catch (Exception e) {
+					logger.warn("Booking failed: {}", e.getMessage());
+				}
+			});
+		}
+
+		long began = System.nanoTime();
+		start.countDown();
+		pool.shutdown();
+		assertThat(pool.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+		long bookingMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began);
+
+		// Every token must eventually be created by the outbox workers
+		long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(2);
+		while (countWithoutToken(event) > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(100);
+		}
+		long tokensMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began);
+
+		logger.info("{} bookings with {} ms gateway latency: committed in {} ms ({} req/s, slowest {} ms), "
+				+ "all tokens ready after {} ms", created.get(), GATEWAY_LATENCY_MS, bookingMs,
+				created.get() * 1000L / Math.max(1, bookingMs), TimeUnit.NANOSECONDS.toMillis(slowestNanos.get()),
+				tokensMs);
+
+		assertThat(created.get()).isEqualTo(BOOKINGS);
+		// No request waited on the gateway
+		assertThat(TimeUnit.NANOSECONDS.toMillis(slowestNanos.get())).isLessThan(GATEWAY_LATENCY_MS * 10);
+		assertThat(bookingRepository.findByEvent_Id(event.getId())).hasSize(BOOKINGS);
+		assertThat(countWithoutToken(event)).isZero();
+		assertThat(outboxRepository.countByStatus(PaymentOutbox.OutboxStatus.FAILED)).isZero();
+	}
+
+	@Test
+	void onlyExpiredLeasesAreReset() {
+		Booking booking = fixtures.createBooking(fixtures.createEvent("Outbox Test Derby", 10),
+				Booking.BookingStatus.PENDING);
+		LocalDateTime now = LocalDateTime.now();
+		PaymentOutbox outbox = outbox(booking, PaymentOutbox.OutboxStatus.PROCESSING);
+		outbox.setLeaseExpiresAt(now.plusMinutes(1));
+		outbox = outboxRepository.save(outbox);
+
+		Integer withinLease = transactionTemplate.execute(status -> outboxRepository.resetStale(now));
+		assertThat(withinLease).isZero();
+		assertThat(outboxRepository.findById(outbox.getId()).orElseThrow().getStatus())
+				.isEqualTo(PaymentOutbox.OutboxStatus.PROCESSING);
+		Integer afterLease = transactionTemplate.execute(status -> outboxRepository.resetStale(now.plusMinutes(2)));
+		assertThat(afterLease).isEqualTo(1);
+	}
+
+	@Test
+	void aTokenFromAnEarlierAttemptIsKept() {
+		Booking booking = fixtures.createBooking(fixtures.createEvent("Outbox Test Derby", 10),
+				Booking.BookingStatus.PENDING);
+		booking.setSnapToken("earlier-attempt-token");
+		bookingRepository.save(booking);
+		PaymentOutbox outbox = outboxRepository.save(outbox(booking, PaymentOutbox.OutboxStatus.PENDING));
+
+		snapTokenService.process(outbox.getId());
+
+		assertThat(outboxRepository.findById(outbox.getId()).orElseThrow().getStatus())
+				.isEqualTo(PaymentOutbox.OutboxStatus.DONE);
+		assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getSnapToken())
+				.isEqualTo("earlier-attempt-token");
+	}
+
+	@Test
+	void onlyTheOwnerSeesTheToken() {
+		Booking booking = fixtures.createBooking(fixtures.createEvent("Outbox Test Derby", 10),
+				Booking.BookingStatus.PENDING);
+		booking.setSnapToken("owner-token");
+		bookingRepository.save(booking);
+		User stranger = fixtures.createUser("stranger");
+
+		assertThat(snapTokenService.getTokenStatus(booking.getBookingReference(), booking.getUser().getId())
+				.get("snapToken")).isEqualTo("owner-token");
+		assertThatThrownBy(() -> snapTokenService.getTokenStatus(booking.getBookingReference(), stranger.getId()))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Booking not found");
+	}
+
+	private static PaymentOutbox outbox(Booking booking, PaymentOutbox.OutboxStatus status) {
+		PaymentOutbox outbox = new PaymentOutbox();
+		outbox.setBookingId(booking.getId());
+		outbox.setOrderId(booking.getBookingReference());
+		outbox.setStatus(status);
+		outbox.setAttempts(status == PaymentOutbox.OutboxStatus.PROCESSING ? 1 : 0);
+		return outbox;
+	}
+
+	private long countWithoutToken(Event event) {
+		return bookingRepository.findByEvent_Id(event.getId()).stream()
+				.filter(booking -> booking.getSnapToken() == null)
+				.count();
+	}
+}
@@ -0,0 +1,105 @@
+package com.example.ticketbooking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestionTrieTests {
+
+	@Test
+	void suggestsHeaviestPhrasesStartingAnyWord() {
+		SuggestionTrie trie = new SuggestionTrie();
+		trie.add("team:manchester united", "Manchester United", "team", null, 5);
+		trie.add("team:manchester city", "Manchester City", "team", null, 8);
+		trie.add("venue:old trafford", "Old Trafford", "venue", null, 3);
+		trie.add("event:1", "Manchester United vs Liverpool", "event", 1L, 2);
+
+		assertThat(texts(trie.suggest("man", 10)))
+				.containsExactly("Manchester City", "Manchester United", "Manchester United vs Liverpool");
+		assertThat(texts(trie.suggest("unit", 10)))
+				.containsExactly("Manchester United", "Manchester United vs Liverpool");
+		assertThat(texts(trie.suggest("LIVER", 10))).containsExactly("Manchester United vs Liverpool");
+		assertThat(texts(trie.suggest("manchester c", 10))).containsExactly("Manchester City");
+		assertThat(trie.suggest("man", 1)).hasSize(1);
+		assertThat(trie.suggest("arsenal", 10)).isEmpty();
+		assertThat(trie.suggest("  ", 10)).isEmpty();
+	}
+
+	@Test
+	void matchesWithoutAccentsAndReordersAsWeightsChange() {
+		SuggestionTrie trie = new SuggestionTrie();
+		trie.add("team:bayern", "Bayern München", "team", null, 1);
+		trie.add("team:borussia", "Borussia Dortmund", "team", null, 2);
+
+		assertThat(texts(trie.suggest("munch", 10))).containsExactly("Bayern München");
+		assertThat(texts(trie.suggest("b", 10))).containsExactly("Borussia Dortmund", "Bayern München");
+
+		trie.add("team:bayern", "Bayern München", "team", null, 4);
+		assertThat(texts(trie.suggest("b", 10))).containsExactly("Bayern München", "Borussia Dortmund");
+
+		trie.add("team:bayern", "Bayern München", "team", null, -5);
+		assertThat(texts(trie.suggest("b", 10))).containsExactly("Borussia Dortmund");
+		assertThat(trie.suggest("bayern", 10)).isEmpty();
+		assertThat(trie.size()).isEqualTo(1);
+	}
+
+	@Test
+	void keepsTopResultsAcrossSplitAndMergedEdges() {
+		SuggestionTrie trie = new SuggestionTrie();
+		for (int i = 0; i < 50; i++) {
+			trie.add("venue:" + i, "Stadium " + i, "venue", null, i + 1);
+		}
+		List<SuggestionTrie.Suggestion> top = trie.suggest("stad", SuggestionTrie.MAX_RESULTS);
+		assertThat(top).hasSize(SuggestionTrie.MAX_RESULTS);
+		assertThat(top.get(0).text()).isEqualTo("Stadium 49");
+
+		for (int i = 40; i < 50; i++) {
+			trie.add("venue:" + i, "Stadium " + i, "venue", null, -(i + 1));
+		}
+		assertThat(trie.suggest("stadium", 1).get(0).text()).isEqualTo("Stadium 39");
+		assertThat(texts(trie.suggest("stadium 3", 2))).containsExactly("Stadium 39", "Stadium 38");
+		assertThat(trie.suggest("stadium 45", 10)).isEmpty();
+		assertThat(texts(trie.suggest("stadium 4", 10))).containsExactly("Stadium 4");
+	}
+
+	@Test
+	void suggestionServiceSplitsTeamsAndFavoursSoonerEvents() {
+		assertThat(SuggestionService.teams("UEFA Champions League: Real Madrid vs Bayern München"))
+				.containsExactly("Real Madrid", "Bayern München");
+		assertThat(SuggestionService.teams("Arsenal v. Chelsea")).containsExactly("Arsenal", "Chelsea");
+		assertThat(SuggestionService.teams("Stadium Tour")).isEmpty();
+
+		LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+		double soon = SuggestionService.weight(now.plusDays(1), 0, now);
+		double later = SuggestionService.weight(now.plusDays(60), 0, now);
+		double popular = SuggestionService.weight(now.plusDays(60), 5_000, now);
+		assertThat(soon > later).isTrue();
+		assertThat(popular > later).isTrue();
+	}
+
+	@Test
+	void answersInMicrosecondsOverALargeCatalog() {
+		SuggestionTrie trie = new SuggestionTrie();
+		for (int i = 0; i < 100_000; i++) {
+			trie.add("event:" + i, "Team " + i + " vs Club " + (i * 7 % 1000), "event", (long) i, 1 + i % 97);
+		}
+		for (int i = 0; i < 10_000; i++) {
+			trie.suggest("team " + (i % 100), 8);
+		}
+		long began = System.nanoTime();
+		int found = 0;
+		for (int i = 0; i < 10_000; i++) {
+			found += trie.suggest("club " + (i % 100), 8).size();
+		}
+		long perQueryNanos = (System.nanoTime() - began) / 10_000;
+		assertThat(found).isGreaterThan(0);
+		assertThat(perQueryNanos).isLessThan(200_000L);
+	}
+
+	private static List<String> texts(List<SuggestionTrie.Suggestion> suggestions) {
+		return suggestions.stream().map(SuggestionTrie.Suggestion::text).toList();
+	}
+}